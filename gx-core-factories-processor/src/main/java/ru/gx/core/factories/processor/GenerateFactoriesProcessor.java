@@ -0,0 +1,299 @@
+package ru.gx.core.factories.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Процессор аннотации {@link ru.gx.core.factories.GenerateFactories}.<br/>
+ * Для каждого пакета с аннотированными классами генерирует реализацию
+ * {@link ru.gx.core.factories.GeneratedFactoriesProvider} с лямбдами, напрямую вызывающими конструкторы
+ * (сигнатуры - см. {@link ru.gx.core.factories.FactoryShape}), и регистрирует поставщиков в META-INF/services.<br/>
+ * Процессор не зависит от классов ядра во время компиляции: типы сравниваются по каноническим именам.<br/>
+ * Имя поставщика уникально для модуля (опция {@value #MODULE_OPTION}, обычно artifactId),
+ * иначе поставщики двух jar-ов с одинаковым пакетом перекрывали бы друг друга в classpath.
+ * Без опции суффикс имени - хэш аннотированных классов пакета.
+ */
+@SupportedAnnotationTypes(GenerateFactoriesProcessor.ANNOTATION)
+@SupportedOptions(GenerateFactoriesProcessor.MODULE_OPTION)
+public class GenerateFactoriesProcessor extends AbstractProcessor {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    static final String ANNOTATION = "ru.gx.core.factories.GenerateFactories";
+    static final String PROVIDER_INTERFACE = "ru.gx.core.factories.GeneratedFactoriesProvider";
+    static final String PROVIDER_CLASS_NAME = "GxGeneratedFactoriesProvider";
+    static final String MODULE_OPTION = "gx.factories.module";
+
+    private static final String MESSAGE = "ru.gx.core.messaging.Message";
+    private static final String MESSAGE_BODY = "ru.gx.core.messaging.MessageBody";
+    private static final String MESSAGE_HEADER = "ru.gx.core.messaging.MessageHeader";
+    private static final String MESSAGE_CORRELATION = "ru.gx.core.messaging.MessageCorrelation";
+    private static final String DATA_OBJECT = "ru.gx.core.data.DataObject";
+    private static final String DATA_PACKAGE = "ru.gx.core.data.DataPackage";
+    private static final String CHANNEL_DESCRIPTOR = "ru.gx.core.channels.ChannelHandlerDescriptor";
+    private static final String CHANNELS_CONFIGURATION = "ru.gx.core.channels.ChannelsConfiguration";
+    private static final String CHANNEL_API = "ru.gx.core.channels.ChannelApiDescriptor";
+    private static final String CHANNEL_DIRECTION = "ru.gx.core.channels.ChannelDirection";
+    private static final String DESCRIPTORS_DEFAULTS = "ru.gx.core.channels.AbstractChannelDescriptorsDefaults";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Сгенерированные поставщики (полные имена классов) для регистрации в META-INF/services.
+     */
+    private final Set<String> generatedProviders = new LinkedHashSet<>();
+
+    private int round;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements Processor">
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        this.round++;
+        if (roundEnv.processingOver()) {
+            writeServicesFile();
+            return false;
+        }
+        final var annotation = this.processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+
+        final var byPackage = new TreeMap<String, List<String>>();
+        for (final var element : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+            final var registrations = buildRegistrations(element);
+            if (!registrations.isEmpty()) {
+                final var packageName = this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+                byPackage.computeIfAbsent(packageName, k -> new ArrayList<>()).addAll(registrations);
+            }
+        }
+        byPackage.forEach(this::writeProvider);
+        return true;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Analysis">
+
+    /**
+     * @return Строки регистрации фабрик класса (вызовы registrar.register(...)).
+     */
+    private List<String> buildRegistrations(final TypeElement element) {
+        final var result = new ArrayList<String>();
+        if (element.getKind() != ElementKind.CLASS
+                || element.getModifiers().contains(Modifier.ABSTRACT)
+                || element.getModifiers().contains(Modifier.PRIVATE)
+                || (element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC))) {
+            error(element, "@GenerateFactories is applicable only to non-abstract, non-private top-level or static nested classes");
+            return result;
+        }
+
+        final var isMessage = isSubtype(element.asType(), MESSAGE);
+        final var isBody = isSubtype(element.asType(), MESSAGE_BODY);
+        final var isDescriptor = isSubtype(element.asType(), CHANNEL_DESCRIPTOR);
+        if (!isMessage && !isBody && !isDescriptor) {
+            error(element, "@GenerateFactories is applicable only to Message, MessageBody and ChannelHandlerDescriptor classes");
+            return result;
+        }
+
+        final var shapes = new LinkedHashMap<String, ExecutableElement>();
+        for (final var constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            final var shape = detectShape(constructor, isMessage, isBody, isDescriptor);
+            if (shape != null) {
+                shapes.putIfAbsent(shape, constructor);
+            }
+        }
+        if (shapes.isEmpty()) {
+            warning(element, "@GenerateFactories: no public constructors with supported signatures");
+        }
+
+        final var className = element.getQualifiedName().toString();
+        final var diamond = element.getTypeParameters().isEmpty() ? "" : "<>";
+        shapes.forEach((shape, constructor) -> {
+            final var args = new StringBuilder();
+            final var params = constructor.getParameters();
+            for (var i = 0; i < params.size(); i++) {
+                if (i > 0) {
+                    args.append(", ");
+                }
+                args.append('(')
+                        .append(erasure(params.get(i).asType()))
+                        .append(") args[")
+                        .append(i)
+                        .append(']');
+            }
+            result.add("registrar.register(" + className + ".class, ru.gx.core.factories.FactoryShape." + shape + ",\n"
+                    + "                args -> new " + className + diamond + "(" + args + "));");
+        });
+        return result;
+    }
+
+    private String detectShape(
+            final ExecutableElement constructor,
+            final boolean isMessage,
+            final boolean isBody,
+            final boolean isDescriptor
+    ) {
+        final var p = constructor.getParameters().stream().map(VariableElement::asType).toList();
+        if (isMessage) {
+            if (p.size() == 3 && isSubtype(p.get(0), MESSAGE_HEADER) && isSubtype(p.get(1), MESSAGE_BODY) && isSubtype(p.get(2), MESSAGE_CORRELATION)) {
+                return "MessageByHeaderBody";
+            }
+            if (p.size() == 1 && isSubtype(p.get(0), "java.util.Map")) {
+                return "MessageByParams";
+            }
+        }
+        if (isBody && p.size() == 1) {
+            if (isSubtype(p.get(0), DATA_OBJECT)) {
+                return "BodyByDataObject";
+            }
+            if (isSubtype(p.get(0), DATA_PACKAGE)) {
+                return "BodyByDataPackage";
+            }
+        }
+        if (isDescriptor && p.size() >= 3 && isSubtype(p.get(0), CHANNELS_CONFIGURATION) && isSubtype(p.get(p.size() - 1), DESCRIPTORS_DEFAULTS)) {
+            final var byApi = isSubtype(p.get(1), CHANNEL_API);
+            final var byName = !byApi && isSubtype(p.get(1), "java.lang.String");
+            if (p.size() == 3 && byApi) {
+                return "DescriptorByApi";
+            }
+            if (p.size() == 3 && byName) {
+                return "DescriptorByName";
+            }
+            if (p.size() == 4 && isSubtype(p.get(2), CHANNEL_DIRECTION)) {
+                if (byApi) {
+                    return "DescriptorByApiAndDirection";
+                }
+                if (byName) {
+                    return "DescriptorByNameAndDirection";
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isSubtype(final TypeMirror type, final String superTypeName) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final var superType = this.processingEnv.getElementUtils().getTypeElement(superTypeName);
+        if (superType == null) {
+            return false;
+        }
+        final var types = this.processingEnv.getTypeUtils();
+        return types.isSubtype(types.erasure(type), types.erasure(superType.asType()));
+    }
+
+    private String erasure(final TypeMirror type) {
+        final var erased = this.processingEnv.getTypeUtils().erasure(type);
+        if (erased instanceof final DeclaredType declared) {
+            return ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        }
+        return erased.toString();
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Generation">
+    private void writeProvider(final String packageName, final List<String> registrations) {
+        final var simpleName = providerSimpleName(registrations);
+        final var qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            final var file = this.processingEnv.getFiler().createSourceFile(qualifiedName);
+            try (Writer writer = file.openWriter()) {
+                if (!packageName.isEmpty()) {
+                    writer.write("package " + packageName + ";\n\n");
+                }
+                writer.write("@javax.annotation.processing.Generated(\"" + GenerateFactoriesProcessor.class.getName() + "\")\n");
+                writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+                writer.write("public final class " + simpleName + " implements " + PROVIDER_INTERFACE + " {\n");
+                writer.write("    @Override\n");
+                writer.write("    public void registerFactories(final ru.gx.core.factories.GeneratedFactories.Registrar registrar) {\n");
+                for (final var registration : registrations) {
+                    writer.write("        " + registration + "\n");
+                }
+                writer.write("    }\n");
+                writer.write("}\n");
+            }
+            this.generatedProviders.add(qualifiedName);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't generate " + qualifiedName + ": " + e);
+        }
+    }
+
+    /**
+     * @return Имя класса поставщика: {@link #PROVIDER_CLASS_NAME} с суффиксом модуля (или хэшем регистраций),
+     * для последующих раундов обработки - еще и с номером раунда.
+     */
+    private String providerSimpleName(final List<String> registrations) {
+        final var module = this.processingEnv.getOptions().get(MODULE_OPTION);
+        final String suffix;
+        if (module != null && !module.isBlank()) {
+            suffix = toIdentifierPart(module.trim());
+        } else {
+            final var sorted = new ArrayList<>(registrations);
+            Collections.sort(sorted);
+            suffix = Integer.toHexString(String.join("\n", sorted).hashCode());
+        }
+        final var name = PROVIDER_CLASS_NAME + "_" + suffix;
+        return this.round == 1 ? name : name + "_" + this.round;
+    }
+
+    private static String toIdentifierPart(final String value) {
+        final var result = new StringBuilder(value.length());
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            result.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return result.toString();
+    }
+
+    private void writeServicesFile() {
+        if (this.generatedProviders.isEmpty()) {
+            return;
+        }
+        try {
+            final var file = this.processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + PROVIDER_INTERFACE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (final var provider : this.generatedProviders) {
+                    writer.write(provider);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't write services file for " + PROVIDER_INTERFACE + ": " + e);
+        }
+    }
+
+    private void error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
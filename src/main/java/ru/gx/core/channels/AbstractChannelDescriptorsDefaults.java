@@ -13,4 +13,35 @@ public abstract class AbstractChannelDescriptorsDefaults {
     @Getter
     @Setter
     private OnErrorBehavior onErrorBehavior = OnErrorBehavior.StopProcessOnError;
-}
\ No newline at end of file
+
+    /**
+     * Ограничение частоты обработки сообщений канала (сообщений в секунду). 0 - без ограничения.
+     */
+    private double rateLimitPerSecond = 0;
+
+    /**
+     * Допустимая пачка сообщений подряд при ограничении частоты.
+     */
+    private int rateLimitBurst = 1;
+
+    /**
+     * Начальный период остывания автоматического выключателя (в мс). 0 - автоматический выключатель не используется.
+     */
+    private long circuitBreakerInitialCoolDownMs = 0;
+
+    /**
+     * Максимальный период остывания автоматического выключателя (в мс).
+     */
+    private long circuitBreakerMaxCoolDownMs = 5 * 60_000;
+
+    /**
+     * Множитель увеличения периода остывания после неудачной пробы.
+     */
+    private double circuitBreakerBackoffMultiplier = 2.0;
+
+    /**
+     * Количество неудачных попыток обработки сообщения, после которого оно помещается
+     * в хранилище недоставленных сообщений. 0 - не помещается.
+     */
+    private int deadLetterMaxAttempts = 0;
+}
@@ -69,6 +69,27 @@ public abstract class AbstractChannelHandlerDescriptor
     @Nullable
     private volatile Exception blockingError = null;
 
+    /**
+     * Автоматический выключатель канала. null - блокировка ошибкой снимается только вручную.
+     */
+    @Getter
+    @Nullable
+    private volatile ChannelCircuitBreaker circuitBreaker = null;
+
+    /**
+     * Ограничитель частоты обработки сообщений канала. null - без ограничения.
+     * Делаю volatile, чтобы была возможность изменить во время работы приложения.
+     */
+    @Nullable
+    private volatile TokenBucketRateLimiter rateLimiter = null;
+
+    /**
+     * Количество неудачных попыток обработки сообщения, после которого оно помещается
+     * в хранилище недоставленных сообщений. 0 - не помещается.
+     */
+    @Getter
+    private volatile int deadLetterMaxAttempts = 0;
+
     @Getter
     @NotNull
     private final ChannelExecuteStatistics executeStatistics;
@@ -95,6 +116,17 @@ public abstract class AbstractChannelHandlerDescriptor
         this.executeStatistics = new ChannelExecuteStatistics(this, this.owner.getMeterRegistry());
         if (defaults != null) {
             this.onErrorBehavior = defaults.getOnErrorBehavior();
+            setDeadLetterMaxAttempts(defaults.getDeadLetterMaxAttempts());
+            if (defaults.getRateLimitPerSecond() > 0) {
+                setRateLimit(defaults.getRateLimitPerSecond(), defaults.getRateLimitBurst());
+            }
+            if (defaults.getCircuitBreakerInitialCoolDownMs() > 0) {
+                setCircuitBreaker(
+                        defaults.getCircuitBreakerInitialCoolDownMs(),
+                        defaults.getCircuitBreakerMaxCoolDownMs(),
+                        defaults.getCircuitBreakerBackoffMultiplier()
+                );
+            }
         }
     }
 
@@ -111,6 +143,17 @@ public abstract class AbstractChannelHandlerDescriptor
         this.executeStatistics = new ChannelExecuteStatistics(this, this.owner.getMeterRegistry());
         if (defaults != null) {
             this.onErrorBehavior = defaults.getOnErrorBehavior();
+            setDeadLetterMaxAttempts(defaults.getDeadLetterMaxAttempts());
+            if (defaults.getRateLimitPerSecond() > 0) {
+                setRateLimit(defaults.getRateLimitPerSecond(), defaults.getRateLimitBurst());
+            }
+            if (defaults.getCircuitBreakerInitialCoolDownMs() > 0) {
+                setCircuitBreaker(
+                        defaults.getCircuitBreakerInitialCoolDownMs(),
+                        defaults.getCircuitBreakerMaxCoolDownMs(),
+                        defaults.getCircuitBreakerBackoffMultiplier()
+                );
+            }
         }
     }
 
@@ -228,6 +271,10 @@ public abstract class AbstractChannelHandlerDescriptor
             @NotNull final Exception error
     ) {
         this.blockingError = error;
+        final var breaker = this.circuitBreaker;
+        if (breaker != null) {
+            breaker.onFailure();
+        }
         return this;
     }
 
@@ -240,6 +287,132 @@ public abstract class AbstractChannelHandlerDescriptor
     @NotNull
     public ChannelHandlerDescriptor clearBlockingError() {
         this.blockingError = null;
+        final var breaker = this.circuitBreaker;
+        if (breaker != null) {
+            breaker.reset();
+        }
+        return this;
+    }
+
+    /**
+     * Установка автоматического выключателя канала. Допускается изменять во время работы приложения.
+     * Если канал в данный момент заблокирован ошибкой, то новый выключатель сразу размыкается.
+     *
+     * @param initialCoolDownMs Начальный период остывания (в мс). <= 0 - выключить автоматический выключатель.
+     * @param maxCoolDownMs     Максимальный период остывания (в мс).
+     * @param backoffMultiplier Множитель увеличения периода остывания после неудачной пробы (>= 1).
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractChannelHandlerDescriptor setCircuitBreaker(
+            final long initialCoolDownMs,
+            final long maxCoolDownMs,
+            final double backoffMultiplier
+    ) {
+        if (initialCoolDownMs <= 0) {
+            this.circuitBreaker = null;
+            return this;
+        }
+        final var breaker = new ChannelCircuitBreaker(this, initialCoolDownMs, maxCoolDownMs, backoffMultiplier);
+        if (isBlockedByError()) {
+            breaker.onFailure();
+        }
+        this.circuitBreaker = breaker;
+        return this;
+    }
+
+    /**
+     * Попытка получить разрешение на обработку пробного сообщения заблокированного ошибкой канала.
+     *
+     * @return true - можно пропустить в обработку одно пробное сообщение.
+     */
+    @Override
+    public boolean tryAcquireProbe() {
+        final var breaker = this.circuitBreaker;
+        return breaker != null && breaker.tryAcquireProbe();
+    }
+
+    /**
+     * Фиксируется факт успешной обработки сообщения канала.
+     */
+    @Override
+    public void recordMessageSucceeded() {
+        final var breaker = this.circuitBreaker;
+        if (breaker != null) {
+            breaker.onSuccess();
+        }
+    }
+
+    /**
+     * @return Ограничение частоты обработки сообщений канала (сообщений в секунду). 0 - без ограничения.
+     */
+    @Override
+    public double getRateLimitPerSecond() {
+        final var limiter = this.rateLimiter;
+        return limiter != null ? limiter.getPermitsPerSecond() : 0;
+    }
+
+    /**
+     * @return Допустимая пачка сообщений подряд при ограничении частоты.
+     */
+    @Override
+    public int getRateLimitBurst() {
+        final var limiter = this.rateLimiter;
+        return limiter != null ? limiter.getBurst() : 0;
+    }
+
+    /**
+     * Установка ограничения частоты обработки сообщений канала. Допускается изменять во время работы приложения:
+     * ограничитель заменяется целиком, новое "ведро" создается полным.
+     *
+     * @param permitsPerSecond Сообщений в секунду. 0 - снять ограничение.
+     * @param burst            Допустимая пачка сообщений подряд (>= 1).
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractChannelHandlerDescriptor setRateLimit(final double permitsPerSecond, final int burst) {
+        this.rateLimiter = permitsPerSecond > 0
+                ? new TokenBucketRateLimiter(permitsPerSecond, burst)
+                : null;
+        return this;
+    }
+
+    /**
+     * Попытка получить разрешение на обработку одного сообщения канала с учетом ограничения частоты.
+     *
+     * @return true - сообщение можно обрабатывать; false - лимит исчерпан, сообщение надо отложить.
+     */
+    @Override
+    public boolean tryAcquireRatePermit() {
+        final var limiter = this.rateLimiter;
+        return limiter == null || limiter.tryAcquire();
+    }
+
+    /**
+     * @return Сколько наносекунд осталось до появления разрешения ограничителя частоты. 0 - разрешение есть.
+     */
+    @Override
+    public long nanosToNextRatePermit() {
+        final var limiter = this.rateLimiter;
+        return limiter != null ? limiter.nanosToNextPermit() : 0;
+    }
+
+    /**
+     * Установка количества неудачных попыток обработки сообщения, после которого оно помещается
+     * в хранилище недоставленных сообщений. Допускается изменять во время работы приложения.
+     *
+     * @param deadLetterMaxAttempts Количество попыток. 0 - не помещать.
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractChannelHandlerDescriptor setDeadLetterMaxAttempts(final int deadLetterMaxAttempts) {
+        if (deadLetterMaxAttempts < 0) {
+            throw new InvalidParameterException("DeadLetterMaxAttempts can't be less 0!");
+        }
+        this.deadLetterMaxAttempts = deadLetterMaxAttempts;
         return this;
     }
 
@@ -253,6 +426,23 @@ public abstract class AbstractChannelHandlerDescriptor
         getExecuteStatistics().recordMessageExecuted(workerName, timeMs);
     }
 
+    /**
+     * Фиксируется факт обработки сообщения с учетом затраченных ресурсов потока.
+     *
+     * @param timeNanos      Время (в нс), затраченное на обработку сообщения.
+     * @param cpuTimeNanos   Процессорное время (в нс), либо отрицательное значение, если не измерялось.
+     * @param allocatedBytes Объем выделенной памяти (в байтах), либо отрицательное значение, если не измерялся.
+     */
+    @Override
+    public void recordMessageExecutedNanos(
+            @NotNull String workerName,
+            final long timeNanos,
+            final long cpuTimeNanos,
+            final long allocatedBytes
+    ) {
+        getExecuteStatistics().recordMessageExecutedNanos(workerName, timeNanos, cpuTimeNanos, allocatedBytes);
+    }
+
     /**
      * Фиксируется факт обработки сообщения.
      *
@@ -262,6 +452,16 @@ public abstract class AbstractChannelHandlerDescriptor
     public void recordMessagesExecuted(@NotNull String workerName, final long timeMs, final int count) {
         getExecuteStatistics().recordMessagesExecuted(workerName, timeMs, count);
     }
+
+    /**
+     * Фиксируется факт обработки сообщений.
+     *
+     * @param timeNanos Время (в нс), затраченное на обработку пачки сообщений.
+     */
+    @Override
+    public void recordMessagesExecutedNanos(@NotNull String workerName, final long timeNanos, final int count) {
+        getExecuteStatistics().recordMessagesExecutedNanos(workerName, timeNanos, count);
+    }
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
 }
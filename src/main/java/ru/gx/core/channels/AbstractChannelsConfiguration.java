@@ -5,10 +5,11 @@ import lombok.Getter;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ru.gx.core.factories.FactoryShape;
+import ru.gx.core.factories.GeneratedFactories;
 import ru.gx.core.messaging.Message;
 import ru.gx.core.messaging.MessageBody;
 
-import java.lang.reflect.InvocationTargetException;
 import java.security.InvalidParameterException;
 import java.util.*;
 
@@ -16,16 +17,17 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
     // -------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Fields">
     /**
-     * Список описателей сгруппированные по приоритетам.
+     * Текущий снимок реестра описателей. Снимок неизменяем, при регистрации/дерегистрации описателя
+     * строится новый снимок и атомарно подменяет текущий. Чтение выполняется без блокировок.
      */
     @NotNull
-    private final List<List<ChannelHandlerDescriptor>> priorities = new ArrayList<>();
+    private volatile ChannelsSnapshot snapshot = ChannelsSnapshot.EMPTY;
 
     /**
-     * Список описателей с группировкой по топикам.
+     * Монитор, сериализующий изменения реестра (построение и подмену снимков).
      */
     @NotNull
-    private final Map<String, ChannelHandlerDescriptor> channels = new HashMap<>();
+    private final Object registryMonitor = new Object();
 
     @Getter
     @NotNull
@@ -70,7 +72,7 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
      */
     @Override
     public boolean contains(@NotNull final String channelName) {
-        return this.channels.containsKey(channelName);
+        return this.snapshot.channels.containsKey(channelName);
     }
 
     /**
@@ -83,7 +85,7 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
     @Override
     @NotNull
     public ChannelHandlerDescriptor get(@NotNull final String channelName) throws ChannelConfigurationException {
-        final var result = this.channels.get(channelName);
+        final var result = this.snapshot.channels.get(channelName);
         if (result == null) {
             throw new ChannelConfigurationException("Can't find description for channel " + channelName);
         }
@@ -99,18 +101,20 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
     @Override
     @Nullable
     public ChannelHandlerDescriptor tryGet(@NotNull final String channelName) {
-        return this.channels.get(channelName);
+        return this.snapshot.channels.get(channelName);
     }
 
     /**
      * Создание описателя обработчика канала.
+     * Если для класса описателя сгенерированы фабрики ({@link ru.gx.core.factories.GenerateFactories}),
+     * то конструктор вызывается напрямую, иначе ищется рефлексией.
      *
      * @param channelApi      Описатель API канала.
      * @param descriptorClass Класс описателя.
      * @return this.
      */
     @SuppressWarnings("unchecked")
-    @SneakyThrows({InstantiationException.class, IllegalAccessException.class, InvocationTargetException.class})
+    @SneakyThrows(Exception.class)
     @Override
     @NotNull
     public <M extends Message<? extends MessageBody>, D extends ChannelHandlerDescriptor>
@@ -122,7 +126,15 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
             throw new ChannelConfigurationException("Topic '" + channelApi.getName() + "' already registered!");
         }
         D result = null;
-        if (allowCreateDescriptor(descriptorClass)) {
+        if (allowCreateDescriptor(descriptorClass) && GeneratedFactories.contains(descriptorClass)) {
+            final var factory3 = GeneratedFactories.get(descriptorClass, FactoryShape.DescriptorByApi);
+            final var factory4 = GeneratedFactories.get(descriptorClass, FactoryShape.DescriptorByApiAndDirection);
+            if (factory3 != null) {
+                result = factory3.newInstance(this, channelApi, this.getDescriptorsDefaults());
+            } else if (factory4 != null) {
+                result = factory4.newInstance(this, channelApi, this.getDirection(), this.getDescriptorsDefaults());
+            }
+        } else if (allowCreateDescriptor(descriptorClass)) {
 
             final var constructor3 = Arrays.stream(descriptorClass.getConstructors())
                     .filter(c -> {
@@ -159,13 +171,15 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
 
     /**
      * Создание описателя обработчика канала.
+     * Если для класса описателя сгенерированы фабрики ({@link ru.gx.core.factories.GenerateFactories}),
+     * то конструктор вызывается напрямую, иначе ищется рефлексией.
      *
      * @param channelName     Имя канала.
      * @param descriptorClass Класс описателя.
      * @return this.
      */
     @SuppressWarnings("unchecked")
-    @SneakyThrows({InstantiationException.class, IllegalAccessException.class, InvocationTargetException.class})
+    @SneakyThrows(Exception.class)
     @Override
     @NotNull
     public <D extends ChannelHandlerDescriptor>
@@ -177,7 +191,15 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
             throw new ChannelConfigurationException("Topic '" + channelName + "' already registered!");
         }
         D result = null;
-        if (allowCreateDescriptor(descriptorClass)) {
+        if (allowCreateDescriptor(descriptorClass) && GeneratedFactories.contains(descriptorClass)) {
+            final var factory3 = GeneratedFactories.get(descriptorClass, FactoryShape.DescriptorByName);
+            final var factory4 = GeneratedFactories.get(descriptorClass, FactoryShape.DescriptorByNameAndDirection);
+            if (factory3 != null) {
+                result = factory3.newInstance(this, channelName, this.getDescriptorsDefaults());
+            } else if (factory4 != null) {
+                result = factory4.newInstance(this, channelName, this.getDirection(), this.getDescriptorsDefaults());
+            }
+        } else if (allowCreateDescriptor(descriptorClass)) {
 
             final var constructor3 = Arrays.stream(descriptorClass.getConstructors())
                     .filter(c -> {
@@ -231,21 +253,16 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
     @Override
     public void internalRegisterDescriptor(@NotNull final ChannelHandlerDescriptor descriptor) {
         final var channelName = descriptor.getChannelName();
-        if (contains(channelName)) {
-            throw new ChannelConfigurationException("Channel '" + channelName + "' already registered!");
-        }
         if (!descriptor.isInitialized()) {
             throw new ChannelConfigurationException("Descriptor of channel '" + channelName + "' doesn't initialized!");
         }
-
-        final var priority = descriptor.getPriority();
-        while (priorities.size() <= priority) {
-            priorities.add(new ArrayList<>());
+        synchronized (this.registryMonitor) {
+            final var current = this.snapshot;
+            if (current.channels.containsKey(channelName)) {
+                throw new ChannelConfigurationException("Channel '" + channelName + "' already registered!");
+            }
+            this.snapshot = current.withAdded(descriptor);
         }
-        final var itemsList = priorities.get(priority);
-        itemsList.add(descriptor);
-
-        channels.put(channelName, descriptor);
     }
 
     /**
@@ -256,20 +273,18 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
     @Override
     public void internalUnregisterDescriptor(@NotNull final ChannelHandlerDescriptor descriptor) {
         final var channelName = descriptor.getChannelName();
-        if (!this.channels.containsValue(descriptor) || !this.channels.containsKey(channelName)) {
-            throw new ChannelConfigurationException("Channel " + channelName + " not registered!");
-        }
-        if (!descriptor.equals(this.get(channelName))) {
-            throw new ChannelConfigurationException("Descriptor by name " + channelName + " not equal descriptor by parameter!");
-        }
-
-        this.channels.remove(channelName);
-        for (var pList : this.priorities) {
-            if (pList.remove(descriptor)) {
-                descriptor.unInit();
-                break;
+        synchronized (this.registryMonitor) {
+            final var current = this.snapshot;
+            final var registered = current.channels.get(channelName);
+            if (registered == null) {
+                throw new ChannelConfigurationException("Channel " + channelName + " not registered!");
             }
+            if (!descriptor.equals(registered)) {
+                throw new ChannelConfigurationException("Descriptor by name " + channelName + " not equal descriptor by parameter!");
+            }
+            this.snapshot = current.withRemoved(descriptor);
         }
+        descriptor.unInit();
     }
 
     /**
@@ -277,28 +292,97 @@ public abstract class AbstractChannelsConfiguration implements ChannelsConfigura
      */
     @Override
     public int prioritiesCount() {
-        return this.priorities.size();
+        return this.snapshot.priorities.size();
     }
 
     /**
-     * Получение списка описателей обработчиков очередей по приоритету.
+     * Получение списка описателей обработчиков очередей по приоритету.<br/>
+     * Возвращаемый список неизменяем и не меняется при последующих регистрациях (итерирование безопасно).
      *
      * @param priority Приоритет.
-     * @return Список описателей обработчиков.
+     * @return Список описателей обработчиков. Если приоритета нет (например, количество приоритетов
+     * было получено из более раннего снимка), то возвращается пустой список.
      */
     @Override
     @Nullable
     public Iterable<ChannelHandlerDescriptor> getByPriority(int priority) {
-        return this.priorities.get(priority);
+        final var priorities = this.snapshot.priorities;
+        return priority < priorities.size() ? priorities.get(priority) : Collections.emptyList();
     }
 
     /**
-     * @return Список всех описателей обработчиков очередей.
+     * @return Список всех описателей обработчиков очередей (неизменяемый снимок).
      */
     @Override
     @NotNull
     public Iterable<ChannelHandlerDescriptor> getAll() {
-        return this.channels.values();
+        return this.snapshot.channels.values();
+    }
+    // </editor-fold>
+    // -------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Snapshot">
+
+    /**
+     * Неизменяемый снимок реестра описателей.
+     */
+    private static final class ChannelsSnapshot {
+        private static final ChannelsSnapshot EMPTY = new ChannelsSnapshot(Collections.emptyMap(), Collections.emptyList());
+
+        /**
+         * Описатели с группировкой по каналам (в порядке регистрации).
+         */
+        @NotNull
+        private final Map<String, ChannelHandlerDescriptor> channels;
+
+        /**
+         * Описатели, сгруппированные по приоритетам. Количество приоритетов при дерегистрации не уменьшается.
+         */
+        @NotNull
+        private final List<List<ChannelHandlerDescriptor>> priorities;
+
+        private ChannelsSnapshot(
+                @NotNull final Map<String, ChannelHandlerDescriptor> channels,
+                @NotNull final List<List<ChannelHandlerDescriptor>> priorities
+        ) {
+            this.channels = channels;
+            this.priorities = priorities;
+        }
+
+        @NotNull
+        private ChannelsSnapshot withAdded(@NotNull final ChannelHandlerDescriptor descriptor) {
+            final var newChannels = new LinkedHashMap<>(this.channels);
+            newChannels.put(descriptor.getChannelName(), descriptor);
+
+            final var priority = descriptor.getPriority();
+            final var newPriorities = new ArrayList<>(this.priorities);
+            while (newPriorities.size() <= priority) {
+                newPriorities.add(Collections.emptyList());
+            }
+            final var itemsList = new ArrayList<>(newPriorities.get(priority));
+            itemsList.add(descriptor);
+            newPriorities.set(priority, Collections.unmodifiableList(itemsList));
+
+            return new ChannelsSnapshot(Collections.unmodifiableMap(newChannels), Collections.unmodifiableList(newPriorities));
+        }
+
+        @NotNull
+        private ChannelsSnapshot withRemoved(@NotNull final ChannelHandlerDescriptor descriptor) {
+            final var newChannels = new LinkedHashMap<>(this.channels);
+            newChannels.remove(descriptor.getChannelName());
+
+            final var newPriorities = new ArrayList<>(this.priorities);
+            for (var i = 0; i < newPriorities.size(); i++) {
+                final var itemsList = newPriorities.get(i);
+                if (itemsList.contains(descriptor)) {
+                    final var newItemsList = new ArrayList<>(itemsList);
+                    newItemsList.remove(descriptor);
+                    newPriorities.set(i, Collections.unmodifiableList(newItemsList));
+                    break;
+                }
+            }
+
+            return new ChannelsSnapshot(Collections.unmodifiableMap(newChannels), Collections.unmodifiableList(newPriorities));
+        }
     }
     // </editor-fold>
     // -------------------------------------------------------------------------------------------------------------
@@ -7,6 +7,8 @@ import org.jetbrains.annotations.Nullable;
 import ru.gx.core.messaging.Message;
 import ru.gx.core.messaging.MessageBody;
 
+import java.security.InvalidParameterException;
+
 /**
  * Интерфейс описателя канала получения и обработки входящих данных.
  */
@@ -31,6 +33,13 @@ public abstract class AbstractIncomeChannelHandlerDescriptor
     @Nullable
     private IncomeDataProcessType processType;
 
+    /**
+     * Извлекатель ключа сообщения для способа обработки {@link IncomeDataProcessType#ParallelByKey}.
+     */
+    @Getter
+    @Nullable
+    private MessageKeyExtractor keyExtractor;
+
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Initialize">
@@ -59,6 +68,21 @@ public abstract class AbstractIncomeChannelHandlerDescriptor
                     .setLoadingFiltrator(defaults.getLoadingFiltrator());
         }
     }
+
+    /**
+     * При инициализации проверяется, что для способа обработки {@link IncomeDataProcessType#ParallelByKey} задан keyExtractor.
+     *
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractIncomeChannelHandlerDescriptor init() throws InvalidParameterException {
+        if (this.processType == IncomeDataProcessType.ParallelByKey && this.keyExtractor == null) {
+            throw new ChannelConfigurationException("Channel " + getChannelName() + " has no keyExtractor for processType ParallelByKey!");
+        }
+        super.init();
+        return this;
+    }
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Additional getters & setters">
@@ -87,6 +111,17 @@ public abstract class AbstractIncomeChannelHandlerDescriptor
         this.processType = processType;
         return this;
     }
+
+    /**
+     * Установка извлекателя ключа сообщения для способа обработки {@link IncomeDataProcessType#ParallelByKey}.
+     */
+    @Override
+    @NotNull
+    public AbstractIncomeChannelHandlerDescriptor setKeyExtractor(@Nullable final MessageKeyExtractor keyExtractor) {
+        checkMutable("keyExtractor");
+        this.keyExtractor = keyExtractor;
+        return this;
+    }
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
 }
@@ -1,5 +1,6 @@
 package ru.gx.core.channels;
 
+import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -8,6 +9,8 @@ import ru.gx.core.messaging.MessageBody;
 import ru.gx.core.messaging.Metadata;
 import ru.gx.core.messaging.SimpleMetadataContainer;
 
+import java.security.InvalidParameterException;
+
 /**
  * Интерфейс описателя канала получения и обработки входящих данных.
  */
@@ -20,6 +23,38 @@ public abstract class AbstractOutcomeChannelHandlerDescriptor
     // <editor-fold desc="Fields">
     private final SimpleMetadataContainer metadataContainer;
 
+    /**
+     * Максимальное количество сообщений в пачке. 1 - накопление сообщений не используется.
+     */
+    @Getter
+    private int batchMaxCount = 1;
+
+    /**
+     * Максимальный объем пачки (в байтах). 0 - объем не ограничивается.
+     */
+    @Getter
+    private long batchMaxBytes = 0;
+
+    /**
+     * Максимальное время (в мс) ожидания с момента поступления первого сообщения пачки до ее отправки.
+     */
+    @Getter
+    private long batchLingerMs = 5;
+
+    /**
+     * Транспорт, которому передаются готовые пачки сообщений.
+     */
+    @Getter
+    @Nullable
+    private OutcomeBatchSender batchSender;
+
+    /**
+     * Накопитель сообщений канала. Создается при инициализации, если batchMaxCount > 1.
+     */
+    @Getter
+    @Nullable
+    private volatile OutcomeMessagesBatcher batcher;
+
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Initialize">
@@ -30,6 +65,7 @@ public abstract class AbstractOutcomeChannelHandlerDescriptor
     ) {
         super(owner, api, ChannelDirection.Out, defaults);
         this.metadataContainer = new SimpleMetadataContainer();
+        internalInitDefaults(defaults);
     }
 
     protected AbstractOutcomeChannelHandlerDescriptor(
@@ -39,6 +75,121 @@ public abstract class AbstractOutcomeChannelHandlerDescriptor
     ) {
         super(owner, channelName, ChannelDirection.Out, defaults);
         this.metadataContainer = new SimpleMetadataContainer();
+        internalInitDefaults(defaults);
+    }
+
+    private void internalInitDefaults(@Nullable final OutcomeChannelDescriptorsDefaults defaults) {
+        if (defaults != null) {
+            this
+                    .setBatchMaxCount(defaults.getBatchMaxCount())
+                    .setBatchMaxBytes(defaults.getBatchMaxBytes())
+                    .setBatchLingerMs(defaults.getBatchLingerMs());
+        }
+    }
+
+    /**
+     * При инициализации создается накопитель сообщений (если batchMaxCount > 1).
+     *
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor init() throws InvalidParameterException {
+        if (this.batchMaxCount > 1) {
+            if (this.batchSender == null) {
+                throw new ChannelConfigurationException("Channel " + getChannelName() + " has batchMaxCount > 1, but batchSender is null!");
+            }
+            this.batcher = new OutcomeMessagesBatcher(
+                    this,
+                    this.batchMaxCount,
+                    this.batchMaxBytes,
+                    this.batchLingerMs,
+                    this.batchSender,
+                    getOwner().getMeterRegistry()
+            );
+        }
+        super.init();
+        return this;
+    }
+
+    /**
+     * При деинициализации накопленные сообщения отправляются синхронно.
+     *
+     * @return this.
+     */
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor unInit() {
+        final var currentBatcher = this.batcher;
+        if (currentBatcher != null) {
+            this.batcher = null;
+            currentBatcher.flush(OutcomeBatchFlushReason.Shutdown);
+        }
+        super.unInit();
+        return this;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Batching">
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor setBatchMaxCount(final int batchMaxCount) {
+        checkMutable("batchMaxCount");
+        if (batchMaxCount < 1) {
+            throw new InvalidParameterException("BatchMaxCount can't be less 1!");
+        }
+        this.batchMaxCount = batchMaxCount;
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor setBatchMaxBytes(final long batchMaxBytes) {
+        checkMutable("batchMaxBytes");
+        if (batchMaxBytes < 0) {
+            throw new InvalidParameterException("BatchMaxBytes can't be less 0!");
+        }
+        this.batchMaxBytes = batchMaxBytes;
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor setBatchLingerMs(final long batchLingerMs) {
+        checkMutable("batchLingerMs");
+        if (batchLingerMs < 1) {
+            throw new InvalidParameterException("BatchLingerMs can't be less 1!");
+        }
+        this.batchLingerMs = batchLingerMs;
+        return this;
+    }
+
+    @Override
+    @NotNull
+    public AbstractOutcomeChannelHandlerDescriptor setBatchSender(@Nullable final OutcomeBatchSender batchSender) {
+        checkMutable("batchSender");
+        this.batchSender = batchSender;
+        return this;
+    }
+
+    @Override
+    public void offer(@NotNull final Message<? extends MessageBody> message, final int sizeBytes) {
+        final var currentBatcher = this.batcher;
+        if (currentBatcher != null) {
+            currentBatcher.offer(message, sizeBytes);
+            return;
+        }
+        final var sender = this.batchSender;
+        if (sender == null) {
+            throw new ChannelConfigurationException("Channel " + getChannelName() + " has no batchSender!");
+        }
+        OutcomeMessagesBatcher.sendImmediate(this, sender, message, sizeBytes);
+    }
+
+    @Override
+    public int flushBatch(@NotNull final OutcomeBatchFlushReason reason) {
+        final var currentBatcher = this.batcher;
+        return currentBatcher != null ? currentBatcher.flush(reason) : 0;
     }
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
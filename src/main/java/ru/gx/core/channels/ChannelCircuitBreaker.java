@@ -0,0 +1,220 @@
+package ru.gx.core.channels;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.worker.StatisticsInfo;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Автоматический выключатель (circuit breaker) канала, заблокированного ошибкой.<br/>
+ * При ошибке обработки ({@link OnErrorBehavior#StopProcessOnError}) выключатель размыкается (Open).
+ * По окончании периода остывания в обработку пропускается одно пробное сообщение (HalfOpen):
+ * успех - блокировка снимается (Closed), ошибка - выключатель снова размыкается с удвоенным (в multiplier раз)
+ * периодом остывания, но не более maxCoolDownMs.<br/>
+ * Если пробное сообщение "потерялось" (не пришло ни успеха, ни ошибки), то по истечении периода остывания
+ * пропускается следующее пробное сообщение.<br/>
+ * Каждый переход между состояниями фиксируется в метрике {@link #METRIC_TRANSITIONS},
+ * текущее состояние публикуется в метрике {@link #METRIC_STATE}.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class ChannelCircuitBreaker {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Количество переходов выключателя между состояниями. Ярлыки: from, to.
+     */
+    public static final String METRIC_TRANSITIONS = "channel.circuit-breaker.transitions";
+
+    /**
+     * Текущее состояние выключателя: 0 - Closed, 1 - Open, 2 - HalfOpen.
+     */
+    public static final String METRIC_STATE = "channel.circuit-breaker.state";
+
+    public static final String METRIC_TAG_FROM = "from";
+    public static final String METRIC_TAG_TO = "to";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter(PROTECTED)
+    @NotNull
+    private final ChannelHandlerDescriptor owner;
+
+    /**
+     * Начальный период остывания (в мс).
+     */
+    @Getter
+    private final long initialCoolDownMs;
+
+    /**
+     * Максимальный период остывания (в мс).
+     */
+    @Getter
+    private final long maxCoolDownMs;
+
+    /**
+     * Множитель, на который увеличивается период остывания после неудачной пробы.
+     */
+    @Getter
+    private final double backoffMultiplier;
+
+    /**
+     * Общие для всех метрик ярлыки.
+     */
+    @NotNull
+    private final List<Tag> metricsTags;
+
+    /**
+     * Текущее состояние.
+     */
+    @Getter
+    @NotNull
+    private volatile CircuitBreakerState state = CircuitBreakerState.Closed;
+
+    /**
+     * Текущий период остывания (в мс).
+     */
+    @Getter
+    private volatile long currentCoolDownMs;
+
+    /**
+     * Момент, начиная с которого допускается пропустить пробное сообщение.
+     */
+    @Getter
+    private volatile long nextProbeAtMs;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public ChannelCircuitBreaker(
+            @NotNull final ChannelHandlerDescriptor owner,
+            final long initialCoolDownMs,
+            final long maxCoolDownMs,
+            final double backoffMultiplier
+    ) {
+        if (initialCoolDownMs <= 0) {
+            throw new InvalidParameterException("InitialCoolDownMs can't be less or equal 0!");
+        }
+        if (backoffMultiplier < 1) {
+            throw new InvalidParameterException("BackoffMultiplier can't be less 1!");
+        }
+        this.owner = owner;
+        this.initialCoolDownMs = initialCoolDownMs;
+        this.maxCoolDownMs = Math.max(initialCoolDownMs, maxCoolDownMs);
+        this.backoffMultiplier = backoffMultiplier;
+        this.currentCoolDownMs = initialCoolDownMs;
+        this.metricsTags = List.of(Tag.of(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, owner.getChannelName()));
+        // Gauge привязан к описателю, а не к выключателю: при замене выключателя на ходу метрика остается актуальной
+        Gauge.builder(METRIC_STATE, owner, ChannelCircuitBreaker::stateMetricValue)
+                .tags(this.metricsTags)
+                .register(owner.getOwner().getMeterRegistry());
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Фиксация ошибки обработки сообщения канала: выключатель размыкается.
+     * Если ошибка получена на пробном сообщении, то период остывания увеличивается.
+     */
+    public synchronized void onFailure() {
+        final var now = System.currentTimeMillis();
+        final var prev = this.state;
+        if (prev == CircuitBreakerState.HalfOpen) {
+            this.currentCoolDownMs = Math.min(
+                    this.maxCoolDownMs,
+                    (long) Math.ceil(this.currentCoolDownMs * this.backoffMultiplier)
+            );
+        } else if (prev == CircuitBreakerState.Closed) {
+            this.currentCoolDownMs = this.initialCoolDownMs;
+        } else {
+            // Уже разомкнут (например, ошибка на сообщении, взятом до размыкания) - период остывания не меняем
+            return;
+        }
+        this.nextProbeAtMs = now + this.currentCoolDownMs;
+        transition(prev, CircuitBreakerState.Open);
+    }
+
+    /**
+     * Фиксация успешной обработки сообщения канала.
+     * Если выключатель полуоткрыт (успешно пробное сообщение), то блокировка канала снимается.
+     */
+    public void onSuccess() {
+        if (this.state != CircuitBreakerState.HalfOpen) {
+            return;
+        }
+        synchronized (this) {
+            if (this.state != CircuitBreakerState.HalfOpen) {
+                return;
+            }
+            this.currentCoolDownMs = this.initialCoolDownMs;
+            transition(CircuitBreakerState.HalfOpen, CircuitBreakerState.Closed);
+        }
+        this.owner.clearBlockingError();
+    }
+
+    /**
+     * Попытка получить разрешение на обработку пробного сообщения.
+     *
+     * @return true - период остывания истек, можно пропустить одно пробное сообщение.
+     */
+    public boolean tryAcquireProbe() {
+        if (this.state == CircuitBreakerState.Closed || System.currentTimeMillis() < this.nextProbeAtMs) {
+            return false;
+        }
+        synchronized (this) {
+            final var now = System.currentTimeMillis();
+            final var prev = this.state;
+            if (prev == CircuitBreakerState.Closed || now < this.nextProbeAtMs) {
+                return false;
+            }
+            // До получения результата пробы (либо до истечения периода остывания) следующую пробу не пропускаем
+            this.nextProbeAtMs = now + this.currentCoolDownMs;
+            if (prev != CircuitBreakerState.HalfOpen) {
+                transition(prev, CircuitBreakerState.HalfOpen);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Сброс выключателя в исходное состояние (блокировка снята вручную).
+     */
+    public synchronized void reset() {
+        this.currentCoolDownMs = this.initialCoolDownMs;
+        final var prev = this.state;
+        if (prev != CircuitBreakerState.Closed) {
+            transition(prev, CircuitBreakerState.Closed);
+        }
+    }
+
+    private static double stateMetricValue(@NotNull final ChannelHandlerDescriptor descriptor) {
+        final var circuitBreaker = descriptor.getCircuitBreaker();
+        return circuitBreaker != null
+                ? circuitBreaker.getState().getMetricValue()
+                : CircuitBreakerState.Closed.getMetricValue();
+    }
+
+    private void transition(@NotNull final CircuitBreakerState from, @NotNull final CircuitBreakerState to) {
+        this.state = to;
+        Counter.builder(METRIC_TRANSITIONS)
+                .tags(this.metricsTags)
+                .tag(METRIC_TAG_FROM, from.name())
+                .tag(METRIC_TAG_TO, to.name())
+                .register(this.owner.getOwner().getMeterRegistry())
+                .increment();
+        log.info("Channel {}: circuit breaker {} -> {}, coolDownMs = {}", this.owner.getChannelName(), from, to, this.currentCoolDownMs);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
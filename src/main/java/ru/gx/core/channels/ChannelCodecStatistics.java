@@ -0,0 +1,198 @@
+package ru.gx.core.channels;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.metrics.MetricsUtils;
+import ru.gx.core.worker.StatisticsInfo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Статистика одной операции кодека (сериализации или десериализации) сообщений канала:
+ * распределение размера полезной нагрузки (в байтах) и времени операции.<br/>
+ * Запись не требует блокировок.
+ *
+ * @see ChannelExecuteStatistics#recordSerialized(int, long)
+ * @see ChannelExecuteStatistics#recordDeserialized(int, long)
+ */
+@SuppressWarnings("unused")
+public class ChannelCodecStatistics {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Метрика: размер полезной нагрузки сообщения (в байтах).
+     */
+    public static final String METRIC_PAYLOAD_SIZE = "channel.payload.size";
+
+    /**
+     * Метрика: время сериализации сообщения.
+     */
+    public static final String METRIC_SERIALIZE_TIME = "channel.serialize.time";
+
+    /**
+     * Метрика: время десериализации сообщения.
+     */
+    public static final String METRIC_DESERIALIZE_TIME = "channel.deserialize.time";
+
+    /**
+     * Ярлык метрики размера: операция ({@link Operation}).
+     */
+    public static final String METRIC_TAG_OPERATION = "operation";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+
+    /**
+     * Операция кодека.
+     */
+    public enum Operation {
+        Serialize,
+        Deserialize
+    }
+
+    @Getter
+    @NotNull
+    private final Operation operation;
+
+    /**
+     * Метрика: размер полезной нагрузки (с процентилями по скользящему окну).
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final DistributionSummary metricPayloadSize;
+
+    /**
+     * Метрика: время операции (с процентилями по скользящему окну).
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Timer metricTime;
+
+    /**
+     * Количество операций с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Общий размер полезной нагрузки (в байтах) с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder totalBytes = new LongAdder();
+
+    /**
+     * Максимальный размер полезной нагрузки (в байтах) с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAccumulator maxBytes = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Общее время операций (в нс) с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Максимальное время одной операции (в нс) с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public ChannelCodecStatistics(
+            @NotNull final ChannelHandlerDescriptor owner,
+            @NotNull final Operation operation,
+            @NotNull final MeterRegistry meterRegistry
+    ) {
+        this.operation = operation;
+        this.metricPayloadSize = MetricsUtils.summaryWithPercentiles(METRIC_PAYLOAD_SIZE)
+                .baseUnit(BaseUnits.BYTES)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, owner.getChannelName())
+                .tag(METRIC_TAG_OPERATION, operation.name())
+                .register(meterRegistry);
+        this.metricTime = MetricsUtils.timerWithPercentiles(operation == Operation.Serialize ? METRIC_SERIALIZE_TIME : METRIC_DESERIALIZE_TIME)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, owner.getChannelName())
+                .register(meterRegistry);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Фиксируется факт выполнения операции.
+     *
+     * @param payloadBytes Размер полезной нагрузки (в байтах).
+     * @param nanos        Время операции (в нс).
+     */
+    public void record(final int payloadBytes, final long nanos) {
+        this.count.increment();
+        this.totalBytes.add(payloadBytes);
+        this.maxBytes.accumulate(payloadBytes);
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+        this.metricPayloadSize.record(payloadBytes);
+        this.metricTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reset() {
+        this.count.reset();
+        this.totalBytes.reset();
+        this.maxBytes.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+
+    /**
+     * @return Признак того, что с момента последнего сброса не было зафиксировано ни одной операции.
+     */
+    public boolean isEmpty() {
+        return this.count.sum() == 0;
+    }
+
+    /**
+     * @return Неизменяемый снимок статистики.
+     */
+    @NotNull
+    public ChannelCodecStatisticsSnapshot takeSnapshot() {
+        final var count = this.count.sum();
+        return new ChannelCodecStatisticsSnapshot(
+                count,
+                this.totalBytes.sum(),
+                count > 0 ? (double) this.totalBytes.sum() / count : 0.0,
+                this.maxBytes.get(),
+                MetricsUtils.percentiles(this.metricPayloadSize),
+                count > 0 ? this.totalNanos.sum() / 1000.0 / count : 0.0,
+                this.maxNanos.get() / 1000.0,
+                MetricsUtils.percentilesMs(this.metricTime)
+        );
+    }
+
+    public String getPrintableInfo() {
+        final var count = this.count.sum();
+        return this.operation +
+                ": count = " +
+                count +
+                ", avgBytes = " +
+                (count > 0 ? this.totalBytes.sum() / count : "NaN") +
+                ", maxBytes = " +
+                this.maxBytes.get() +
+                ", avgMcs = " +
+                (count > 0 ? this.totalNanos.sum() / 1000 / count : "NaN") +
+                ", maxMcs = " +
+                this.maxNanos.get() / 1000;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,60 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок статистики одной операции кодека (сериализации или десериализации) сообщений канала.
+ *
+ * @see ChannelCodecStatistics#takeSnapshot()
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChannelCodecStatisticsSnapshot {
+    /**
+     * Количество операций с момента последнего сброса статистики.
+     */
+    private final long count;
+
+    /**
+     * Общий размер полезной нагрузки (в байтах) с момента последнего сброса статистики.
+     */
+    private final long totalBytes;
+
+    /**
+     * Средний размер полезной нагрузки (в байтах) с момента последнего сброса статистики.
+     */
+    private final double avgBytes;
+
+    /**
+     * Максимальный размер полезной нагрузки (в байтах) с момента последнего сброса статистики.
+     */
+    private final long maxBytes;
+
+    /**
+     * Процентили размера полезной нагрузки (в байтах) по скользящему окну.
+     */
+    @NotNull
+    private final Map<String, Double> sizePercentilesBytes;
+
+    /**
+     * Среднее время операции (в мкс) с момента последнего сброса статистики.
+     */
+    private final double avgTimeMcs;
+
+    /**
+     * Максимальное время операции (в мкс) с момента последнего сброса статистики.
+     */
+    private final double maxTimeMcs;
+
+    /**
+     * Процентили времени операции (в мс) по скользящему окну.
+     */
+    @NotNull
+    private final Map<String, Double> timePercentilesMs;
+}
@@ -3,19 +3,40 @@ package ru.gx.core.channels;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.metrics.MetricsUtils;
+import ru.gx.core.metrics.SlidingWindowCounter;
+import ru.gx.core.metrics.StatisticsWindow;
+import ru.gx.core.metrics.ThreadResources;
 import ru.gx.core.worker.StatisticsInfo;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import static lombok.AccessLevel.PROTECTED;
 
+/**
+ * Статистика обработки сообщений канала в разрезе Исполнителей.<br/>
+ * Запись не требует блокировок: статистика Исполнителя создается один раз через {@link ConcurrentHashMap},
+ * накопители - {@link LongAdder} и {@link LongAccumulator}, которые распределяют запись по ячейкам (striped)
+ * и не конкурируют даже при обработке сообщений одного канала множеством Исполнителей.
+ * Сброс не атомарен относительно записи: значения, записанные во время сброса, могут как попасть в новый период,
+ * так и потеряться, что допустимо для статистики.
+ */
 @SuppressWarnings("unused")
 public class ChannelExecuteStatistics {
 
@@ -26,13 +47,34 @@ public class ChannelExecuteStatistics {
 
     @NotNull
     @JsonIgnore
-    private final Map<String, ChannelWorkerExecuteStatistics> workerExecuteStatisticsMap = new HashMap<>();
+    private final Map<String, ChannelWorkerExecuteStatistics> workerExecuteStatisticsMap = new ConcurrentHashMap<>();
 
     @Getter
     @NotNull
     @JsonIgnore
     private final MeterRegistry meterRegistry;
 
+    /**
+     * Количество сообщений канала, ожидающих обработки в очередях.
+     */
+    @NotNull
+    @JsonIgnore
+    private final LongAdder queueDepth = new LongAdder();
+
+    /**
+     * Статистика сериализации сообщений канала. Создается при первой сериализации.
+     */
+    @Nullable
+    @JsonIgnore
+    private volatile ChannelCodecStatistics serializeStatistics;
+
+    /**
+     * Статистика десериализации сообщений канала. Создается при первой десериализации.
+     */
+    @Nullable
+    @JsonIgnore
+    private volatile ChannelCodecStatistics deserializeStatistics;
+
     @JsonProperty("channelName")
     public String getChannelName() {
         return owner.getChannelName();
@@ -59,13 +101,25 @@ public class ChannelExecuteStatistics {
      * @param timeMs Время, затраченное на обработку сообщения.
      */
     public void recordMessageExecuted(@NotNull final String workerName, long timeMs) {
-        var stat = this.workerExecuteStatisticsMap.get(workerName);
-        if (stat == null) {
-            stat = new ChannelWorkerExecuteStatistics(this, workerName);
-            this.workerExecuteStatisticsMap.put(workerName, stat);
-        }
+        recordMessagesExecutedNanos(workerName, TimeUnit.MILLISECONDS.toNanos(timeMs), 1);
+    }
 
-        stat.recordMessageExecuted(timeMs);
+    /**
+     * Фиксируется факт обработки сообщения с учетом затраченных ресурсов потока.
+     *
+     * @param timeNanos      Время (в нс), затраченное на обработку сообщения.
+     * @param cpuTimeNanos   Процессорное время (в нс), либо отрицательное значение, если не измерялось.
+     * @param allocatedBytes Объем выделенной памяти (в байтах), либо отрицательное значение, если не измерялся.
+     */
+    public void recordMessageExecutedNanos(
+            @NotNull final String workerName,
+            final long timeNanos,
+            final long cpuTimeNanos,
+            final long allocatedBytes
+    ) {
+        final var stat = getWorkerExecuteStatistics(workerName);
+        stat.recordMessagesExecutedNanos(timeNanos, 1);
+        stat.recordThreadResources(cpuTimeNanos, allocatedBytes);
     }
 
     /**
@@ -75,13 +129,171 @@ public class ChannelExecuteStatistics {
      * @param count Количество сообщений в пакете.
      */
     public void recordMessagesExecuted(@NotNull final String workerName, final long timeMs, final int count) {
-        var stat = this.workerExecuteStatisticsMap.get(workerName);
+        recordMessagesExecutedNanos(workerName, TimeUnit.MILLISECONDS.toNanos(timeMs), count);
+    }
+
+    /**
+     * Фиксируется факт обработки пакета сообщений.
+     *
+     * @param timeNanos Время (в нс), затраченное на обработку пакета.
+     * @param count     Количество сообщений в пакете.
+     */
+    public void recordMessagesExecutedNanos(@NotNull final String workerName, final long timeNanos, final int count) {
+        getWorkerExecuteStatistics(workerName).recordMessagesExecutedNanos(timeNanos, count);
+    }
+
+    /**
+     * Получение (при необходимости создание) статистики Исполнителя.
+     * После создания чтение из {@link ConcurrentHashMap} выполняется без блокировок.
+     *
+     * @param workerName Имя Исполнителя.
+     * @return Статистика Исполнителя по данному каналу.
+     */
+    @NotNull
+    protected ChannelWorkerExecuteStatistics getWorkerExecuteStatistics(@NotNull final String workerName) {
+        final var stat = this.workerExecuteStatisticsMap.get(workerName);
+        if (stat != null) {
+            return stat;
+        }
+        return this.workerExecuteStatisticsMap.computeIfAbsent(
+                workerName,
+                name -> new ChannelWorkerExecuteStatistics(this, name)
+        );
+    }
+
+    /**
+     * Фиксируется факт помещения сообщения канала в очередь.
+     */
+    public void messageQueued() {
+        this.queueDepth.increment();
+    }
+
+    /**
+     * Фиксируется факт извлечения сообщения канала из очереди.
+     */
+    public void messageDequeued() {
+        this.queueDepth.decrement();
+    }
+
+    /**
+     * @return Количество сообщений канала, ожидающих обработки в очередях.
+     */
+    @JsonProperty("queueDepth")
+    public long getQueueDepth() {
+        return Math.max(0, this.queueDepth.sum());
+    }
+
+    /**
+     * Фиксируется факт сериализации сообщения канала (вызывается из кодека).
+     *
+     * @param payloadBytes Размер сериализованного сообщения (в байтах).
+     * @param nanos        Время сериализации (в нс).
+     */
+    public void recordSerialized(final int payloadBytes, final long nanos) {
+        var stat = this.serializeStatistics;
+        if (stat == null) {
+            stat = initCodecStatistics(ChannelCodecStatistics.Operation.Serialize);
+        }
+        stat.record(payloadBytes, nanos);
+    }
+
+    /**
+     * Фиксируется факт десериализации сообщения канала (вызывается из кодека).
+     *
+     * @param payloadBytes Размер сериализованного сообщения (в байтах).
+     * @param nanos        Время десериализации (в нс).
+     */
+    public void recordDeserialized(final int payloadBytes, final long nanos) {
+        var stat = this.deserializeStatistics;
         if (stat == null) {
-            stat = new ChannelWorkerExecuteStatistics(this, workerName);
-            this.workerExecuteStatisticsMap.put(workerName, stat);
+            stat = initCodecStatistics(ChannelCodecStatistics.Operation.Deserialize);
         }
+        stat.record(payloadBytes, nanos);
+    }
+
+    /**
+     * Создание статистики операции кодека. Метрики регистрируются только для каналов, сообщения которых
+     * действительно проходят через кодек.
+     */
+    @NotNull
+    private synchronized ChannelCodecStatistics initCodecStatistics(@NotNull final ChannelCodecStatistics.Operation operation) {
+        if (operation == ChannelCodecStatistics.Operation.Serialize) {
+            var result = this.serializeStatistics;
+            if (result == null) {
+                result = new ChannelCodecStatistics(this.owner, operation, this.meterRegistry);
+                this.serializeStatistics = result;
+            }
+            return result;
+        } else {
+            var result = this.deserializeStatistics;
+            if (result == null) {
+                result = new ChannelCodecStatistics(this.owner, operation, this.meterRegistry);
+                this.deserializeStatistics = result;
+            }
+            return result;
+        }
+    }
 
-        stat.recordMessagesExecuted(timeMs, count);
+    /**
+     * @return Статистика сериализации. null - сообщения канала не сериализовались.
+     */
+    @Nullable
+    @JsonIgnore
+    public ChannelCodecStatistics getSerializeStatistics() {
+        return this.serializeStatistics;
+    }
+
+    /**
+     * @return Статистика десериализации. null - сообщения канала не десериализовались.
+     */
+    @Nullable
+    @JsonIgnore
+    public ChannelCodecStatistics getDeserializeStatistics() {
+        return this.deserializeStatistics;
+    }
+
+    /**
+     * Построение снимка статистики. Снимок строится по скользящим окнам и не останавливает запись статистики.
+     *
+     * @return Неизменяемый снимок статистики канала.
+     */
+    @NotNull
+    public ChannelStatisticsSnapshot takeSnapshot() {
+        final var now = System.currentTimeMillis();
+        final var workers = new ArrayList<ChannelWorkerStatisticsSnapshot>();
+        final var rates = new LinkedHashMap<String, Double>();
+        for (final var window : StatisticsWindow.values()) {
+            rates.put(window.getWindowName(), 0.0);
+        }
+        Long lastMessageAgoMs = null;
+        for (final var stat : this.workerExecuteStatisticsMap.values()) {
+            final var snapshot = stat.takeSnapshot(now);
+            workers.add(snapshot);
+            snapshot.getMessagesPerSecond().forEach((window, rate) -> rates.merge(window, rate, Double::sum));
+            final var workerAgo = snapshot.getLastMessageAgoMs();
+            if (workerAgo != null && (lastMessageAgoMs == null || workerAgo < lastMessageAgoMs)) {
+                lastMessageAgoMs = workerAgo;
+            }
+        }
+        final var blockingError = this.owner.getBlockingError();
+        final var circuitBreaker = this.owner.getCircuitBreaker();
+        final var serialize = this.serializeStatistics;
+        final var deserialize = this.deserializeStatistics;
+        return new ChannelStatisticsSnapshot(
+                this.owner.getChannelName(),
+                this.owner.getDirection(),
+                this.owner.getPriority(),
+                this.owner.getState(),
+                this.owner.isBlockedByError(),
+                blockingError != null ? blockingError.toString() : null,
+                circuitBreaker != null ? circuitBreaker.getState() : null,
+                getQueueDepth(),
+                rates,
+                lastMessageAgoMs,
+                workers,
+                serialize != null ? serialize.takeSnapshot() : null,
+                deserialize != null ? deserialize.takeSnapshot() : null
+        );
     }
 
     public void reset() {
@@ -91,6 +303,14 @@ public class ChannelExecuteStatistics {
     protected void privateReset() {
         this.workerExecuteStatisticsMap.values()
                 .forEach(ChannelWorkerExecuteStatistics::reset);
+        final var serialize = this.serializeStatistics;
+        if (serialize != null) {
+            serialize.reset();
+        }
+        final var deserialize = this.deserializeStatistics;
+        if (deserialize != null) {
+            deserialize.reset();
+        }
     }
 
     public String getPrintableInfo() {
@@ -103,8 +323,7 @@ public class ChannelExecuteStatistics {
         }
         str.append(" by-workers: {");
         var isFirst = true;
-        for (var workerName : this.workerExecuteStatisticsMap.keySet()) {
-            final var stat = this.workerExecuteStatisticsMap.get(workerName);
+        for (final var stat : this.workerExecuteStatisticsMap.values()) {
             if (stat.isEmpty()) {
                 continue;
             }
@@ -116,18 +335,25 @@ public class ChannelExecuteStatistics {
             isFirst = false;
         }
         str.append("}");
+        for (final var codecStat : new ChannelCodecStatistics[]{this.serializeStatistics, this.deserializeStatistics}) {
+            if (codecStat != null && !codecStat.isEmpty()) {
+                str.append(" ").append(codecStat.getPrintableInfo());
+            }
+        }
         return str.toString();
     }
 
-    @Getter
     public static class ChannelWorkerExecuteStatistics {
 
+        @Getter
         @NotNull
         private final ChannelExecuteStatistics owner;
 
+        @Getter
         @NotNull
         private final String workerName;
 
+        @Getter
         @NotNull
         private final MeterRegistry meterRegistry;
 
@@ -145,37 +371,78 @@ public class ChannelExecuteStatistics {
         private final Counter metricExecutionsCount;
 
         /**
-         * Метрика: общее время на исполнения с момента запуска.
+         * Метрика: общее время на исполнения с момента запуска (с процентилями по скользящему окну).
          */
         @Getter(PROTECTED)
         @NotNull
         private final Timer metricExecutionsTime;
 
+        /**
+         * Метрика: процессорное время, затраченное на обработку сообщений.
+         */
+        @Getter(PROTECTED)
+        @NotNull
+        private final Timer metricExecutionsCpuTime;
+
+        /**
+         * Метрика: объем памяти, выделенной при обработке сообщений.
+         */
+        @Getter(PROTECTED)
+        @NotNull
+        private final DistributionSummary metricExecutionsAllocatedBytes;
+
         /**
          * Количество исполнений с момента последнего сброса.
          */
-        private volatile int count;
+        @NotNull
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Общее процессорное время (в мкс) затраченное на обработку событий с момента последнего сброса.
+         */
+        @NotNull
+        private final LongAdder totalCpuTimeMcs = new LongAdder();
+
+        /**
+         * Признак того, что с момента последнего сброса процессорное время измерялось.
+         */
+        private volatile boolean cpuTimeMeasured;
+
+        /**
+         * Общий объем памяти (в байтах), выделенной при обработке событий с момента последнего сброса.
+         */
+        @NotNull
+        private final LongAdder totalAllocatedBytes = new LongAdder();
+
+        /**
+         * Признак того, что с момента последнего сброса объем выделенной памяти измерялся.
+         */
+        private volatile boolean allocatedBytesMeasured;
 
         /**
          * Общее время затраченное на обработку событий с момента последнего сброса.
          */
-        private volatile long totalTimeMs;
+        @NotNull
+        private final LongAdder totalTimeNanos = new LongAdder();
 
         /**
          * Максимальное время на исполнение одного события с момента последнего сброса.
          */
-        private volatile long maxTimeMsPerEvent;
+        @NotNull
+        private final LongAccumulator maxTimeNanosPerEvent = new LongAccumulator(Long::max, 0);
 
         /**
-         * Признак того, что с момента последнего сброса не было зафиксировано ни одной обработки события.
+         * Момент времени обработки последнего сообщения.
+         * Аккумулятор максимума записывает значение, только если оно изменилось (не чаще раза в мс).
          */
-        private volatile boolean isEmpty;
+        @NotNull
+        private final LongAccumulator lastMessageProcessedMs = new LongAccumulator(Long::max, 0);
 
         /**
-         * Момент времени обработки последнего сообщения
+         * Количество обработанных сообщений по скользящим окнам (1m, 5m, 15m). Не сбрасываются при {@link #reset()}.
          */
-        @Getter(PROTECTED)
-        private volatile long lastMessageProcessedMs;
+        @NotNull
+        private final Map<StatisticsWindow, SlidingWindowCounter> messagesWindows = new EnumMap<>(StatisticsWindow.class);
 
         public ChannelWorkerExecuteStatistics(
                 @NotNull final ChannelExecuteStatistics owner,
@@ -192,9 +459,19 @@ public class ChannelExecuteStatistics {
             this.metricExecutionsCount = Counter.builder(StatisticsInfo.METRIC_EXECUTIONS_COUNT)
                     .tags(this.metricsTags)
                     .register(this.meterRegistry);
-            this.metricExecutionsTime = Timer.builder(StatisticsInfo.METRIC_EXECUTIONS_TIME)
+            this.metricExecutionsTime = MetricsUtils.timerWithPercentiles(StatisticsInfo.METRIC_EXECUTIONS_TIME)
+                    .tags(this.metricsTags)
+                    .register(this.meterRegistry);
+            this.metricExecutionsCpuTime = Timer.builder(StatisticsInfo.METRIC_EXECUTIONS_CPU_TIME)
+                    .tags(this.metricsTags)
+                    .register(this.meterRegistry);
+            this.metricExecutionsAllocatedBytes = DistributionSummary.builder(StatisticsInfo.METRIC_EXECUTIONS_ALLOCATED_BYTES)
+                    .baseUnit(BaseUnits.BYTES)
                     .tags(this.metricsTags)
                     .register(this.meterRegistry);
+            for (final var window : StatisticsWindow.values()) {
+                this.messagesWindows.put(window, window.newCounter());
+            }
 
             privateReset();
         }
@@ -204,11 +481,84 @@ public class ChannelExecuteStatistics {
         }
 
         private void privateReset() {
-            synchronized (getOwner()) {
-                this.isEmpty = true;
-                this.count = 0;
-                this.totalTimeMs = 0;
-                this.maxTimeMsPerEvent = 0;
+            this.count.reset();
+            this.totalTimeNanos.reset();
+            this.maxTimeNanosPerEvent.reset();
+            this.totalCpuTimeMcs.reset();
+            this.cpuTimeMeasured = false;
+            this.totalAllocatedBytes.reset();
+            this.allocatedBytesMeasured = false;
+        }
+
+        /**
+         * @return Признак того, что с момента последнего сброса не было зафиксировано ни одной обработки события.
+         */
+        public boolean isEmpty() {
+            return this.count.sum() == 0;
+        }
+
+        /**
+         * @return Количество исполнений с момента последнего сброса.
+         */
+        public int getCount() {
+            return this.count.intValue();
+        }
+
+        /**
+         * @return Общее время затраченное на обработку событий с момента последнего сброса.
+         */
+        public long getTotalTimeMs() {
+            return TimeUnit.NANOSECONDS.toMillis(this.totalTimeNanos.sum());
+        }
+
+        /**
+         * @return Максимальное время на исполнение одного события с момента последнего сброса.
+         */
+        public long getMaxTimeMsPerEvent() {
+            return TimeUnit.NANOSECONDS.toMillis(this.maxTimeNanosPerEvent.get());
+        }
+
+        /**
+         * @return Общее процессорное время (в мкс) с момента последнего сброса. Отрицательное, если не измерялось.
+         */
+        public long getTotalCpuTimeMcs() {
+            return this.cpuTimeMeasured ? this.totalCpuTimeMcs.sum() : ThreadResources.NOT_MEASURED;
+        }
+
+        /**
+         * @return Общий объем выделенной памяти (в байтах) с момента последнего сброса. Отрицательный, если не измерялся.
+         */
+        public long getTotalAllocatedBytes() {
+            return this.allocatedBytesMeasured ? this.totalAllocatedBytes.sum() : ThreadResources.NOT_MEASURED;
+        }
+
+        /**
+         * @return Момент времени обработки последнего сообщения.
+         */
+        protected long getLastMessageProcessedMs() {
+            return this.lastMessageProcessedMs.get();
+        }
+
+        /**
+         * Фиксируются ресурсы потока, затраченные на обработку сообщения.
+         *
+         * @param cpuTimeNanos   Процессорное время (в нс), либо отрицательное значение, если не измерялось.
+         * @param allocatedBytes Объем выделенной памяти (в байтах), либо отрицательное значение, если не измерялся.
+         */
+        public void recordThreadResources(final long cpuTimeNanos, final long allocatedBytes) {
+            if (cpuTimeNanos >= 0) {
+                this.totalCpuTimeMcs.add(cpuTimeNanos / 1000);
+                if (!this.cpuTimeMeasured) {
+                    this.cpuTimeMeasured = true;
+                }
+                this.metricExecutionsCpuTime.record(cpuTimeNanos, TimeUnit.NANOSECONDS);
+            }
+            if (allocatedBytes >= 0) {
+                this.totalAllocatedBytes.add(allocatedBytes);
+                if (!this.allocatedBytesMeasured) {
+                    this.allocatedBytesMeasured = true;
+                }
+                this.metricExecutionsAllocatedBytes.record(allocatedBytes);
             }
         }
 
@@ -216,7 +566,7 @@ public class ChannelExecuteStatistics {
          * @return Сколько прошло миллисекунд с обработки последнего сообщения
          */
         public long getLastMessageLeftMs() {
-            return System.currentTimeMillis() - this.lastMessageProcessedMs;
+            return System.currentTimeMillis() - getLastMessageProcessedMs();
         }
 
         /**
@@ -225,15 +575,7 @@ public class ChannelExecuteStatistics {
          * @param timeMs Время, затраченное на обработку сообщения.
          */
         public void recordMessageExecuted(long timeMs) {
-            synchronized (getOwner()) {
-                this.lastMessageProcessedMs = System.currentTimeMillis();
-                this.count++;
-                this.totalTimeMs += timeMs;
-                if (timeMs > this.maxTimeMsPerEvent) {
-                    this.maxTimeMsPerEvent = timeMs;
-                }
-                this.isEmpty = false;
-            }
+            recordMessagesExecutedNanos(TimeUnit.MILLISECONDS.toNanos(timeMs), 1);
         }
 
         /**
@@ -243,29 +585,75 @@ public class ChannelExecuteStatistics {
          * @param count  Количество сообщений в пакете.
          */
         public void recordMessagesExecuted(final long timeMs, final int count) {
-            synchronized (getOwner()) {
-                this.lastMessageProcessedMs = System.currentTimeMillis();
-                this.count += count;
-                this.totalTimeMs += timeMs;
-                if (timeMs > this.maxTimeMsPerEvent) {
-                    this.maxTimeMsPerEvent = timeMs;
-                }
-                this.isEmpty = false;
+            recordMessagesExecutedNanos(TimeUnit.MILLISECONDS.toNanos(timeMs), count);
+        }
+
+        /**
+         * Фиксируется факт обработки пакета сообщений.
+         * Время - в наносекундах, чтобы обработки короче миллисекунды не превращались в 0 в процентилях.
+         *
+         * @param timeNanos Время (в нс), затраченное на обработку пакета.
+         * @param count     Количество сообщений в пакете.
+         */
+        public void recordMessagesExecutedNanos(final long timeNanos, final int count) {
+            final var now = System.currentTimeMillis();
+            this.lastMessageProcessedMs.accumulate(now);
+            this.count.add(count);
+            this.totalTimeNanos.add(timeNanos);
+            this.maxTimeNanosPerEvent.accumulate(timeNanos);
+            for (final var counter : this.messagesWindows.values()) {
+                counter.add(now, count);
             }
+            this.metricExecutionsCount.increment(count);
+            // Для пакета в распределение попадает среднее время на одно сообщение
+            this.metricExecutionsTime.record(count > 1 ? timeNanos / count : timeNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Построение снимка статистики Исполнителя.
+         *
+         * @param nowMs Момент, на который строится снимок.
+         * @return Неизменяемый снимок статистики.
+         */
+        @NotNull
+        public ChannelWorkerStatisticsSnapshot takeSnapshot(final long nowMs) {
+            final var rates = new LinkedHashMap<String, Double>();
+            this.messagesWindows.forEach((window, counter) ->
+                    rates.put(window.getWindowName(), counter.sum(nowMs) * 1000.0 / counter.spanMs(nowMs))
+            );
+            final var count = getCount();
+            final var lastMessageProcessedMs = getLastMessageProcessedMs();
+            return new ChannelWorkerStatisticsSnapshot(
+                    this.workerName,
+                    count,
+                    rates,
+                    MetricsUtils.percentilesMs(this.metricExecutionsTime),
+                    count > 0 ? this.totalTimeNanos.sum() / 1_000_000.0 / count : 0.0,
+                    getMaxTimeMsPerEvent(),
+                    lastMessageProcessedMs > 0 ? Math.max(0, nowMs - lastMessageProcessedMs) : null,
+                    getTotalCpuTimeMcs(),
+                    getTotalAllocatedBytes()
+            );
         }
 
         public String getPrintableInfo() {
+            final var count = getCount();
+            final var totalTimeMs = getTotalTimeMs();
+            final var totalCpuTimeMcs = getTotalCpuTimeMcs();
+            final var totalAllocatedBytes = getTotalAllocatedBytes();
             return this.workerName +
                     ": lastMessage: " +
                     getLastMessageLeftMs() / 1000 +
                     " s, count = " +
-                    getCount() +
+                    count +
                     ", totalMs = " +
-                    getTotalTimeMs() +
+                    totalTimeMs +
                     ", maxTime = " +
                     getMaxTimeMsPerEvent() +
                     ", avgTime = " +
-                    (getCount() > 0 ? getTotalTimeMs() / getCount() : "NaN");
+                    (count > 0 ? totalTimeMs / count : "NaN") +
+                    (totalCpuTimeMcs >= 0 ? ", cpuMs = " + totalCpuTimeMcs / 1000 : "") +
+                    (totalAllocatedBytes >= 0 ? ", allocatedKb = " + totalAllocatedBytes / 1024 : "");
         }
 
     }
@@ -7,6 +7,7 @@ import ru.gx.core.messaging.MessageBody;
 
 import java.security.InvalidParameterException;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Интерфейс обработчика канала передачи данных.
@@ -117,6 +118,87 @@ public interface ChannelHandlerDescriptor {
     @NotNull
     ChannelHandlerDescriptor clearBlockingError();
 
+    /**
+     * @return Автоматический выключатель канала. null - блокировка ошибкой снимается только вручную.
+     */
+    @Nullable
+    ChannelCircuitBreaker getCircuitBreaker();
+
+    /**
+     * Установка автоматического выключателя канала. Допускается изменять во время работы приложения.
+     *
+     * @param initialCoolDownMs Начальный период остывания (в мс). <= 0 - выключить автоматический выключатель.
+     * @param maxCoolDownMs     Максимальный период остывания (в мс).
+     * @param backoffMultiplier Множитель увеличения периода остывания после неудачной пробы (>= 1).
+     * @return this.
+     */
+    @NotNull
+    ChannelHandlerDescriptor setCircuitBreaker(final long initialCoolDownMs, final long maxCoolDownMs, final double backoffMultiplier);
+
+    /**
+     * Попытка получить разрешение на обработку пробного сообщения заблокированного ошибкой канала.
+     *
+     * @return true - можно пропустить в обработку одно пробное сообщение.
+     */
+    boolean tryAcquireProbe();
+
+    /**
+     * Фиксируется факт успешной обработки сообщения канала (используется автоматическим выключателем).
+     */
+    void recordMessageSucceeded();
+
+    /**
+     * @return Ограничение частоты обработки сообщений канала (сообщений в секунду). 0 - без ограничения.
+     */
+    double getRateLimitPerSecond();
+
+    /**
+     * @return Допустимая пачка сообщений подряд при ограничении частоты.
+     */
+    int getRateLimitBurst();
+
+    /**
+     * Установка ограничения частоты обработки сообщений канала. Допускается изменять во время работы приложения.
+     *
+     * @param permitsPerSecond Сообщений в секунду. 0 - снять ограничение.
+     * @param burst            Допустимая пачка сообщений подряд (>= 1).
+     * @return this.
+     */
+    @NotNull
+    ChannelHandlerDescriptor setRateLimit(final double permitsPerSecond, final int burst);
+
+    /**
+     * Попытка получить разрешение на обработку одного сообщения канала с учетом ограничения частоты.
+     * Не блокирует поток.
+     *
+     * @return true - сообщение можно обрабатывать; false - лимит исчерпан, сообщение надо отложить.
+     */
+    boolean tryAcquireRatePermit();
+
+    /**
+     * @return Сколько наносекунд осталось до появления разрешения ограничителя частоты.
+     * 0 - разрешение есть (или частота не ограничена).
+     */
+    default long nanosToNextRatePermit() {
+        return 0;
+    }
+
+    /**
+     * @return Количество неудачных попыток обработки сообщения, после которого оно помещается
+     * в хранилище недоставленных сообщений ({@link ru.gx.core.deadletters.DeadLetterStore}). 0 - не помещается.
+     */
+    int getDeadLetterMaxAttempts();
+
+    /**
+     * Установка количества неудачных попыток обработки сообщения, после которого оно помещается
+     * в хранилище недоставленных сообщений. Допускается изменять во время работы приложения.
+     *
+     * @param deadLetterMaxAttempts Количество попыток. 0 - не помещать.
+     * @return this.
+     */
+    @NotNull
+    ChannelHandlerDescriptor setDeadLetterMaxAttempts(final int deadLetterMaxAttempts);
+
     /**
      * @return Статистика обработки сообщений.
      */
@@ -130,6 +212,22 @@ public interface ChannelHandlerDescriptor {
      */
     void recordMessageExecuted(@NotNull final String workerName, final long timeMs);
 
+    /**
+     * Фиксируется факт обработки сообщения с учетом затраченных ресурсов потока.
+     *
+     * @param timeNanos      Время (в нс), затраченное на обработку сообщения.
+     * @param cpuTimeNanos   Процессорное время (в нс), либо отрицательное значение, если не измерялось.
+     * @param allocatedBytes Объем выделенной памяти (в байтах), либо отрицательное значение, если не измерялся.
+     */
+    default void recordMessageExecutedNanos(
+            @NotNull final String workerName,
+            final long timeNanos,
+            final long cpuTimeNanos,
+            final long allocatedBytes
+    ) {
+        recordMessageExecuted(workerName, TimeUnit.NANOSECONDS.toMillis(timeNanos));
+    }
+
     /**
      * Фиксируется факт обработки сообщений
      *
@@ -138,6 +236,16 @@ public interface ChannelHandlerDescriptor {
      */
     void recordMessagesExecuted(@NotNull final String workerName, final long timeMs, final int count);
 
+    /**
+     * Фиксируется факт обработки сообщений.
+     *
+     * @param timeNanos Время (в нс), затраченное на обработку пачки сообщений.
+     * @param count     Количество обработанных сообщений.
+     */
+    default void recordMessagesExecutedNanos(@NotNull final String workerName, final long timeNanos, final int count) {
+        recordMessagesExecuted(workerName, TimeUnit.NANOSECONDS.toMillis(timeNanos), count);
+    }
+
     /**
      * Признак того, что описатель инициализирован.
      */
@@ -0,0 +1,95 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок статистики обработки сообщений канала.
+ *
+ * @see ChannelExecuteStatistics#takeSnapshot()
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChannelStatisticsSnapshot {
+    /**
+     * Имя канала.
+     */
+    @NotNull
+    private final String channelName;
+
+    /**
+     * Направление канала.
+     */
+    @NotNull
+    private final ChannelDirection direction;
+
+    /**
+     * Приоритет канала.
+     */
+    private final int priority;
+
+    /**
+     * Состояние канала.
+     */
+    @NotNull
+    private final ChannelState state;
+
+    /**
+     * Признак блокировки канала ошибкой.
+     */
+    private final boolean blockedByError;
+
+    /**
+     * Текст блокирующей ошибки. null - канал не заблокирован.
+     */
+    @Nullable
+    private final String blockingError;
+
+    /**
+     * Состояние автоматического выключателя канала. null - выключатель не используется.
+     */
+    @Nullable
+    private final CircuitBreakerState circuitBreakerState;
+
+    /**
+     * Количество сообщений канала, ожидающих обработки в очередях.
+     */
+    private final long queueDepth;
+
+    /**
+     * Количество обработанных сообщений в секунду (по всем Исполнителям) по скользящим окнам: 1m, 5m, 15m.
+     */
+    @NotNull
+    private final Map<String, Double> messagesPerSecond;
+
+    /**
+     * Сколько прошло миллисекунд с обработки последнего сообщения (любым Исполнителем). null - сообщений еще не было.
+     */
+    @Nullable
+    private final Long lastMessageAgoMs;
+
+    /**
+     * Статистика в разрезе Исполнителей.
+     */
+    @NotNull
+    private final List<ChannelWorkerStatisticsSnapshot> workers;
+
+    /**
+     * Статистика сериализации: размер полезной нагрузки и время. null - сообщения канала не сериализовались.
+     */
+    @Nullable
+    private final ChannelCodecStatisticsSnapshot serialize;
+
+    /**
+     * Статистика десериализации: размер полезной нагрузки и время. null - сообщения канала не десериализовались.
+     */
+    @Nullable
+    private final ChannelCodecStatisticsSnapshot deserialize;
+}
@@ -0,0 +1,68 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок статистики обработки сообщений канала одним Исполнителем.
+ *
+ * @see ChannelExecuteStatistics.ChannelWorkerExecuteStatistics#takeSnapshot(long)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChannelWorkerStatisticsSnapshot {
+    /**
+     * Имя Исполнителя.
+     */
+    @NotNull
+    private final String workerName;
+
+    /**
+     * Количество обработанных сообщений с момента последнего сброса статистики.
+     */
+    private final long count;
+
+    /**
+     * Количество обработанных сообщений в секунду по скользящим окнам: 1m, 5m, 15m.
+     */
+    @NotNull
+    private final Map<String, Double> messagesPerSecond;
+
+    /**
+     * Процентили времени обработки одного сообщения (в мс) по скользящему окну.
+     */
+    @NotNull
+    private final Map<String, Double> latencyPercentilesMs;
+
+    /**
+     * Среднее время обработки одного сообщения (в мс) с момента последнего сброса статистики.
+     */
+    private final double avgTimeMs;
+
+    /**
+     * Максимальное время обработки одного сообщения (в мс) с момента последнего сброса статистики.
+     */
+    private final long maxTimeMs;
+
+    /**
+     * Сколько прошло миллисекунд с обработки последнего сообщения. null - сообщений еще не было.
+     */
+    @Nullable
+    private final Long lastMessageAgoMs;
+
+    /**
+     * Процессорное время (в мкс) с момента последнего сброса статистики. Отрицательное, если не измерялось.
+     */
+    private final long totalCpuTimeMcs;
+
+    /**
+     * Объем выделенной памяти (в байтах) с момента последнего сброса статистики. Отрицательный, если не измерялся.
+     */
+    private final long totalAllocatedBytes;
+}
@@ -0,0 +1,61 @@
+package ru.gx.core.channels;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actuator-endpoint со снимками статистики обработки сообщений каналов.<br/>
+ * GET /actuator/channelstats - снимки всех каналов; GET /actuator/channelstats/{channelName} - снимок одного канала.<br/>
+ * Снимки строятся по скользящим окнам и не останавливают запись статистики.
+ */
+@Endpoint(id = ChannelsStatisticsEndpoint.ENDPOINT_ID)
+public class ChannelsStatisticsEndpoint {
+    public static final String ENDPOINT_ID = "channelstats";
+
+    /**
+     * Конфигурации каналов; обходятся при каждом запросе (допускается ленивый источник, например ObjectProvider).
+     */
+    @NotNull
+    private final Iterable<ChannelsConfiguration> configurations;
+
+    public ChannelsStatisticsEndpoint(@NotNull final Iterable<ChannelsConfiguration> configurations) {
+        super();
+        this.configurations = configurations;
+    }
+
+    /**
+     * @return Снимки статистики всех каналов всех конфигураций.
+     */
+    @ReadOperation
+    @NotNull
+    public List<ChannelStatisticsSnapshot> channels() {
+        final var result = new ArrayList<ChannelStatisticsSnapshot>();
+        this.configurations
+                .forEach(config -> config
+                        .getAll()
+                        .forEach(channel -> result.add(channel.getExecuteStatistics().takeSnapshot())));
+        return result;
+    }
+
+    /**
+     * @param channelName Имя канала.
+     * @return Снимок статистики канала; null (404), если канал не найден.
+     */
+    @ReadOperation
+    @Nullable
+    public ChannelStatisticsSnapshot channel(@Selector final String channelName) {
+        for (final var config : this.configurations) {
+            final var channel = config.tryGet(channelName);
+            if (channel != null) {
+                return channel.getExecuteStatistics().takeSnapshot();
+            }
+        }
+        return null;
+    }
+}
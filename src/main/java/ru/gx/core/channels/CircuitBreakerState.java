@@ -0,0 +1,35 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+
+/**
+ * Состояния автоматического выключателя (circuit breaker) канала.
+ *
+ * @see ChannelCircuitBreaker
+ */
+public enum CircuitBreakerState {
+    /**
+     * Замкнут: канал работает в обычном режиме.
+     */
+    Closed(0),
+
+    /**
+     * Разомкнут: канал заблокирован ошибкой, ждем окончания периода остывания.
+     */
+    Open(1),
+
+    /**
+     * Полуоткрыт: период остывания истек, в обработку пропущено одно пробное сообщение.
+     */
+    HalfOpen(2);
+
+    /**
+     * Числовое значение состояния для публикации в метрике.
+     */
+    @Getter
+    private final int metricValue;
+
+    CircuitBreakerState(final int metricValue) {
+        this.metricValue = metricValue;
+    }
+}
@@ -36,4 +36,16 @@ public interface IncomeChannelHandlerDescriptor
      */
     @NotNull
     IncomeChannelHandlerDescriptor setProcessType(@Nullable final IncomeDataProcessType processType);
+
+    /**
+     * @return Извлекатель ключа сообщения для способа обработки {@link IncomeDataProcessType#ParallelByKey}.
+     */
+    @Nullable
+    MessageKeyExtractor getKeyExtractor();
+
+    /**
+     * Установка извлекателя ключа сообщения для способа обработки {@link IncomeDataProcessType#ParallelByKey}.
+     */
+    @NotNull
+    IncomeChannelHandlerDescriptor setKeyExtractor(@Nullable final MessageKeyExtractor keyExtractor);
 }
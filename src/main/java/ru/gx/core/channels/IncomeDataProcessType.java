@@ -12,5 +12,14 @@ public enum IncomeDataProcessType {
     /**
      * Отправить в очередь событий
      */
-    SendToMessagesQueue
+    SendToMessagesQueue,
+
+    /**
+     * Параллельная обработка по ключу: сообщения распределяются по фиксированному набору параллельных "полос"
+     * по хешу ключа (см. {@link IncomeChannelHandlerDescriptor#getKeyExtractor()}).
+     * Порядок обработки сохраняется в рамках одного ключа.
+     *
+     * @see ru.gx.core.messaging.KeyOrderedMessagesExecutor
+     */
+    ParallelByKey
 }
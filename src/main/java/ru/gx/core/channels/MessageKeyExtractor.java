@@ -0,0 +1,22 @@
+package ru.gx.core.channels;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.Message;
+
+/**
+ * Извлекатель ключа сообщения (например, кода инструмента или счета из тела или корреляции сообщения).
+ * Сообщения с одинаковым ключом обрабатываются строго последовательно.
+ *
+ * @see IncomeDataProcessType#ParallelByKey
+ */
+@FunctionalInterface
+public interface MessageKeyExtractor {
+    /**
+     * @param message Сообщение.
+     * @return Ключ сообщения. Должен корректно реализовывать hashCode().
+     * null - сообщение не требует упорядочивания и может быть обработано в любой "полосе".
+     */
+    @Nullable
+    Object extractKey(@NotNull final Message<?> message);
+}
@@ -0,0 +1,81 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Пачка исходящих сообщений одного канала, готовая к передаче транспорту.<br/>
+ * Сообщения в пачке следуют в порядке их поступления в канал.
+ *
+ * @see OutcomeBatchSender
+ */
+@Getter
+@ToString(exclude = "messages")
+@SuppressWarnings("unused")
+public class OutcomeBatch {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Описатель канала, в который отправляется пачка.
+     */
+    @NotNull
+    private final OutcomeChannelHandlerDescriptor descriptor;
+
+    /**
+     * Сообщения пачки (неизменяемый список).
+     */
+    @NotNull
+    private final List<Message<? extends MessageBody>> messages;
+
+    /**
+     * Объем сообщений пачки (в байтах) по данным отправителей. 0 - объем не учитывался.
+     */
+    private final long bytes;
+
+    /**
+     * Причина отправки пачки.
+     */
+    @NotNull
+    private final OutcomeBatchFlushReason reason;
+
+    /**
+     * Время (в мс) от поступления первого сообщения пачки до ее отправки.
+     */
+    private final long lingeredMs;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public OutcomeBatch(
+            @NotNull final OutcomeChannelHandlerDescriptor descriptor,
+            @NotNull final List<Message<? extends MessageBody>> messages,
+            final long bytes,
+            @NotNull final OutcomeBatchFlushReason reason,
+            final long lingeredMs
+    ) {
+        this.descriptor = descriptor;
+        this.messages = Collections.unmodifiableList(messages);
+        this.bytes = bytes;
+        this.reason = reason;
+        this.lingeredMs = lingeredMs;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Getters">
+
+    /**
+     * @return Количество сообщений в пачке.
+     */
+    public int size() {
+        return this.messages.size();
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
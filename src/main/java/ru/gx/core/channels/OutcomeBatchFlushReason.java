@@ -0,0 +1,38 @@
+package ru.gx.core.channels;
+
+/**
+ * Причина отправки накопленной пачки исходящих сообщений.
+ *
+ * @see OutcomeMessagesBatcher
+ */
+public enum OutcomeBatchFlushReason {
+    /**
+     * Накоплено максимальное количество сообщений.
+     */
+    MaxCount,
+
+    /**
+     * Накоплен максимальный объем сообщений (в байтах).
+     */
+    MaxBytes,
+
+    /**
+     * Истекло время ожидания (linger) с момента поступления первого сообщения пачки.
+     */
+    Linger,
+
+    /**
+     * Явный вызов отправки.
+     */
+    Manual,
+
+    /**
+     * Останов приложения или деинициализация описателя канала.
+     */
+    Shutdown,
+
+    /**
+     * Накопление в канале выключено, сообщение отправлено сразу пачкой из одного сообщения.
+     */
+    Immediate
+}
@@ -0,0 +1,21 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ошибка отправки пачки исходящих сообщений транспортом.<br/>
+ * Содержит саму пачку. Пачки накопителя ({@link OutcomeMessagesBatcher}) повторно отправляет сам накопитель,
+ * пачку из одного сообщения (накопление выключено) - вызывающий.
+ */
+public class OutcomeBatchSendException extends RuntimeException {
+    @Getter
+    @NotNull
+    private final OutcomeBatch batch;
+
+    public OutcomeBatchSendException(@NotNull final OutcomeBatch batch, @NotNull final Throwable cause) {
+        super("Failed to send batch of " + batch.size() + " messages to channel "
+                + batch.getDescriptor().getChannelName() + " (reason " + batch.getReason() + ")", cause);
+        this.batch = batch;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.gx.core.channels;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Транспорт исходящего канала: отправка готовой пачки сообщений.<br/>
+ * Вызывается синхронно, пачки одного канала передаются строго по очереди и в порядке поступления сообщений.
+ *
+ * @see OutcomeChannelHandlerDescriptor#setBatchSender(OutcomeBatchSender)
+ */
+@FunctionalInterface
+public interface OutcomeBatchSender {
+    /**
+     * Отправка пачки сообщений.
+     *
+     * @param batch Пачка сообщений одного канала.
+     * @throws Exception Ошибка отправки. Пачка при этом считается не отправленной: накопитель сохраняет ее
+     *                   и отправляет повторно (теми же сообщениями) перед следующей пачкой.
+     */
+    void send(@NotNull OutcomeBatch batch) throws Exception;
+}
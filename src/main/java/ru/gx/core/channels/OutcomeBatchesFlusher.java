@@ -0,0 +1,127 @@
+package ru.gx.core.channels;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+import java.security.InvalidParameterException;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.function.Consumer;
+
+/**
+ * Периодическая отправка пачек исходящих каналов, у которых истекло время linger,
+ * и синхронная отправка всех накопленных сообщений при останове приложения.<br/>
+ * Останавливается в фазе {@link SmartLifecycle#DEFAULT_PHASE}, т.е. раньше компонентов с меньшей фазой;
+ * транспорты, которые закрываются при уничтожении бинов, на момент останова еще доступны.<br/>
+ * В автоконфигурации создается только при service.outcome-batching.enabled=true.
+ *
+ * @see OutcomeMessagesBatcher
+ */
+@Slf4j
+public class OutcomeBatchesFlusher implements SmartLifecycle {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @NotNull
+    private final Iterable<ChannelsConfiguration> configurations;
+
+    /**
+     * Период (в мс) проверки истечения linger-а.
+     */
+    private final long checkEveryMs;
+
+    @Nullable
+    private Timer timer;
+
+    private volatile boolean running;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public OutcomeBatchesFlusher(
+            @NotNull final Iterable<ChannelsConfiguration> configurations,
+            final long checkEveryMs
+    ) {
+        if (checkEveryMs < 1) {
+            throw new InvalidParameterException("CheckEveryMs can't be less 1!");
+        }
+        this.configurations = configurations;
+        this.checkEveryMs = checkEveryMs;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Lifecycle">
+    @Override
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.timer = new Timer("outcome-batches-flusher", true);
+        this.timer.scheduleAtFixedRate(new LingerTimerTask(), this.checkEveryMs, this.checkEveryMs);
+        this.running = true;
+    }
+
+    /**
+     * Останов: периодическая проверка прекращается, все накопленные пачки отправляются синхронно.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        if (this.timer != null) {
+            this.timer.cancel();
+            this.timer = null;
+        }
+        final var sent = new long[1];
+        forEachBatcher(batcher -> sent[0] += batcher.flush(OutcomeBatchFlushReason.Shutdown));
+        log.info("Outcome batches flushed on shutdown: {} messages", sent[0]);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Обход накопителей всех исходящих каналов. Ошибка в одном канале не мешает обработке остальных.
+     */
+    protected void forEachBatcher(@NotNull final Consumer<OutcomeMessagesBatcher> action) {
+        for (final var config : this.configurations) {
+            for (final var descriptor : config.getAll()) {
+                if (!(descriptor instanceof final OutcomeChannelHandlerDescriptor outcomeDescriptor)) {
+                    continue;
+                }
+                final var batcher = outcomeDescriptor.getBatcher();
+                if (batcher == null) {
+                    continue;
+                }
+                try {
+                    action.accept(batcher);
+                } catch (Exception e) {
+                    log.error("Outcome batch of channel {} failed; batch is kept for retry", descriptor.getChannelName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Task, который отправляет пачки с истекшим linger-ом.
+     */
+    protected class LingerTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            final var now = System.currentTimeMillis();
+            forEachBatcher(batcher -> batcher.flushIfLingerExpired(now));
+        }
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
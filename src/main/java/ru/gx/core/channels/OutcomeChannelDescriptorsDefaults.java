@@ -10,4 +10,18 @@ import lombok.experimental.Accessors;
 @Accessors(chain = true)
 @ToString
 public class OutcomeChannelDescriptorsDefaults extends AbstractChannelDescriptorsDefaults {
+    /**
+     * Максимальное количество сообщений в пачке. 1 - накопление сообщений не используется.
+     */
+    private int batchMaxCount = 1;
+
+    /**
+     * Максимальный объем пачки (в байтах). 0 - объем не ограничивается.
+     */
+    private long batchMaxBytes = 0;
+
+    /**
+     * Максимальное время (в мс) ожидания с момента поступления первого сообщения пачки до ее отправки.
+     */
+    private long batchLingerMs = 5;
 }
@@ -1,5 +1,7 @@
 package ru.gx.core.channels;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import ru.gx.core.messaging.*;
 
 /**
@@ -8,4 +10,86 @@ import ru.gx.core.messaging.*;
 @SuppressWarnings("unused")
 public interface OutcomeChannelHandlerDescriptor
         extends ChannelHandlerDescriptor, MetadataGetter, MetadataSetter {
+
+    /**
+     * @return Максимальное количество сообщений в пачке. 1 - накопление сообщений не используется.
+     */
+    int getBatchMaxCount();
+
+    /**
+     * Установка максимального количества сообщений в пачке.
+     *
+     * @param batchMaxCount Количество сообщений (>= 1). 1 - накопление сообщений не используется.
+     * @return this.
+     */
+    @NotNull
+    OutcomeChannelHandlerDescriptor setBatchMaxCount(int batchMaxCount);
+
+    /**
+     * @return Максимальный объем пачки (в байтах). 0 - объем не ограничивается.
+     */
+    long getBatchMaxBytes();
+
+    /**
+     * Установка максимального объема пачки.
+     *
+     * @param batchMaxBytes Объем (в байтах). 0 - объем не ограничивается.
+     * @return this.
+     */
+    @NotNull
+    OutcomeChannelHandlerDescriptor setBatchMaxBytes(long batchMaxBytes);
+
+    /**
+     * @return Максимальное время (в мс) ожидания с момента поступления первого сообщения пачки до ее отправки.
+     */
+    long getBatchLingerMs();
+
+    /**
+     * Установка максимального времени ожидания отправки пачки.
+     *
+     * @param batchLingerMs Время (в мс, >= 1).
+     * @return this.
+     */
+    @NotNull
+    OutcomeChannelHandlerDescriptor setBatchLingerMs(long batchLingerMs);
+
+    /**
+     * @return Транспорт, которому передаются готовые пачки сообщений.
+     */
+    @Nullable
+    OutcomeBatchSender getBatchSender();
+
+    /**
+     * Установка транспорта, которому передаются готовые пачки сообщений.
+     *
+     * @param batchSender Транспорт.
+     * @return this.
+     */
+    @NotNull
+    OutcomeChannelHandlerDescriptor setBatchSender(@Nullable OutcomeBatchSender batchSender);
+
+    /**
+     * @return Накопитель сообщений канала. null - накопление не используется (или описатель не инициализирован).
+     */
+    @Nullable
+    OutcomeMessagesBatcher getBatcher();
+
+    /**
+     * Отправка исходящего сообщения через накопитель канала.
+     * Если накопление не используется, то сообщение сразу передается транспорту пачкой из одного сообщения.
+     *
+     * @param message   Исходящее сообщение.
+     * @param sizeBytes Объем сообщения (в байтах); 0 - объем не учитывается.
+     * @throws OutcomeBatchSendException Сообщение не отправлено и не принято накопителем (см. {@link OutcomeMessagesBatcher#offer(Message, int)}).
+     */
+    void offer(@NotNull Message<? extends MessageBody> message, int sizeBytes);
+
+    /**
+     * Синхронная отправка накопленной пачки.
+     *
+     * @param reason Причина отправки.
+     * @return Количество отправленных сообщений.
+     * @throws OutcomeBatchSendException Ошибка отправки пачки транспортом.
+     */
+    int flushBatch(@NotNull OutcomeBatchFlushReason reason);
 }
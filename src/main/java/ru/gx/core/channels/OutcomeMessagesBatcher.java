@@ -0,0 +1,418 @@
+package ru.gx.core.channels;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+import ru.gx.core.metrics.MetricsUtils;
+import ru.gx.core.worker.StatisticsInfo;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Накопитель исходящих сообщений одного канала.<br/>
+ * Сообщения накапливаются в буфере и передаются транспорту ({@link OutcomeBatchSender}) пачкой, когда:
+ * <ul>
+ *     <li>накоплено {@link #getMaxCount()} сообщений;</li>
+ *     <li>объем накопленных сообщений достиг {@link #getMaxBytes()} байт
+ *     (сообщение, с которым объем был бы превышен, уходит уже в следующую пачку);</li>
+ *     <li>с момента поступления первого сообщения пачки прошло {@link #getLingerMs()} мс;</li>
+ *     <li>явно вызван {@link #flush(OutcomeBatchFlushReason)} (в т.ч. при останове приложения).</li>
+ * </ul>
+ * Накопление и отправка выполняются под одним монитором: пачки канала уходят транспорту строго по очереди
+ * и в порядке поступления сообщений, а отправитель, заполнивший пачку, сам ее и отправляет.<br/>
+ * Истечение linger-а проверяется при каждом поступлении сообщения и периодически извне
+ * ({@link #flushIfLingerExpired(long)}, см. {@link OutcomeBatchesFlusher}).<br/>
+ * Пачка, которую транспорт не смог отправить, не теряется: она сохраняется и отправляется повторно
+ * (не раньше, чем через {@link #getLingerMs()} мс после ошибки) перед следующей пачкой.
+ * Пока такая пачка не отправлена, в буфер принимается не более {@link #getMaxCount()} новых сообщений.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class OutcomeMessagesBatcher {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Метрика: количество отправленных пачек в разрезе причин отправки.
+     */
+    public static final String METRIC_BATCH_FLUSHES = "channel.batch.flushes";
+
+    /**
+     * Метрика: количество сообщений в отправленной пачке.
+     */
+    public static final String METRIC_BATCH_SIZE = "channel.batch.size";
+
+    /**
+     * Метрика: объем отправленной пачки (в байтах).
+     */
+    public static final String METRIC_BATCH_BYTES = "channel.batch.bytes";
+
+    /**
+     * Метрика: количество пачек, которые не удалось отправить.
+     */
+    public static final String METRIC_BATCH_SEND_ERRORS = "channel.batch.send-errors";
+
+    /**
+     * Ярлык метрики количества пачек: причина отправки ({@link OutcomeBatchFlushReason}).
+     */
+    public static final String METRIC_TAG_REASON = "reason";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter
+    @NotNull
+    private final OutcomeChannelHandlerDescriptor owner;
+
+    /**
+     * Максимальное количество сообщений в пачке.
+     */
+    @Getter
+    private final int maxCount;
+
+    /**
+     * Максимальный объем пачки (в байтах). 0 - объем не ограничивается.
+     */
+    @Getter
+    private final long maxBytes;
+
+    /**
+     * Максимальное время (в мс) ожидания с момента поступления первого сообщения пачки до ее отправки.
+     */
+    @Getter
+    private final long lingerMs;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final OutcomeBatchSender sender;
+
+    /**
+     * Монитор буфера и отправки.
+     */
+    @NotNull
+    private final Object monitor = new Object();
+
+    @NotNull
+    private List<Message<? extends MessageBody>> buffer;
+
+    /**
+     * Объем сообщений в буфере (в байтах).
+     */
+    private long bufferBytes;
+
+    /**
+     * Момент поступления первого сообщения в буфер.
+     */
+    private long firstOfferedMs;
+
+    /**
+     * Пачка, отправка которой завершилась ошибкой. Отправляется повторно раньше пачки из буфера.
+     */
+    @Nullable
+    private OutcomeBatch failedBatch;
+
+    /**
+     * Момент последней ошибки отправки {@link #failedBatch}.
+     */
+    private long failedAtMs;
+
+    /**
+     * Метрики: количество отправленных пачек в разрезе причин.
+     */
+    @NotNull
+    private final Map<OutcomeBatchFlushReason, Counter> metricFlushes = new EnumMap<>(OutcomeBatchFlushReason.class);
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final DistributionSummary metricBatchSize;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final DistributionSummary metricBatchBytes;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final Counter metricSendErrors;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public OutcomeMessagesBatcher(
+            @NotNull final OutcomeChannelHandlerDescriptor owner,
+            final int maxCount,
+            final long maxBytes,
+            final long lingerMs,
+            @NotNull final OutcomeBatchSender sender,
+            @NotNull final MeterRegistry meterRegistry
+    ) {
+        if (maxCount < 1) {
+            throw new InvalidParameterException("MaxCount can't be less 1!");
+        }
+        if (maxBytes < 0) {
+            throw new InvalidParameterException("MaxBytes can't be less 0!");
+        }
+        if (lingerMs < 1) {
+            throw new InvalidParameterException("LingerMs can't be less 1!");
+        }
+        this.owner = owner;
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+        this.lingerMs = lingerMs;
+        this.sender = sender;
+        this.buffer = new ArrayList<>(maxCount);
+
+        final var channelName = owner.getChannelName();
+        for (final var reason : OutcomeBatchFlushReason.values()) {
+            this.metricFlushes.put(reason, Counter.builder(METRIC_BATCH_FLUSHES)
+                    .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, channelName)
+                    .tag(METRIC_TAG_REASON, reason.name())
+                    .register(meterRegistry));
+        }
+        this.metricBatchSize = MetricsUtils.summaryWithPercentiles(METRIC_BATCH_SIZE)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, channelName)
+                .register(meterRegistry);
+        this.metricBatchBytes = MetricsUtils.summaryWithPercentiles(METRIC_BATCH_BYTES)
+                .baseUnit(BaseUnits.BYTES)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, channelName)
+                .register(meterRegistry);
+        this.metricSendErrors = Counter.builder(METRIC_BATCH_SEND_ERRORS)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, channelName)
+                .register(meterRegistry);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Добавление сообщения в буфер. Если при этом пачка оказывается готовой, то она отправляется в текущем потоке.
+     *
+     * @param message   Исходящее сообщение.
+     * @param sizeBytes Объем сообщения (в байтах), если отправитель его знает (например, после сериализации);
+     *                  0 - объем не учитывается.
+     * @throws OutcomeBatchSendException Сообщение не принято: буфер полон, а не отправленную ранее пачку
+     *                                   снова не удалось отправить. Ошибки отправки пачек, после которых
+     *                                   сообщение все же принято, только логируются (пачки отправятся повторно).
+     */
+    public void offer(@NotNull final Message<? extends MessageBody> message, final int sizeBytes) {
+        final var now = System.currentTimeMillis();
+        synchronized (this.monitor) {
+            if (this.failedBatch != null && this.buffer.size() >= this.maxCount) {
+                // Буфер полон, а предыдущая пачка еще не отправлена: новое сообщение принимается только после отправки
+                internalFlush(OutcomeBatchFlushReason.MaxCount, now);
+            }
+            if (!this.buffer.isEmpty()) {
+                if (now - this.firstOfferedMs >= this.lingerMs) {
+                    flushKeepingFailed(OutcomeBatchFlushReason.Linger, now);
+                } else if (this.maxBytes > 0 && this.bufferBytes + sizeBytes > this.maxBytes) {
+                    flushKeepingFailed(OutcomeBatchFlushReason.MaxBytes, now);
+                }
+            }
+
+            if (this.buffer.isEmpty()) {
+                this.firstOfferedMs = now;
+            }
+            this.buffer.add(message);
+            this.bufferBytes += Math.max(0, sizeBytes);
+
+            if (this.buffer.size() >= this.maxCount) {
+                flushKeepingFailed(OutcomeBatchFlushReason.MaxCount, now);
+            } else if (this.maxBytes > 0 && this.bufferBytes >= this.maxBytes) {
+                flushKeepingFailed(OutcomeBatchFlushReason.MaxBytes, now);
+            }
+        }
+    }
+
+    /**
+     * Отправка накопленной пачки, если с момента поступления ее первого сообщения истекло время linger,
+     * и повторная отправка пачки, не отправленной ранее, если с момента ошибки истекло время linger.
+     *
+     * @param nowMs Текущий момент.
+     * @return true - пачка была отправлена.
+     * @throws OutcomeBatchSendException Ошибка отправки пачки транспортом.
+     */
+    public boolean flushIfLingerExpired(final long nowMs) {
+        synchronized (this.monitor) {
+            final var retryExpired = this.failedBatch != null && nowMs - this.failedAtMs >= this.lingerMs;
+            if (!this.buffer.isEmpty() && nowMs - this.firstOfferedMs >= this.lingerMs) {
+                internalFlush(OutcomeBatchFlushReason.Linger, nowMs);
+                return true;
+            }
+            if (retryExpired) {
+                sendFailedBatch(nowMs);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Синхронная отправка накопленной пачки (и не отправленной ранее) независимо от ее готовности.
+     *
+     * @param reason Причина отправки.
+     * @return Количество отправленных сообщений.
+     * @throws OutcomeBatchSendException Ошибка отправки пачки транспортом.
+     */
+    public int flush(@NotNull final OutcomeBatchFlushReason reason) {
+        synchronized (this.monitor) {
+            final var count = getBufferedCount();
+            internalFlush(reason, System.currentTimeMillis());
+            return count;
+        }
+    }
+
+    /**
+     * Отправка пачки из одного сообщения в обход буфера (накопление в канале выключено).
+     *
+     * @param descriptor Описатель канала.
+     * @param sender     Транспорт канала.
+     * @param message    Исходящее сообщение.
+     * @param sizeBytes  Объем сообщения (в байтах); 0 - объем не учитывается.
+     * @throws OutcomeBatchSendException Ошибка отправки пачки транспортом.
+     */
+    public static void sendImmediate(
+            @NotNull final OutcomeChannelHandlerDescriptor descriptor,
+            @NotNull final OutcomeBatchSender sender,
+            @NotNull final Message<? extends MessageBody> message,
+            final int sizeBytes
+    ) {
+        final var batch = new OutcomeBatch(descriptor, List.of(message), Math.max(0, sizeBytes), OutcomeBatchFlushReason.Immediate, 0);
+        try {
+            sender.send(batch);
+        } catch (Exception e) {
+            throw new OutcomeBatchSendException(batch, e);
+        }
+    }
+
+    /**
+     * Отправка не отправленной ранее пачки и содержимого буфера. Вызывается только под монитором.<br/>
+     * Если не отправлена предыдущая пачка, то буфер не трогается.
+     */
+    private void internalFlush(@NotNull final OutcomeBatchFlushReason reason, final long nowMs) {
+        if (this.failedBatch != null) {
+            sendFailedBatch(nowMs);
+        }
+        if (this.buffer.isEmpty()) {
+            return;
+        }
+        final var batch = new OutcomeBatch(this.owner, this.buffer, this.bufferBytes, reason, Math.max(0, nowMs - this.firstOfferedMs));
+        this.buffer = new ArrayList<>(this.maxCount);
+        this.bufferBytes = 0;
+
+        this.metricFlushes.get(reason).increment();
+        this.metricBatchSize.record(batch.size());
+        if (batch.getBytes() > 0) {
+            this.metricBatchBytes.record(batch.getBytes());
+        }
+        this.failedBatch = batch;
+        sendFailedBatch(nowMs);
+    }
+
+    /**
+     * {@link #internalFlush(OutcomeBatchFlushReason, long)} при поступлении сообщения: ошибка отправки
+     * только логируется, пачка остается для повторной отправки. Пока не истекло время linger с момента ошибки,
+     * отправка не выполняется (сообщения копятся в буфере). Вызывается только под монитором.
+     */
+    private void flushKeepingFailed(@NotNull final OutcomeBatchFlushReason reason, final long nowMs) {
+        if (this.failedBatch != null && nowMs - this.failedAtMs < this.lingerMs) {
+            return;
+        }
+        try {
+            internalFlush(reason, nowMs);
+        } catch (OutcomeBatchSendException e) {
+            log.error("{}; batch is kept for retry", e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Отправка {@link #failedBatch}. При успехе пачка забывается, при ошибке - остается для повторной отправки.
+     * Вызывается только под монитором.
+     */
+    private void sendFailedBatch(final long nowMs) {
+        final var batch = this.failedBatch;
+        if (batch == null) {
+            return;
+        }
+        try {
+            this.sender.send(batch);
+        } catch (Exception e) {
+            this.failedAtMs = nowMs;
+            this.metricSendErrors.increment();
+            throw new OutcomeBatchSendException(batch, e);
+        }
+        this.failedBatch = null;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Getters">
+
+    /**
+     * @return Количество сообщений в буфере, включая пачку, ожидающую повторной отправки.
+     */
+    public int getBufferedCount() {
+        synchronized (this.monitor) {
+            return this.buffer.size() + getFailedCount();
+        }
+    }
+
+    /**
+     * @return Объем сообщений в буфере (в байтах).
+     */
+    public long getBufferedBytes() {
+        synchronized (this.monitor) {
+            return this.bufferBytes;
+        }
+    }
+
+    /**
+     * @return Количество сообщений в пачке, ожидающей повторной отправки после ошибки.
+     */
+    public int getFailedCount() {
+        synchronized (this.monitor) {
+            final var batch = this.failedBatch;
+            return batch != null ? batch.size() : 0;
+        }
+    }
+
+    /**
+     * @param reason Причина отправки.
+     * @return Количество пачек, отправленных по данной причине.
+     */
+    public long getFlushesCount(@NotNull final OutcomeBatchFlushReason reason) {
+        return (long) this.metricFlushes.get(reason).count();
+    }
+
+    public String getPrintableInfo() {
+        final var sb = new StringBuilder("Batching: flushes = {");
+        var first = true;
+        for (final var entry : this.metricFlushes.entrySet()) {
+            if (entry.getValue().count() == 0) {
+                continue;
+            }
+            sb.append(first ? "" : ", ").append(entry.getKey()).append(": ").append((long) entry.getValue().count());
+            first = false;
+        }
+        return sb.append("}, sendErrors = ")
+                .append((long) this.metricSendErrors.count())
+                .append(", avgSize = ")
+                .append(String.format("%.1f", this.metricBatchSize.mean()))
+                .append(", buffered = ")
+                .append(getBufferedCount())
+                .toString();
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
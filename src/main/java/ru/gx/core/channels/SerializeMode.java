@@ -12,6 +12,9 @@ public enum SerializeMode {
 
     /**
      * Объекты сериализованы в канале массива байт.
+     * Формат по умолчанию - {@link ru.gx.core.codecs.CompactBinaryMessageCodec}.
+     *
+     * @see ru.gx.core.codecs.MessageCodecsRegistry
      */
     Bytes
 }
@@ -0,0 +1,110 @@
+package ru.gx.core.channels;
+
+import lombok.Getter;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничитель частоты по алгоритму "ведро токенов" (token bucket).<br/>
+ * Ведро вмещает burst токенов и пополняется со скоростью permitsPerSecond токенов в секунду.
+ * Реализовано через "теоретический момент прибытия" (GCRA), что эквивалентно ведру токенов,
+ * но хранит состояние в одном {@link AtomicLong} и не требует блокировок.<br/>
+ * Параметры неизменяемы: для изменения лимита на ходу создается новый экземпляр.
+ */
+@SuppressWarnings("unused")
+public class TokenBucketRateLimiter {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Скорость пополнения ведра (токенов в секунду).
+     */
+    @Getter
+    private final double permitsPerSecond;
+
+    /**
+     * Емкость ведра (допустимая пачка токенов подряд).
+     */
+    @Getter
+    private final int burst;
+
+    /**
+     * Интервал (в нс) между токенами.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Допуск (в нс), на который теоретический момент может опережать текущий: (burst - 1) * intervalNanos.
+     */
+    private final long toleranceNanos;
+
+    /**
+     * Теоретический момент (System.nanoTime()), к которому будут израсходованы все выданные токены.
+     */
+    private final AtomicLong theoreticalArrivalNanos;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+
+    /**
+     * @param permitsPerSecond Скорость пополнения ведра (токенов в секунду), > 0.
+     * @param burst            Емкость ведра, >= 1. Новое ведро создается полным.
+     */
+    public TokenBucketRateLimiter(final double permitsPerSecond, final int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new InvalidParameterException("PermitsPerSecond can't be less or equal 0!");
+        }
+        if (burst < 1) {
+            throw new InvalidParameterException("Burst can't be less 1!");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = this.intervalNanos * (burst - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime() - this.intervalNanos * burst);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Попытка получить токен. Не блокирует поток.
+     *
+     * @return true - токен получен; false - ведро пусто.
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Попытка получить токен на момент nowNanos. Не блокирует поток.
+     *
+     * @param nowNanos Текущий момент (System.nanoTime()).
+     * @return true - токен получен; false - ведро пусто.
+     */
+    public boolean tryAcquire(final long nowNanos) {
+        while (true) {
+            final var tat = this.theoreticalArrivalNanos.get();
+            final var base = tat - nowNanos > 0 ? tat : nowNanos;
+            if (base - nowNanos > this.toleranceNanos) {
+                return false;
+            }
+            if (this.theoreticalArrivalNanos.compareAndSet(tat, base + this.intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return Сколько наносекунд осталось до появления в ведре очередного токена. 0 - токен есть.
+     */
+    public long nanosToNextPermit() {
+        final var wait = this.theoreticalArrivalNanos.get() - this.toleranceNanos - System.nanoTime();
+        return Math.max(0, wait);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
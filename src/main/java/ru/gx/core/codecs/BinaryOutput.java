@@ -0,0 +1,127 @@
+package ru.gx.core.codecs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Растущий буфер для записи бинарного представления сообщения.<br/>
+ * Является {@link OutputStream}, чтобы Jackson мог писать в него тело сообщения без промежуточного массива.
+ * Не потокобезопасен, используется в рамках одного вызова кодека.
+ */
+final class BinaryOutput extends OutputStream {
+    @NotNull
+    private byte[] buffer;
+
+    private int size;
+
+    BinaryOutput(final int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="OutputStream">
+    @Override
+    public void write(final int b) {
+        ensureCapacity(1);
+        this.buffer[this.size++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NotNull final byte[] bytes, final int offset, final int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Primitives">
+
+    /**
+     * Запись целого без знака переменной длины (7 бит на байт, старший бит - признак продолжения).
+     */
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer[this.size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.size++] = (byte) value;
+    }
+
+    /**
+     * Запись целого со знаком переменной длины (zig-zag).
+     */
+    void writeZigZag(final long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeLong(final long value) {
+        ensureCapacity(Long.BYTES);
+        for (var i = Long.BYTES - 1; i >= 0; i--) {
+            this.buffer[this.size++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    /**
+     * Запись строки: длина в байтах + 1 (0 - null), затем байты в UTF-8.
+     */
+    void writeString(@Nullable final String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Резервирование места под длину блока фиксированного размера (4 байта).
+     *
+     * @return Позиция зарезервированного места.
+     */
+    int reserveInt() {
+        ensureCapacity(Integer.BYTES);
+        final var result = this.size;
+        this.size += Integer.BYTES;
+        return result;
+    }
+
+    /**
+     * Запись в зарезервированное место длины блока, записанного после него.
+     */
+    void completeReservedLength(final int reservedPosition) {
+        final var length = this.size - reservedPosition - Integer.BYTES;
+        this.buffer[reservedPosition] = (byte) (length >>> 24);
+        this.buffer[reservedPosition + 1] = (byte) (length >>> 16);
+        this.buffer[reservedPosition + 2] = (byte) (length >>> 8);
+        this.buffer[reservedPosition + 3] = (byte) length;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Result">
+
+    /**
+     * @return Буфер, подготовленный для чтения. Буфер использует внутренний массив без копирования.
+     */
+    @NotNull
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(this.buffer, 0, this.size);
+    }
+
+    private void ensureCapacity(final int additional) {
+        final var required = this.size + additional;
+        if (required > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length * 2));
+        }
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,54 @@
+package ru.gx.core.codecs;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.InvalidParameterException;
+import java.util.zip.Deflater;
+
+/**
+ * Настройки сжатия полезной нагрузки сообщений канала.
+ *
+ * @see MessageCodecsRegistry#registerCompression(ru.gx.core.channels.ChannelApiDescriptor, ChannelCompression)
+ */
+@Getter
+@ToString
+public class ChannelCompression {
+    /**
+     * Порог сжатия по умолчанию (в байтах).
+     */
+    public static final int THRESHOLD_BYTES_DEFAULT = 4096;
+
+    /**
+     * Алгоритм сжатия.
+     */
+    @NotNull
+    private final CompressionAlgorithm algorithm;
+
+    /**
+     * Минимальный размер закодированного сообщения (в байтах), начиная с которого оно сжимается.
+     */
+    private final int thresholdBytes;
+
+    /**
+     * Уровень сжатия ({@link Deflater#DEFAULT_COMPRESSION}, 0..9).
+     */
+    private final int level;
+
+    public ChannelCompression(@NotNull final CompressionAlgorithm algorithm, final int thresholdBytes, final int level) {
+        if (thresholdBytes < 0) {
+            throw new InvalidParameterException("ThresholdBytes can't be less 0!");
+        }
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new InvalidParameterException("Level must be -1 or in range 0..9!");
+        }
+        this.algorithm = algorithm;
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+    }
+
+    public ChannelCompression(@NotNull final CompressionAlgorithm algorithm, final int thresholdBytes) {
+        this(algorithm, thresholdBytes, Deflater.DEFAULT_COMPRESSION);
+    }
+}
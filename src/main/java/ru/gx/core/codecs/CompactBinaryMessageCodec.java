@@ -0,0 +1,408 @@
+package ru.gx.core.codecs;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.channels.ChannelApiDescriptor;
+import ru.gx.core.messaging.*;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Компактный бинарный кодек сообщений (режим {@link ru.gx.core.channels.SerializeMode#Bytes}).<br/>
+ * Заголовок кодируется бинарно, тело и correlation - в JSON (UTF-8), т.к. их структура произвольна.
+ * <pre>
+ * magic      2 байта  'G' 'X'
+ * format     1 байт   {@link #FORMAT_VERSION}
+ * flags      1 байт   {@link #FLAG_ID_UUID} | {@link #FLAG_PARENT_ID_UUID} | {@link #FLAG_CORRELATION}
+ * id         16 байт (UUID) или строка
+ * parentId   16 байт (UUID) или строка (null допустим)
+ * kind       1 байт   {@link MessageKind#ordinal()}
+ * type       строка
+ * version    zig-zag varint
+ * source     строка (null допустим)
+ * created    zig-zag varint epochSecond, varint nano, zig-zag varint offsetSeconds
+ * correlation 4 байта длина + JSON (если установлен {@link #FLAG_CORRELATION})
+ * body       JSON до конца буфера
+ * </pre>
+ * Строка: varint (длина в байтах UTF-8 + 1; 0 - null), затем байты.<br/>
+ * Тип и версия сообщения в заголовке позволяют найти класс тела через {@link MessageTypesRegistrator}
+ * без разбора тела; дата создания передается с точностью до наносекунды и смещением временной зоны.
+ */
+@SuppressWarnings("unused")
+public class CompactBinaryMessageCodec implements MessageCodec {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    public static final String NAME = "gx-binary";
+
+    public static final byte MAGIC_0 = 'G';
+    public static final byte MAGIC_1 = 'X';
+    public static final byte FORMAT_VERSION = 1;
+
+    public static final int FLAG_ID_UUID = 0x01;
+    public static final int FLAG_PARENT_ID_UUID = 0x02;
+    public static final int FLAG_CORRELATION = 0x04;
+
+    /**
+     * Начальный размер буфера при кодировании.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private static final MessageKind[] KINDS = MessageKind.values();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter(PROTECTED)
+    @NotNull
+    private final ObjectMapper objectMapper;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public CompactBinaryMessageCodec(@NotNull final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements MessageCodec">
+    @Override
+    @NotNull
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    ByteBuffer encode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final M message
+    ) throws MessageCodecException {
+        final var header = message.getHeader();
+        final var idUuid = tryParseUuid(header.getId());
+        final var parentIdUuid = tryParseUuid(header.getParentId());
+        final var correlation = message.getCorrelation();
+
+        var flags = 0;
+        if (idUuid != null) {
+            flags |= FLAG_ID_UUID;
+        }
+        if (parentIdUuid != null) {
+            flags |= FLAG_PARENT_ID_UUID;
+        }
+        if (correlation != null) {
+            flags |= FLAG_CORRELATION;
+        }
+
+        final var out = new BinaryOutput(INITIAL_BUFFER_SIZE);
+        out.write(MAGIC_0);
+        out.write(MAGIC_1);
+        out.write(FORMAT_VERSION);
+        out.write(flags);
+        writeId(out, idUuid, header.getId());
+        writeId(out, parentIdUuid, header.getParentId());
+        out.write(header.getKind().ordinal());
+        out.writeString(header.getType());
+        out.writeZigZag(header.getVersion());
+        out.writeString(header.getSourceSystem());
+        final var created = header.getCreatedDateTime();
+        out.writeZigZag(created.toEpochSecond());
+        out.writeVarLong(created.getNano());
+        out.writeZigZag(created.getOffset().getTotalSeconds());
+
+        try {
+            if (correlation != null) {
+                final var reserved = out.reserveInt();
+                this.objectMapper.writeValue(out, correlation);
+                out.completeReservedLength(reserved);
+            }
+            this.objectMapper.writeValue(out, message.getBody());
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't encode message " + header.getId() + " for channel " + channelApi.getName(), e);
+        }
+        return out.toByteBuffer();
+    }
+
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final ByteBuffer buffer
+    ) throws MessageCodecException {
+        try {
+            if (buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+                throw new MessageCodecException("Invalid binary message in channel " + channelApi.getName() + ": bad magic");
+            }
+            final var format = buffer.get();
+            if (format != FORMAT_VERSION) {
+                throw new MessageCodecException("Unsupported binary message format " + format + " in channel " + channelApi.getName());
+            }
+            final var flags = buffer.get();
+            final var id = readId(buffer, (flags & FLAG_ID_UUID) != 0);
+            final var parentId = readId(buffer, (flags & FLAG_PARENT_ID_UUID) != 0);
+            final var kind = KINDS[buffer.get()];
+            final var type = readString(buffer);
+            final var version = (int) readZigZag(buffer);
+            final var sourceSystem = readString(buffer);
+            final var epochSecond = readZigZag(buffer);
+            final var nano = readVarLong(buffer);
+            final var offset = ZoneOffset.ofTotalSeconds((int) readZigZag(buffer));
+            final var created = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+            final var header = newHeader(channelApi, id, parentId, kind, type, version, sourceSystem, created);
+            final var registration = getRegistration(type, version);
+
+            MessageCorrelation correlation = null;
+            if ((flags & FLAG_CORRELATION) != 0) {
+                final var length = buffer.getInt();
+                final var correlationBuffer = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                correlation = readJson(correlationBuffer, MessageCorrelation.class);
+            }
+            final var body = readJson(buffer, registration.getMessageBodyClass());
+
+            return channelApi.getMessageClass().cast(registration.newMessageByHeaderBody(header, body, correlation));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new MessageCodecException("Invalid binary message in channel " + channelApi.getName() + ": unexpected end of data", e);
+        } catch (IOException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new MessageCodecException("Can't decode message from channel " + channelApi.getName(), e);
+        }
+    }
+
+    /**
+     * Потоковый разбор: заголовок читается из потока, а тело разбирается Jackson-ом прямо из потока
+     * (например, распаковывающего), без чтения всех байт сообщения в память. Поток не закрывается.
+     */
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final InputStream in
+    ) throws MessageCodecException {
+        final var data = new DataInputStream(in);
+        try {
+            if (data.readByte() != MAGIC_0 || data.readByte() != MAGIC_1) {
+                throw new MessageCodecException("Invalid binary message in channel " + channelApi.getName() + ": bad magic");
+            }
+            final var format = data.readByte();
+            if (format != FORMAT_VERSION) {
+                throw new MessageCodecException("Unsupported binary message format " + format + " in channel " + channelApi.getName());
+            }
+            final var flags = data.readByte();
+            final var id = readId(data, (flags & FLAG_ID_UUID) != 0);
+            final var parentId = readId(data, (flags & FLAG_PARENT_ID_UUID) != 0);
+            final var kind = KINDS[data.readByte()];
+            final var type = readString(data);
+            final var version = (int) readZigZag(data);
+            final var sourceSystem = readString(data);
+            final var epochSecond = readZigZag(data);
+            final var nano = readVarLong(data);
+            final var offset = ZoneOffset.ofTotalSeconds((int) readZigZag(data));
+            final var created = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+            final var header = newHeader(channelApi, id, parentId, kind, type, version, sourceSystem, created);
+            final var registration = getRegistration(type, version);
+
+            MessageCorrelation correlation = null;
+            if ((flags & FLAG_CORRELATION) != 0) {
+                correlation = this.objectMapper.readValue(readBytes(data, data.readInt()), MessageCorrelation.class);
+            }
+            final MessageBody body = this.objectMapper
+                    .readerFor(registration.getMessageBodyClass())
+                    .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                    .readValue(data);
+
+            return channelApi.getMessageClass().cast(registration.newMessageByHeaderBody(header, body, correlation));
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            throw new MessageCodecException("Invalid binary message in channel " + channelApi.getName() + ": unexpected end of data", e);
+        } catch (IOException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new MessageCodecException("Can't decode message from channel " + channelApi.getName(), e);
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Internal methods">
+    @NotNull
+    private static MessageHeader newHeader(
+            @NotNull final ChannelApiDescriptor<?> channelApi,
+            @Nullable final String id,
+            @Nullable final String parentId,
+            @NotNull final MessageKind kind,
+            @Nullable final String type,
+            final int version,
+            @Nullable final String sourceSystem,
+            @NotNull final OffsetDateTime created
+    ) {
+        if (id == null || type == null) {
+            throw new MessageCodecException("Invalid binary message in channel " + channelApi.getName() + ": id and type are required");
+        }
+        return new MessageHeader(id, parentId, kind, type, version, sourceSystem, created);
+    }
+
+    @NotNull
+    private static MessageTypesRegistrator.MessageTypeRegistration getRegistration(@NotNull final String type, final int version) {
+        final var registration = MessageTypesRegistrator.get(type, version);
+        if (!registration.isConstructorByHeaderBody()) {
+            throw new MessageCodecException("Message class " + registration.getMessageClass().getName() + " hasn't constructor (header, body, correlation)");
+        }
+        return registration;
+    }
+
+    @NotNull
+    private <T> T readJson(@NotNull final ByteBuffer buffer, @NotNull final Class<T> valueClass) throws IOException {
+        final T result;
+        if (buffer.hasArray()) {
+            result = this.objectMapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), valueClass);
+            buffer.position(buffer.limit());
+        } else {
+            result = this.objectMapper.readValue(new ByteBufferBackedInputStream(buffer), valueClass);
+        }
+        return result;
+    }
+
+    /**
+     * @return UUID, если строка является UUID в каноническом виде (и однозначно восстанавливается из 16 байт).
+     */
+    @Nullable
+    private static UUID tryParseUuid(@Nullable final String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            final var result = UUID.fromString(value);
+            return result.toString().equals(value) ? result : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeId(@NotNull final BinaryOutput out, @Nullable final UUID uuid, @Nullable final String value) {
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeString(value);
+        }
+    }
+
+    @Nullable
+    private static String readId(@NotNull final ByteBuffer buffer, final boolean isUuid) {
+        if (isUuid) {
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        return readString(buffer);
+    }
+
+    @Nullable
+    private static String readString(@NotNull final ByteBuffer buffer) {
+        final var lengthPlusOne = readVarLong(buffer);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        final var length = (int) (lengthPlusOne - 1);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final String result;
+        if (buffer.hasArray()) {
+            result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            final var bytes = new byte[length];
+            buffer.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+
+    private static long readVarLong(@NotNull final ByteBuffer buffer) {
+        var result = 0L;
+        var shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new MessageCodecException("Invalid binary message: malformed varint");
+            }
+            b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long readZigZag(@NotNull final ByteBuffer buffer) {
+        final var value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Nullable
+    private static String readId(@NotNull final DataInputStream in, final boolean isUuid) throws IOException {
+        if (isUuid) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        }
+        return readString(in);
+    }
+
+    @Nullable
+    private static String readString(@NotNull final DataInputStream in) throws IOException {
+        final var lengthPlusOne = readVarLong(in);
+        if (lengthPlusOne == 0) {
+            return null;
+        }
+        return new String(readBytes(in, (int) (lengthPlusOne - 1)), StandardCharsets.UTF_8);
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull final DataInputStream in, final int length) throws IOException {
+        if (length < 0) {
+            throw new EOFException("Negative length " + length);
+        }
+        // readNBytes выделяет память по мере чтения, поэтому испорченная длина не приводит к выделению лишнего
+        final var result = in.readNBytes(length);
+        if (result.length != length) {
+            throw new EOFException("Expected " + length + " bytes, read " + result.length);
+        }
+        return result;
+    }
+
+    private static long readVarLong(@NotNull final DataInputStream in) throws IOException {
+        var result = 0L;
+        var shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new MessageCodecException("Invalid binary message: malformed varint");
+            }
+            b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long readZigZag(@NotNull final DataInputStream in) throws IOException {
+        final var value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,126 @@
+package ru.gx.core.codecs;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.*;
+
+/**
+ * Алгоритмы сжатия полезной нагрузки сообщений, доступные в JDK.<br/>
+ * Имя алгоритма ({@link #getMetadataValue()}) записывается в метаданные сообщения
+ * ({@link MessageCodecsRegistry#METADATA_COMPRESSION}), по нему принимающая сторона выбирает способ распаковки.
+ */
+public enum CompressionAlgorithm {
+    /**
+     * Deflate в обертке zlib (RFC 1950).
+     */
+    Deflate("deflate") {
+        @Override
+        @NotNull
+        public OutputStream compressing(@NotNull final OutputStream out, final int level) {
+            return new DeflaterOutputStream(out, new Deflater(level, false), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        this.def.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        @NotNull
+        public InputStream decompressing(@NotNull final InputStream in) {
+            return new InflaterInputStream(in, new Inflater(false), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        this.inf.end();
+                    }
+                }
+            };
+        }
+    },
+
+    /**
+     * GZIP (RFC 1952).
+     */
+    Gzip("gzip") {
+        @Override
+        @NotNull
+        public OutputStream compressing(@NotNull final OutputStream out, final int level) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE) {
+                {
+                    this.def.setLevel(level);
+                }
+            };
+        }
+
+        @Override
+        @NotNull
+        public InputStream decompressing(@NotNull final InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * Размер буферов потоков сжатия и распаковки.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Имя алгоритма в метаданных сообщения.
+     */
+    @Getter
+    @NotNull
+    private final String metadataValue;
+
+    CompressionAlgorithm(@NotNull final String metadataValue) {
+        this.metadataValue = metadataValue;
+    }
+
+    /**
+     * @param out   Получатель сжатых данных.
+     * @param level Уровень сжатия ({@link Deflater#DEFAULT_COMPRESSION}, 0..9).
+     * @return Поток, сжимающий записываемые в него данные. Ресурсы компрессора освобождаются при закрытии потока.
+     */
+    @NotNull
+    public abstract OutputStream compressing(@NotNull final OutputStream out, final int level) throws IOException;
+
+    /**
+     * @param in Поток сжатых данных.
+     * @return Поток, распаковывающий данные по мере чтения (без распаковки всего сообщения в память).
+     */
+    @NotNull
+    public abstract InputStream decompressing(@NotNull final InputStream in) throws IOException;
+
+    /**
+     * @param metadataValue Значение записи метаданных {@link MessageCodecsRegistry#METADATA_COMPRESSION}.
+     * @return Алгоритм; null - данные не сжаты.
+     * @throws MessageCodecException Неизвестный алгоритм.
+     */
+    @Nullable
+    public static CompressionAlgorithm ofMetadataValue(@Nullable final Object metadataValue) throws MessageCodecException {
+        if (metadataValue == null) {
+            return null;
+        }
+        final var value = metadataValue instanceof byte[] bytes
+                ? new String(bytes, StandardCharsets.UTF_8)
+                : metadataValue.toString();
+        for (final var algorithm : values()) {
+            if (algorithm.metadataValue.equalsIgnoreCase(value)) {
+                return algorithm;
+            }
+        }
+        throw new MessageCodecException("Unknown compression algorithm: " + value);
+    }
+}
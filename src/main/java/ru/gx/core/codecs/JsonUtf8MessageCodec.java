@@ -0,0 +1,108 @@
+package ru.gx.core.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.channels.ChannelApiDescriptor;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Кодек сообщений в JSON в кодировке UTF-8.<br/>
+ * Формат совпадает с {@link ru.gx.core.channels.SerializeMode#JsonString}, но Jackson пишет и читает байты напрямую,
+ * без промежуточной строки {@link String} (и без ее перекодирования в UTF-8).
+ */
+public class JsonUtf8MessageCodec implements MessageCodec {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    public static final String NAME = "json-utf8";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter(PROTECTED)
+    @NotNull
+    private final ObjectMapper objectMapper;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public JsonUtf8MessageCodec(@NotNull final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements MessageCodec">
+    @Override
+    @NotNull
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    ByteBuffer encode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final M message
+    ) throws MessageCodecException {
+        try {
+            return ByteBuffer.wrap(this.objectMapper.writeValueAsBytes(message));
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't encode message " + message.getHeader().getId() + " for channel " + channelApi.getName(), e);
+        }
+    }
+
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final ByteBuffer buffer
+    ) throws MessageCodecException {
+        try {
+            final M result;
+            if (buffer.hasArray()) {
+                result = this.objectMapper.readValue(
+                        buffer.array(),
+                        buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining(),
+                        channelApi.getMessageClass()
+                );
+                buffer.position(buffer.limit());
+            } else {
+                result = this.objectMapper.readValue(new ByteBufferBackedInputStream(buffer), channelApi.getMessageClass());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't decode message from channel " + channelApi.getName(), e);
+        }
+    }
+
+    /**
+     * Jackson разбирает JSON по мере чтения потока, сообщение целиком в память не читается.
+     */
+    @Override
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final InputStream in
+    ) throws MessageCodecException {
+        try (final var parser = this.objectMapper.createParser(in)) {
+            return this.objectMapper.readValue(parser, channelApi.getMessageClass());
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't decode message from channel " + channelApi.getName(), e);
+        }
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
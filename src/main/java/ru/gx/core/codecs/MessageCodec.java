@@ -0,0 +1,80 @@
+package ru.gx.core.codecs;
+
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.channels.ChannelApiDescriptor;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек сообщений: преобразование {@link Message} (заголовок, тело, correlation) в байты и обратно.<br/>
+ * Реализации должны быть потокобезопасными и не хранить состояние между вызовами.
+ *
+ * @see MessageCodecsRegistry
+ */
+@SuppressWarnings("unused")
+public interface MessageCodec {
+    /**
+     * @return Имя кодека (для логов и метрик).
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * Кодирование сообщения.
+     *
+     * @param channelApi Описатель API канала, в который отправляется сообщение.
+     * @param message    Сообщение.
+     * @return Буфер, подготовленный для чтения (position = 0, limit = размер закодированного сообщения).
+     * @throws MessageCodecException Ошибка кодирования.
+     */
+    @NotNull
+    <M extends Message<? extends MessageBody>>
+    ByteBuffer encode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final M message
+    ) throws MessageCodecException;
+
+    /**
+     * Декодирование сообщения. Читаются байты от position до limit буфера, position сдвигается на limit.
+     *
+     * @param channelApi Описатель API канала, из которого получено сообщение.
+     * @param buffer     Буфер с закодированным сообщением.
+     * @return Сообщение.
+     * @throws MessageCodecException Ошибка декодирования.
+     */
+    @NotNull
+    <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final ByteBuffer buffer
+    ) throws MessageCodecException;
+
+    /**
+     * Декодирование сообщения из потока (например, распаковывающего сжатые данные).<br/>
+     * По умолчанию поток читается целиком в буфер и декодируется {@link #decode(ChannelApiDescriptor, ByteBuffer)}.
+     * Кодеки, которые умеют разбирать данные по мере чтения, переопределяют метод, чтобы не буферизовать сообщение.
+     *
+     * @param channelApi Описатель API канала, из которого получено сообщение.
+     * @param in         Поток с закодированным сообщением. Закрывается вызывающим.
+     * @return Сообщение.
+     * @throws MessageCodecException Ошибка декодирования.
+     */
+    @NotNull
+    default <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelApiDescriptor<M> channelApi,
+            @NotNull final InputStream in
+    ) throws MessageCodecException {
+        final byte[] bytes;
+        try {
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't read message from channel " + channelApi.getName(), e);
+        }
+        return decode(channelApi, ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.gx.core.codecs;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ошибка кодирования/декодирования сообщения.
+ */
+public class MessageCodecException extends RuntimeException {
+    public MessageCodecException(@NotNull final String message) {
+        super(message);
+    }
+
+    public MessageCodecException(@NotNull final String message, @NotNull final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,287 @@
+package ru.gx.core.codecs;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.channels.ChannelApiDescriptor;
+import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.channels.SerializeMode;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+import ru.gx.core.messaging.MetadataGetter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Реестр кодеков сообщений.<br/>
+ * Кодек определяется по описателю API канала: сначала ищется кодек, явно зарегистрированный для канала,
+ * затем используется кодек по умолчанию для режима сериализации канала ({@link ChannelApiDescriptor#getSerializeMode()}).
+ * По умолчанию {@link SerializeMode#JsonString} обслуживается {@link JsonUtf8MessageCodec},
+ * {@link SerializeMode#Bytes} - {@link CompactBinaryMessageCodec}.<br/>
+ * Методы {@link #encode(ChannelHandlerDescriptor, Message)} и {@link #decode(ChannelHandlerDescriptor, ByteBuffer)}
+ * дополнительно фиксируют размер полезной нагрузки и время (де)сериализации в статистике канала
+ * ({@link ru.gx.core.channels.ChannelExecuteStatistics}).<br/>
+ * Для канала можно включить сжатие ({@link #registerCompression(ChannelApiDescriptor, ChannelCompression)}):
+ * закодированные сообщения не меньше порога сжимаются, алгоритм записывается в метаданные сообщения
+ * ({@link #METADATA_COMPRESSION}), транспорт передает их вместе с сообщением (например, в заголовках).
+ * При декодировании с метаданными ({@link #decode(ChannelHandlerDescriptor, ByteBuffer, MetadataGetter)})
+ * сжатые данные распаковываются потоком прямо в разбор кодека.
+ */
+@SuppressWarnings("unused")
+public class MessageCodecsRegistry {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Ключ записи метаданных сообщения: алгоритм, которым сжата полезная нагрузка
+     * ({@link CompressionAlgorithm#getMetadataValue()}). Отсутствие записи (или null) - данные не сжаты.
+     */
+    public static final String METADATA_COMPRESSION = "gx-compression";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Кодеки, явно зарегистрированные для каналов. Ключ - имя канала.
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Map<String, MessageCodec> channelsCodecs = new ConcurrentHashMap<>();
+
+    /**
+     * Кодеки по умолчанию для режимов сериализации.
+     */
+    @NotNull
+    private final Map<SerializeMode, MessageCodec> defaultCodecs = new EnumMap<>(SerializeMode.class);
+
+    /**
+     * Настройки сжатия каналов. Ключ - имя канала.
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Map<String, ChannelCompression> channelsCompressions = new ConcurrentHashMap<>();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public MessageCodecsRegistry(
+            @NotNull final MessageCodec jsonStringCodec,
+            @NotNull final MessageCodec bytesCodec
+    ) {
+        this.defaultCodecs.put(SerializeMode.JsonString, jsonStringCodec);
+        this.defaultCodecs.put(SerializeMode.Bytes, bytesCodec);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Регистрация кодека для канала.
+     *
+     * @param channelApi Описатель API канала.
+     * @param codec      Кодек, которым будут кодироваться сообщения канала.
+     * @return this.
+     */
+    @NotNull
+    public MessageCodecsRegistry register(@NotNull final ChannelApiDescriptor<?> channelApi, @NotNull final MessageCodec codec) {
+        this.channelsCodecs.put(channelApi.getName(), codec);
+        return this;
+    }
+
+    /**
+     * Отмена регистрации кодека для канала (будет использоваться кодек по умолчанию).
+     *
+     * @param channelApi Описатель API канала.
+     * @return this.
+     */
+    @NotNull
+    public MessageCodecsRegistry unregister(@NotNull final ChannelApiDescriptor<?> channelApi) {
+        this.channelsCodecs.remove(channelApi.getName());
+        return this;
+    }
+
+    /**
+     * @param channelApi Описатель API канала.
+     * @return Кодек для канала.
+     */
+    @NotNull
+    public MessageCodec getCodec(@NotNull final ChannelApiDescriptor<?> channelApi) {
+        final var result = this.channelsCodecs.get(channelApi.getName());
+        if (result != null) {
+            return result;
+        }
+        return this.defaultCodecs.get(channelApi.getSerializeMode());
+    }
+
+    /**
+     * Включение сжатия сообщений канала.
+     *
+     * @param channelApi  Описатель API канала.
+     * @param compression Настройки сжатия.
+     * @return this.
+     */
+    @NotNull
+    public MessageCodecsRegistry registerCompression(
+            @NotNull final ChannelApiDescriptor<?> channelApi,
+            @NotNull final ChannelCompression compression
+    ) {
+        this.channelsCompressions.put(channelApi.getName(), compression);
+        return this;
+    }
+
+    /**
+     * Выключение сжатия сообщений канала. Сжатые входящие сообщения по-прежнему распаковываются.
+     *
+     * @param channelApi Описатель API канала.
+     * @return this.
+     */
+    @NotNull
+    public MessageCodecsRegistry unregisterCompression(@NotNull final ChannelApiDescriptor<?> channelApi) {
+        this.channelsCompressions.remove(channelApi.getName());
+        return this;
+    }
+
+    /**
+     * @param channelApi Описатель API канала.
+     * @return Настройки сжатия канала; null - сжатие не используется.
+     */
+    @Nullable
+    public ChannelCompression getCompression(@NotNull final ChannelApiDescriptor<?> channelApi) {
+        return this.channelsCompressions.get(channelApi.getName());
+    }
+
+    /**
+     * Кодирование сообщения кодеком канала с фиксацией размера и времени в статистике канала.<br/>
+     * Если для канала включено сжатие и размер закодированного сообщения не меньше порога, то результат сжимается,
+     * а в метаданные сообщения записывается алгоритм ({@link #METADATA_COMPRESSION}).
+     * Размер в статистике - размер передаваемых данных (после сжатия).
+     *
+     * @param descriptor Описатель канала, в который отправляется сообщение.
+     * @param message    Сообщение.
+     * @return Буфер, подготовленный для чтения.
+     * @throws MessageCodecException Ошибка кодирования.
+     */
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    ByteBuffer encode(
+            @NotNull final ChannelHandlerDescriptor descriptor,
+            @NotNull final M message
+    ) throws MessageCodecException {
+        final ChannelApiDescriptor<M> channelApi = getChannelApi(descriptor);
+        final var started = System.nanoTime();
+        var result = getCodec(channelApi).encode(channelApi, message);
+        final var compression = getCompression(channelApi);
+        if (compression != null && result.remaining() >= compression.getThresholdBytes()) {
+            result = compress(channelApi, compression, result);
+            message.putMetadata(METADATA_COMPRESSION, compression.getAlgorithm().getMetadataValue());
+        } else if (message.containsMetadataKey(METADATA_COMPRESSION)) {
+            message.putMetadata(METADATA_COMPRESSION, null);
+        }
+        descriptor.getExecuteStatistics().recordSerialized(result.remaining(), System.nanoTime() - started);
+        return result;
+    }
+
+    /**
+     * Декодирование сообщения кодеком канала с фиксацией размера и времени в статистике канала.
+     *
+     * @param descriptor Описатель канала, из которого получено сообщение.
+     * @param buffer     Буфер с закодированным сообщением.
+     * @return Сообщение.
+     * @throws MessageCodecException Ошибка декодирования.
+     */
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelHandlerDescriptor descriptor,
+            @NotNull final ByteBuffer buffer
+    ) throws MessageCodecException {
+        final ChannelApiDescriptor<M> channelApi = getChannelApi(descriptor);
+        final var payloadBytes = buffer.remaining();
+        final var started = System.nanoTime();
+        final M result = getCodec(channelApi).decode(channelApi, buffer);
+        descriptor.getExecuteStatistics().recordDeserialized(payloadBytes, System.nanoTime() - started);
+        return result;
+    }
+
+    /**
+     * Декодирование сообщения кодеком канала с учетом метаданных, полученных вместе с ним от транспорта.<br/>
+     * Если в метаданных указан алгоритм сжатия ({@link #METADATA_COMPRESSION}), то данные распаковываются
+     * потоком прямо в разбор кодека ({@link MessageCodec#decode(ChannelApiDescriptor, java.io.InputStream)}),
+     * а запись о сжатии переносится в метаданные полученного сообщения.
+     *
+     * @param descriptor Описатель канала, из которого получено сообщение.
+     * @param buffer     Буфер с закодированным (возможно, сжатым) сообщением.
+     * @param metadata   Метаданные, полученные вместе с сообщением; null - метаданных нет.
+     * @return Сообщение.
+     * @throws MessageCodecException Ошибка декодирования.
+     */
+    @NotNull
+    public <M extends Message<? extends MessageBody>>
+    M decode(
+            @NotNull final ChannelHandlerDescriptor descriptor,
+            @NotNull final ByteBuffer buffer,
+            @Nullable final MetadataGetter metadata
+    ) throws MessageCodecException {
+        final var algorithm = metadata != null
+                ? CompressionAlgorithm.ofMetadataValue(metadata.getMetadataValue(METADATA_COMPRESSION))
+                : null;
+        if (algorithm == null) {
+            return decode(descriptor, buffer);
+        }
+
+        final ChannelApiDescriptor<M> channelApi = getChannelApi(descriptor);
+        final var payloadBytes = buffer.remaining();
+        final var started = System.nanoTime();
+        final M result;
+        try (final var in = algorithm.decompressing(new ByteBufferBackedInputStream(buffer))) {
+            result = getCodec(channelApi).decode(channelApi, in);
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't decompress (" + algorithm + ") message from channel " + channelApi.getName(), e);
+        }
+        buffer.position(buffer.limit());
+        result.putMetadata(METADATA_COMPRESSION, algorithm.getMetadataValue());
+        descriptor.getExecuteStatistics().recordDeserialized(payloadBytes, System.nanoTime() - started);
+        return result;
+    }
+
+    @NotNull
+    private static ByteBuffer compress(
+            @NotNull final ChannelApiDescriptor<?> channelApi,
+            @NotNull final ChannelCompression compression,
+            @NotNull final ByteBuffer source
+    ) throws MessageCodecException {
+        final var out = new BinaryOutput(source.remaining() / 2);
+        try (final var compressing = compression.getAlgorithm().compressing(out, compression.getLevel())) {
+            if (source.hasArray()) {
+                compressing.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            } else {
+                final var bytes = new byte[source.remaining()];
+                source.duplicate().get(bytes);
+                compressing.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new MessageCodecException("Can't compress (" + compression.getAlgorithm() + ") message for channel " + channelApi.getName(), e);
+        }
+        return out.toByteBuffer();
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static <M extends Message<? extends MessageBody>>
+    ChannelApiDescriptor<M> getChannelApi(@NotNull final ChannelHandlerDescriptor descriptor) {
+        final var result = descriptor.getApi();
+        if (result == null) {
+            throw new MessageCodecException("Channel " + descriptor.getChannelName() + " hasn't api descriptor, codec is undefined");
+        }
+        return (ChannelApiDescriptor<M>) result;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
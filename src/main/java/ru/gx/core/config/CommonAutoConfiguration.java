@@ -5,10 +5,14 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
@@ -17,14 +21,30 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import ru.gx.core.channels.ChannelExecuteStatisticsManager;
 import ru.gx.core.channels.ChannelsConfiguration;
+import ru.gx.core.channels.ChannelsStatisticsEndpoint;
+import ru.gx.core.channels.OutcomeBatchesFlusher;
+import ru.gx.core.codecs.CompactBinaryMessageCodec;
+import ru.gx.core.codecs.JsonUtf8MessageCodec;
+import ru.gx.core.codecs.MessageCodecsRegistry;
+import ru.gx.core.deadletters.DeadLetterStore;
+import ru.gx.core.deadletters.DeadLettersReplayer;
+import ru.gx.core.deadletters.FileDeadLetterStore;
+import ru.gx.core.deadletters.InMemoryDeadLetterStore;
+import ru.gx.core.filters.StringToLoadingFiltratorConverter;
+import ru.gx.core.leases.FileWorkerLeaseStore;
+import ru.gx.core.leases.InMemoryWorkerLeaseStore;
+import ru.gx.core.leases.WorkerLeaseStore;
 import ru.gx.core.messaging.*;
 import ru.gx.core.metrics.MetricsInitializer;
 import ru.gx.core.settings.StandardSettingsController;
 import ru.gx.core.simpleworker.SimpleWorker;
 import ru.gx.core.simpleworker.SimpleWorkerSettingsContainer;
+import ru.gx.core.tracing.MessageLifecycleTracer;
+import ru.gx.core.tracing.MessageTracing;
 import ru.gx.core.utils.OffsetDateTimeDeserializer;
 import ru.gx.core.utils.OffsetDateTimeSerializer;
 
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.TimeZone;
@@ -38,6 +58,11 @@ public class CommonAutoConfiguration {
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Constants">
     public static final String CHANNELS_STATISTICS_MANAGER = "service.channels-statistics";
+    public static final String LEASES = "service.leases";
+    public static final String KEY_ORDERED_EXECUTOR = "service.key-ordered-executor";
+    public static final String OUTCOME_BATCHING = "service.outcome-batching";
+    public static final String DEAD_LETTERS = "service.dead-letters";
+    public static final String MESSAGE_TRACING = "service.message-tracing";
     private final static String DOT_ENABLED = ".enabled";
     private final static String DOT_NAME = ".name";
     private final static String SERVICE_NAME = "service.name";
@@ -118,6 +143,31 @@ public class CommonAutoConfiguration {
         return new SimpleWorkerSettingsContainer(standardSettingsController);
     }
 
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Worker Leases">
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = LEASES + ".store",
+            havingValue = ConfigurationPropertiesService.Leases.STORE_MEMORY
+    )
+    public WorkerLeaseStore inMemoryWorkerLeaseStore() {
+        return new InMemoryWorkerLeaseStore();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = LEASES + ".store",
+            havingValue = ConfigurationPropertiesService.Leases.STORE_FILE
+    )
+    public WorkerLeaseStore fileWorkerLeaseStore(
+            @Value("${" + LEASES + ".file-directory:" + ConfigurationPropertiesService.Leases.FILE_DIRECTORY_DEFAULT + "}") final String directory
+    ) {
+        return new FileWorkerLeaseStore(Path.of(directory));
+    }
+
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Standard Events Executor">
@@ -179,6 +229,86 @@ public class CommonAutoConfiguration {
         return queue;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = KEY_ORDERED_EXECUTOR + DOT_ENABLED,
+            havingValue = "true"
+    )
+    @Autowired
+    public KeyOrderedMessagesExecutor keyOrderedMessagesExecutor(
+            @Value("${" + KEY_ORDERED_EXECUTOR + DOT_NAME + ":" + KeyOrderedMessagesExecutor.DEFAULT_NAME + "}") final String name,
+            @Value("${" + KEY_ORDERED_EXECUTOR + ".lanes-count:" + ConfigurationPropertiesService.KeyOrderedExecutor.LANES_COUNT_DEFAULT + "}") final int lanesCount,
+            @Value("${" + KEY_ORDERED_EXECUTOR + ".lane-capacity:" + ConfigurationPropertiesService.KeyOrderedExecutor.LANE_CAPACITY_DEFAULT + "}") final int laneCapacity,
+            @NotNull final ApplicationEventPublisher eventPublisher
+    ) {
+        return new KeyOrderedMessagesExecutor(name, lanesCount, laneCapacity, eventPublisher);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Dead Letters">
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = DEAD_LETTERS + ".store",
+            havingValue = ConfigurationPropertiesService.DeadLetters.STORE_MEMORY
+    )
+    public DeadLetterStore inMemoryDeadLetterStore() {
+        return new InMemoryDeadLetterStore();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = DEAD_LETTERS + ".store",
+            havingValue = ConfigurationPropertiesService.DeadLetters.STORE_FILE
+    )
+    @Autowired
+    public DeadLetterStore fileDeadLetterStore(
+            @Value("${" + DEAD_LETTERS + ".file-path:" + ConfigurationPropertiesService.DeadLetters.FILE_PATH_DEFAULT + "}") final String filePath,
+            @NotNull final ObjectMapper objectMapper
+    ) {
+        return new FileDeadLetterStore(Path.of(filePath), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({DeadLetterStore.class, MessagesPrioritizedQueue.class})
+    @Autowired
+    public DeadLettersReplayer deadLettersReplayer(
+            @NotNull final DeadLetterStore deadLetterStore,
+            @NotNull final List<ChannelsConfiguration> configurations,
+            @NotNull final MessagesPrioritizedQueue messagesQueue
+    ) {
+        return new DeadLettersReplayer(deadLetterStore, configurations, messagesQueue);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Message Tracing">
+
+    /**
+     * Выборочная трассировка жизненного цикла сообщений. Трассировщик устанавливается в {@link MessageTracing}
+     * и снимается при закрытии контекста ({@link MessageLifecycleTracer#close()}).
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = MESSAGE_TRACING + DOT_ENABLED,
+            havingValue = "true"
+    )
+    @Autowired
+    public MessageLifecycleTracer messageLifecycleTracer(
+            @NotNull final MeterRegistry meterRegistry,
+            @Value("${" + MESSAGE_TRACING + ".sample-rate:" + ConfigurationPropertiesService.MessageTracing.SAMPLE_RATE_DEFAULT + "}") final double sampleRate,
+            @Value("${" + MESSAGE_TRACING + ".store-capacity:" + ConfigurationPropertiesService.MessageTracing.STORE_CAPACITY_DEFAULT + "}") final int storeCapacity
+    ) {
+        final var result = new MessageLifecycleTracer(meterRegistry, sampleRate, storeCapacity);
+        MessageTracing.install(result);
+        return result;
+    }
+
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Standard Settings Controller">
@@ -194,6 +324,28 @@ public class CommonAutoConfiguration {
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
 
+    /**
+     * Реестр кодеков сообщений: JSON (UTF-8) для {@link ru.gx.core.channels.SerializeMode#JsonString}
+     * и компактный бинарный формат для {@link ru.gx.core.channels.SerializeMode#Bytes}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Autowired
+    public MessageCodecsRegistry messageCodecsRegistry(@NotNull final ObjectMapper objectMapper) {
+        return new MessageCodecsRegistry(new JsonUtf8MessageCodec(objectMapper), new CompactBinaryMessageCodec(objectMapper));
+    }
+
+    /**
+     * Конвертер строковых выражений фильтров метаданных в {@link ru.gx.core.channels.LoadingFiltrator}
+     * при связывании настроек (@ConfigurationProperties).
+     */
+    @Bean
+    @ConfigurationPropertiesBinding
+    @ConditionalOnMissingBean
+    public static StringToLoadingFiltratorConverter stringToLoadingFiltratorConverter() {
+        return new StringToLoadingFiltratorConverter();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(value = SERVICE_NAME)
@@ -219,4 +371,44 @@ public class CommonAutoConfiguration {
     ) {
         return new ChannelExecuteStatisticsManager(configurations, printStatisticsEveryMs);
     }
+
+    /**
+     * Отправка пачек исходящих каналов по истечении linger-а и синхронная отправка накопленного при останове.
+     * Включается явно - в сервисах, где у исходящих каналов задано накопление (batchMaxCount &gt; 1).
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            value = OUTCOME_BATCHING + DOT_ENABLED,
+            havingValue = "true"
+    )
+    @Autowired
+    public OutcomeBatchesFlusher outcomeBatchesFlusher(
+            @NotNull final List<ChannelsConfiguration> configurations,
+            @Value("${" + OUTCOME_BATCHING + ".linger-check-every-ms:" + ConfigurationPropertiesService.OutcomeBatching.LINGER_CHECK_EVERY_MS_DEFAULT + "}") final long lingerCheckEveryMs
+    ) {
+        return new OutcomeBatchesFlusher(configurations, lingerCheckEveryMs);
+    }
+
+    /**
+     * Actuator-endpoint статистики каналов. Регистрируется, только если в classpath есть spring-boot-actuator.
+     * Конфигурации каналов получаются лениво: сервисы без каналов (например, только с SimpleWorker-ом) тоже стартуют.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    public static class ChannelsStatisticsEndpointConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+                value = CHANNELS_STATISTICS_MANAGER + ".endpoint-enabled",
+                havingValue = "true",
+                matchIfMissing = true
+        )
+        @Autowired
+        public ChannelsStatisticsEndpoint channelsStatisticsEndpoint(
+                @NotNull final ObjectProvider<ChannelsConfiguration> configurations
+        ) {
+            return new ChannelsStatisticsEndpoint(configurations);
+        }
+    }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import ru.gx.core.simpleworker.MissedFiringsBehavior;
+import ru.gx.core.simpleworker.SimpleWorkerScheduleMode;
 import ru.gx.core.worker.CommonWorkerSettingsDefaults;
 
 @ConfigurationProperties(prefix = "service")
@@ -24,6 +26,21 @@ public class ConfigurationPropertiesService {
     @NestedConfigurationProperty
     private ChannelsStatistics channelsStatistics = new ChannelsStatistics();
 
+    @NestedConfigurationProperty
+    private Leases leases = new Leases();
+
+    @NestedConfigurationProperty
+    private KeyOrderedExecutor keyOrderedExecutor = new KeyOrderedExecutor();
+
+    @NestedConfigurationProperty
+    private OutcomeBatching outcomeBatching = new OutcomeBatching();
+
+    @NestedConfigurationProperty
+    private DeadLetters deadLetters = new DeadLetters();
+
+    @NestedConfigurationProperty
+    private MessageTracing messageTracing = new MessageTracing();
+
     @Getter
     @Setter
     public static class StandardSettingsController {
@@ -42,6 +59,50 @@ public class ConfigurationPropertiesService {
         private int minTimePerIterationMs = CommonWorkerSettingsDefaults.MIN_TIME_PER_ITERATION_MS_DEFAULT;
         private int timeoutRunnerLifeMs = CommonWorkerSettingsDefaults.TIMEOUT_RUNNER_LIFE_MS_DEFAULT;
         private int printStatisticsEveryMs = CommonWorkerSettingsDefaults.PRINT_STATISTICS_EVERY_MS_DEFAULT;
+        private boolean publishIterationEvent = CommonWorkerSettingsDefaults.PUBLISH_ITERATION_EVENT_DEFAULT;
+        private boolean measureThreadResources = CommonWorkerSettingsDefaults.MEASURE_THREAD_RESOURCES_DEFAULT;
+
+        @NestedConfigurationProperty
+        private AdaptiveIdle adaptiveIdle = new AdaptiveIdle();
+
+        @NestedConfigurationProperty
+        private WorkerLease lease = new WorkerLease();
+
+        @NestedConfigurationProperty
+        private SimpleWorkerSchedule schedule = new SimpleWorkerSchedule();
+    }
+
+    @Getter
+    @Setter
+    public static class SimpleWorkerSchedule {
+        public static final SimpleWorkerScheduleMode MODE_DEFAULT = SimpleWorkerScheduleMode.MinTimePerIteration;
+        public static final int PERIOD_MS_DEFAULT = 1000;
+        public static final String CRON_DEFAULT = "";
+        public static final String ZONE_DEFAULT = "";
+        public static final MissedFiringsBehavior MISSED_FIRINGS_DEFAULT = MissedFiringsBehavior.Coalesce;
+
+        private SimpleWorkerScheduleMode mode = MODE_DEFAULT;
+        private int periodMs = PERIOD_MS_DEFAULT;
+        private String cron = CRON_DEFAULT;
+        private String zone = ZONE_DEFAULT;
+        private MissedFiringsBehavior missedFirings = MISSED_FIRINGS_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class WorkerLease {
+        private boolean enabled = CommonWorkerSettingsDefaults.LEASE_ENABLED_DEFAULT;
+        private String name = CommonWorkerSettingsDefaults.LEASE_NAME_DEFAULT;
+        private int periodMs = CommonWorkerSettingsDefaults.LEASE_PERIOD_MS_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class AdaptiveIdle {
+        private boolean enabled = CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_DEFAULT;
+        private int spinCount = CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_SPIN_COUNT_DEFAULT;
+        private int yieldCount = CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_YIELD_COUNT_DEFAULT;
+        private int minParkMcs = CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_MIN_PARK_MCS_DEFAULT;
     }
 
     @Getter
@@ -63,6 +124,7 @@ public class ConfigurationPropertiesService {
         public static final int MIN_TIME_PER_ITERATION_MS_DEFAULT = 1000;
         public static final int TIMEOUT_RUNNER_LIFE_MS_DEFAULT = 20000;
         public static final int PRINT_STATISTICS_EVERY_MS_DEFAULT = 5000;
+        public static final boolean MEASURE_THREAD_RESOURCES_DEFAULT = false;
 
         private boolean enabled = false;
         private String name = NAME_DEFAULT;
@@ -71,6 +133,14 @@ public class ConfigurationPropertiesService {
         private int minTimePerIterationMs = MIN_TIME_PER_ITERATION_MS_DEFAULT;
         private int timeoutRunnerLifeMs = TIMEOUT_RUNNER_LIFE_MS_DEFAULT;
         private int printStatisticsEveryMs = PRINT_STATISTICS_EVERY_MS_DEFAULT;
+        private boolean publishIterationEvent = CommonWorkerSettingsDefaults.PUBLISH_ITERATION_EVENT_DEFAULT;
+        private boolean measureThreadResources = MEASURE_THREAD_RESOURCES_DEFAULT;
+
+        @NestedConfigurationProperty
+        private AdaptiveIdle adaptiveIdle = new AdaptiveIdle();
+
+        @NestedConfigurationProperty
+        private WorkerLease lease = new WorkerLease();
     }
 
     @Getter
@@ -88,6 +158,91 @@ public class ConfigurationPropertiesService {
         private int prioritiesCount = PRIORITIES_COUNT_DEFAULT;
     }
 
+    @Getter
+    @Setter
+    public static class Leases {
+        public static final String STORE_MEMORY = "memory";
+        public static final String STORE_FILE = "file";
+        public static final String FILE_DIRECTORY_DEFAULT = "./leases";
+
+        /**
+         * Тип хранилища аренд: memory | file. Если не задан, то хранилище не создается.
+         */
+        private String store;
+        private String fileDirectory = FILE_DIRECTORY_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class KeyOrderedExecutor {
+        public static final String NAME_DEFAULT = "key-ordered-messages-executor";
+        public static final int LANES_COUNT_DEFAULT = 0;
+        public static final int LANE_CAPACITY_DEFAULT = 1000;
+
+        private boolean enabled = false;
+        private String name = NAME_DEFAULT;
+
+        /**
+         * Количество полос. Если <= 0, то по количеству процессоров.
+         */
+        private int lanesCount = LANES_COUNT_DEFAULT;
+
+        /**
+         * Максимальное количество сообщений в очереди одной полосы.
+         */
+        private int laneCapacity = LANE_CAPACITY_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class DeadLetters {
+        public static final String STORE_MEMORY = "memory";
+        public static final String STORE_FILE = "file";
+        public static final String FILE_PATH_DEFAULT = "./dead-letters/dead-letters.jsonl";
+
+        /**
+         * Тип хранилища недоставленных сообщений: memory | file. Если не задан, то хранилище не создается.
+         */
+        private String store;
+        private String filePath = FILE_PATH_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class MessageTracing {
+        public static final double SAMPLE_RATE_DEFAULT = 0.01;
+        public static final int STORE_CAPACITY_DEFAULT = 10_000;
+
+        private boolean enabled = false;
+
+        /**
+         * Доля трассируемых сообщений (0..1). Дочерние сообщения трассируемых сообщений трассируются всегда.
+         */
+        private double sampleRate = SAMPLE_RATE_DEFAULT;
+
+        /**
+         * Количество последних трасс, которые хранятся в памяти.
+         */
+        private int storeCapacity = STORE_CAPACITY_DEFAULT;
+    }
+
+    @Getter
+    @Setter
+    public static class OutcomeBatching {
+        public static final long LINGER_CHECK_EVERY_MS_DEFAULT = 5;
+
+        /**
+         * Периодическая отправка пачек исходящих каналов по истечении linger-а и отправка накопленного при останове.
+         * Требуется, если у исходящих каналов задано накопление сообщений.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Период (в мс) проверки истечения linger-а у накопителей исходящих каналов.
+         */
+        private long lingerCheckEveryMs = LINGER_CHECK_EVERY_MS_DEFAULT;
+    }
+
     @Getter
     @Setter
     public static class ChannelsStatistics {
@@ -95,5 +250,10 @@ public class ConfigurationPropertiesService {
 
         private boolean enabled = true;
         private int printStatisticsEveryMs = PRINT_STATISTICS_EVERY_MS_DEFAULT;
+
+        /**
+         * Регистрировать ли actuator-endpoint со снимками статистики каналов (при наличии spring-boot-actuator).
+         */
+        private boolean endpointEnabled = true;
     }
 }
@@ -0,0 +1,73 @@
+package ru.gx.core.deadletters;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+/**
+ * Недоставленное сообщение: сообщение, обработка которого не удалась заданное количество раз,
+ * вместе с последней ошибкой обработки.
+ *
+ * @see DeadLetterStore
+ */
+@Getter
+@ToString(exclude = "message")
+@SuppressWarnings("unused")
+public class DeadLetter {
+    /**
+     * Идентификатор в хранилище (возрастает в порядке поступления).
+     */
+    private final long id;
+
+    /**
+     * Имя канала, в котором обрабатывалось сообщение.
+     */
+    @NotNull
+    private final String channelName;
+
+    @NotNull
+    private final Message<? extends MessageBody> message;
+
+    /**
+     * Количество неудачных попыток обработки.
+     */
+    private final int attempts;
+
+    /**
+     * Класс последней ошибки.
+     */
+    @NotNull
+    private final String errorClass;
+
+    /**
+     * Текст последней ошибки.
+     */
+    @Nullable
+    private final String errorMessage;
+
+    /**
+     * Момент помещения сообщения в хранилище.
+     */
+    private final long deadAtMs;
+
+    public DeadLetter(
+            final long id,
+            @NotNull final String channelName,
+            @NotNull final Message<? extends MessageBody> message,
+            final int attempts,
+            @NotNull final String errorClass,
+            @Nullable final String errorMessage,
+            final long deadAtMs
+    ) {
+        this.id = id;
+        this.channelName = channelName;
+        this.message = message;
+        this.attempts = attempts;
+        this.errorClass = errorClass;
+        this.errorMessage = errorMessage;
+        this.deadAtMs = deadAtMs;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.gx.core.deadletters;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ошибка при работе с хранилищем недоставленных сообщений.
+ */
+public class DeadLetterException extends RuntimeException {
+    public DeadLetterException(@NotNull final String message) {
+        super(message);
+    }
+
+    public DeadLetterException(@NotNull final String message, @NotNull final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.gx.core.deadletters;
+
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Хранилище недоставленных сообщений (dead letters).<br/>
+ * Сообщение попадает в хранилище, когда количество неудачных попыток его обработки достигло
+ * {@link ru.gx.core.channels.ChannelHandlerDescriptor#getDeadLetterMaxAttempts()}; обработка канала при этом продолжается.
+ * Повторная обработка ({@link DeadLettersReplayer}) читает сообщения пачками в порядке поступления и подтверждает
+ * ({@link #acknowledge(Collection)}) только те, что удалось вернуть в очередь.<br/>
+ * Реализации должны быть потокобезопасными.
+ */
+public interface DeadLetterStore {
+    /**
+     * Помещение сообщения в хранилище.
+     *
+     * @param channelName Имя канала.
+     * @param message     Сообщение.
+     * @param attempts    Количество неудачных попыток обработки.
+     * @param error       Последняя ошибка обработки.
+     * @return Запись хранилища.
+     * @throws DeadLetterException Ошибка записи в хранилище.
+     */
+    @NotNull
+    DeadLetter append(
+            @NotNull final String channelName,
+            @NotNull final Message<? extends MessageBody> message,
+            final int attempts,
+            @NotNull final Throwable error
+    ) throws DeadLetterException;
+
+    /**
+     * Чтение (без удаления) наиболее старых записей.
+     *
+     * @param maxCount Максимальное количество записей.
+     * @return Записи в порядке поступления.
+     */
+    @NotNull
+    List<DeadLetter> read(final int maxCount);
+
+    /**
+     * Подтверждение (удаление) записей.
+     *
+     * @param ids Идентификаторы записей ({@link DeadLetter#getId()}).
+     * @throws DeadLetterException Ошибка записи в хранилище.
+     */
+    void acknowledge(@NotNull final Collection<Long> ids) throws DeadLetterException;
+
+    /**
+     * @return Количество неподтвержденных записей.
+     */
+    int size();
+}
@@ -0,0 +1,77 @@
+package ru.gx.core.deadletters;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.worker.StatisticsInfo;
+
+/**
+ * Учет неудачных попыток обработки сообщений и перенаправление исчерпавших попытки сообщений
+ * в хранилище недоставленных сообщений. Используется исполнителями сообщений.
+ */
+@Slf4j
+@UtilityClass
+public class DeadLetters {
+    /**
+     * Ключ записи метаданных сообщения: количество неудачных попыток обработки.
+     */
+    public static final String METADATA_ATTEMPTS = "gx-attempts";
+
+    /**
+     * Метрика: количество сообщений, перенаправленных в хранилище недоставленных сообщений.
+     */
+    public static final String METRIC_DEAD_LETTERS = "channel.dead-letters";
+
+    /**
+     * @param message Сообщение.
+     * @return Количество неудачных попыток обработки сообщения.
+     */
+    public static int getAttempts(@NotNull final Message<?> message) {
+        return message.getMetadataValue(METADATA_ATTEMPTS) instanceof final Integer attempts ? attempts : 0;
+    }
+
+    /**
+     * Фиксация неудачной попытки обработки сообщения. Если попытки исчерпаны
+     * ({@link ru.gx.core.channels.ChannelHandlerDescriptor#getDeadLetterMaxAttempts()}) и хранилище задано,
+     * то сообщение с ошибкой помещается в хранилище. Если канал при этом заблокирован ошибкой
+     * (сообщение было пробным), то блокировка снимается: блокировавшее канал сообщение убрано.
+     *
+     * @param store   Хранилище недоставленных сообщений; null - не используется.
+     * @param message Сообщение, обработка которого завершилась ошибкой.
+     * @param error   Ошибка обработки.
+     * @return true - сообщение помещено в хранилище, повторно обрабатывать его не требуется.
+     */
+    public static boolean routeIfExhausted(
+            @Nullable final DeadLetterStore store,
+            @NotNull final Message<?> message,
+            @NotNull final Exception error
+    ) {
+        final var attempts = getAttempts(message) + 1;
+        message.putMetadata(METADATA_ATTEMPTS, attempts);
+
+        final var channel = message.getChannelDescriptor();
+        final var maxAttempts = channel.getDeadLetterMaxAttempts();
+        if (store == null || maxAttempts <= 0 || attempts < maxAttempts) {
+            return false;
+        }
+        try {
+            final var letter = store.append(channel.getChannelName(), message, attempts, error);
+            log.warn("Message {} of channel {} moved to dead letters (id = {}) after {} attempts",
+                    message.getHeader().getId(), channel.getChannelName(), letter.getId(), attempts);
+        } catch (Exception e) {
+            log.error("Can't move message {} of channel {} to dead letters", message.getHeader().getId(), channel.getChannelName(), e);
+            return false;
+        }
+        Counter.builder(METRIC_DEAD_LETTERS)
+                .tag(StatisticsInfo.METRIC_TAG_CHANNEL_NAME, channel.getChannelName())
+                .register(channel.getOwner().getMeterRegistry())
+                .increment();
+        if (channel.isBlockedByError()) {
+            channel.clearBlockingError();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.gx.core.deadletters;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.channels.ChannelsConfiguration;
+import ru.gx.core.messaging.MessagesPrioritizedQueue;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Повторная обработка недоставленных сообщений: возврат их пачками из хранилища в очередь сообщений.<br/>
+ * Счетчик попыток сообщения сбрасывается, канал определяется по имени среди зарегистрированных конфигураций.
+ * Из хранилища удаляются только сообщения, принятые очередью; сообщения неизвестных (выключенных)
+ * каналов остаются в хранилище.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class DeadLettersReplayer {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter
+    @NotNull
+    private final DeadLetterStore store;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final Iterable<ChannelsConfiguration> configurations;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final MessagesPrioritizedQueue messagesQueue;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public DeadLettersReplayer(
+            @NotNull final DeadLetterStore store,
+            @NotNull final Iterable<ChannelsConfiguration> configurations,
+            @NotNull final MessagesPrioritizedQueue messagesQueue
+    ) {
+        this.store = store;
+        this.configurations = configurations;
+        this.messagesQueue = messagesQueue;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Возврат в очередь одной пачки наиболее старых недоставленных сообщений.
+     *
+     * @param batchSize Максимальное количество сообщений в пачке.
+     * @param maxWaitMs Максимальное время ожидания (в мс) места в очереди для одного сообщения; < 0 - без ограничения.
+     * @return Количество сообщений, возвращенных в очередь.
+     */
+    public int replayBatch(final int batchSize, final long maxWaitMs) throws InterruptedException {
+        if (batchSize < 1) {
+            throw new InvalidParameterException("BatchSize can't be less 1!");
+        }
+        final var letters = this.store.read(batchSize);
+        final var replayed = new ArrayList<Long>(letters.size());
+        try {
+            for (final var letter : letters) {
+                final var channel = findChannel(letter.getChannelName());
+                if (channel == null) {
+                    log.warn("Dead letter {}: channel {} not found, letter is kept", letter.getId(), letter.getChannelName());
+                    continue;
+                }
+                final var message = letter.getMessage();
+                message.putMetadata(DeadLetters.METADATA_ATTEMPTS, 0);
+                message.setChannelDescriptor(channel);
+                if (!this.messagesQueue.pushMessageWithWaits(channel.getPriority(), message, maxWaitMs)) {
+                    log.warn("Dead letters replay stopped: queue {} is full", this.messagesQueue.getName());
+                    break;
+                }
+                replayed.add(letter.getId());
+            }
+        } finally {
+            this.store.acknowledge(replayed);
+        }
+        return replayed.size();
+    }
+
+    /**
+     * Возврат в очередь всех недоставленных сообщений пачками.
+     * Останавливается, когда хранилище опустело либо очередная пачка не продвинулась.
+     *
+     * @param batchSize Максимальное количество сообщений в пачке.
+     * @param maxWaitMs Максимальное время ожидания (в мс) места в очереди для одного сообщения; < 0 - без ограничения.
+     * @return Количество сообщений, возвращенных в очередь.
+     */
+    public int replayAll(final int batchSize, final long maxWaitMs) throws InterruptedException {
+        var result = 0;
+        while (this.store.size() > 0) {
+            final var count = replayBatch(batchSize, maxWaitMs);
+            if (count == 0) {
+                break;
+            }
+            result += count;
+        }
+        log.info("Dead letters replayed: {}, left: {}", result, this.store.size());
+        return result;
+    }
+
+    @Nullable
+    private ChannelHandlerDescriptor findChannel(@NotNull final String channelName) {
+        for (final var config : this.configurations) {
+            final var result = config.tryGet(channelName);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
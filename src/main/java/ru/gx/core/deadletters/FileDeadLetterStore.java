@@ -0,0 +1,348 @@
+package ru.gx.core.deadletters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Хранилище недоставленных сообщений в файле, в который записи только дописываются (append-only).<br/>
+ * Каждая строка файла - JSON-запись одного из видов:
+ * <ul>
+ *     <li>{@code {"op":"put","id":...,"channel":...,"messageClass":...,"message":{...},...}} - помещение сообщения;</li>
+ *     <li>{@code {"op":"ack","id":...}} - подтверждение (удаление) записи.</li>
+ * </ul>
+ * При создании файл читается целиком, неподтвержденные записи держатся в памяти.
+ * Записанное методом сбрасывается на диск ({@link FileChannel#force(boolean)}) один раз до возврата из метода.<br/>
+ * Когда подтвержденных записей накапливается больше {@link #COMPACT_THRESHOLD} (и больше, чем неподтвержденных),
+ * файл переписывается заново только с неподтвержденными записями (через временный файл и атомарную замену).
+ * Строки, которые не удалось прочитать (например, сообщения класса, отсутствующего в этой версии сервиса),
+ * при сжатии сохраняются как есть.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class FileDeadLetterStore implements DeadLetterStore {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Количество подтвержденных записей, после которого файл сжимается.
+     */
+    public static final int COMPACT_THRESHOLD = 1000;
+
+    private static final String OP = "op";
+    private static final String OP_PUT = "put";
+    private static final String OP_ACK = "ack";
+    private static final String ID = "id";
+    private static final String CHANNEL = "channel";
+    private static final String MESSAGE_CLASS = "messageClass";
+    private static final String MESSAGE = "message";
+    private static final String ATTEMPTS = "attempts";
+    private static final String ERROR_CLASS = "errorClass";
+    private static final String ERROR_MESSAGE = "errorMessage";
+    private static final String DEAD_AT_MS = "deadAtMs";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter
+    @NotNull
+    private final Path file;
+
+    @NotNull
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Монитор файла и индекса.
+     */
+    @NotNull
+    private final Object monitor = new Object();
+
+    /**
+     * Неподтвержденные записи в порядке поступления.
+     */
+    @NotNull
+    private final LinkedHashMap<Long, DeadLetter> pending = new LinkedHashMap<>();
+
+    /**
+     * Исходные строки неподтвержденных записей, сообщения которых не удалось прочитать, по id.
+     */
+    @NotNull
+    private final LinkedHashMap<Long, String> unreadable = new LinkedHashMap<>();
+
+    /**
+     * Исходные строки, которые не удалось разобрать даже как запись (без id).
+     */
+    @NotNull
+    private final List<String> corrupted = new ArrayList<>();
+
+    @NotNull
+    private FileChannel channel;
+
+    private long lastId;
+
+    /**
+     * Количество подтвержденных записей в файле с момента последнего сжатия.
+     */
+    private int acknowledgedInFile;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public FileDeadLetterStore(@NotNull final Path file, @NotNull final ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        try {
+            final var parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            if (Files.exists(file)) {
+                load();
+            }
+            this.channel = openForAppend(file);
+            terminateLastLine();
+        } catch (IOException e) {
+            throw new DeadLetterException("Can't open dead letters file " + file, e);
+        }
+        log.info("Dead letters file {}: {} pending letters, {} unreadable lines", file, this.pending.size(), this.unreadable.size() + this.corrupted.size());
+    }
+
+    private void load() throws IOException {
+        try (final BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            String line;
+            var lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                final JsonNode node;
+                final long id;
+                try {
+                    node = this.objectMapper.readTree(line);
+                    id = node.get(ID).asLong();
+                } catch (Exception e) {
+                    // Недописанная при аварийном останове строка
+                    log.warn("Dead letters file {}: corrupted line {} is kept as is", this.file, lineNumber, e);
+                    this.corrupted.add(line);
+                    continue;
+                }
+                this.lastId = Math.max(this.lastId, id);
+                if (OP_ACK.equals(node.path(OP).asText())) {
+                    if (this.pending.remove(id) != null || this.unreadable.remove(id) != null) {
+                        this.acknowledgedInFile++;
+                    }
+                    continue;
+                }
+                try {
+                    this.pending.put(id, fromNode(node));
+                } catch (Exception e) {
+                    // Запись неизвестного класса (либо формата) - сохраняется, чтобы ее могла прочитать другая версия сервиса
+                    log.warn("Dead letters file {}: unreadable letter {} (line {}) is kept as is", this.file, id, lineNumber, e);
+                    this.unreadable.put(id, line);
+                }
+            }
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements DeadLetterStore">
+    @Override
+    @NotNull
+    public DeadLetter append(
+            @NotNull final String channelName,
+            @NotNull final Message<? extends MessageBody> message,
+            final int attempts,
+            @NotNull final Throwable error
+    ) throws DeadLetterException {
+        synchronized (this.monitor) {
+            final var letter = new DeadLetter(
+                    this.lastId + 1,
+                    channelName,
+                    message,
+                    attempts,
+                    error.getClass().getName(),
+                    error.getMessage(),
+                    System.currentTimeMillis()
+            );
+            try {
+                writeLine(this.channel, toNode(letter));
+                this.channel.force(false);
+            } catch (IOException e) {
+                throw new DeadLetterException("Can't write dead letter of channel " + channelName + " to file " + this.file, e);
+            }
+            this.lastId = letter.getId();
+            this.pending.put(letter.getId(), letter);
+            return letter;
+        }
+    }
+
+    @Override
+    @NotNull
+    public List<DeadLetter> read(final int maxCount) {
+        synchronized (this.monitor) {
+            final var result = new ArrayList<DeadLetter>(Math.min(maxCount, this.pending.size()));
+            for (final var letter : this.pending.values()) {
+                if (result.size() >= maxCount) {
+                    break;
+                }
+                result.add(letter);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public void acknowledge(@NotNull final Collection<Long> ids) throws DeadLetterException {
+        synchronized (this.monitor) {
+            try {
+                var written = 0;
+                for (final var id : ids) {
+                    if (this.pending.remove(id) == null) {
+                        continue;
+                    }
+                    writeLine(this.channel, this.objectMapper.createObjectNode().put(OP, OP_ACK).put(ID, id));
+                    written++;
+                }
+                if (written == 0) {
+                    return;
+                }
+                this.channel.force(false);
+                this.acknowledgedInFile += written;
+                if (this.acknowledgedInFile >= COMPACT_THRESHOLD && this.acknowledgedInFile > this.pending.size()) {
+                    compact();
+                }
+            } catch (IOException e) {
+                throw new DeadLetterException("Can't write acknowledges to dead letters file " + this.file, e);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (this.monitor) {
+            return this.pending.size();
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Internal methods">
+
+    /**
+     * Переписывание файла только с неподтвержденными записями (и нечитаемыми строками как есть). Вызывается под монитором.
+     * Если заменить файл не удалось, то продолжается запись в прежний файл.
+     */
+    private void compact() throws IOException {
+        final var tempFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (final var tempChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (final var line : this.corrupted) {
+                writeLine(tempChannel, line.getBytes(StandardCharsets.UTF_8));
+            }
+            for (final var line : this.unreadable.values()) {
+                writeLine(tempChannel, line.getBytes(StandardCharsets.UTF_8));
+            }
+            for (final var letter : this.pending.values()) {
+                writeLine(tempChannel, toNode(letter));
+            }
+            tempChannel.force(false);
+        }
+        this.channel.close();
+        try {
+            Files.move(tempFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            this.channel = openForAppend(this.file);
+        }
+        log.info("Dead letters file {} compacted: {} acknowledged removed, {} pending", this.file, this.acknowledgedInFile, this.pending.size());
+        this.acknowledgedInFile = 0;
+    }
+
+    @NotNull
+    private static FileChannel openForAppend(@NotNull final Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Если файл оканчивается недописанной строкой, то она завершается переводом строки,
+     * чтобы следующая запись не склеилась с ней.
+     */
+    private void terminateLastLine() throws IOException {
+        final var size = this.channel.size();
+        if (size == 0) {
+            return;
+        }
+        try (final var reader = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final var last = ByteBuffer.allocate(1);
+            reader.read(last, size - 1);
+            if (last.get(0) == '\n') {
+                return;
+            }
+        }
+        writeLine(this.channel, new byte[0]);
+        this.channel.force(false);
+    }
+
+    /**
+     * Запись строки без сброса на диск.
+     */
+    private void writeLine(@NotNull final FileChannel target, @NotNull final JsonNode node) throws IOException {
+        writeLine(target, this.objectMapper.writeValueAsBytes(node));
+    }
+
+    private static void writeLine(@NotNull final FileChannel target, @NotNull final byte[] bytes) throws IOException {
+        final var buffer = ByteBuffer.allocate(bytes.length + 1);
+        buffer.put(bytes).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    @NotNull
+    private JsonNode toNode(@NotNull final DeadLetter letter) {
+        final var node = this.objectMapper.createObjectNode()
+                .put(OP, OP_PUT)
+                .put(ID, letter.getId())
+                .put(CHANNEL, letter.getChannelName())
+                .put(MESSAGE_CLASS, letter.getMessage().getClass().getName())
+                .put(ATTEMPTS, letter.getAttempts())
+                .put(ERROR_CLASS, letter.getErrorClass())
+                .put(ERROR_MESSAGE, letter.getErrorMessage())
+                .put(DEAD_AT_MS, letter.getDeadAtMs());
+        node.set(MESSAGE, this.objectMapper.valueToTree(letter.getMessage()));
+        return node;
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private DeadLetter fromNode(@NotNull final JsonNode node) throws IOException, ClassNotFoundException {
+        final var messageClass = (Class<? extends Message<? extends MessageBody>>) Class.forName(node.get(MESSAGE_CLASS).asText());
+        final var message = this.objectMapper.treeToValue(node.get(MESSAGE), messageClass);
+        final var errorMessage = node.get(ERROR_MESSAGE);
+        return new DeadLetter(
+                node.get(ID).asLong(),
+                node.get(CHANNEL).asText(),
+                message,
+                node.get(ATTEMPTS).asInt(),
+                node.get(ERROR_CLASS).asText(),
+                errorMessage == null || errorMessage.isNull() ? null : errorMessage.asText(),
+                node.get(DEAD_AT_MS).asLong()
+        );
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,75 @@
+package ru.gx.core.deadletters;
+
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.messaging.MessageBody;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Хранилище недоставленных сообщений в памяти процесса.<br/>
+ * Подходит для тестов и для сервисов, которым достаточно повторной обработки в пределах жизни процесса.
+ */
+@SuppressWarnings("unused")
+public class InMemoryDeadLetterStore implements DeadLetterStore {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @NotNull
+    private final ConcurrentSkipListMap<Long, DeadLetter> letters = new ConcurrentSkipListMap<>();
+
+    @NotNull
+    private final AtomicLong lastId = new AtomicLong();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements DeadLetterStore">
+    @Override
+    @NotNull
+    public DeadLetter append(
+            @NotNull final String channelName,
+            @NotNull final Message<? extends MessageBody> message,
+            final int attempts,
+            @NotNull final Throwable error
+    ) {
+        final var letter = new DeadLetter(
+                this.lastId.incrementAndGet(),
+                channelName,
+                message,
+                attempts,
+                error.getClass().getName(),
+                error.getMessage(),
+                System.currentTimeMillis()
+        );
+        this.letters.put(letter.getId(), letter);
+        return letter;
+    }
+
+    @Override
+    @NotNull
+    public List<DeadLetter> read(final int maxCount) {
+        final var result = new ArrayList<DeadLetter>(Math.min(maxCount, this.letters.size()));
+        for (final var letter : this.letters.values()) {
+            if (result.size() >= maxCount) {
+                break;
+            }
+            result.add(letter);
+        }
+        return result;
+    }
+
+    @Override
+    public void acknowledge(@NotNull final Collection<Long> ids) {
+        ids.forEach(this.letters::remove);
+    }
+
+    @Override
+    public int size() {
+        return this.letters.size();
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
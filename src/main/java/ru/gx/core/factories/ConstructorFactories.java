@@ -0,0 +1,150 @@
+package ru.gx.core.factories;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * Построение {@link ObjectFactory} по конструктору, найденному рефлексией (для классов без {@link GenerateFactories}).<br/>
+ * Конструктор оборачивается в лямбду, созданную {@link LambdaMetafactory}: вызов фабрики - это прямой вызов конструктора,
+ * который JIT может заинлайнить (в отличие от {@link Constructor#newInstance(Object...)}).
+ * Если лямбду построить нельзя (например, класс загружен в другом модуле), используется {@link MethodHandle},
+ * и только в крайнем случае - сам {@link Constructor}.
+ */
+@Slf4j
+@UtilityClass
+@SuppressWarnings("unused")
+public class ConstructorFactories {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Functional interfaces">
+    // Интерфейсы должны быть публичными: лямбда определяется в пакете создаваемого класса.
+
+    @FunctionalInterface
+    public interface Constructor0 {
+        Object create() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Constructor1 {
+        Object create(Object a0) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Constructor2 {
+        Object create(Object a0, Object a1) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Constructor3 {
+        Object create(Object a0, Object a1, Object a2) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Constructor4 {
+        Object create(Object a0, Object a1, Object a2, Object a3) throws Exception;
+    }
+
+    private static final Class<?>[] INTERFACES = {
+            Constructor0.class, Constructor1.class, Constructor2.class, Constructor3.class, Constructor4.class
+    };
+
+    private static final String METHOD_NAME = "create";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * @param constructor Публичный конструктор.
+     * @return Фабрика, вызывающая конструктор. Проверяемые исключения конструктора пробрасываются как есть.
+     */
+    @NotNull
+    public static <T> ObjectFactory<T> of(@NotNull final Constructor<T> constructor) {
+        final var objectClass = constructor.getDeclaringClass();
+        final MethodHandle target;
+        final MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(objectClass, MethodHandles.lookup());
+            target = lookup.unreflectConstructor(constructor);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Can't access constructor {}, reflection is used", constructor, e);
+            return constructor::newInstance;
+        }
+
+        final var paramsCount = constructor.getParameterCount();
+        if (paramsCount < INTERFACES.length) {
+            try {
+                return lambdaFactory(lookup, target, paramsCount);
+            } catch (Throwable e) {
+                log.debug("Can't build lambda for constructor {}, MethodHandle is used", constructor, e);
+            }
+        }
+        return methodHandleFactory(target, paramsCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static <T> ObjectFactory<T> lambdaFactory(
+            @NotNull final MethodHandles.Lookup lookup,
+            @NotNull final MethodHandle target,
+            final int paramsCount
+    ) throws Throwable {
+        final var factoryInterface = INTERFACES[paramsCount];
+        final var site = LambdaMetafactory.metafactory(
+                lookup,
+                METHOD_NAME,
+                MethodType.methodType(factoryInterface),
+                MethodType.genericMethodType(paramsCount),
+                target,
+                target.type()
+        );
+        final var lambda = site.getTarget().invoke();
+        return switch (paramsCount) {
+            case 0 -> {
+                final var c = (Constructor0) lambda;
+                yield args -> (T) c.create();
+            }
+            case 1 -> {
+                final var c = (Constructor1) lambda;
+                yield args -> (T) c.create(args[0]);
+            }
+            case 2 -> {
+                final var c = (Constructor2) lambda;
+                yield args -> (T) c.create(args[0], args[1]);
+            }
+            case 3 -> {
+                final var c = (Constructor3) lambda;
+                yield args -> (T) c.create(args[0], args[1], args[2]);
+            }
+            default -> {
+                final var c = (Constructor4) lambda;
+                yield args -> (T) c.create(args[0], args[1], args[2], args[3]);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private static <T> ObjectFactory<T> methodHandleFactory(@NotNull final MethodHandle target, final int paramsCount) {
+        final var spreader = target
+                .asType(MethodType.genericMethodType(paramsCount))
+                .asSpreader(Object[].class, paramsCount);
+        return args -> {
+            try {
+                return (T) (Object) spreader.invokeExact(args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,47 @@
+package ru.gx.core.factories;
+
+/**
+ * Сигнатура конструктора, для которого генерируется фабрика.
+ * Порядок аргументов {@link ObjectFactory#newInstance(Object...)} совпадает с порядком параметров конструктора.
+ */
+public enum FactoryShape {
+    /**
+     * Сообщение: (MessageHeader, MessageBody, MessageCorrelation).
+     */
+    MessageByHeaderBody,
+
+    /**
+     * Сообщение: (Map&lt;MessageCreatingParams, Object&gt;).
+     */
+    MessageByParams,
+
+    /**
+     * Тело сообщения: (DataObject).
+     */
+    BodyByDataObject,
+
+    /**
+     * Тело сообщения: (DataPackage).
+     */
+    BodyByDataPackage,
+
+    /**
+     * Описатель канала: (ChannelsConfiguration, ChannelApiDescriptor, AbstractChannelDescriptorsDefaults).
+     */
+    DescriptorByApi,
+
+    /**
+     * Описатель канала: (ChannelsConfiguration, ChannelApiDescriptor, ChannelDirection, AbstractChannelDescriptorsDefaults).
+     */
+    DescriptorByApiAndDirection,
+
+    /**
+     * Описатель канала: (ChannelsConfiguration, String, AbstractChannelDescriptorsDefaults).
+     */
+    DescriptorByName,
+
+    /**
+     * Описатель канала: (ChannelsConfiguration, String, ChannelDirection, AbstractChannelDescriptorsDefaults).
+     */
+    DescriptorByNameAndDirection
+}
@@ -0,0 +1,17 @@
+package ru.gx.core.factories;
+
+import java.lang.annotation.*;
+
+/**
+ * Класс сообщения, тела сообщения или описателя канала, для которого на этапе компиляции
+ * генерируются фабрики (прямые вызовы конструкторов вместо рефлексии).<br/>
+ * Фабрики генерирует GenerateFactoriesProcessor (артефакт gx-core-factories-processor,
+ * подключается через annotationProcessorPaths)
+ * для публичных конструкторов, соответствующих {@link FactoryShape}.
+ * Во время исполнения фабрики доступны через {@link GeneratedFactories}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateFactories {
+}
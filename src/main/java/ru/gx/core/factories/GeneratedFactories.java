@@ -0,0 +1,103 @@
+package ru.gx.core.factories;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Статический реестр фабрик, сгенерированных на этапе компиляции для классов с {@link GenerateFactories}.<br/>
+ * Поставщики ({@link GeneratedFactoriesProvider}) загружаются через {@link ServiceLoader} один раз,
+ * при первом обращении. После загрузки реестр неизменяем, чтение выполняется без блокировок.
+ */
+@Slf4j
+@UtilityClass
+@SuppressWarnings("unused")
+public class GeneratedFactories {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Registrar">
+
+    /**
+     * Регистратор фабрик, передается в {@link GeneratedFactoriesProvider#registerFactories(Registrar)}.
+     */
+    public static final class Registrar {
+        @NotNull
+        private final Map<Class<?>, Map<FactoryShape, ObjectFactory<?>>> factories = new HashMap<>();
+
+        private Registrar() {
+        }
+
+        /**
+         * @param objectClass Класс, экземпляры которого создает фабрика.
+         * @param shape       Сигнатура конструктора.
+         * @param factory     Фабрика.
+         * @return this.
+         */
+        @NotNull
+        public <T> Registrar register(
+                @NotNull final Class<T> objectClass,
+                @NotNull final FactoryShape shape,
+                @NotNull final ObjectFactory<? extends T> factory
+        ) {
+            this.factories
+                    .computeIfAbsent(objectClass, k -> new EnumMap<>(FactoryShape.class))
+                    .putIfAbsent(shape, factory);
+            return this;
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Holder">
+
+    /**
+     * Ленивая загрузка реестра (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        @NotNull
+        private static final Map<Class<?>, Map<FactoryShape, ObjectFactory<?>>> FACTORIES = load();
+
+        @NotNull
+        private static Map<Class<?>, Map<FactoryShape, ObjectFactory<?>>> load() {
+            final var registrar = new Registrar();
+            var providersCount = 0;
+            try {
+                for (final var provider : ServiceLoader.load(GeneratedFactoriesProvider.class, GeneratedFactories.class.getClassLoader())) {
+                    provider.registerFactories(registrar);
+                    providersCount++;
+                }
+            } catch (ServiceConfigurationError e) {
+                log.error("Can't load generated factories", e);
+            }
+            log.debug("Loaded {} generated factories providers for {} classes", providersCount, registrar.factories.size());
+            return Map.copyOf(registrar.factories);
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+    /**
+     * @param objectClass Класс создаваемых экземпляров.
+     * @param shape       Сигнатура конструктора.
+     * @return Сгенерированная фабрика; null - для класса фабрика такой сигнатуры не сгенерирована.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> ObjectFactory<T> get(@NotNull final Class<T> objectClass, @NotNull final FactoryShape shape) {
+        final var byShape = Holder.FACTORIES.get(objectClass);
+        return byShape != null ? (ObjectFactory<T>) byShape.get(shape) : null;
+    }
+
+    /**
+     * @param objectClass Класс.
+     * @return true - для класса сгенерирована хотя бы одна фабрика.
+     */
+    public static boolean contains(@NotNull final Class<?> objectClass) {
+        return Holder.FACTORIES.containsKey(objectClass);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
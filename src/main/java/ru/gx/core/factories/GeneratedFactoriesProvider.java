@@ -0,0 +1,15 @@
+package ru.gx.core.factories;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Поставщик сгенерированных фабрик. Реализации генерируются
+ * GenerateFactoriesProcessor из gx-core-factories-processor (по одной на пакет и модуль)
+ * и регистрируются в META-INF/services для {@link java.util.ServiceLoader}.
+ */
+public interface GeneratedFactoriesProvider {
+    /**
+     * @param registrar Регистратор, в который требуется передать все фабрики поставщика.
+     */
+    void registerFactories(@NotNull final GeneratedFactories.Registrar registrar);
+}
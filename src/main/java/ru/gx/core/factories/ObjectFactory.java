@@ -0,0 +1,20 @@
+package ru.gx.core.factories;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Фабрика экземпляров класса. Аналог {@link java.lang.reflect.Constructor#newInstance(Object...)}
+ * без рефлексии: генерируется на этапе компиляции в виде лямбды с прямым вызовом конструктора.
+ *
+ * @param <T> Класс создаваемых экземпляров.
+ */
+@FunctionalInterface
+public interface ObjectFactory<T> {
+    /**
+     * @param args Аргументы конструктора (в порядке параметров, см. {@link FactoryShape}).
+     * @return Новый экземпляр.
+     * @throws Exception Исключение, брошенное конструктором.
+     */
+    @NotNull
+    T newInstance(@NotNull final Object... args) throws Exception;
+}
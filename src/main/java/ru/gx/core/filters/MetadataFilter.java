@@ -0,0 +1,71 @@
+package ru.gx.core.filters;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.channels.LoadingFiltrator;
+import ru.gx.core.messaging.MetadataGetter;
+
+/**
+ * Декларативный фильтр метаданных: выражение один раз компилируется в дерево предикатов,
+ * которое вычисляется с коротким замыканием (&& / ||).<br/>
+ * Пример: {@code type in ('trade', 'order') && source != 'test' && !exists(replay)}.<br/>
+ * Фильтр работает только с метаданными (заголовками), поэтому позволяет отбросить сообщение
+ * до десериализации тела. Каждое значение метаданных запрашивается не более одного раза на сообщение.
+ * Значения сравниваются как строки (byte[] - как строка в UTF-8).<br/>
+ * Экземпляр неизменяем и потокобезопасен.
+ *
+ * @see MetadataFilterParser грамматика выражения
+ */
+@SuppressWarnings("unused")
+public class MetadataFilter implements LoadingFiltrator {
+    /**
+     * Исходное выражение.
+     */
+    @Getter
+    @NotNull
+    private final String expression;
+
+    /**
+     * Корень дерева предикатов.
+     */
+    @NotNull
+    private final MetadataFilterNode root;
+
+    /**
+     * Ключи метаданных, используемые в выражении (индексы соответствуют индексам в узлах дерева).
+     */
+    @NotNull
+    private final String[] keys;
+
+    private MetadataFilter(@NotNull final String expression) {
+        final var parser = new MetadataFilterParser(expression);
+        this.expression = expression;
+        this.root = parser.parse();
+        this.keys = parser.getKeys();
+    }
+
+    /**
+     * Компиляция выражения фильтра.
+     *
+     * @param expression Выражение фильтра.
+     * @return Скомпилированный фильтр.
+     * @throws MetadataFilterParseException Ошибка в выражении.
+     */
+    @NotNull
+    public static MetadataFilter compile(@NotNull final String expression) throws MetadataFilterParseException {
+        return new MetadataFilter(expression);
+    }
+
+    @Override
+    public boolean allowProcess(@NotNull final MetadataGetter metadata) {
+        return this.root.test(new MetadataFilterContext(metadata, this.keys));
+    }
+
+    /**
+     * @return Нормализованное представление скомпилированного дерева.
+     */
+    @Override
+    public String toString() {
+        return this.root.toString();
+    }
+}
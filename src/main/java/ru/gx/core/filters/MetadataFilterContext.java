@@ -0,0 +1,46 @@
+package ru.gx.core.filters;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.MetadataGetter;
+
+import java.util.Arrays;
+
+/**
+ * Контекст вычисления фильтра для одного сообщения.
+ * Значения метаданных запрашиваются лениво и не более одного раза на ключ,
+ * даже если ключ встречается в выражении несколько раз.
+ */
+final class MetadataFilterContext {
+    private static final Object NOT_LOADED = new Object();
+
+    @NotNull
+    private final MetadataGetter metadata;
+
+    @NotNull
+    private final String[] keys;
+
+    @NotNull
+    private final Object[] values;
+
+    MetadataFilterContext(@NotNull final MetadataGetter metadata, @NotNull final String[] keys) {
+        this.metadata = metadata;
+        this.keys = keys;
+        this.values = new Object[keys.length];
+        Arrays.fill(this.values, NOT_LOADED);
+    }
+
+    /**
+     * @param keyIndex Индекс ключа в списке ключей выражения.
+     * @return Строковое значение метаданных; null - записи нет.
+     */
+    @Nullable
+    String getValue(final int keyIndex) {
+        var value = this.values[keyIndex];
+        if (value == NOT_LOADED) {
+            value = MetadataFilterNode.asString(this.metadata.getMetadataValue(this.keys[keyIndex]));
+            this.values[keyIndex] = value;
+        }
+        return (String) value;
+    }
+}
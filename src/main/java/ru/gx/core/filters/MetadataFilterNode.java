@@ -0,0 +1,206 @@
+package ru.gx.core.filters;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Узел скомпилированного дерева предикатов фильтра метаданных.
+ */
+abstract class MetadataFilterNode {
+    /**
+     * Количество значений IN-списка, начиная с которого поиск выполняется по {@link java.util.HashSet}.
+     */
+    private static final int IN_HASH_THRESHOLD = 8;
+
+    /**
+     * @param context Контекст вычисления: метаданные сообщения с ленивым кешированием значений.
+     * @return Результат предиката.
+     */
+    abstract boolean test(@NotNull final MetadataFilterContext context);
+
+    /**
+     * Приведение значения метаданных к строке для сравнения с литералами выражения.
+     */
+    @Nullable
+    static String asString(@Nullable final Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof final String str) {
+            return str;
+        } else if (value instanceof final byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value.toString();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Logical nodes">
+    static final class And extends MetadataFilterNode {
+        @NotNull
+        private final MetadataFilterNode[] children;
+
+        And(@NotNull final MetadataFilterNode[] children) {
+            this.children = children;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            for (final var child : this.children) {
+                if (!child.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(this.children).map(Object::toString).collect(Collectors.joining(" && ", "(", ")"));
+        }
+    }
+
+    static final class Or extends MetadataFilterNode {
+        @NotNull
+        private final MetadataFilterNode[] children;
+
+        Or(@NotNull final MetadataFilterNode[] children) {
+            this.children = children;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            for (final var child : this.children) {
+                if (child.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(this.children).map(Object::toString).collect(Collectors.joining(" || ", "(", ")"));
+        }
+    }
+
+    static final class Not extends MetadataFilterNode {
+        @NotNull
+        private final MetadataFilterNode child;
+
+        Not(@NotNull final MetadataFilterNode child) {
+            this.child = child;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            return !this.child.test(context);
+        }
+
+        @Override
+        public String toString() {
+            return this.child instanceof Exists || this.child instanceof And || this.child instanceof Or
+                    ? "!" + this.child
+                    : "!(" + this.child + ")";
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Leaf nodes">
+    static final class Equals extends MetadataFilterNode {
+        private final int keyIndex;
+
+        @NotNull
+        private final String key;
+
+        @NotNull
+        private final String literal;
+
+        Equals(final int keyIndex, @NotNull final String key, @NotNull final String literal) {
+            this.keyIndex = keyIndex;
+            this.key = key;
+            this.literal = literal;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            return this.literal.equals(context.getValue(this.keyIndex));
+        }
+
+        @Override
+        public String toString() {
+            return this.key + " == '" + this.literal + "'";
+        }
+    }
+
+    static final class In extends MetadataFilterNode {
+        private final int keyIndex;
+
+        @NotNull
+        private final String key;
+
+        @NotNull
+        private final String[] literals;
+
+        @Nullable
+        private final Set<String> literalsSet;
+
+        In(final int keyIndex, @NotNull final String key, @NotNull final String[] literals) {
+            this.keyIndex = keyIndex;
+            this.key = key;
+            this.literals = literals;
+            this.literalsSet = literals.length >= IN_HASH_THRESHOLD ? Set.of(literals) : null;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            final var value = context.getValue(this.keyIndex);
+            if (value == null) {
+                return false;
+            }
+            if (this.literalsSet != null) {
+                return this.literalsSet.contains(value);
+            }
+            for (final var literal : this.literals) {
+                if (literal.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.key + " in " + Arrays.stream(this.literals).collect(Collectors.joining("', '", "('", "')"));
+        }
+    }
+
+    static final class Exists extends MetadataFilterNode {
+        private final int keyIndex;
+
+        @NotNull
+        private final String key;
+
+        Exists(final int keyIndex, @NotNull final String key) {
+            this.keyIndex = keyIndex;
+            this.key = key;
+        }
+
+        @Override
+        boolean test(@NotNull final MetadataFilterContext context) {
+            return context.getValue(this.keyIndex) != null;
+        }
+
+        @Override
+        public String toString() {
+            return "exists(" + this.key + ")";
+        }
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,20 @@
+package ru.gx.core.filters;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ошибка разбора выражения фильтра метаданных.
+ */
+public class MetadataFilterParseException extends RuntimeException {
+    /**
+     * Позиция в выражении, на которой обнаружена ошибка.
+     */
+    @Getter
+    private final int position;
+
+    public MetadataFilterParseException(@NotNull final String message, @NotNull final String expression, final int position) {
+        super(message + " at position " + position + " in filter expression: " + expression);
+        this.position = position;
+    }
+}
@@ -0,0 +1,213 @@
+package ru.gx.core.filters;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Разбор выражения фильтра метаданных в дерево предикатов (рекурсивный спуск).<br/>
+ * Грамматика:
+ * <pre>
+ * expr       := and ( ('||' | 'or') and )*
+ * and        := unary ( ('&&' | 'and') unary )*
+ * unary      := ('!' | 'not') unary | '(' expr ')' | predicate
+ * predicate  := 'exists' '(' key ')'
+ *             | key ('==' | '!=') value
+ *             | key ['not'] 'in' '(' value (',' value)* ')'
+ * key        := [A-Za-z0-9_.\-:]+
+ * value      := 'строка' | "строка" | [A-Za-z0-9_.\-:+]+
+ * </pre>
+ */
+final class MetadataFilterParser {
+    @NotNull
+    private final String expression;
+
+    /**
+     * Ключи метаданных, встречающиеся в выражении, в порядке первого упоминания. Значение - индекс ключа.
+     */
+    @NotNull
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+    private int pos;
+
+    MetadataFilterParser(@NotNull final String expression) {
+        this.expression = expression;
+    }
+
+    @NotNull
+    MetadataFilterNode parse() {
+        final var result = parseOr();
+        skipSpaces();
+        if (this.pos < this.expression.length()) {
+            throw error("Unexpected symbol '" + this.expression.charAt(this.pos) + "'");
+        }
+        return result;
+    }
+
+    /**
+     * @return Ключи метаданных в порядке их индексов.
+     */
+    @NotNull
+    String[] getKeys() {
+        return this.keys.keySet().toArray(new String[0]);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Grammar">
+    @NotNull
+    private MetadataFilterNode parseOr() {
+        final var children = new ArrayList<MetadataFilterNode>();
+        children.add(parseAnd());
+        while (tryConsume("||") || tryConsumeWord("or")) {
+            children.add(parseAnd());
+        }
+        return children.size() == 1
+                ? children.get(0)
+                : new MetadataFilterNode.Or(children.toArray(new MetadataFilterNode[0]));
+    }
+
+    @NotNull
+    private MetadataFilterNode parseAnd() {
+        final var children = new ArrayList<MetadataFilterNode>();
+        children.add(parseUnary());
+        while (tryConsume("&&") || tryConsumeWord("and")) {
+            children.add(parseUnary());
+        }
+        return children.size() == 1
+                ? children.get(0)
+                : new MetadataFilterNode.And(children.toArray(new MetadataFilterNode[0]));
+    }
+
+    @NotNull
+    private MetadataFilterNode parseUnary() {
+        if (tryConsume("!") || tryConsumeWord("not")) {
+            return new MetadataFilterNode.Not(parseUnary());
+        }
+        if (tryConsume("(")) {
+            final var result = parseOr();
+            expect(")");
+            return result;
+        }
+        return parsePredicate();
+    }
+
+    @NotNull
+    private MetadataFilterNode parsePredicate() {
+        if (tryConsumeWord("exists")) {
+            expect("(");
+            final var key = parseToken("metadata key");
+            expect(")");
+            return new MetadataFilterNode.Exists(keyIndex(key), key);
+        }
+
+        final var key = parseToken("metadata key");
+        final var index = keyIndex(key);
+        if (tryConsume("==")) {
+            return new MetadataFilterNode.Equals(index, key, parseValue());
+        }
+        if (tryConsume("!=")) {
+            return new MetadataFilterNode.Not(new MetadataFilterNode.Equals(index, key, parseValue()));
+        }
+        final var negate = tryConsumeWord("not");
+        if (tryConsumeWord("in")) {
+            expect("(");
+            final var values = new ArrayList<String>();
+            values.add(parseValue());
+            while (tryConsume(",")) {
+                values.add(parseValue());
+            }
+            expect(")");
+            final var node = new MetadataFilterNode.In(index, key, values.toArray(new String[0]));
+            return negate ? new MetadataFilterNode.Not(node) : node;
+        }
+        throw error("Expected '==', '!=', 'in' or 'not in' after key '" + key + "'");
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Lexer">
+    private int keyIndex(@NotNull final String key) {
+        return this.keys.computeIfAbsent(key, k -> this.keys.size());
+    }
+
+    @NotNull
+    private String parseValue() {
+        skipSpaces();
+        if (this.pos < this.expression.length()) {
+            final var quote = this.expression.charAt(this.pos);
+            if (quote == '\'' || quote == '"') {
+                final var end = this.expression.indexOf(quote, this.pos + 1);
+                if (end < 0) {
+                    throw error("Unclosed string literal");
+                }
+                final var result = this.expression.substring(this.pos + 1, end);
+                this.pos = end + 1;
+                return result;
+            }
+        }
+        return parseToken("value");
+    }
+
+    @NotNull
+    private String parseToken(@NotNull final String what) {
+        skipSpaces();
+        final var start = this.pos;
+        while (this.pos < this.expression.length() && isTokenChar(this.expression.charAt(this.pos))) {
+            this.pos++;
+        }
+        if (start == this.pos) {
+            throw error("Expected " + what);
+        }
+        return this.expression.substring(start, this.pos);
+    }
+
+    private static boolean isTokenChar(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == ':' || c == '+';
+    }
+
+    private boolean tryConsume(@NotNull final String symbol) {
+        skipSpaces();
+        if (this.expression.startsWith(symbol, this.pos)) {
+            this.pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ключевое слово распознается без учета регистра и только целиком (не как префикс ключа).
+     */
+    private boolean tryConsumeWord(@NotNull final String word) {
+        skipSpaces();
+        final var end = this.pos + word.length();
+        if (end <= this.expression.length()
+                && this.expression.regionMatches(true, this.pos, word, 0, word.length())
+                && (end == this.expression.length() || !isTokenChar(this.expression.charAt(end)))) {
+            this.pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(@NotNull final String symbol) {
+        if (!tryConsume(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private void skipSpaces() {
+        while (this.pos < this.expression.length() && Character.isWhitespace(this.expression.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    @NotNull
+    private MetadataFilterParseException error(@NotNull final String message) {
+        return new MetadataFilterParseException(message, this.expression, this.pos);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,21 @@
+package ru.gx.core.filters;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.core.convert.converter.Converter;
+import ru.gx.core.channels.LoadingFiltrator;
+
+/**
+ * Конвертер, позволяющий задавать {@link LoadingFiltrator} в настройках (properties / yaml)
+ * выражением {@link MetadataFilter}. Выражение компилируется один раз при связывании настроек.
+ */
+@ConfigurationPropertiesBinding
+public class StringToLoadingFiltratorConverter implements Converter<String, LoadingFiltrator> {
+    @Override
+    public LoadingFiltrator convert(@NotNull final String source) {
+        if (source.isBlank()) {
+            return null;
+        }
+        return MetadataFilter.compile(source);
+    }
+}
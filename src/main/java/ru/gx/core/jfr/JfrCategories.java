@@ -0,0 +1,24 @@
+package ru.gx.core.jfr;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Категории, под которыми события ядра отображаются в Java Mission Control.
+ */
+@UtilityClass
+public class JfrCategories {
+    /**
+     * Корневая категория событий ядра.
+     */
+    public static final String ROOT = "GX Core";
+
+    /**
+     * Категория событий Исполнителей.
+     */
+    public static final String WORKERS = "Workers";
+
+    /**
+     * Категория событий обработки сообщений.
+     */
+    public static final String MESSAGING = "Messaging";
+}
@@ -0,0 +1,31 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: обработка одного сообщения Исполнителем сообщений.<br/>
+ * Длительность события - время обработки сообщения.
+ * По умолчанию в запись попадают только обработки длительностью от 1 мс.
+ */
+@Name("ru.gx.core.MessageHandle")
+@Label("Message Handle")
+@Description("Handling of one message by a messages executor")
+@Category({JfrCategories.ROOT, JfrCategories.MESSAGING})
+@Threshold("1 ms")
+@StackTrace(false)
+public class MessageHandleJfrEvent extends Event {
+    @Label("Worker")
+    public String workerName;
+
+    @Label("Channel")
+    public String channelName;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Message Id")
+    public String messageId;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,33 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: извлечение сообщения из контейнера приоритезированных очередей.<br/>
+ * Фиксирует приоритет и время, которое сообщение провело в очереди.
+ */
+@Name("ru.gx.core.QueuePoll")
+@Label("Queue Poll")
+@Description("Poll of a message from a prioritized messages queue")
+@Category({JfrCategories.ROOT, JfrCategories.MESSAGING})
+@StackTrace(false)
+public class QueuePollJfrEvent extends Event {
+    @Label("Queue")
+    public String queueName;
+
+    @Label("Priority")
+    public int priority;
+
+    @Label("Channel")
+    public String channelName;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Wait In Queue")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitNanos;
+
+    @Label("Queue Size")
+    public int queueSize;
+}
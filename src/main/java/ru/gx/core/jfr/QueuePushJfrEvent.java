@@ -0,0 +1,32 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: отправка сообщения в контейнер приоритезированных очередей.<br/>
+ * Длительность события - время отправки, включая ожидание освобождения места в очереди.
+ */
+@Name("ru.gx.core.QueuePush")
+@Label("Queue Push")
+@Description("Push of a message into a prioritized messages queue")
+@Category({JfrCategories.ROOT, JfrCategories.MESSAGING})
+@StackTrace(false)
+public class QueuePushJfrEvent extends Event {
+    @Label("Queue")
+    public String queueName;
+
+    @Label("Priority")
+    public int priority;
+
+    @Label("Channel")
+    public String channelName;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Queue Size")
+    public int queueSize;
+
+    @Label("Accepted")
+    public boolean accepted;
+}
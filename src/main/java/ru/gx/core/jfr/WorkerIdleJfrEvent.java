@@ -0,0 +1,31 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: простой Исполнителя между итерациями (sleep или park).<br/>
+ * Длительность события - фактическое время простоя.
+ */
+@Name("ru.gx.core.WorkerIdle")
+@Label("Worker Idle")
+@Description("Idle sleep or park of a worker between iterations")
+@Category({JfrCategories.ROOT, JfrCategories.WORKERS})
+@StackTrace(false)
+public class WorkerIdleJfrEvent extends Event {
+    /**
+     * Вид простоя: sleep - фиксированный интервал, park - адаптивный простой, scheduled - ожидание запуска по расписанию.
+     */
+    public static final String KIND_SLEEP = "sleep";
+    public static final String KIND_PARK = "park";
+    public static final String KIND_SCHEDULED = "scheduled";
+
+    @Label("Worker")
+    public String workerName;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Planned Idle")
+    @Timespan(Timespan.NANOSECONDS)
+    public long plannedNanos;
+}
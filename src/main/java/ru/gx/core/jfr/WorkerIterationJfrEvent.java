@@ -0,0 +1,28 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: итерация Исполнителя.<br/>
+ * Длительность события - время выполнения итерации (обработчиков итерации).
+ * По умолчанию в запись попадают только итерации длительностью от 1 мс.
+ */
+@Name("ru.gx.core.WorkerIteration")
+@Label("Worker Iteration")
+@Description("Execution of one worker iteration")
+@Category({JfrCategories.ROOT, JfrCategories.WORKERS})
+@Threshold("1 ms")
+@StackTrace(false)
+public class WorkerIterationJfrEvent extends Event {
+    @Label("Worker")
+    public String workerName;
+
+    @Label("Immediate Run Next Iteration")
+    public boolean immediateRunNextIteration;
+
+    @Label("Need Restart")
+    public boolean needRestart;
+
+    @Label("Stop Execution")
+    public boolean stopExecution;
+}
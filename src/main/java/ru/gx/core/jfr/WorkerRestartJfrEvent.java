@@ -0,0 +1,21 @@
+package ru.gx.core.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR-событие: перезапуск Исполнителя.<br/>
+ * Длительность события - время от начала останова до завершения повторного запуска.
+ */
+@Name("ru.gx.core.WorkerRestart")
+@Label("Worker Restart")
+@Description("Stop and start of a worker by its restarting controller")
+@Category({JfrCategories.ROOT, JfrCategories.WORKERS})
+@StackTrace(false)
+public class WorkerRestartJfrEvent extends Event {
+    @Label("Worker")
+    public String workerName;
+
+    @Label("Wait On Restart")
+    @Timespan(Timespan.MILLISECONDS)
+    public long waitOnRestartMs;
+}
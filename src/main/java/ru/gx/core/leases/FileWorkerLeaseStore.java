@@ -0,0 +1,174 @@
+package ru.gx.core.leases;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Хранилище аренд в файлах общего каталога (локальный диск для нескольких процессов на одном хосте,
+ * либо разделяемая файловая система, поддерживающая блокировки файлов).<br/>
+ * Каждая аренда - отдельный файл с содержимым {@code <владелец>;<момент истечения в мс>}.
+ * Чтение и изменение файла выполняются под эксклюзивной блокировкой файла ({@link FileChannel#lock()}),
+ * блокировка удерживается только на время операции. Поэтому зависший владелец не удерживает аренду
+ * дольше ее срока.<br/>
+ * Часы узлов должны быть синхронизированы с точностью, много меньшей срока аренды.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class FileWorkerLeaseStore implements WorkerLeaseStore {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    private static final String LEASE_FILE_EXTENSION = ".lease";
+    private static final char SEPARATOR = ';';
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Каталог, в котором хранятся файлы аренд.
+     */
+    @Getter
+    @NotNull
+    private final Path directory;
+
+    /**
+     * Мониторы файлов аренд. Блокировка файла действует на процесс целиком, поэтому потоки одного процесса
+     * дополнительно синхронизируются между собой (иначе {@link java.nio.channels.OverlappingFileLockException}).
+     */
+    @NotNull
+    private final Map<String, Object> monitors = new ConcurrentHashMap<>();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public FileWorkerLeaseStore(@NotNull final Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new WorkerLeaseException("Can't create leases directory " + directory, e);
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements WorkerLeaseStore">
+    @Override
+    public boolean tryAcquire(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs) {
+        return updateLease(leaseName, (current, now) ->
+                current == null || current.ownerId().equals(ownerId) || current.expiresAtMs() <= now
+                        ? new Lease(ownerId, now + leaseMs)
+                        : current
+        ).ownerId().equals(ownerId);
+    }
+
+    @Override
+    public boolean renew(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs) {
+        return updateLease(leaseName, (current, now) ->
+                current != null && current.ownerId().equals(ownerId)
+                        ? new Lease(ownerId, now + leaseMs)
+                        : current
+        ) instanceof final Lease lease && lease.ownerId().equals(ownerId);
+    }
+
+    @Override
+    public void release(@NotNull final String leaseName, @NotNull final String ownerId) {
+        updateLease(leaseName, (current, now) ->
+                current != null && current.ownerId().equals(ownerId)
+                        ? new Lease("", 0)
+                        : current
+        );
+    }
+
+    @Override
+    @Nullable
+    public String getHolder(@NotNull final String leaseName) {
+        final var lease = updateLease(leaseName, (current, now) -> current);
+        return lease == null || lease.ownerId().isEmpty() || lease.expiresAtMs() <= System.currentTimeMillis()
+                ? null
+                : lease.ownerId();
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Internal methods">
+
+    /**
+     * Чтение и (при необходимости) изменение файла аренды под эксклюзивной блокировкой файла.
+     *
+     * @param leaseName Имя аренды.
+     * @param updater   Функция, вычисляющая новое состояние аренды по текущему.
+     * @return Состояние аренды после изменения.
+     */
+    private Lease updateLease(@NotNull final String leaseName, @NotNull final LeaseUpdater updater) {
+        final var file = this.directory.resolve(leaseName + LEASE_FILE_EXTENSION);
+        synchronized (this.monitors.computeIfAbsent(leaseName, k -> new Object())) {
+            return updateLeaseFile(file, updater);
+        }
+    }
+
+    private Lease updateLeaseFile(@NotNull final Path file, @NotNull final LeaseUpdater updater) {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             final var ignored = channel.lock()) {
+            final var current = readLease(channel);
+            final var updated = updater.update(current, System.currentTimeMillis());
+            if (updated != null && updated != current) {
+                writeLease(channel, updated);
+            }
+            return updated;
+        } catch (IOException e) {
+            throw new WorkerLeaseException("Can't update lease file " + file, e);
+        }
+    }
+
+    @Nullable
+    private static Lease readLease(@NotNull final FileChannel channel) throws IOException {
+        final var size = (int) channel.size();
+        if (size == 0) {
+            return null;
+        }
+        final var buffer = ByteBuffer.allocate(size);
+        channel.read(buffer, 0);
+        final var content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).trim();
+        final var separatorPos = content.lastIndexOf(SEPARATOR);
+        if (separatorPos < 0) {
+            log.warn("Invalid lease file content: {}", content);
+            return null;
+        }
+        try {
+            return new Lease(content.substring(0, separatorPos), Long.parseLong(content.substring(separatorPos + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid lease file content: {}", content);
+            return null;
+        }
+    }
+
+    private static void writeLease(@NotNull final FileChannel channel, @NotNull final Lease lease) throws IOException {
+        final var bytes = (lease.ownerId() + SEPARATOR + lease.expiresAtMs()).getBytes(StandardCharsets.UTF_8);
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(bytes), 0);
+        channel.force(false);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    private record Lease(@NotNull String ownerId, long expiresAtMs) {
+    }
+
+    @FunctionalInterface
+    private interface LeaseUpdater {
+        @Nullable
+        Lease update(@Nullable final Lease current, final long nowMs);
+    }
+}
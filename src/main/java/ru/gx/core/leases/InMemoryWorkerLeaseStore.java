@@ -0,0 +1,61 @@
+package ru.gx.core.leases;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Хранилище аренд в памяти процесса.<br/>
+ * Подходит для тестов и для нескольких Worker-ов внутри одного процесса. Между узлами аренды не разделяются.
+ */
+@SuppressWarnings("unused")
+public class InMemoryWorkerLeaseStore implements WorkerLeaseStore {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @NotNull
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="implements WorkerLeaseStore">
+    @Override
+    public boolean tryAcquire(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs) {
+        final var now = System.currentTimeMillis();
+        final var lease = this.leases.compute(leaseName, (name, current) ->
+                current == null || current.ownerId.equals(ownerId) || current.expiresAtMs <= now
+                        ? new Lease(ownerId, now + leaseMs)
+                        : current
+        );
+        return lease.ownerId.equals(ownerId);
+    }
+
+    @Override
+    public boolean renew(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs) {
+        final var now = System.currentTimeMillis();
+        final var lease = this.leases.computeIfPresent(leaseName, (name, current) ->
+                current.ownerId.equals(ownerId)
+                        ? new Lease(ownerId, now + leaseMs)
+                        : current
+        );
+        return lease != null && lease.ownerId.equals(ownerId);
+    }
+
+    @Override
+    public void release(@NotNull final String leaseName, @NotNull final String ownerId) {
+        this.leases.computeIfPresent(leaseName, (name, current) -> current.ownerId.equals(ownerId) ? null : current);
+    }
+
+    @Override
+    @Nullable
+    public String getHolder(@NotNull final String leaseName) {
+        final var lease = this.leases.get(leaseName);
+        return lease == null || lease.expiresAtMs <= System.currentTimeMillis() ? null : lease.ownerId;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    private record Lease(@NotNull String ownerId, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,12 @@
+package ru.gx.core.leases;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ошибка при работе с хранилищем аренд.
+ */
+public class WorkerLeaseException extends RuntimeException {
+    public WorkerLeaseException(@NotNull final String message, @NotNull final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.gx.core.leases;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Хранилище аренд (lease), через которое экземпляры сервиса договариваются,
+ * кто из них исполняет Worker-а, который должен быть активен только на одном узле.<br/>
+ * Аренда выдается владельцу на ограниченный срок и должна периодически продлеваться.
+ * Если владелец перестал продлевать аренду, то по истечении срока ее может захватить другой узел.
+ */
+public interface WorkerLeaseStore {
+    /**
+     * @return Идентификатор владельца аренд для текущего процесса: {@code <host>:<pid>:<случайный суффикс>}.
+     */
+    @NotNull
+    static String newOwnerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Попытка захвата аренды. Успешна, если аренда свободна, истекла или уже принадлежит данному владельцу.
+     *
+     * @param leaseName Имя аренды.
+     * @param ownerId   Идентификатор владельца (экземпляра сервиса).
+     * @param leaseMs   Срок аренды (в мс).
+     * @return true - аренда принадлежит данному владельцу.
+     */
+    boolean tryAcquire(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs);
+
+    /**
+     * Продление аренды.
+     *
+     * @param leaseName Имя аренды.
+     * @param ownerId   Идентификатор владельца (экземпляра сервиса).
+     * @param leaseMs   Срок аренды (в мс), отсчитываемый от текущего момента.
+     * @return true - аренда продлена; false - аренда принадлежит другому владельцу, продлить нельзя.
+     */
+    boolean renew(@NotNull final String leaseName, @NotNull final String ownerId, final long leaseMs);
+
+    /**
+     * Освобождение аренды. Если аренда принадлежит другому владельцу, то ничего не делается.
+     *
+     * @param leaseName Имя аренды.
+     * @param ownerId   Идентификатор владельца (экземпляра сервиса).
+     */
+    void release(@NotNull final String leaseName, @NotNull final String ownerId);
+
+    /**
+     * @param leaseName Имя аренды.
+     * @return Текущий владелец действующей аренды, либо null, если аренда свободна или истекла.
+     */
+    @Nullable
+    String getHolder(@NotNull final String leaseName);
+}
@@ -4,16 +4,30 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import ru.gx.core.channels.OnErrorBehavior;
+import ru.gx.core.deadletters.DeadLetterStore;
+import ru.gx.core.deadletters.DeadLetters;
+import ru.gx.core.jfr.MessageHandleJfrEvent;
+import ru.gx.core.tracing.MessageLifecycleStage;
+import ru.gx.core.tracing.MessageTracing;
 import ru.gx.core.worker.AbstractOnIterationExecuteEvent;
 import ru.gx.core.worker.AbstractWorker;
 
+import java.util.concurrent.TimeUnit;
+
 import static lombok.AccessLevel.PROTECTED;
 
 @Slf4j
 public abstract class AbstractMessagesExecutor extends AbstractWorker {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    private static final long NANOS_PER_MS = 1_000_000;
+
+    // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Fields">
 
@@ -32,6 +46,18 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
     @NotNull
     private final StandardMessagesExecutorOnStoppingExecuteEvent stoppingExecuteEvent;
 
+    /**
+     * Хранилище недоставленных сообщений. null - сообщения с ошибками обрабатываются согласно {@link OnErrorBehavior}.
+     */
+    @Getter
+    @Nullable
+    private volatile DeadLetterStore deadLetterStore;
+
+    /**
+     * Последняя итерация не получила сообщения. Используется только потоком Runner-а.
+     */
+    private boolean lastPollEmpty;
+
     @Override
     public StandardMessagesExecutorStatisticsInfo getStatisticsInfo() {
         return (StandardMessagesExecutorStatisticsInfo) super.getStatisticsInfo();
@@ -52,6 +78,17 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
         this.iterationExecuteEvent = new OnIterationExecuteEventInternal(this);
         this.startingExecuteEvent = new StandardMessagesExecutorOnStartingExecuteEvent(this);
         this.stoppingExecuteEvent = new StandardMessagesExecutorOnStoppingExecuteEvent(this);
+        this.registerIterationHandler(this::iterationExecute);
+    }
+
+    /**
+     * Установка хранилища недоставленных сообщений.
+     *
+     * @param deadLetterStore Хранилище недоставленных сообщений.
+     */
+    @Autowired(required = false)
+    public void setDeadLetterStore(@Nullable final DeadLetterStore deadLetterStore) {
+        this.deadLetterStore = deadLetterStore;
     }
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="static class OnIterationExecuteEventInternal">
@@ -64,7 +101,13 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Iterations processing">
-    @EventListener(OnIterationExecuteEventInternal.class)
+
+    /**
+     * Итерация исполнителя. Вызывается напрямую как {@link ru.gx.core.worker.IterationHandler},
+     * зарегистрированный в конструкторе.
+     *
+     * @param iterationEvent Объект-событие итерации.
+     */
     public void iterationExecute(@NotNull final OnIterationExecuteEventInternal iterationEvent) {
         log.debug("Starting iterationExecute()");
         try {
@@ -74,12 +117,13 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
             setCurrentExecutionInfo("Before internalPollMessage");
             final var message = this.internalPollMessage(this.messagesQueue);
             setCurrentExecutionInfo("After internalPollMessage");
+            this.lastPollEmpty = message == null;
             if (message != null) {
                 this.internalProcessMessage(message);
-            }
-            if (message != null || this.getMessagesQueue().queueSize() > 0) {
                 iterationEvent.setImmediateRunNextIteration(true);
             }
+            // Если сообщение не получено, то в очереди либо пусто, либо остались только отложенные сообщения
+            // (каналы заблокированы ошибкой или исчерпали лимит частоты) - простой, см. calcIdleTimeMs()
         } catch (Exception e) {
             internalTreatmentExceptionOnDataRead(iterationEvent, e);
         } finally {
@@ -87,6 +131,27 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
         }
     }
 
+    /**
+     * Если сообщение не получено из-за того, что каналы исчерпали лимит частоты, то простой ограничивается временем
+     * до появления разрешения у ближайшего из них (но не дольше обычного простоя):
+     * иначе канал с лимитом, скажем, 200 сообщений/с обрабатывал бы одно сообщение за {@code minTimePerIterationMs}.
+     *
+     * @param stepStartedMs Момент начала выполненной итерации.
+     * @return Время (в мс) простоя либо -1 - стандартная логика простоя.
+     */
+    @Override
+    protected long calcIdleTimeMs(final long stepStartedMs) {
+        if (!this.lastPollEmpty) {
+            return -1;
+        }
+        final var nanos = this.messagesQueue.nanosToNextDeferredPermit();
+        if (nanos < 0) {
+            return -1;
+        }
+        final var maxIdleMs = Math.max(0, getSettingsContainer().getMinTimePerIterationMs() - (System.currentTimeMillis() - stepStartedMs));
+        return Math.min(maxIdleMs, TimeUnit.NANOSECONDS.toMillis(nanos + NANOS_PER_MS - 1));
+    }
+
     /**
      * Обработка ошибки при выполнении итерации.
      *
@@ -128,15 +193,24 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
      * @param message Сообщение, которое бросаем на обработку через this.eventPublisher.
      */
     protected void internalProcessMessage(@NotNull final Object message) {
+        final var jfrEvent = new MessageHandleJfrEvent();
+        jfrEvent.begin();
+        var success = false;
+        MessageTracing.onStage(message, MessageLifecycleStage.HandlerStarted);
         try {
             try {
                 setCurrentExecutionInfo("Before publishEvent: " + message);
                 this.getApplicationEventPublisher()
                         .publishEvent(message);
                 setCurrentExecutionInfo("After publishEvent: " + message);
+                success = true;
+                if (message instanceof final Message<?> typedMessage) {
+                    typedMessage.getChannelDescriptor().recordMessageSucceeded();
+                }
             } catch (Exception e) {
                 log.error("", e);
-                if (message instanceof final Message<?> typedMessage) {
+                if (message instanceof final Message<?> typedMessage
+                        && !DeadLetters.routeIfExhausted(this.deadLetterStore, typedMessage, e)) {
                     final var channel = typedMessage.getChannelDescriptor();
                     if (channel.getOnErrorBehavior() == OnErrorBehavior.StopProcessOnError) {
                         channel.setBlockingError(e);
@@ -151,6 +225,31 @@ public abstract class AbstractMessagesExecutor extends AbstractWorker {
             if (message instanceof final Message<?> typedMessage) {
                 this.getStatisticsInfo().messagesExecuteFinished(typedMessage);
             }
+            commitMessageHandleJfrEvent(jfrEvent, message, success);
+            MessageTracing.onFinished(message, success);
+        }
+    }
+
+    /**
+     * Фиксация JFR-события обработки сообщения. Поля заполняются, только если событие попадает в запись.
+     */
+    private void commitMessageHandleJfrEvent(
+            @NotNull final MessageHandleJfrEvent jfrEvent,
+            @NotNull final Object message,
+            final boolean success
+    ) {
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.workerName = getWorkerName();
+            if (message instanceof final Message<?> typedMessage) {
+                jfrEvent.channelName = typedMessage.getChannelDescriptor().getChannelName();
+                jfrEvent.messageType = typedMessage.getHeader().getType();
+                jfrEvent.messageId = typedMessage.getHeader().getId();
+            } else {
+                jfrEvent.messageType = message.getClass().getName();
+            }
+            jfrEvent.success = success;
+            jfrEvent.commit();
         }
     }
 
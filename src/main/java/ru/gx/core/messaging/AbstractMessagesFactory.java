@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.gx.core.data.DataObject;
 import ru.gx.core.data.DataPackage;
+import ru.gx.core.tracing.MessageTracing;
 import ru.gx.core.utils.StringUtils;
 
 import java.lang.reflect.InvocationTargetException;
@@ -169,11 +170,9 @@ public abstract class AbstractMessagesFactory implements MessagesFactory {
             @NotNull final MessageBody body,
             @Nullable final MessageCorrelation correlation
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        final var c = reg.getConstructorMessageByHeaderBody();
-        if (c == null) {
-            throw new MessagingConfigurationException("Message class (" + reg.getMessageClass().getName() + ") of message " + reg.getType() + " does not have constructor by (Header, Body, Correlation)!");
-        }
-        return (M) c.newInstance(header, body, correlation);
+        final var result = (M) reg.newMessageByHeaderBody(header, body, correlation);
+        MessageTracing.onCreated(result);
+        return result;
     }
 
 
@@ -195,11 +194,9 @@ public abstract class AbstractMessagesFactory implements MessagesFactory {
             @NotNull final MessageTypesRegistrator.MessageTypeRegistration reg,
             @NotNull final Map<MessageCreatingParams, Object> creatingParams
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        final var c = reg.getConstructorMessageByParams();
-        if (c == null) {
-            throw new MessagingConfigurationException("Message class (" + reg.getMessageClass().getName() + ") of message " + reg.getType() + " does not have constructor by (Map<MessageCreatingParams, Object>)!");
-        }
-        return (M) c.newInstance(creatingParams);
+        final var result = (M) reg.newMessageByParams(creatingParams);
+        MessageTracing.onCreated(result);
+        return result;
     }
 
 
@@ -268,11 +265,7 @@ public abstract class AbstractMessagesFactory implements MessagesFactory {
             @NotNull final MessageTypesRegistrator.MessageTypeRegistration reg,
             @Nullable final DataObject dataObject
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        final var constrBody = reg.getConstructorMessageBodyByDataObject();
-        if (constrBody == null) {
-            throw new MessagingConfigurationException("Body (" + reg.getMessageBodyClass().getName() + ") of message " + reg.getType() + " does not have constructor by DataObject!");
-        }
-        return constrBody.newInstance(dataObject);
+        return reg.newBodyByDataObject(dataObject);
     }
 
     /**
@@ -290,11 +283,7 @@ public abstract class AbstractMessagesFactory implements MessagesFactory {
             @NotNull final MessageTypesRegistrator.MessageTypeRegistration reg,
             @Nullable final DataPackage<? extends DataObject> dataPackage
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-        final var constrBody = reg.getConstructorMessageBodyByDataPackage();
-        if (constrBody == null) {
-            throw new MessagingConfigurationException("Body (" + reg.getMessageBodyClass().getName() + ") of message " + reg.getType() + " does not have constructor by DataPackage!");
-        }
-        return constrBody.newInstance(dataPackage);
+        return reg.newBodyByDataPackage(dataPackage);
     }
 
     /**
@@ -6,6 +6,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.jfr.QueuePollJfrEvent;
+import ru.gx.core.jfr.QueuePushJfrEvent;
+import ru.gx.core.tracing.MessageLifecycleStage;
+import ru.gx.core.tracing.MessageTracing;
 
 import java.security.InvalidParameterException;
 import java.util.*;
@@ -42,13 +46,14 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
      * Очереди для каждого из приоритетов.
      */
     @NotNull
-    private final List<Deque<Object>> priorityQueues = new ArrayList<>();
+    private final List<Deque<QueuedMessage>> priorityQueues = new ArrayList<>();
 
     /**
-     * Очередь для сообщений каналов с ошибками
+     * Очереди отложенных сообщений: каналов с ошибками и каналов, исчерпавших лимит частоты.
+     * Порядок каналов сохраняется, чтобы отложенные сообщения выдавались "по-честному".
      */
     @NotNull
-    private final Map<ChannelHandlerDescriptor, Queue<Message<?>>> errorChannelsMessages = new HashMap<>();
+    private final Map<ChannelHandlerDescriptor, Deque<QueuedMessage>> deferredChannelsMessages = new LinkedHashMap<>();
 
     /**
      * Максимальное количество сообщений, которое допускается в очереди.
@@ -66,6 +71,22 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
         this.name = name;
     }
 
+    /**
+     * Элемент очереди: сообщение и момент (System.nanoTime()) его помещения в очередь.
+     * Момент используется для фиксации времени ожидания сообщения в очереди.
+     */
+    private static final class QueuedMessage {
+        @NotNull
+        private final Object message;
+
+        private final long enqueuedNanos;
+
+        private QueuedMessage(@NotNull final Object message) {
+            this.message = message;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
     /**
      * Инициализации компонента: создаются очереди по количеству приоритетов.
      *
@@ -109,7 +130,9 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
      */
     @Override
     public void pushSystemMessage(@NotNull final Object message) {
-        internalPushMessage(0, message);
+        final var jfrEvent = new QueuePushJfrEvent();
+        jfrEvent.begin();
+        internalPushMessage(0, message, jfrEvent);
     }
 
     /**
@@ -122,20 +145,47 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
     public void pushMessage(
             final int priority,
             @NotNull Object message
+    ) {
+        final var jfrEvent = new QueuePushJfrEvent();
+        jfrEvent.begin();
+        internalCheckedPushMessage(priority, message, jfrEvent);
+    }
+
+    private void internalCheckedPushMessage(
+            final int priority,
+            @NotNull Object message,
+            @NotNull final QueuePushJfrEvent jfrEvent
     ) {
         if (priority < 1) {
             throw new InvalidParameterException("Priority can't be less 1!");
         }
-        internalPushMessage(priority, message);
+        internalPushMessage(priority, message, jfrEvent);
     }
 
     protected void internalPushMessage(
             final int priority,
             @NotNull Object message
+    ) {
+        final var jfrEvent = new QueuePushJfrEvent();
+        jfrEvent.begin();
+        internalPushMessage(priority, message, jfrEvent);
+    }
+
+    /**
+     * Отправка события в очередь заданного приоритета.
+     *
+     * @param priority Приоритет события.
+     * @param message  Событие.
+     * @param jfrEvent JFR-событие, начатое в момент начала отправки (включая ожидание места в очереди).
+     */
+    private void internalPushMessage(
+            final int priority,
+            @NotNull Object message,
+            @NotNull final QueuePushJfrEvent jfrEvent
     ) {
         if (message instanceof final Message<?> typedMessage) {
             final var descriptor = typedMessage.getChannelDescriptor();
-            if (descriptor.isBlockedByError()) {
+            if (isRejectedByError(descriptor)) {
                 // Не берем в очередь сообщения для заблокированных ошибкой каналов
                 throw new UnsupportedOperationException(
                         "Channel does not allow process message! Channel = "
@@ -143,14 +193,88 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
                 );
             }
         }
+        // До помещения в очередь: после этого сообщение уже может обрабатываться другим потоком
+        MessageTracing.onStage(message, MessageLifecycleStage.Enqueued);
         synchronized (this.monitor) {
             if (priority > priorityQueues.size()) {
                 throw new InvalidParameterException("Priority can't be more count of priorities!");
             }
             final var queue = priorityQueues.get(priority);
-            queue.offer(message);
+            queue.offer(new QueuedMessage(message));
             this.size.incrementAndGet();
         }
+        channelMessageQueued(message);
+        commitPushJfrEvent(jfrEvent, priority, message, true);
+    }
+
+    /**
+     * Учет сообщения в глубине очереди канала.
+     */
+    private void channelMessageQueued(@NotNull final Object message) {
+        if (message instanceof final Message<?> typedMessage) {
+            typedMessage.getChannelDescriptor().getExecuteStatistics().messageQueued();
+        }
+    }
+
+    /**
+     * Фиксация JFR-события отправки. Поля заполняются, только если событие попадает в запись.
+     */
+    private void commitPushJfrEvent(
+            @NotNull final QueuePushJfrEvent jfrEvent,
+            final int priority,
+            @NotNull final Object message,
+            final boolean accepted
+    ) {
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.queueName = this.name;
+            jfrEvent.priority = priority;
+            if (message instanceof final Message<?> typedMessage) {
+                jfrEvent.channelName = typedMessage.getChannelDescriptor().getChannelName();
+                jfrEvent.messageType = typedMessage.getHeader().getType();
+            }
+            jfrEvent.queueSize = this.size.get();
+            jfrEvent.accepted = accepted;
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * @return Начатое JFR-событие извлечения.
+     */
+    @NotNull
+    private static QueuePollJfrEvent beginPollJfrEvent() {
+        final var jfrEvent = new QueuePollJfrEvent();
+        jfrEvent.begin();
+        return jfrEvent;
+    }
+
+    /**
+     * Фиксация JFR-события извлечения. Поля заполняются, только если событие попадает в запись.<br/>
+     * Событие начинается перед просмотром очередей (для второго и следующих сообщений пачки - после извлечения
+     * предыдущего), поэтому его длительность - время поиска сообщения, включая ожидание монитора.
+     *
+     * @return Начатое событие для следующего сообщения пачки.
+     */
+    @NotNull
+    private QueuePollJfrEvent commitPollJfrEvent(
+            @NotNull final QueuePollJfrEvent jfrEvent,
+            final int priority,
+            @NotNull final QueuedMessage queuedMessage
+    ) {
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.queueName = this.name;
+            jfrEvent.priority = priority;
+            if (queuedMessage.message instanceof final Message<?> typedMessage) {
+                jfrEvent.channelName = typedMessage.getChannelDescriptor().getChannelName();
+                jfrEvent.messageType = typedMessage.getHeader().getType();
+            }
+            jfrEvent.waitNanos = System.nanoTime() - queuedMessage.enqueuedNanos;
+            jfrEvent.queueSize = this.size.get();
+            jfrEvent.commit();
+        }
+        return beginPollJfrEvent();
     }
 
     /**
@@ -167,10 +291,13 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
             @NotNull Object message,
             final long maxWaitMs
     ) throws InterruptedException {
+        final var jfrEvent = new QueuePushJfrEvent();
+        jfrEvent.begin();
         if (message instanceof final Message<?> typedMessage) {
             final var descriptor = typedMessage.getChannelDescriptor();
-            if (descriptor.isBlockedByError()) {
+            if (isRejectedByError(descriptor)) {
                 // Не берем в очередь сообщения для заблокированных ошибкой каналов
+                commitPushJfrEvent(jfrEvent, priority, message, false);
                 return false;
             }
         }
@@ -182,7 +309,7 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
             if (allowPush()) {
                 // Собственно только теперь бросаем событие в очередь
                 log.debug("Pushing message to queue");
-                pushMessage(priority, message);
+                internalCheckedPushMessage(priority, message, jfrEvent);
                 return true;
             }
 
@@ -207,6 +334,7 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
                 sleepMs *= 2;
             }
         }
+        commitPushJfrEvent(jfrEvent, priority, message, false);
         return false;
     }
 
@@ -225,10 +353,64 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
             if (priority > priorityQueues.size()) {
                 throw new InvalidParameterException("Priority can't be more count of priorities!");
             }
-            final var queue = priorityQueues.get(priority);
-            queue.addFirst(message);
+            final var queuedMessage = new QueuedMessage(message);
+            final var deferredQueue = message instanceof final Message<?> typedMessage
+                    ? this.deferredChannelsMessages.get(typedMessage.getChannelDescriptor())
+                    : null;
+            if (deferredQueue != null) {
+                // У канала есть отложенные сообщения - возвращаем в их начало, чтобы сохранить порядок
+                deferredQueue.addFirst(queuedMessage);
+            } else {
+                priorityQueues.get(priority).addFirst(queuedMessage);
+            }
             this.size.incrementAndGet();
         }
+        channelMessageQueued(message);
+    }
+
+    /**
+     * Сообщения заблокированного ошибкой канала в очередь не принимаются,
+     * если только у канала нет автоматического выключателя (тогда блокировка временная и сообщения откладываются).
+     */
+    private static boolean isRejectedByError(@NotNull final ChannelHandlerDescriptor descriptor) {
+        return descriptor.isBlockedByError() && descriptor.getCircuitBreaker() == null;
+    }
+
+    /**
+     * Можно ли выдать в обработку очередное сообщение канала.
+     * Для заблокированного ошибкой канала - только пробное сообщение автоматического выключателя,
+     * для остальных - с учетом ограничения частоты.
+     */
+    private static boolean tryAcquireChannelPermit(@NotNull final ChannelHandlerDescriptor descriptor) {
+        return descriptor.isBlockedByError()
+                ? descriptor.tryAcquireProbe()
+                : descriptor.tryAcquireRatePermit();
+    }
+
+    /**
+     * @return Через сколько наносекунд появится разрешение ограничителя частоты у ближайшего из каналов,
+     * сообщения которых отложены из-за исчерпания лимита; -1 - таких сообщений нет.
+     * Каналы, заблокированные ошибкой, не учитываются.
+     */
+    @Override
+    public long nanosToNextDeferredPermit() {
+        if (this.size.get() <= 0) {
+            return -1;
+        }
+        var result = -1L;
+        synchronized (this.monitor) {
+            for (final var entry : this.deferredChannelsMessages.entrySet()) {
+                final var channel = entry.getKey();
+                if (entry.getValue().isEmpty() || channel.isBlockedByError()) {
+                    continue;
+                }
+                final var nanos = channel.nanosToNextRatePermit();
+                if (result < 0 || nanos < result) {
+                    result = nanos;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -266,62 +448,65 @@ public abstract class AbstractMessagesPrioritizedQueue implements MessagesPriori
         if (this.size.get() <= 0) {
             return result;
         }
+        var jfrEvent = beginPollJfrEvent();
         synchronized (monitor) {
-            if (!this.errorChannelsMessages.isEmpty()) {
-                // Если есть сообщения в очереди сообщений заблокированных ошибками каналов,
-                // то пытаемся сначала выдать в обработку сообщения из этой очереди,
-                // если при этом ошибка "ушла"
-                for (final var channel : this.errorChannelsMessages.keySet()) {
-                    if (!channel.isBlockedByError()) {
-                        final var queue = this.errorChannelsMessages.get(channel);
-                        if (queue.isEmpty()) {
-                            this.errorChannelsMessages.remove(channel);
-                        } else {
-                            final var message = queue.poll();
-                            if (queue.isEmpty()) {
-                                this.errorChannelsMessages.remove(channel);
-                            }
-                            if (message != null) {
-                                result.add(message);
-                                if (result.size() >= maxCount) {
-                                    break;
-                                }
-                            }
-                        }
+            if (!this.deferredChannelsMessages.isEmpty()) {
+                // Если есть отложенные сообщения (каналов, заблокированных ошибками или исчерпавших лимит частоты),
+                // то пытаемся сначала выдать в обработку сообщения из этих очередей,
+                // если при этом ошибка "ушла" (либо пришло время пробного сообщения) и у канала появились разрешения
+                final var iterator = this.deferredChannelsMessages.entrySet().iterator();
+                while (iterator.hasNext() && result.size() < maxCount) {
+                    final var entry = iterator.next();
+                    final var channel = entry.getKey();
+                    final var queue = entry.getValue();
+                    while (!queue.isEmpty()
+                            && result.size() < maxCount
+                            && tryAcquireChannelPermit(channel)) {
+                        final var queuedMessage = queue.poll();
+                        result.add(queuedMessage.message);
+                        jfrEvent = commitPollJfrEvent(jfrEvent, channel.getPriority(), queuedMessage);
+                    }
+                    if (queue.isEmpty()) {
+                        iterator.remove();
                     }
                 }
             }
 
-            // И только если не насобирали достаточно сообщений из очереди заблокированных ошибками каналов,
+            // И только если не насобирали достаточно отложенных сообщений,
             // то набираем сообщений из очередей по приоритетам
             var pIndex = 0;
-            while (result.size() <= maxCount && pIndex < this.priorityQueues.size()) {
-                final var message = this.priorityQueues.get(pIndex).poll();
-                if (message != null) {
-                    if (message instanceof final Message<?> typedMessage) {
-                        if (typedMessage.getChannelDescriptor().isBlockedByError()) {
-                            // Если сообщение для заблокированного ошибкой канала,
-                            // то перекладываем в очередь errorChannelsMessages без обработки
-                            final var descriptor = typedMessage.getChannelDescriptor();
-                            var queue = this.errorChannelsMessages.get(descriptor);
-                            if (queue == null) {
-                                queue = new ArrayDeque<>();
-                                this.errorChannelsMessages.put(descriptor, queue);
-                            }
-                            queue.offer(typedMessage);
+            while (result.size() < maxCount && pIndex < this.priorityQueues.size()) {
+                final var queuedMessage = this.priorityQueues.get(pIndex).poll();
+                if (queuedMessage != null) {
+                    if (queuedMessage.message instanceof final Message<?> typedMessage) {
+                        final var descriptor = typedMessage.getChannelDescriptor();
+                        if (this.deferredChannelsMessages.containsKey(descriptor)
+                                || descriptor.isBlockedByError()
+                                || !descriptor.tryAcquireRatePermit()) {
+                            // Если у канала уже есть отложенные сообщения (сохраняем порядок),
+                            // канал заблокирован ошибкой или исчерпал лимит частоты,
+                            // то перекладываем в очередь отложенных сообщений канала без обработки.
+                            // Остальные каналы при этом продолжают обрабатываться.
+                            this.deferredChannelsMessages
+                                    .computeIfAbsent(descriptor, d -> new ArrayDeque<>())
+                                    .offer(queuedMessage);
                             continue;
                         }
                     }
-                    result.add(message);
-                    if (result.size() >= maxCount) {
-                        break;
-                    }
+                    result.add(queuedMessage.message);
+                    jfrEvent = commitPollJfrEvent(jfrEvent, pIndex, queuedMessage);
                 } else {
                     pIndex++;
                 }
             }
             this.size.addAndGet(-result.size());
         }
+        for (final var message : result) {
+            if (message instanceof final Message<?> typedMessage) {
+                typedMessage.getChannelDescriptor().getExecuteStatistics().messageDequeued();
+            }
+            MessageTracing.onStage(message, MessageLifecycleStage.Dequeued);
+        }
         return result;
     }
 
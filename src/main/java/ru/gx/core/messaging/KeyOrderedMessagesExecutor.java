@@ -0,0 +1,386 @@
+package ru.gx.core.messaging;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import ru.gx.core.channels.ChannelConfigurationException;
+import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.channels.IncomeChannelHandlerDescriptor;
+import ru.gx.core.channels.IncomeDataProcessType;
+import ru.gx.core.channels.OnErrorBehavior;
+import ru.gx.core.deadletters.DeadLetterStore;
+import ru.gx.core.deadletters.DeadLetters;
+import ru.gx.core.jfr.MessageHandleJfrEvent;
+import ru.gx.core.metrics.ThreadResources;
+import ru.gx.core.tracing.MessageLifecycleStage;
+import ru.gx.core.tracing.MessageTracing;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Исполнитель сообщений каналов со способом обработки {@link IncomeDataProcessType#ParallelByKey}.<br/>
+ * Сообщения распределяются по фиксированному набору "полос" (lanes) по хешу ключа,
+ * который извлекается {@link ru.gx.core.channels.MessageKeyExtractor}-ом канала.
+ * Каждая полоса - отдельный поток с ограниченной очередью, поэтому полосы работают параллельно,
+ * а сообщения с одинаковым ключом обрабатываются строго в порядке поступления.<br/>
+ * Если очередь полосы заполнена, то {@link #dispatch(Message)} ждет освобождения места (backpressure для получателя).<br/>
+ * При ошибке обработки полоса не пропускает сообщение, а повторяет его, сохраняя порядок по ключу:
+ * в канале с {@link OnErrorBehavior#StopProcessOnError} - после снятия блокировки (вручную или автоматическим выключателем),
+ * в канале с {@link OnErrorBehavior#ContinueProcessOnError} - сразу.
+ * Если задано хранилище недоставленных сообщений, то исчерпавшее попытки сообщение помещается в него и полоса продолжает работу.
+ */
+@Slf4j
+@SuppressWarnings("unused")
+public class KeyOrderedMessagesExecutor implements SmartLifecycle {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    public static final String DEFAULT_NAME = "key-ordered-messages-executor";
+
+    /**
+     * Сколько ждать (в мс) очередное сообщение в полосе, прежде чем проверить признак останова.
+     */
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    /**
+     * Сколько ждать (в мс) между проверками доступности заблокированного ошибкой канала.
+     */
+    private static final long BLOCKED_CHANNEL_WAIT_MS = 50;
+
+    /**
+     * Минимальная пауза (в нс) между попытками получить разрешение у канала с ограничением частоты
+     * (когда разрешение уже должно быть, но его забрал другой поток).
+     */
+    private static final long RATE_LIMITED_CHANNEL_MIN_WAIT_NANOS = 1_000;
+
+    /**
+     * Сколько ждать (в мс) завершения потоков полос при останове.
+     */
+    private static final long STOP_JOIN_TIMEOUT_MS = 10_000;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Имя исполнителя. Используется в именах потоков полос и при логировании.
+     */
+    @Getter
+    @NotNull
+    private final String name;
+
+    @Getter(PROTECTED)
+    @NotNull
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Полосы.
+     */
+    @NotNull
+    private final Lane[] lanes;
+
+    /**
+     * Счетчик для распределения сообщений без ключа по полосам "по кругу".
+     */
+    @NotNull
+    private final AtomicInteger noKeyCounter = new AtomicInteger();
+
+    private volatile boolean running;
+
+    /**
+     * Хранилище недоставленных сообщений. null - сообщения с ошибками обрабатываются согласно {@link OnErrorBehavior}.
+     */
+    @Getter
+    @Nullable
+    private volatile DeadLetterStore deadLetterStore;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+
+    /**
+     * @param name           Имя исполнителя.
+     * @param lanesCount     Количество полос. Если <= 0, то по количеству процессоров.
+     * @param laneCapacity   Максимальное количество сообщений в очереди одной полосы.
+     * @param eventPublisher Публикатор, через который сообщения передаются обработчикам.
+     */
+    public KeyOrderedMessagesExecutor(
+            @NotNull final String name,
+            final int lanesCount,
+            final int laneCapacity,
+            @NotNull final ApplicationEventPublisher eventPublisher
+    ) {
+        if (laneCapacity < 1) {
+            throw new InvalidParameterException("LaneCapacity can't be less 1!");
+        }
+        this.name = name;
+        this.eventPublisher = eventPublisher;
+        final var count = lanesCount > 0 ? lanesCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (var i = 0; i < count; i++) {
+            this.lanes[i] = new Lane(name + "-lane-" + i, laneCapacity);
+        }
+    }
+
+    /**
+     * Установка хранилища недоставленных сообщений.
+     *
+     * @param deadLetterStore Хранилище недоставленных сообщений.
+     */
+    @Autowired(required = false)
+    public void setDeadLetterStore(@Nullable final DeadLetterStore deadLetterStore) {
+        this.deadLetterStore = deadLetterStore;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Lifecycle">
+    @Override
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        for (final var lane : this.lanes) {
+            final var thread = new Thread(lane, lane.laneName);
+            lane.thread = thread;
+            thread.start();
+        }
+        log.info("{} started with {} lanes", this.name, this.lanes.length);
+    }
+
+    /**
+     * Останов: полосы дообрабатывают уже принятые сообщения и завершаются.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        final var waitTo = System.currentTimeMillis() + STOP_JOIN_TIMEOUT_MS;
+        for (final var lane : this.lanes) {
+            final var thread = lane.thread;
+            if (thread == null) {
+                continue;
+            }
+            try {
+                thread.join(Math.max(1, waitTo - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (thread.isAlive()) {
+                log.warn("{}: lane {} did not stop in time, {} messages left", this.name, lane.laneName, lane.queue.size());
+                thread.interrupt();
+            }
+        }
+        log.info("{} stopped", this.name);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Dispatching">
+
+    /**
+     * Передача сообщения в полосу, соответствующую его ключу.
+     * Если очередь полосы заполнена, то ждет освобождения места.
+     *
+     * @param message Сообщение канала со способом обработки {@link IncomeDataProcessType#ParallelByKey}.
+     */
+    public void dispatch(@NotNull final Message<?> message) throws InterruptedException {
+        if (!this.running) {
+            throw new IllegalStateException("Executor " + this.name + " is not running!");
+        }
+        final var descriptor = message.getChannelDescriptor();
+        if (!(descriptor instanceof final IncomeChannelHandlerDescriptor incomeDescriptor)
+                || incomeDescriptor.getKeyExtractor() == null) {
+            throw new ChannelConfigurationException(
+                    "Channel " + descriptor.getChannelName() + " has no keyExtractor for processType ParallelByKey!"
+            );
+        }
+        final var key = incomeDescriptor.getKeyExtractor().extractKey(message);
+        final var lane = this.lanes[laneIndex(key)];
+        MessageTracing.onStage(message, MessageLifecycleStage.Enqueued);
+        lane.queue.put(message);
+        descriptor.getExecuteStatistics().messageQueued();
+    }
+
+    /**
+     * @param key Ключ сообщения.
+     * @return Номер полосы для ключа. Для null - очередная полоса "по кругу".
+     */
+    protected int laneIndex(final Object key) {
+        if (key == null) {
+            return Math.floorMod(this.noKeyCounter.getAndIncrement(), this.lanes.length);
+        }
+        final var h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), this.lanes.length);
+    }
+
+    /**
+     * @return Количество полос.
+     */
+    public int getLanesCount() {
+        return this.lanes.length;
+    }
+
+    /**
+     * @return Количество сообщений, ожидающих обработки во всех полосах.
+     */
+    public int queueSize() {
+        var result = 0;
+        for (final var lane : this.lanes) {
+            result += lane.queue.size();
+        }
+        return result;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="class Lane">
+
+    /**
+     * Полоса: поток, последовательно обрабатывающий сообщения из своей очереди.
+     */
+    protected class Lane implements Runnable {
+        @NotNull
+        private final String laneName;
+
+        @NotNull
+        private final BlockingQueue<Message<?>> queue;
+
+        private volatile Thread thread;
+
+        protected Lane(@NotNull final String laneName, final int capacity) {
+            this.laneName = laneName;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            log.info("START {}", this.laneName);
+            try {
+                while (KeyOrderedMessagesExecutor.this.running || !this.queue.isEmpty()) {
+                    final var message = this.queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        continue;
+                    }
+                    message.getChannelDescriptor().getExecuteStatistics().messageDequeued();
+                    MessageTracing.onStage(message, MessageLifecycleStage.Dequeued);
+                    while (!processMessage(message)) {
+                        if (!KeyOrderedMessagesExecutor.this.running) {
+                            log.warn("{}: stopped while message is not processed: {}", this.laneName, message);
+                            break;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.warn("{} interrupted", this.laneName);
+                Thread.currentThread().interrupt();
+            }
+            log.info("FINISH {}", this.laneName);
+        }
+
+        /**
+         * Обработка одного сообщения.
+         *
+         * @param message Сообщение.
+         * @return true - сообщение обработано (или помещено в хранилище недоставленных сообщений),
+         * false - требуется повторить обработку (в канале с {@link OnErrorBehavior#StopProcessOnError} - после снятия блокировки).
+         */
+        protected boolean processMessage(@NotNull final Message<?> message) throws InterruptedException {
+            final var channel = message.getChannelDescriptor();
+            if (!waitChannelPermit(channel)) {
+                return false;
+            }
+            final var started = System.nanoTime();
+            final var jfrEvent = new MessageHandleJfrEvent();
+            jfrEvent.begin();
+            var success = false;
+            MessageTracing.onStage(message, MessageLifecycleStage.HandlerStarted);
+            try {
+                KeyOrderedMessagesExecutor.this.eventPublisher.publishEvent(message);
+                success = true;
+                channel.recordMessageSucceeded();
+                return true;
+            } catch (Exception e) {
+                log.error("{}: error while processing message {}", this.laneName, message, e);
+                if (DeadLetters.routeIfExhausted(KeyOrderedMessagesExecutor.this.deadLetterStore, message, e)) {
+                    return true;
+                }
+                if (channel.getOnErrorBehavior() == OnErrorBehavior.StopProcessOnError) {
+                    channel.setBlockingError(e);
+                }
+                // Сообщение остается в полосе: более поздние сообщения с тем же ключом не обгонят его
+                return false;
+            } finally {
+                channel.recordMessageExecutedNanos(
+                        this.laneName,
+                        System.nanoTime() - started,
+                        ThreadResources.NOT_MEASURED,
+                        ThreadResources.NOT_MEASURED
+                );
+                jfrEvent.end();
+                if (jfrEvent.shouldCommit()) {
+                    jfrEvent.workerName = this.laneName;
+                    jfrEvent.channelName = channel.getChannelName();
+                    jfrEvent.messageType = message.getHeader().getType();
+                    jfrEvent.messageId = message.getHeader().getId();
+                    jfrEvent.success = success;
+                    jfrEvent.commit();
+                }
+                MessageTracing.onFinished(message, success);
+            }
+        }
+
+        /**
+         * Ожидание возможности обработать сообщение канала: снятия блокировки ошибкой
+         * (либо разрешения на пробное сообщение) и разрешения ограничителя частоты.
+         * В ожидании разрешения ограничителя поток паркуется ровно до появления разрешения, но не дольше {@link #POLL_TIMEOUT_MS},
+         * чтобы вовремя заметить останов.
+         *
+         * @return true - можно обрабатывать; false - исполнитель останавливается.
+         */
+        protected boolean waitChannelPermit(@NotNull final ChannelHandlerDescriptor channel) throws InterruptedException {
+            while (KeyOrderedMessagesExecutor.this.running) {
+                if (channel.isBlockedByError()) {
+                    if (channel.tryAcquireProbe()) {
+                        return true;
+                    }
+                    //noinspection BusyWait
+                    Thread.sleep(BLOCKED_CHANNEL_WAIT_MS);
+                } else if (channel.tryAcquireRatePermit()) {
+                    return true;
+                } else {
+                    final var waitNanos = Math.min(
+                            Math.max(channel.nanosToNextRatePermit(), RATE_LIMITED_CHANNEL_MIN_WAIT_NANOS),
+                            TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MS)
+                    );
+                    LockSupport.parkNanos(this, waitNanos);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            // При останове дообрабатываем принятые сообщения только незаблокированных каналов
+            return !channel.isBlockedByError();
+        }
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
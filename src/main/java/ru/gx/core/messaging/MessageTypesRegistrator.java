@@ -5,24 +5,52 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ru.gx.core.data.DataObject;
 import ru.gx.core.data.DataPackage;
+import ru.gx.core.factories.ConstructorFactories;
+import ru.gx.core.factories.FactoryShape;
+import ru.gx.core.factories.GenerateFactories;
+import ru.gx.core.factories.GeneratedFactories;
+import ru.gx.core.factories.ObjectFactory;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
+/**
+ * Реестр типов сообщений: (тип, версия) -> {@link MessageTypeRegistration}.<br/>
+ * Регистрации выполняются редко (в static-блоках классов сообщений), а чтения - при создании каждого сообщения,
+ * поэтому реестр хранится в виде неизменяемого снимка ({@link Snapshot}), который при регистрации
+ * пересобирается целиком под блокировкой и публикуется через volatile-поле. Чтение выполняется без блокировок.
+ */
 @SuppressWarnings("rawtypes")
 public abstract class MessageTypesRegistrator {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Snapshot">
+
     /**
-     * Map(type, Map(version, MessageTypeRegistration))
-     * Для каждого типа определяется список пар: (версия, регистрация).
+     * Составной ключ (тип, версия).
      */
-    private static final Map<String, Map<Integer, MessageTypeRegistration>> types = new HashMap<>();
+    private record TypeVersion(@NotNull String type, int version) {
+    }
 
     /**
-     * Map(MessageClass, List(MessageTypeRegistration))
-     * Для каждого класса определяется список регистраций.
+     * Неизменяемый снимок реестра.
+     *
+     * @param byTypeVersion Регистрации по ключу (тип, версия).
+     * @param byClass       Регистрации по классу сообщения (у класса обычно одна регистрация).
      */
-    private static final Map<Class<? extends Message>, Set<MessageTypeRegistration>> classes = new HashMap<>();
+    private record Snapshot(
+            @NotNull Map<TypeVersion, MessageTypeRegistration> byTypeVersion,
+            @NotNull Map<Class<? extends Message>, MessageTypeRegistration[]> byClass
+    ) {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+    }
 
+    @NotNull
+    private static volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
     public static void registerType(
             @NotNull final MessageKind kind,
             @NotNull final String type,
@@ -31,16 +59,28 @@ public abstract class MessageTypesRegistrator {
             @NotNull final Class<? extends MessageBody> messageBody
     ) {
         synchronized (MessageTypesRegistrator.class) {
-            final var verRegs = types.computeIfAbsent(type, k -> new HashMap<>());
-            final var r = verRegs.get(version);
+            final var current = snapshot;
+            final var key = new TypeVersion(type, version);
+            final var r = current.byTypeVersion().get(key);
             if (r != null) {
                 throw new MessagingConfigurationException("(Type=" + type + ", version=" + version + ") already registered (for messageClass: " + r.getMessageClass().getName() + ")!");
             }
             final var reg = new MessageTypeRegistration(kind, type, version, messageClass, messageBody);
-            verRegs.put(version, reg);
 
-            final var regSet = classes.computeIfAbsent(messageClass, k -> new HashSet<>());
-            regSet.add(reg);
+            final var byTypeVersion = new HashMap<>(current.byTypeVersion());
+            byTypeVersion.put(key, reg);
+
+            final var byClass = new HashMap<>(current.byClass());
+            final var classRegs = byClass.get(messageClass);
+            if (classRegs == null) {
+                byClass.put(messageClass, new MessageTypeRegistration[]{reg});
+            } else {
+                final var newClassRegs = Arrays.copyOf(classRegs, classRegs.length + 1);
+                newClassRegs[classRegs.length] = reg;
+                byClass.put(messageClass, newClassRegs);
+            }
+
+            snapshot = new Snapshot(Map.copyOf(byTypeVersion), Map.copyOf(byClass));
         }
     }
 
@@ -53,6 +93,10 @@ public abstract class MessageTypesRegistrator {
         internalCheckType(kind, type, version, messageClass);
     }
 
+    /**
+     * Проверка соответствия сообщения регистрации. Вызывается в конструкторе каждого сообщения.<br/>
+     * Быстрый путь: поиск по классу сообщения и сравнение ссылок; при несовпадении - полная проверка с описанием ошибки.
+     */
     public static void checkType(
             @NotNull final MessageKind kind,
             @NotNull final String type,
@@ -60,6 +104,18 @@ public abstract class MessageTypesRegistrator {
             @NotNull final Class<? extends Message> messageClass,
             @NotNull final Class<? extends MessageBody> messageBodyClass
     ) {
+        final var classRegs = snapshot.byClass().get(messageClass);
+        if (classRegs != null) {
+            for (final var reg : classRegs) {
+                if (reg.getVersion() == version
+                        && reg.getKind() == kind
+                        && reg.getMessageBodyClass() == messageBodyClass
+                        && reg.getType().equals(type)) {
+                    return;
+                }
+            }
+        }
+
         final var reg = internalCheckType(kind, type, version, messageClass);
         if (reg.getMessageBodyClass() != messageBodyClass) {
             throw new MessagingConfigurationException("Type " + type + " is registered with MessageBody " + reg.getMessageBodyClass().getName() + ", which is not compatible with class " + messageBodyClass.getName() + "!");
@@ -84,26 +140,35 @@ public abstract class MessageTypesRegistrator {
 
     @SuppressWarnings("unused")
     public static boolean contains(@NotNull final String type, final int version) {
-        final var verRegs = types.get(type);
-        if (verRegs != null) {
-            return verRegs.containsKey(version);
-        }
-        return false;
+        return snapshot.byTypeVersion().containsKey(new TypeVersion(type, version));
     }
 
     @NotNull
     public static MessageTypeRegistration get(@NotNull final String type, final int version) {
-        final var verRegs =  types.get(type);
-        if (verRegs == null) {
-            throw new MessagingConfigurationException("Type " + type + " does not registered!");
+        final var current = snapshot;
+        final var result = current.byTypeVersion().get(new TypeVersion(type, version));
+        if (result != null) {
+            return result;
         }
-        final var result = verRegs.get(version);
-        if (result == null) {
-            throw new MessagingConfigurationException("Type " + type + " does not registered with version " + version + "!");
+        // Медленный путь - только для сообщения об ошибке
+        for (final var key : current.byTypeVersion().keySet()) {
+            if (key.type().equals(type)) {
+                throw new MessagingConfigurationException("Type " + type + " does not registered with version " + version + "!");
+            }
         }
-        return result;
+        throw new MessagingConfigurationException("Type " + type + " does not registered!");
     }
 
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Регистрация типа сообщения.<br/>
+     * Экземпляры сообщений и тел создаются через {@link ObjectFactory}: если для класса на этапе компиляции
+     * сгенерированы фабрики ({@link GenerateFactories}), то используются они и конструкторы рефлексией не ищутся;
+     * иначе найденный рефлексией {@link Constructor} один раз, при регистрации, превращается в лямбду
+     * ({@link ConstructorFactories}), и при создании экземпляров рефлексия не используется.
+     */
     public static class MessageTypeRegistration {
         @Getter
         @NotNull
@@ -124,39 +189,50 @@ public abstract class MessageTypesRegistrator {
         @NotNull
         private final Class<? extends MessageBody> messageBodyClass;
 
+        /**
+         * Фабрика тела сообщения по DataObject.
+         */
         @Getter
         @Nullable
-        private final Constructor<? extends MessageBody> constructorMessageBodyByDataObject;
+        private final ObjectFactory<? extends MessageBody> factoryMessageBodyByDataObject;
 
+        /**
+         * Фабрика тела сообщения по DataPackage.
+         */
         @Getter
         @Nullable
-        private final Constructor<? extends MessageBody> constructorMessageBodyByDataPackage;
+        private final ObjectFactory<? extends MessageBody> factoryMessageBodyByDataPackage;
 
+        /**
+         * Фабрика сообщения по параметрам (Map).
+         */
         @Getter
         @Nullable
-        private final Constructor<? extends Message> constructorMessageByParams;
+        private final ObjectFactory<? extends Message> factoryMessageByParams;
 
+        /**
+         * Фабрика сообщения по (Header, Body, Correlation).
+         */
         @Getter
         @Nullable
-        private final Constructor<? extends Message> constructorMessageByHeaderBody;
+        private final ObjectFactory<? extends Message> factoryMessageByHeaderBody;
 
         public boolean isBodyConstructorByDataObject() {
-            return this.constructorMessageBodyByDataObject != null;
+            return this.factoryMessageBodyByDataObject != null;
         }
 
         public boolean isBodyConstructorByDataPackage() {
-            return this.constructorMessageBodyByDataPackage != null;
+            return this.factoryMessageBodyByDataPackage != null;
         }
 
         public boolean isConstructorByParams() {
-            return this.constructorMessageByParams != null;
+            return this.factoryMessageByParams != null;
         }
 
         public boolean isConstructorByHeaderBody() {
-            return this.constructorMessageByHeaderBody != null;
+            return this.factoryMessageByHeaderBody != null;
         }
 
-        @SuppressWarnings("unchecked")
         private MessageTypeRegistration(
                 @NotNull final MessageKind kind,
                 @NotNull final String type,
@@ -170,60 +246,193 @@ public abstract class MessageTypesRegistrator {
             this.messageClass = messageClass;
             this.messageBodyClass = messageBodyClass;
 
-            final var bodyConstructors = messageBodyClass.getConstructors();
-
-            this.constructorMessageBodyByDataObject = (Constructor<? extends MessageBody>)
-                    Arrays.stream(bodyConstructors)
-                            .filter(c -> {
-                                final var params = c.getParameterTypes();
-                                return
-                                        params.length == 1
-                                                && DataObject.class.isAssignableFrom(params[0]);
-                            })
-                            .findFirst()
-                            .orElse(null);
-
-            this.constructorMessageBodyByDataPackage = (Constructor<? extends MessageBody>)
-                    Arrays.stream(bodyConstructors)
-                            .filter(c -> {
-                                final var params = c.getParameterTypes();
-                                return
-                                        params.length == 1
-                                                && DataPackage.class.isAssignableFrom(params[0]);
-                            })
-                            .findFirst()
-                            .orElse(null);
-
-            this.constructorMessageByParams = (Constructor<? extends Message>)
-                    Arrays.stream(messageClass.getConstructors())
-                            .filter(c -> {
-                                final var params = c.getParameterTypes();
-                                return
-                                        params.length == 1
-                                                && Map.class.isAssignableFrom(params[0]);
-                            })
-                            .findFirst()
-                            .orElse(null);
-
-            this.constructorMessageByHeaderBody = (Constructor<? extends Message>)
-                    Arrays.stream(messageClass.getConstructors())
-                            .filter(c -> {
-                                final var params = c.getParameterTypes();
-                                return
-                                        params.length == 3
-                                                && MessageHeader.class.isAssignableFrom(params[0])
-                                                && MessageBody.class.isAssignableFrom(params[1])
-                                                && MessageCorrelation.class.isAssignableFrom(params[2]);
-                            })
-                            .findFirst()
-                            .orElse(null);
+            if (GeneratedFactories.contains(messageBodyClass)) {
+                this.factoryMessageBodyByDataObject = GeneratedFactories.get(messageBodyClass, FactoryShape.BodyByDataObject);
+                this.factoryMessageBodyByDataPackage = GeneratedFactories.get(messageBodyClass, FactoryShape.BodyByDataPackage);
+            } else {
+                this.factoryMessageBodyByDataObject = reflectionFactory(getConstructorMessageBodyByDataObject());
+                this.factoryMessageBodyByDataPackage = reflectionFactory(getConstructorMessageBodyByDataPackage());
+            }
+
+            if (GeneratedFactories.contains(messageClass)) {
+                this.factoryMessageByParams = GeneratedFactories.get(messageClass, FactoryShape.MessageByParams);
+                this.factoryMessageByHeaderBody = GeneratedFactories.get(messageClass, FactoryShape.MessageByHeaderBody);
+            } else {
+                this.factoryMessageByParams = reflectionFactory(getConstructorMessageByParams());
+                this.factoryMessageByHeaderBody = reflectionFactory(getConstructorMessageByHeaderBody());
+            }
+        }
+
+        // -------------------------------------------------------------------------------------------------------------
+        // <editor-fold desc="Creating instances">
+
+        /**
+         * Создание сообщения по тройке: Заголовку, Телу, Correlation-данным.
+         *
+         * @throws MessagingConfigurationException У класса сообщения нет такого конструктора.
+         */
+        @NotNull
+        public Message<? extends MessageBody> newMessageByHeaderBody(
+                @NotNull final MessageHeader header,
+                @NotNull final MessageBody body,
+                @Nullable final MessageCorrelation correlation
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (this.factoryMessageByHeaderBody == null) {
+                throw new MessagingConfigurationException("Message class (" + this.messageClass.getName() + ") of message " + this.type + " does not have constructor by (Header, Body, Correlation)!");
+            }
+            return newInstance(this.factoryMessageByHeaderBody, header, body, correlation);
+        }
+
+        /**
+         * Создание сообщения по параметрам.
+         *
+         * @throws MessagingConfigurationException У класса сообщения нет такого конструктора.
+         */
+        @NotNull
+        public Message<? extends MessageBody> newMessageByParams(
+                @NotNull final Map<MessageCreatingParams, Object> creatingParams
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (this.factoryMessageByParams == null) {
+                throw new MessagingConfigurationException("Message class (" + this.messageClass.getName() + ") of message " + this.type + " does not have constructor by (Map<MessageCreatingParams, Object>)!");
+            }
+            return newInstance(this.factoryMessageByParams, creatingParams);
+        }
+
+        /**
+         * Создание тела сообщения с упаковкой в него dataObject.
+         *
+         * @throws MessagingConfigurationException У класса тела сообщения нет такого конструктора.
+         */
+        @NotNull
+        public MessageBody newBodyByDataObject(
+                @Nullable final DataObject dataObject
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (this.factoryMessageBodyByDataObject == null) {
+                throw new MessagingConfigurationException("Body (" + this.messageBodyClass.getName() + ") of message " + this.type + " does not have constructor by DataObject!");
+            }
+            return newInstance(this.factoryMessageBodyByDataObject, dataObject);
+        }
+
+        /**
+         * Создание тела сообщения с упаковкой в него dataPackage.
+         *
+         * @throws MessagingConfigurationException У класса тела сообщения нет такого конструктора.
+         */
+        @NotNull
+        public MessageBody newBodyByDataPackage(
+                @Nullable final DataPackage<? extends DataObject> dataPackage
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            if (this.factoryMessageBodyByDataPackage == null) {
+                throw new MessagingConfigurationException("Body (" + this.messageBodyClass.getName() + ") of message " + this.type + " does not have constructor by DataPackage!");
+            }
+            return newInstance(this.factoryMessageBodyByDataPackage, dataPackage);
+        }
+
+        /**
+         * Вызов фабрики с сохранением контракта {@link Constructor#newInstance(Object...)}:
+         * проверяемые исключения конструктора оборачиваются в {@link InvocationTargetException}.
+         */
+        @NotNull
+        private static <T> T newInstance(
+                @NotNull final ObjectFactory<T> factory,
+                final Object... args
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+            try {
+                return factory.newInstance(args);
+            } catch (InvocationTargetException | InstantiationException | IllegalAccessException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Фабрика по конструктору, найденному рефлексией: прямой вызов конструктора через {@link ConstructorFactories}.
+         */
+        @Nullable
+        private static <T> ObjectFactory<T> reflectionFactory(@Nullable final Constructor<T> constructor) {
+            return constructor != null ? ConstructorFactories.of(constructor) : null;
+        }
+
+        // </editor-fold>
+        // -------------------------------------------------------------------------------------------------------------
+        // <editor-fold desc="Reflection">
+
+        /**
+         * @return Конструктор тела сообщения по DataObject (поиск рефлексией).
+         * @deprecated Используйте {@link #newBodyByDataObject(DataObject)}.
+         */
+        @Deprecated
+        @SuppressWarnings("unchecked")
+        @Nullable
+        public Constructor<? extends MessageBody> getConstructorMessageBodyByDataObject() {
+            return (Constructor<? extends MessageBody>) findConstructor(this.messageBodyClass, DataObject.class);
+        }
+
+        /**
+         * @return Конструктор тела сообщения по DataPackage (поиск рефлексией).
+         * @deprecated Используйте {@link #newBodyByDataPackage(DataPackage)}.
+         */
+        @Deprecated
+        @SuppressWarnings("unchecked")
+        @Nullable
+        public Constructor<? extends MessageBody> getConstructorMessageBodyByDataPackage() {
+            return (Constructor<? extends MessageBody>) findConstructor(this.messageBodyClass, DataPackage.class);
+        }
+
+        /**
+         * @return Конструктор сообщения по параметрам (поиск рефлексией).
+         * @deprecated Используйте {@link #newMessageByParams(Map)}.
+         */
+        @Deprecated
+        @SuppressWarnings("unchecked")
+        @Nullable
+        public Constructor<? extends Message> getConstructorMessageByParams() {
+            return (Constructor<? extends Message>) findConstructor(this.messageClass, Map.class);
         }
 
+        /**
+         * @return Конструктор сообщения по (Header, Body, Correlation) (поиск рефлексией).
+         * @deprecated Используйте {@link #newMessageByHeaderBody(MessageHeader, MessageBody, MessageCorrelation)}.
+         */
+        @Deprecated
+        @SuppressWarnings("unchecked")
+        @Nullable
+        public Constructor<? extends Message> getConstructorMessageByHeaderBody() {
+            return (Constructor<? extends Message>) findConstructor(this.messageClass, MessageHeader.class, MessageBody.class, MessageCorrelation.class);
+        }
+
+        /**
+         * Поиск публичного конструктора, типы параметров которого являются наследниками заданных.
+         */
+        @Nullable
+        private static Constructor<?> findConstructor(@NotNull final Class<?> objectClass, @NotNull final Class<?>... paramsSuperTypes) {
+            return Arrays.stream(objectClass.getConstructors())
+                    .filter(c -> {
+                        final var params = c.getParameterTypes();
+                        if (params.length != paramsSuperTypes.length) {
+                            return false;
+                        }
+                        for (var i = 0; i < params.length; i++) {
+                            if (!paramsSuperTypes[i].isAssignableFrom(params[i])) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        // </editor-fold>
+        // -------------------------------------------------------------------------------------------------------------
+
         public String toString() {
             return "MessageTypeRegistration(kind=" + this.kind
                     + ", type=" + this.type
                     + ", messageClass=" + this.messageClass
                     + ", messageBodyClass=" + this.messageBodyClass
+                    + ", generatedFactories=" + GeneratedFactories.contains(this.messageClass)
                     + ", isBodyConstructorByDataObject()=" + this.isBodyConstructorByDataObject()
                     + ", isBodyConstructorByDataPackage()=" + this.isBodyConstructorByDataPackage()
                     + ", isConstructorByParams()=" + this.isConstructorByParams()
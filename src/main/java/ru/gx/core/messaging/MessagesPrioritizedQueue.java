@@ -78,6 +78,14 @@ public interface MessagesPrioritizedQueue {
      */
     int queueSize();
 
+    /**
+     * @return Через сколько наносекунд появится разрешение ограничителя частоты у ближайшего из каналов,
+     * сообщения которых отложены из-за исчерпания лимита; -1 - таких сообщений нет.
+     */
+    default long nanosToNextDeferredPermit() {
+        return -1;
+    }
+
     /**
      * @return Количество приоритетов - по сути, количество очередей.
      */
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import ru.gx.core.settings.StandardSettingsController;
 import ru.gx.core.settings.UnknownApplicationSettingException;
 import ru.gx.core.worker.AbstractWorkerSettingsContainer;
+import ru.gx.core.worker.CommonWorkerSettingsDefaults;
 
 import javax.annotation.PostConstruct;
 
@@ -23,6 +24,15 @@ public class StandardMessagesExecutorSettingsContainer extends AbstractWorkerSet
     private final static String SETTING_MIN_TIME_PER_ITERATION_MS = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.MIN_TIME_PER_ITERATION_MS;
     private final static String SETTING_TIMOUT_RUNNER_LIFE_MS = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.TIMEOUT_RUNNER_LIFE_MS;
     private final static String SETTING_PRINT_STATISTICS_EVERY_MS = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.PRINT_STATISTICS_EVERY_MS;
+    private final static String SETTING_MEASURE_THREAD_RESOURCES = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.MEASURE_THREAD_RESOURCES;
+    private final static String SETTING_ADAPTIVE_IDLE = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE;
+    private final static String SETTING_ADAPTIVE_IDLE_SPIN_COUNT = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_SPIN_COUNT;
+    private final static String SETTING_ADAPTIVE_IDLE_YIELD_COUNT = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_YIELD_COUNT;
+    private final static String SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_MIN_PARK_MCS;
+    private final static String SETTING_LEASE_ENABLED = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_ENABLED;
+    private final static String SETTING_LEASE_NAME = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_NAME;
+    private final static String SETTING_LEASE_PERIOD_MS = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_PERIOD_MS;
+    private final static String SETTING_PUBLISH_ITERATION_EVENT = STANDARD_EVENTS_EXECUTOR_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.PUBLISH_ITERATION_EVENT;
 
     private final static String SETTING_PRINT_QUEUE_STATISTICS_EVERY_MS = STANDARD_EVENTS_QUEUE_SETTINGS_PREFIX + ".print-statistics-every-ms";
     private final static String SETTING_MAX_QUEUE_SIZE = STANDARD_EVENTS_QUEUE_SETTINGS_PREFIX + ".max-queue-size";
@@ -43,6 +53,15 @@ public class StandardMessagesExecutorSettingsContainer extends AbstractWorkerSet
         this.standardSettingsController.loadIntegerSetting(SETTING_MIN_TIME_PER_ITERATION_MS, StandardExecutor.MIN_TIME_PER_ITERATION_MS_DEFAULT);
         this.standardSettingsController.loadIntegerSetting(SETTING_TIMOUT_RUNNER_LIFE_MS, StandardExecutor.TIMEOUT_RUNNER_LIFE_MS_DEFAULT);
         this.standardSettingsController.loadIntegerSetting(SETTING_PRINT_STATISTICS_EVERY_MS, StandardExecutor.PRINT_STATISTICS_EVERY_MS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_MEASURE_THREAD_RESOURCES, StandardExecutor.MEASURE_THREAD_RESOURCES_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_ADAPTIVE_IDLE, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_SPIN_COUNT, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_SPIN_COUNT_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_YIELD_COUNT, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_YIELD_COUNT_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_MIN_PARK_MCS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_LEASE_ENABLED, CommonWorkerSettingsDefaults.LEASE_ENABLED_DEFAULT);
+        this.standardSettingsController.loadStringSetting(SETTING_LEASE_NAME, CommonWorkerSettingsDefaults.LEASE_NAME_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_LEASE_PERIOD_MS, CommonWorkerSettingsDefaults.LEASE_PERIOD_MS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_PUBLISH_ITERATION_EVENT, CommonWorkerSettingsDefaults.PUBLISH_ITERATION_EVENT_DEFAULT);
 
         this.standardSettingsController.loadIntegerSetting(SETTING_PRINT_QUEUE_STATISTICS_EVERY_MS, StandardQueue.PRINT_STATISTICS_EVERY_MS_DEFAULT);
         this.standardSettingsController.loadIntegerSetting(SETTING_MAX_QUEUE_SIZE, StandardQueue.MAX_QUEUE_SIZE_DEFAULT);
@@ -85,4 +104,49 @@ public class StandardMessagesExecutorSettingsContainer extends AbstractWorkerSet
     public int getPrintStatisticsEveryMs() {
         return this.standardSettingsController.getIntegerSetting(SETTING_PRINT_STATISTICS_EVERY_MS);
     }
+
+    @Override
+    public boolean isMeasureThreadResources() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_MEASURE_THREAD_RESOURCES);
+    }
+
+    @Override
+    public boolean isAdaptiveIdle() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_ADAPTIVE_IDLE);
+    }
+
+    @Override
+    public int getAdaptiveIdleSpinCount() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_SPIN_COUNT);
+    }
+
+    @Override
+    public int getAdaptiveIdleYieldCount() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_YIELD_COUNT);
+    }
+
+    @Override
+    public int getAdaptiveIdleMinParkMcs() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS);
+    }
+
+    @Override
+    public boolean isLeaseEnabled() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_LEASE_ENABLED);
+    }
+
+    @Override
+    public String getLeaseName() {
+        return this.standardSettingsController.getStringSetting(SETTING_LEASE_NAME);
+    }
+
+    @Override
+    public int getLeasePeriodMs() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_LEASE_PERIOD_MS);
+    }
+
+    @Override
+    public boolean isPublishIterationEvent() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_PUBLISH_ITERATION_EVENT);
+    }
 }
@@ -2,10 +2,14 @@ package ru.gx.core.messaging;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import ru.gx.core.metrics.MetricsUtils;
 import ru.gx.core.worker.AbstractWorkerStatisticsInfo;
 
+import java.util.concurrent.TimeUnit;
+
 import static lombok.AccessLevel.PROTECTED;
 
 @SuppressWarnings("rawtypes")
@@ -16,6 +20,11 @@ public class StandardMessagesExecutorStatisticsInfo extends AbstractWorkerStatis
      * Размер очереди соощбщений
      */
     public static final String METRIC_EVENT_QUEUE_SIZE = "messages.queue.size";
+
+    /**
+     * Время обработки одного сообщения
+     */
+    public static final String METRIC_MESSAGES_EXECUTE_TIME = "messages.execs.time";
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Fields">
@@ -27,6 +36,13 @@ public class StandardMessagesExecutorStatisticsInfo extends AbstractWorkerStatis
     @NotNull
     private final Gauge metricMessagesQueueSize;
 
+    /**
+     * Метрика: время обработки одного сообщения (с процентилями по скользящему окну).
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Timer metricMessagesExecuteTime;
+
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Initialization">
@@ -38,6 +54,9 @@ public class StandardMessagesExecutorStatisticsInfo extends AbstractWorkerStatis
         this.metricMessagesQueueSize = Gauge.builder(METRIC_EVENT_QUEUE_SIZE, this::getMessagesQueueSize)
                 .tags(this.getMetricsTags())
                 .register(this.getMeterRegistry());
+        this.metricMessagesExecuteTime = MetricsUtils.timerWithPercentiles(METRIC_MESSAGES_EXECUTE_TIME)
+                .tags(this.getMetricsTags())
+                .register(this.getMeterRegistry());
     }
 
     // </editor-fold">
@@ -58,7 +77,10 @@ public class StandardMessagesExecutorStatisticsInfo extends AbstractWorkerStatis
     public String getPrintableInfo() {
         final var size = getMessagesQueueSize();
         return super.getPrintableInfo() + '\n' +
-                "MessagesQueue.size = " + size;
+                "MessagesQueue.size = " + size +
+                ", messages percentilesMs: {" +
+                MetricsUtils.printablePercentilesMs(this.metricMessagesExecuteTime) +
+                "}";
     }
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
@@ -71,7 +93,15 @@ public class StandardMessagesExecutorStatisticsInfo extends AbstractWorkerStatis
      */
     public void messagesExecuteFinished(@NotNull final Message message) {
         final var channel = message.getChannelDescriptor();
-        channel.recordMessageExecuted(getOwner().getWorkerName(), System.currentTimeMillis() - getLastIterationStartedMs());
+        // В таймер - наносекунды: короткие (меньше мс) обработки не должны превращаться в 0
+        final var timeNanos = currentIterationNanosAgo();
+        this.metricMessagesExecuteTime.record(timeNanos, TimeUnit.NANOSECONDS);
+        channel.recordMessageExecutedNanos(
+                getOwner().getWorkerName(),
+                timeNanos,
+                currentIterationCpuTimeNanos(),
+                currentIterationAllocatedBytes()
+        );
     }
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,126 @@
+package ru.gx.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unused")
+@UtilityClass
+public class MetricsUtils {
+    /**
+     * Процентили, которые публикуются для распределений времени исполнения.
+     */
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * Время, в течение которого значение учитывается в скользящем окне процентилей.
+     */
+    public static final Duration PERCENTILES_EXPIRY = Duration.ofMinutes(1);
+
+    /**
+     * Количество частей, на которые делится скользящее окно процентилей.
+     */
+    public static final int PERCENTILES_BUFFER_LENGTH = 5;
+
+    /**
+     * Создание построителя таймера, который публикует процентили (p50, p90, p99, p999) по скользящему окну.
+     * Внутри Micrometer использует lock-free гистограмму, поэтому запись значений не требует синхронизации.
+     *
+     * @param name Имя метрики.
+     * @return Построитель таймера.
+     */
+    @NotNull
+    public static Timer.Builder timerWithPercentiles(@NotNull final String name) {
+        return Timer.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(PERCENTILES_EXPIRY)
+                .distributionStatisticBufferLength(PERCENTILES_BUFFER_LENGTH);
+    }
+
+    /**
+     * Создание построителя распределения значений, которое публикует процентили (p50, p90, p99, p999) по скользящему окну.
+     *
+     * @param name Имя метрики.
+     * @return Построитель распределения.
+     */
+    @NotNull
+    public static DistributionSummary.Builder summaryWithPercentiles(@NotNull final String name) {
+        return DistributionSummary.builder(name)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(PERCENTILES_EXPIRY)
+                .distributionStatisticBufferLength(PERCENTILES_BUFFER_LENGTH);
+    }
+
+    /**
+     * @param timer Таймер, созданный через {@link #timerWithPercentiles(String)}.
+     * @return Строковое представление процентилей (в мс) для вывода в лог.
+     */
+    @NotNull
+    public static String printablePercentilesMs(@NotNull final Timer timer) {
+        final var percentiles = timer.takeSnapshot().percentileValues();
+        if (percentiles.length == 0) {
+            return "NaN";
+        }
+        final var str = new StringBuilder();
+        for (ValueAtPercentile p : percentiles) {
+            if (str.length() > 0) {
+                str.append(", ");
+            }
+            str.append(percentileName(p.percentile()))
+                    .append(" = ")
+                    .append(String.format("%.3f", p.value(TimeUnit.MILLISECONDS)));
+        }
+        return str.toString();
+    }
+
+    /**
+     * @param timer Таймер, созданный через {@link #timerWithPercentiles(String)}.
+     * @return Процентили (в мс) по скользящему окну: p50 -> значение, ... Пустой, если процентили не публикуются.
+     */
+    @NotNull
+    public static Map<String, Double> percentilesMs(@NotNull final Timer timer) {
+        final var percentiles = timer.takeSnapshot().percentileValues();
+        final var result = new LinkedHashMap<String, Double>();
+        for (ValueAtPercentile p : percentiles) {
+            result.put(percentileName(p.percentile()), p.value(TimeUnit.MILLISECONDS));
+        }
+        return result;
+    }
+
+    /**
+     * @param summary Распределение, созданное через {@link #summaryWithPercentiles(String)}.
+     * @return Процентили по скользящему окну: p50 -> значение, ... Пустой, если процентили не публикуются.
+     */
+    @NotNull
+    public static Map<String, Double> percentiles(@NotNull final DistributionSummary summary) {
+        final var percentiles = summary.takeSnapshot().percentileValues();
+        final var result = new LinkedHashMap<String, Double>();
+        for (ValueAtPercentile p : percentiles) {
+            result.put(percentileName(p.percentile()), p.value());
+        }
+        return result;
+    }
+
+    /**
+     * @param percentile Значение процентиля: 0.5, 0.99, 0.999.
+     * @return Краткое имя процентиля: p50, p99, p999.
+     */
+    @NotNull
+    public static String percentileName(final double percentile) {
+        final var digits = BigDecimal.valueOf(percentile)
+                .movePointRight(2)
+                .stripTrailingZeros()
+                .toPlainString();
+        return "p" + digits.replace(".", "");
+    }
+}
@@ -0,0 +1,152 @@
+package ru.gx.core.metrics;
+
+import lombok.Getter;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счетчик с накоплением значений в скользящем окне времени.<br/>
+ * Окно разбито на корзины (buckets) фиксированной длительности, которые переиспользуются по кругу.
+ * Запись и чтение не требуют блокировок. При гонке на границе корзины возможна потеря одного значения,
+ * что допустимо для статистики.
+ */
+@SuppressWarnings("unused")
+public class SlidingWindowCounter {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Количество корзин в окне по умолчанию.
+     */
+    public static final int DEFAULT_BUCKETS_COUNT = 60;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Длительность окна (в мс).
+     */
+    @Getter
+    private final long windowMs;
+
+    /**
+     * Длительность одной корзины (в мс).
+     */
+    @Getter
+    private final long bucketMs;
+
+    /**
+     * Количество корзин.
+     */
+    private final int bucketsCount;
+
+    /**
+     * Накопленные значения в корзинах.
+     */
+    private final AtomicLongArray values;
+
+    /**
+     * Номер периода (now / bucketMs), к которому относится значение в корзине.
+     */
+    private final AtomicLongArray bucketEpochs;
+
+    /**
+     * Момент создания счетчика. Пока окно не заполнено, фактическая длительность окна меньше windowMs.
+     */
+    private final long createdMs;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public SlidingWindowCounter(final long windowMs, final int bucketsCount) {
+        if (bucketsCount < 2) {
+            throw new InvalidParameterException("BucketsCount can't be less 2!");
+        }
+        if (windowMs < bucketsCount) {
+            throw new InvalidParameterException("WindowMs can't be less bucketsCount!");
+        }
+        this.windowMs = windowMs;
+        this.bucketsCount = bucketsCount;
+        this.bucketMs = windowMs / bucketsCount;
+        this.values = new AtomicLongArray(bucketsCount);
+        this.bucketEpochs = new AtomicLongArray(bucketsCount);
+        for (var i = 0; i < bucketsCount; i++) {
+            this.bucketEpochs.set(i, -1);
+        }
+        this.createdMs = System.currentTimeMillis();
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Добавление значения в текущую корзину.
+     *
+     * @param value Значение.
+     */
+    public void add(final long value) {
+        add(System.currentTimeMillis(), value);
+    }
+
+    /**
+     * Добавление значения в корзину, соответствующую моменту nowMs.
+     *
+     * @param nowMs Момент времени, к которому относится значение.
+     * @param value Значение.
+     */
+    public void add(final long nowMs, final long value) {
+        final var epoch = nowMs / this.bucketMs;
+        final var index = (int) (epoch % this.bucketsCount);
+        final var bucketEpoch = this.bucketEpochs.get(index);
+        if (bucketEpoch < epoch && this.bucketEpochs.compareAndSet(index, bucketEpoch, epoch)) {
+            // Корзина устарела - начинаем ее заново
+            this.values.set(index, value);
+            return;
+        }
+        this.values.addAndGet(index, value);
+    }
+
+    /**
+     * @return Сумма значений в окне на текущий момент.
+     */
+    public long sum() {
+        return sum(System.currentTimeMillis());
+    }
+
+    /**
+     * @param nowMs Момент времени, на который требуется получить сумму.
+     * @return Сумма значений в окне на момент nowMs.
+     */
+    public long sum(final long nowMs) {
+        final var epoch = nowMs / this.bucketMs;
+        final var minEpoch = epoch - this.bucketsCount;
+        var result = 0L;
+        for (var i = 0; i < this.bucketsCount; i++) {
+            final var bucketEpoch = this.bucketEpochs.get(i);
+            if (bucketEpoch > minEpoch && bucketEpoch <= epoch) {
+                result += this.values.get(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param nowMs Момент времени.
+     * @return Фактическая длительность окна (в мс), за которую считается сумма на момент nowMs.
+     */
+    public long spanMs(final long nowMs) {
+        final var span = (this.bucketsCount - 1) * this.bucketMs + nowMs % this.bucketMs;
+        return Math.max(1, Math.min(span, nowMs - this.createdMs));
+    }
+
+    /**
+     * @return Среднее количество в секунду за окно на текущий момент.
+     */
+    public double ratePerSecond() {
+        final var now = System.currentTimeMillis();
+        return sum(now) * 1000.0 / spanMs(now);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,39 @@
+package ru.gx.core.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Скользящие окна, по которым публикуется оконная статистика.
+ */
+public enum StatisticsWindow {
+    OneMinute("1m", 60_000),
+    FiveMinutes("5m", 5 * 60_000),
+    FifteenMinutes("15m", 15 * 60_000);
+
+    /**
+     * Имя окна. Используется в ярлыке метрик и при выводе статистики.
+     */
+    @Getter
+    @NotNull
+    private final String windowName;
+
+    /**
+     * Длительность окна (в мс).
+     */
+    @Getter
+    private final long windowMs;
+
+    StatisticsWindow(@NotNull final String windowName, final long windowMs) {
+        this.windowName = windowName;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * @return Новый счетчик со скользящим окном данной длительности.
+     */
+    @NotNull
+    public SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(this.windowMs, SlidingWindowCounter.DEFAULT_BUCKETS_COUNT);
+    }
+}
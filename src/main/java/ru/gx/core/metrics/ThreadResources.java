@@ -0,0 +1,82 @@
+package ru.gx.core.metrics;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Доступ к показателям потребления ресурсов текущим потоком: процессорному времени и объему выделенной памяти.<br/>
+ * Используется расширение {@link com.sun.management.ThreadMXBean} (HotSpot/OpenJDK). Если JVM не поддерживает
+ * замер, то методы возвращают {@link #NOT_MEASURED}.
+ */
+@SuppressWarnings("unused")
+@Slf4j
+@UtilityClass
+public class ThreadResources {
+    /**
+     * Значение, возвращаемое в случае, если показатель не может быть измерен.
+     */
+    public static final long NOT_MEASURED = -1;
+
+    @Nullable
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = initThreadMXBean();
+
+    private static final boolean CPU_TIME_SUPPORTED =
+            THREAD_MX_BEAN != null && THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+    private static final boolean ALLOCATED_MEMORY_SUPPORTED =
+            THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported();
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean initThreadMXBean() {
+        try {
+            final var bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof final com.sun.management.ThreadMXBean sunBean)) {
+                log.warn("ThreadMXBean {} doesn't support cpu time and allocated memory measurement", bean.getClass().getName());
+                return null;
+            }
+            if (sunBean.isCurrentThreadCpuTimeSupported() && !sunBean.isThreadCpuTimeEnabled()) {
+                sunBean.setThreadCpuTimeEnabled(true);
+            }
+            if (sunBean.isThreadAllocatedMemorySupported() && !sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sunBean;
+        } catch (Throwable e) {
+            log.warn("Can't initialize ThreadMXBean", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return Поддерживается ли замер процессорного времени текущего потока.
+     */
+    public static boolean isCpuTimeSupported() {
+        return CPU_TIME_SUPPORTED;
+    }
+
+    /**
+     * @return Поддерживается ли замер объема памяти, выделенной текущим потоком.
+     */
+    public static boolean isAllocatedMemorySupported() {
+        return ALLOCATED_MEMORY_SUPPORTED;
+    }
+
+    /**
+     * @return Процессорное время (в нс), затраченное текущим потоком с момента его запуска,
+     * либо {@link #NOT_MEASURED}.
+     */
+    public static long currentThreadCpuTimeNanos() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : NOT_MEASURED;
+    }
+
+    /**
+     * @return Объем памяти (в байтах), выделенный текущим потоком с момента его запуска,
+     * либо {@link #NOT_MEASURED}.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return ALLOCATED_MEMORY_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : NOT_MEASURED;
+    }
+}
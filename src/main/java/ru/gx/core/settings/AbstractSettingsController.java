@@ -102,6 +102,19 @@ public abstract class AbstractSettingsController implements SettingsController {
         throw new ClassCastException("Can't get setting " + settingName + " as String. Setting class is " + value.getClass().getSimpleName());
     }
 
+    @Override
+    @NotNull
+    public Boolean getBooleanSetting(@NotNull final String settingName) throws ClassCastException {
+        final var value = getSetting(settingName);
+        if (value == null) {
+            throw new ClassCastException("Can't get setting " + settingName + " as Boolean. Setting is null!");
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw new ClassCastException("Can't get setting " + settingName + " as Boolean. Setting class is " + value.getClass().getSimpleName());
+    }
+
     /**
      * Изменение значения настройки.
      *
@@ -144,4 +157,17 @@ public abstract class AbstractSettingsController implements SettingsController {
         final var settingValue = this.getEnvironment().getProperty(settingName);
         setSetting(settingName, settingValue == null ? defaultValue : Integer.parseInt(settingValue));
     }
+
+    public void loadBooleanSetting(@NotNull String settingName) throws UnknownApplicationSettingException {
+        final var settingValue = this.getEnvironment().getProperty(settingName);
+        if (settingValue == null) {
+            throw new UnknownApplicationSettingException(settingName);
+        }
+        setSetting(settingName, Boolean.parseBoolean(settingValue));
+    }
+
+    public void loadBooleanSetting(@NotNull String settingName, @NotNull final Boolean defaultValue) {
+        final var settingValue = this.getEnvironment().getProperty(settingName);
+        setSetting(settingName, settingValue == null ? defaultValue : Boolean.parseBoolean(settingValue));
+    }
 }
\ No newline at end of file
@@ -24,6 +24,10 @@ public interface SettingsController {
     @NotNull
     String getStringSetting(@NotNull final String settingName) throws ClassCastException;
 
+    @SuppressWarnings("unused")
+    @NotNull
+    Boolean getBooleanSetting(@NotNull final String settingName) throws ClassCastException;
+
     /**
      * Установка нового значения настойки. Если значение изменяется, то бросается событие об изменении.
      * @param settingName название настройки.
@@ -0,0 +1,17 @@
+package ru.gx.core.simpleworker;
+
+/**
+ * Способ реагирования на пропущенные запуски (итерация длилась дольше периода, исполнитель был приостановлен и т.п.)
+ * в режимах FixedRate и Cron.
+ */
+public enum MissedFiringsBehavior {
+    /**
+     * Все пропущенные запуски объединяются в один запуск, который выполняется немедленно.
+     */
+    Coalesce,
+
+    /**
+     * Каждый пропущенный запуск выполняется отдельной итерацией, итерации идут подряд без простоя, пока не догонят расписание.
+     */
+    CatchUp
+}
@@ -22,6 +22,7 @@ public class SimpleWorker extends AbstractWorker {
         this.iterationExecuteEvent = new SimpleWorkerOnIterationExecuteEvent(this);
         this.startingExecuteEvent = new SimpleWorkerOnStartingExecuteEvent(this);
         this.stoppingExecuteEvent = new SimpleWorkerOnStoppingExecuteEvent(this);
+        this.scheduler = new SimpleWorkerScheduler(this);
     }
 
     /**
@@ -45,6 +46,34 @@ public class SimpleWorker extends AbstractWorker {
     @NotNull
     private final SimpleWorkerOnStoppingExecuteEvent stoppingExecuteEvent;
 
+    /**
+     * Планировщик итераций в режимах FixedRate, FixedDelay и Cron.
+     */
+    @Getter
+    @NotNull
+    private final SimpleWorkerScheduler scheduler;
+
+    @Override
+    @NotNull
+    public SimpleWorkerSettingsContainer getSettingsContainer() {
+        return (SimpleWorkerSettingsContainer) super.getSettingsContainer();
+    }
+
+    @Override
+    public SimpleWorkerStatisticsInfo getStatisticsInfo() {
+        return (SimpleWorkerStatisticsInfo) super.getStatisticsInfo();
+    }
+
+    @Override
+    protected long calcInitialIdleTimeMs() {
+        return Math.max(0, this.scheduler.initialIdleMs(System.currentTimeMillis()));
+    }
+
+    @Override
+    protected long calcIdleTimeMs(final long stepStartedMs) {
+        return this.scheduler.nextIdleMs(stepStartedMs, System.currentTimeMillis());
+    }
+
     @Override
     public void runnerIsLifeSet() {
         super.runnerIsLifeSet();
@@ -0,0 +1,27 @@
+package ru.gx.core.simpleworker;
+
+/**
+ * Режим планирования итераций SimpleWorker-а
+ */
+public enum SimpleWorkerScheduleMode {
+    /**
+     * Выполнить итерацию и выждать остаток minTimePerIterationMs (режим по умолчанию).
+     */
+    MinTimePerIteration,
+
+    /**
+     * Итерации запускаются с фиксированной частотой: моменты запуска отсчитываются от момента первого запуска
+     * с шагом periodMs и не "плывут" от длительности итераций.
+     */
+    FixedRate,
+
+    /**
+     * Между окончанием итерации и началом следующей выдерживается фиксированная пауза periodMs.
+     */
+    FixedDelay,
+
+    /**
+     * Итерации запускаются по cron-выражению (формат Spring: секунды минуты часы дни месяцы дни-недели).
+     */
+    Cron
+}
@@ -0,0 +1,246 @@
+package ru.gx.core.simpleworker;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import static lombok.AccessLevel.PROTECTED;
+
+/**
+ * Планировщик итераций SimpleWorker-а в режимах FixedRate, FixedDelay и Cron.<br/>
+ * Хранит плановый момент текущей итерации, по факту ее выполнения вычисляет плановый момент следующей,
+ * учитывает пропущенные запуски и фиксирует в статистике отставание от расписания.<br/>
+ * Используется только потоком Runner-а.
+ *
+ * @see SimpleWorkerScheduleMode
+ * @see MissedFiringsBehavior
+ */
+@Slf4j
+public class SimpleWorkerScheduler {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Ограничение на количество пропущенных запусков, которые перебираются при поиске ближайшего запуска.
+     */
+    private static final int MAX_MISSED_FIRINGS_SCAN = 100_000;
+
+    /**
+     * Значение планового момента, означающее "нет плана" (планировщик не инициализирован).
+     */
+    private static final long NOT_PLANNED = -1;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter(PROTECTED)
+    @NotNull
+    private final SimpleWorker owner;
+
+    /**
+     * Режим, с которым был инициализирован текущий план.
+     */
+    @Nullable
+    private SimpleWorkerScheduleMode mode;
+
+    /**
+     * Cron-выражение (исходная строка), с которым был инициализирован текущий план.
+     */
+    @Nullable
+    private String cronSource;
+
+    /**
+     * Временная зона (исходная строка), с которой был инициализирован текущий план.
+     */
+    @Nullable
+    private String zoneSource;
+
+    @Nullable
+    private CronExpression cron;
+
+    @NotNull
+    private ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Плановый момент запуска текущей (последней запущенной) итерации.
+     */
+    @Getter
+    private long plannedMs = NOT_PLANNED;
+
+    /**
+     * Последний плановый момент, который уже учтен как пропущенный.
+     */
+    private long lastMissedCountedMs = NOT_PLANNED;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public SimpleWorkerScheduler(@NotNull final SimpleWorker owner) {
+        this.owner = owner;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Вычисление простоя перед первой итерацией.
+     *
+     * @param nowMs Текущий момент.
+     * @return Время (в мс) простоя перед первой итерацией; -1, если планирование по расписанию выключено.
+     */
+    public long initialIdleMs(final long nowMs) {
+        if (!actualizeSettings()) {
+            return -1;
+        }
+        this.plannedMs = firstPlannedMs(nowMs);
+        return Math.max(0, this.plannedMs - nowMs);
+    }
+
+    /**
+     * Вычисление простоя перед следующей итерацией.
+     *
+     * @param stepStartedMs Момент начала выполненной итерации.
+     * @param nowMs         Текущий момент.
+     * @return Время (в мс) простоя перед следующей итерацией; -1, если планирование по расписанию выключено.
+     */
+    public long nextIdleMs(final long stepStartedMs, final long nowMs) {
+        if (!actualizeSettings()) {
+            return -1;
+        }
+        if (this.plannedMs == NOT_PLANNED) {
+            // Режим включили на ходу - считаем, что выполненная итерация была плановой
+            this.plannedMs = stepStartedMs;
+        }
+        getStatisticsInfo().recordScheduleLag(Math.max(0, stepStartedMs - this.plannedMs));
+
+        final var settings = getSettings();
+        if (this.mode == SimpleWorkerScheduleMode.FixedDelay) {
+            this.plannedMs = nowMs + settings.getSchedulePeriodMs();
+            return settings.getSchedulePeriodMs();
+        }
+
+        final var next = nextPlannedMs(this.plannedMs);
+        if (next > nowMs) {
+            this.plannedMs = next;
+            return next - nowMs;
+        }
+
+        // Отстаем от расписания: next <= nowMs. Ищем последний плановый момент, который уже наступил.
+        var missed = 1L;
+        var lastOverdue = next;
+        long candidate;
+        while (missed < MAX_MISSED_FIRINGS_SCAN && (candidate = nextPlannedMs(lastOverdue)) <= nowMs) {
+            lastOverdue = candidate;
+            missed++;
+        }
+        countMissed(next, lastOverdue, missed);
+
+        if (settings.getMissedFiringsBehavior() == MissedFiringsBehavior.Coalesce) {
+            if (missed > 1) {
+                getStatisticsInfo().recordCoalescedFirings(missed - 1);
+            }
+            this.plannedMs = lastOverdue;
+        } else {
+            this.plannedMs = next;
+        }
+        return 0;
+    }
+
+    /**
+     * Учет пропущенных запусков. Каждый плановый момент учитывается только один раз
+     * (в режиме CatchUp одни и те же моменты обнаруживаются на нескольких итерациях подряд).
+     */
+    private void countMissed(final long firstOverdueMs, final long lastOverdueMs, final long overdueCount) {
+        if (lastOverdueMs <= this.lastMissedCountedMs) {
+            return;
+        }
+        var newMissed = overdueCount;
+        if (firstOverdueMs <= this.lastMissedCountedMs) {
+            newMissed = 0;
+            var t = this.lastMissedCountedMs;
+            while (t < lastOverdueMs && newMissed < MAX_MISSED_FIRINGS_SCAN) {
+                t = nextPlannedMs(t);
+                newMissed++;
+            }
+        }
+        this.lastMissedCountedMs = lastOverdueMs;
+        getStatisticsInfo().recordMissedFirings(newMissed);
+        log.debug("Worker {}: missed {} firings", this.owner.getWorkerName(), newMissed);
+    }
+
+    private long firstPlannedMs(final long nowMs) {
+        if (this.mode == SimpleWorkerScheduleMode.Cron) {
+            return nextCronMs(nowMs);
+        }
+        return nowMs;
+    }
+
+    private long nextPlannedMs(final long plannedMs) {
+        if (this.mode == SimpleWorkerScheduleMode.Cron) {
+            return nextCronMs(plannedMs);
+        }
+        return plannedMs + getSettings().getSchedulePeriodMs();
+    }
+
+    private long nextCronMs(final long afterMs) {
+        final var after = ZonedDateTime.ofInstant(Instant.ofEpochMilli(afterMs), this.zone);
+        final var next = Objects.requireNonNull(this.cron).next(after);
+        if (next == null) {
+            log.warn("Worker {}: cron expression {} has no next firing after {}", this.owner.getWorkerName(), this.cronSource, after);
+            return Long.MAX_VALUE / 2;
+        }
+        return next.toInstant().toEpochMilli();
+    }
+
+    /**
+     * Сверка текущих настроек с теми, по которым построен план. При изменении настроек план строится заново.
+     *
+     * @return true - включен один из режимов планирования по расписанию.
+     */
+    private boolean actualizeSettings() {
+        final var settings = getSettings();
+        final var currentMode = settings.getScheduleMode();
+        if (currentMode == SimpleWorkerScheduleMode.MinTimePerIteration) {
+            this.mode = currentMode;
+            this.plannedMs = NOT_PLANNED;
+            return false;
+        }
+
+        final var currentCron = settings.getScheduleCron();
+        final var currentZone = settings.getScheduleZone();
+        if (currentMode != this.mode
+                || !Objects.equals(currentCron, this.cronSource)
+                || !Objects.equals(currentZone, this.zoneSource)) {
+            if (currentMode == SimpleWorkerScheduleMode.Cron) {
+                this.cron = CronExpression.parse(currentCron);
+            }
+            this.zone = currentZone.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(currentZone);
+            this.mode = currentMode;
+            this.cronSource = currentCron;
+            this.zoneSource = currentZone;
+            this.plannedMs = NOT_PLANNED;
+            this.lastMissedCountedMs = NOT_PLANNED;
+            log.info("Worker {}: schedule mode = {}, cron = {}, zone = {}", this.owner.getWorkerName(), currentMode, currentCron, this.zone);
+        }
+        return true;
+    }
+
+    @NotNull
+    private SimpleWorkerSettingsContainer getSettings() {
+        return this.owner.getSettingsContainer();
+    }
+
+    @NotNull
+    private SimpleWorkerStatisticsInfo getStatisticsInfo() {
+        return this.owner.getStatisticsInfo();
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -6,8 +6,12 @@ import ru.gx.core.settings.StandardSettingsController;
 import ru.gx.core.worker.AbstractWorkerSettingsContainer;
 import ru.gx.core.settings.UnknownApplicationSettingException;
 import ru.gx.core.worker.CommonWorkerSettingsDefaults;
+import ru.gx.core.config.ConfigurationPropertiesService.SimpleWorkerSchedule;
+import org.springframework.scheduling.support.CronExpression;
 
 import javax.annotation.PostConstruct;
+import java.security.InvalidParameterException;
+import java.time.ZoneId;
 
 import static lombok.AccessLevel.PROTECTED;
 
@@ -19,6 +23,21 @@ public class SimpleWorkerSettingsContainer extends AbstractWorkerSettingsContain
     private final static String SETTING_MIN_TIME_PER_ITERATION_MS = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.MIN_TIME_PER_ITERATION_MS;
     private final static String SETTING_TIMOUT_RUNNER_LIFE_MS = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.TIMEOUT_RUNNER_LIFE_MS;
     private final static String SETTING_PRINT_STATISTICS_EVERY_MS = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.PRINT_STATISTICS_EVERY_MS;
+    private final static String SETTING_MEASURE_THREAD_RESOURCES = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.MEASURE_THREAD_RESOURCES;
+    private final static String SETTING_ADAPTIVE_IDLE = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE;
+    private final static String SETTING_ADAPTIVE_IDLE_SPIN_COUNT = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_SPIN_COUNT;
+    private final static String SETTING_ADAPTIVE_IDLE_YIELD_COUNT = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_YIELD_COUNT;
+    private final static String SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.ADAPTIVE_IDLE_MIN_PARK_MCS;
+    private final static String SETTING_LEASE_ENABLED = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_ENABLED;
+    private final static String SETTING_LEASE_NAME = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_NAME;
+    private final static String SETTING_LEASE_PERIOD_MS = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.LEASE_PERIOD_MS;
+    private final static String SETTING_PUBLISH_ITERATION_EVENT = SIMPLE_WORKER_SETTINGS_PREFIX + "." + AbstractWorkerSettingsContainer.PUBLISH_ITERATION_EVENT;
+
+    private final static String SETTING_SCHEDULE_MODE = SIMPLE_WORKER_SETTINGS_PREFIX + ".schedule.mode";
+    private final static String SETTING_SCHEDULE_PERIOD_MS = SIMPLE_WORKER_SETTINGS_PREFIX + ".schedule.period-ms";
+    private final static String SETTING_SCHEDULE_CRON = SIMPLE_WORKER_SETTINGS_PREFIX + ".schedule.cron";
+    private final static String SETTING_SCHEDULE_ZONE = SIMPLE_WORKER_SETTINGS_PREFIX + ".schedule.zone";
+    private final static String SETTING_SCHEDULE_MISSED_FIRINGS = SIMPLE_WORKER_SETTINGS_PREFIX + ".schedule.missed-firings";
 
     @Getter(PROTECTED)
     @NotNull
@@ -35,6 +54,39 @@ public class SimpleWorkerSettingsContainer extends AbstractWorkerSettingsContain
         this.standardSettingsController.loadIntegerSetting(SETTING_MIN_TIME_PER_ITERATION_MS, CommonWorkerSettingsDefaults.MIN_TIME_PER_ITERATION_MS_DEFAULT);
         this.standardSettingsController.loadIntegerSetting(SETTING_TIMOUT_RUNNER_LIFE_MS, CommonWorkerSettingsDefaults.TIMEOUT_RUNNER_LIFE_MS_DEFAULT);
         this.standardSettingsController.loadIntegerSetting(SETTING_PRINT_STATISTICS_EVERY_MS, CommonWorkerSettingsDefaults.PRINT_STATISTICS_EVERY_MS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_MEASURE_THREAD_RESOURCES, CommonWorkerSettingsDefaults.MEASURE_THREAD_RESOURCES_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_ADAPTIVE_IDLE, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_SPIN_COUNT, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_SPIN_COUNT_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_YIELD_COUNT, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_YIELD_COUNT_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS, CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_MIN_PARK_MCS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_LEASE_ENABLED, CommonWorkerSettingsDefaults.LEASE_ENABLED_DEFAULT);
+        this.standardSettingsController.loadStringSetting(SETTING_LEASE_NAME, CommonWorkerSettingsDefaults.LEASE_NAME_DEFAULT);
+        this.standardSettingsController.loadIntegerSetting(SETTING_LEASE_PERIOD_MS, CommonWorkerSettingsDefaults.LEASE_PERIOD_MS_DEFAULT);
+        this.standardSettingsController.loadBooleanSetting(SETTING_PUBLISH_ITERATION_EVENT, CommonWorkerSettingsDefaults.PUBLISH_ITERATION_EVENT_DEFAULT);
+
+        this.standardSettingsController.loadStringSetting(SETTING_SCHEDULE_MODE, SimpleWorkerSchedule.MODE_DEFAULT.name());
+        this.standardSettingsController.loadIntegerSetting(SETTING_SCHEDULE_PERIOD_MS, SimpleWorkerSchedule.PERIOD_MS_DEFAULT);
+        this.standardSettingsController.loadStringSetting(SETTING_SCHEDULE_CRON, SimpleWorkerSchedule.CRON_DEFAULT);
+        this.standardSettingsController.loadStringSetting(SETTING_SCHEDULE_ZONE, SimpleWorkerSchedule.ZONE_DEFAULT);
+        this.standardSettingsController.loadStringSetting(SETTING_SCHEDULE_MISSED_FIRINGS, SimpleWorkerSchedule.MISSED_FIRINGS_DEFAULT.name());
+        checkSchedule();
+    }
+
+    /**
+     * Проверка корректности настроек расписания при старте, чтобы ошибка в cron-выражении
+     * не проявилась только в потоке исполнителя.
+     */
+    private void checkSchedule() {
+        getMissedFiringsBehavior();
+        final var zone = getScheduleZone();
+        if (!zone.isEmpty()) {
+            ZoneId.of(zone);
+        }
+        if (getScheduleMode() == SimpleWorkerScheduleMode.Cron) {
+            CronExpression.parse(getScheduleCron());
+        } else if (getScheduleMode() != SimpleWorkerScheduleMode.MinTimePerIteration && getSchedulePeriodMs() <= 0) {
+            throw new InvalidParameterException("Setting " + SETTING_SCHEDULE_PERIOD_MS + " must be positive!");
+        }
     }
 
     @Override
@@ -61,4 +113,88 @@ public class SimpleWorkerSettingsContainer extends AbstractWorkerSettingsContain
     public int getPrintStatisticsEveryMs() {
         return this.standardSettingsController.getIntegerSetting(SETTING_PRINT_STATISTICS_EVERY_MS);
     }
+
+    @Override
+    public boolean isMeasureThreadResources() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_MEASURE_THREAD_RESOURCES);
+    }
+
+    @Override
+    public boolean isAdaptiveIdle() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_ADAPTIVE_IDLE);
+    }
+
+    @Override
+    public int getAdaptiveIdleSpinCount() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_SPIN_COUNT);
+    }
+
+    @Override
+    public int getAdaptiveIdleYieldCount() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_YIELD_COUNT);
+    }
+
+    @Override
+    public int getAdaptiveIdleMinParkMcs() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_ADAPTIVE_IDLE_MIN_PARK_MCS);
+    }
+
+    @Override
+    public boolean isLeaseEnabled() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_LEASE_ENABLED);
+    }
+
+    @Override
+    public String getLeaseName() {
+        return this.standardSettingsController.getStringSetting(SETTING_LEASE_NAME);
+    }
+
+    @Override
+    public int getLeasePeriodMs() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_LEASE_PERIOD_MS);
+    }
+
+    @Override
+    public boolean isPublishIterationEvent() {
+        return this.standardSettingsController.getBooleanSetting(SETTING_PUBLISH_ITERATION_EVENT);
+    }
+
+    /**
+     * @return Режим планирования итераций.
+     */
+    @NotNull
+    public SimpleWorkerScheduleMode getScheduleMode() {
+        return SimpleWorkerScheduleMode.valueOf(this.standardSettingsController.getStringSetting(SETTING_SCHEDULE_MODE));
+    }
+
+    /**
+     * @return Период (в мс) для режимов {@link SimpleWorkerScheduleMode#FixedRate} и {@link SimpleWorkerScheduleMode#FixedDelay}.
+     */
+    public int getSchedulePeriodMs() {
+        return this.standardSettingsController.getIntegerSetting(SETTING_SCHEDULE_PERIOD_MS);
+    }
+
+    /**
+     * @return Cron-выражение для режима {@link SimpleWorkerScheduleMode#Cron}.
+     */
+    @NotNull
+    public String getScheduleCron() {
+        return this.standardSettingsController.getStringSetting(SETTING_SCHEDULE_CRON);
+    }
+
+    /**
+     * @return Временная зона для cron-выражения. Пустая строка - зона по умолчанию.
+     */
+    @NotNull
+    public String getScheduleZone() {
+        return this.standardSettingsController.getStringSetting(SETTING_SCHEDULE_ZONE);
+    }
+
+    /**
+     * @return Способ реагирования на пропущенные запуски.
+     */
+    @NotNull
+    public MissedFiringsBehavior getMissedFiringsBehavior() {
+        return MissedFiringsBehavior.valueOf(this.standardSettingsController.getStringSetting(SETTING_SCHEDULE_MISSED_FIRINGS));
+    }
 }
@@ -1,12 +1,122 @@
 package ru.gx.core.simpleworker;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import ru.gx.core.metrics.MetricsUtils;
 import ru.gx.core.worker.AbstractWorker;
 import ru.gx.core.worker.AbstractWorkerStatisticsInfo;
 
+import java.util.concurrent.TimeUnit;
+
+import static lombok.AccessLevel.PROTECTED;
+
 public class SimpleWorkerStatisticsInfo extends AbstractWorkerStatisticsInfo {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Отставание фактического начала итерации от планового (в режимах планирования по расписанию).
+     */
+    public static final String METRIC_SCHEDULE_LAG = "schedule.lag";
+
+    /**
+     * Количество запусков по расписанию, которые не были выполнены вовремя.
+     */
+    public static final String METRIC_SCHEDULE_MISSED_FIRINGS = "schedule.missed-firings";
+
+    /**
+     * Количество пропущенных запусков, объединенных с другими (режим {@link MissedFiringsBehavior#Coalesce}).
+     */
+    public static final String METRIC_SCHEDULE_COALESCED_FIRINGS = "schedule.coalesced-firings";
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Метрика: отставание от расписания (с процентилями по скользящему окну).
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Timer metricScheduleLag;
+
+    /**
+     * Метрика: количество запусков, не выполненных вовремя.
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Counter metricScheduleMissedFirings;
+
+    /**
+     * Метрика: количество запусков, объединенных с другими.
+     */
+    @Getter(PROTECTED)
+    @NotNull
+    private final Counter metricScheduleCoalescedFirings;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
     public SimpleWorkerStatisticsInfo(@NotNull AbstractWorker worker, @NotNull MeterRegistry meterRegistry) {
         super(worker, meterRegistry);
+        this.metricScheduleLag = MetricsUtils.timerWithPercentiles(METRIC_SCHEDULE_LAG)
+                .tags(this.getMetricsTags())
+                .register(this.getMeterRegistry());
+        this.metricScheduleMissedFirings = Counter.builder(METRIC_SCHEDULE_MISSED_FIRINGS)
+                .tags(this.getMetricsTags())
+                .register(this.getMeterRegistry());
+        this.metricScheduleCoalescedFirings = Counter.builder(METRIC_SCHEDULE_COALESCED_FIRINGS)
+                .tags(this.getMetricsTags())
+                .register(this.getMeterRegistry());
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Getters">
+    @Override
+    public String getPrintableInfo() {
+        if (this.metricScheduleLag.count() == 0) {
+            return super.getPrintableInfo();
+        }
+        return super.getPrintableInfo() + '\n' +
+                "Schedule: missedFirings = " +
+                (long) this.metricScheduleMissedFirings.count() +
+                ", coalescedFirings = " +
+                (long) this.metricScheduleCoalescedFirings.count() +
+                ", lag percentilesMs: {" +
+                MetricsUtils.printablePercentilesMs(this.metricScheduleLag) +
+                "}";
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Logic">
+
+    /**
+     * @param lagMs Отставание (в мс) фактического начала итерации от планового.
+     */
+    public void recordScheduleLag(final long lagMs) {
+        this.metricScheduleLag.record(lagMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param count Количество запусков, не выполненных вовремя.
+     */
+    public void recordMissedFirings(final long count) {
+        if (count > 0) {
+            this.metricScheduleMissedFirings.increment(count);
+        }
+    }
+
+    /**
+     * @param count Количество запусков, объединенных с другими.
+     */
+    public void recordCoalescedFirings(final long count) {
+        if (count > 0) {
+            this.metricScheduleCoalescedFirings.increment(count);
+        }
     }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
 }
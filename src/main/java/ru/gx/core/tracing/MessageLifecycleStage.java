@@ -0,0 +1,33 @@
+package ru.gx.core.tracing;
+
+/**
+ * Этапы жизненного цикла сообщения, моменты которых фиксируются при трассировке (в порядке прохождения).
+ *
+ * @see MessageTrace
+ */
+public enum MessageLifecycleStage {
+    /**
+     * Сообщение создано фабрикой сообщений.
+     */
+    Created,
+
+    /**
+     * Сообщение помещено в очередь (приоритезированную очередь либо полосу исполнителя с упорядочиванием по ключу).
+     */
+    Enqueued,
+
+    /**
+     * Сообщение извлечено из очереди исполнителем.
+     */
+    Dequeued,
+
+    /**
+     * Начата обработка сообщения обработчиком.
+     */
+    HandlerStarted,
+
+    /**
+     * Обработка сообщения обработчиком завершена.
+     */
+    HandlerFinished
+}
@@ -0,0 +1,167 @@
+package ru.gx.core.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.messaging.Message;
+import ru.gx.core.metrics.MetricsUtils;
+
+import java.security.InvalidParameterException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static lombok.AccessLevel.PROTECTED;
+import static ru.gx.core.worker.StatisticsInfo.METRIC_TAG_CHANNEL_NAME;
+
+/**
+ * Трассировщик жизненного цикла сообщений: принимает решение о выборке (sampling),
+ * хранит трассы в {@link MessageTracesStore} и по завершении обработки записывает
+ * в гистограммы длительности переходов между этапами.<br/>
+ * Если трассируется родитель (сообщение с id = parentId), то дочернее сообщение трассируется всегда,
+ * чтобы цепочки не рвались.<br/>
+ * Вызывается через {@link MessageTracing}.
+ */
+@SuppressWarnings("unused")
+public class MessageLifecycleTracer {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Длительность перехода к этапу (от предыдущего пройденного этапа). Теги: stage, channel.
+     */
+    public static final String METRIC_LIFECYCLE_STAGE = "message.lifecycle.stage";
+
+    /**
+     * Длительность от начала трассы до завершения обработки. Тег: channel.
+     */
+    public static final String METRIC_LIFECYCLE_TOTAL = "message.lifecycle.total";
+
+    public static final String METRIC_TAG_STAGE = "stage";
+
+    private static final MessageLifecycleStage[] STAGES = MessageLifecycleStage.values();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter(PROTECTED)
+    @NotNull
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Доля трассируемых сообщений (0..1).
+     */
+    @Getter
+    private final double sampleRate;
+
+    @Getter
+    @NotNull
+    private final MessageTracesStore store;
+
+    /**
+     * Метрики по каналам: для каждого канала - таймеры этапов и общий таймер (под индексом длины массива этапов).
+     */
+    @NotNull
+    private final Map<String, Timer[]> channelsTimers = new ConcurrentHashMap<>();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public MessageLifecycleTracer(
+            @NotNull final MeterRegistry meterRegistry,
+            final double sampleRate,
+            final int storeCapacity
+    ) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new InvalidParameterException("SampleRate has to be in range 0..1!");
+        }
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.store = new MessageTracesStore(storeCapacity);
+    }
+
+    /**
+     * Снятие трассировщика, если установлен именно он. В автоконфигурации - destroy-метод бина.
+     */
+    public void close() {
+        if (MessageTracing.getTracer() == this) {
+            MessageTracing.install(null);
+        }
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Начало трассы, если сообщение попадает в выборку.
+     *
+     * @param message    Сообщение (трассы в метаданных еще нет).
+     * @param firstStage Первый наблюдаемый этап.
+     * @return Трасса либо null, если сообщение не трассируется.
+     */
+    @Nullable
+    public MessageTrace startIfSampled(@NotNull final Message<?> message, @NotNull final MessageLifecycleStage firstStage) {
+        final var header = message.getHeader();
+        final var parentId = header.getParentId();
+        if (!isSampled(parentId)) {
+            return null;
+        }
+        final var trace = new MessageTrace(header.getId(), parentId, header.getType(), firstStage);
+        message.putMetadata(MessageTracing.METADATA_TRACE, trace);
+        this.store.put(trace);
+        return trace;
+    }
+
+    protected boolean isSampled(@Nullable final String parentId) {
+        if (parentId != null && this.store.contains(parentId)) {
+            return true;
+        }
+        return this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+    /**
+     * Завершение трассы: фиксация этапа {@link MessageLifecycleStage#HandlerFinished} и запись метрик.
+     */
+    public void finish(@NotNull final MessageTrace trace, @Nullable final ChannelHandlerDescriptor descriptor, final boolean success) {
+        if (descriptor != null) {
+            trace.setChannelName(descriptor.getChannelName());
+        }
+        trace.finish(success);
+
+        final var channelName = trace.getChannelName();
+        final var timers = this.channelsTimers.computeIfAbsent(channelName != null ? channelName : "", this::createTimers);
+        var prevOffset = MessageTrace.NOT_REACHED;
+        for (final var stage : STAGES) {
+            final var offset = trace.getOffsetMicros(stage);
+            if (offset == MessageTrace.NOT_REACHED) {
+                continue;
+            }
+            if (prevOffset != MessageTrace.NOT_REACHED) {
+                timers[stage.ordinal()].record(Math.max(0, offset - prevOffset), TimeUnit.MICROSECONDS);
+            }
+            prevOffset = offset;
+        }
+        timers[STAGES.length].record(trace.getTotalMicros(), TimeUnit.MICROSECONDS);
+    }
+
+    @NotNull
+    private Timer[] createTimers(@NotNull final String channelName) {
+        final var result = new Timer[STAGES.length + 1];
+        for (final var stage : STAGES) {
+            result[stage.ordinal()] = MetricsUtils.timerWithPercentiles(METRIC_LIFECYCLE_STAGE)
+                    .tag(METRIC_TAG_STAGE, stage.name())
+                    .tag(METRIC_TAG_CHANNEL_NAME, channelName)
+                    .register(this.meterRegistry);
+        }
+        result[STAGES.length] = MetricsUtils.timerWithPercentiles(METRIC_LIFECYCLE_TOTAL)
+                .tag(METRIC_TAG_CHANNEL_NAME, channelName)
+                .register(this.meterRegistry);
+        return result;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,167 @@
+package ru.gx.core.tracing;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Трасса жизненного цикла одного сообщения.<br/>
+ * Хранится в метаданных сообщения ({@link MessageTracing#METADATA_TRACE}) в компактном виде:
+ * момент начала трассы и смещения (в мкс) моментов этапов {@link MessageLifecycleStage} относительно него.<br/>
+ * Этапы фиксируются потоками, которые передают друг другу сообщение через очереди, поэтому синхронизация не требуется.
+ */
+@SuppressWarnings("unused")
+public class MessageTrace {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Constants">
+    /**
+     * Смещение этапа, который не был пройден.
+     */
+    public static final int NOT_REACHED = -1;
+
+    private static final MessageLifecycleStage[] STAGES = MessageLifecycleStage.values();
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter
+    @NotNull
+    private final String messageId;
+
+    @Getter
+    @Nullable
+    private final String parentId;
+
+    @Getter
+    @NotNull
+    private final String messageType;
+
+    /**
+     * Имя канала. Известно, начиная с помещения сообщения в очередь.
+     */
+    @Getter
+    @Nullable
+    private volatile String channelName;
+
+    /**
+     * Момент начала трассы (в мс, для отображения).
+     */
+    @Getter
+    private final long startedMs;
+
+    /**
+     * Момент начала трассы по {@link System#nanoTime()} (для вычисления смещений).
+     */
+    private final long startedNanos;
+
+    /**
+     * Смещения (в мкс) моментов этапов относительно начала трассы. Индекс - {@link MessageLifecycleStage#ordinal()}.
+     */
+    @NotNull
+    private final int[] offsetsMicros;
+
+    /**
+     * Результат обработки. null - обработка не завершена.
+     */
+    @Getter
+    @Nullable
+    private volatile Boolean success;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public MessageTrace(
+            @NotNull final String messageId,
+            @Nullable final String parentId,
+            @NotNull final String messageType,
+            @NotNull final MessageLifecycleStage firstStage
+    ) {
+        this.messageId = messageId;
+        this.parentId = parentId;
+        this.messageType = messageType;
+        this.startedMs = System.currentTimeMillis();
+        this.startedNanos = System.nanoTime();
+        this.offsetsMicros = new int[STAGES.length];
+        Arrays.fill(this.offsetsMicros, NOT_REACHED);
+        this.offsetsMicros[firstStage.ordinal()] = 0;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Фиксация момента этапа. Повторное прохождение этапа (например, после возврата сообщения в очередь) перезаписывает момент.
+     *
+     * @param stage Этап.
+     */
+    public void mark(@NotNull final MessageLifecycleStage stage) {
+        final var micros = (System.nanoTime() - this.startedNanos) / 1000;
+        this.offsetsMicros[stage.ordinal()] = (int) Math.min(Integer.MAX_VALUE, micros);
+    }
+
+    void setChannelName(@Nullable final String channelName) {
+        this.channelName = channelName;
+    }
+
+    void finish(final boolean success) {
+        mark(MessageLifecycleStage.HandlerFinished);
+        this.success = success;
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Getters">
+
+    /**
+     * @param stage Этап.
+     * @return Смещение (в мкс) момента этапа относительно начала трассы; {@link #NOT_REACHED} - этап не пройден.
+     */
+    public int getOffsetMicros(@NotNull final MessageLifecycleStage stage) {
+        return this.offsetsMicros[stage.ordinal()];
+    }
+
+    /**
+     * @return Длительность (в мкс) от начала трассы до последнего пройденного этапа.
+     */
+    public int getTotalMicros() {
+        var result = 0;
+        for (final var offset : this.offsetsMicros) {
+            result = Math.max(result, offset);
+        }
+        return result;
+    }
+
+    /**
+     * @return Завершена ли обработка сообщения.
+     */
+    public boolean isFinished() {
+        return this.success != null;
+    }
+
+    /**
+     * @return Компактное представление: {@code <id> <type> [<channel>] Created=0 Enqueued=15 ... (us)}.
+     */
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder()
+                .append(this.messageId).append(' ')
+                .append(this.messageType).append(" [")
+                .append(this.channelName).append(']');
+        for (final var stage : STAGES) {
+            final var offset = this.offsetsMicros[stage.ordinal()];
+            if (offset != NOT_REACHED) {
+                sb.append(' ').append(stage).append('=').append(offset);
+            }
+        }
+        sb.append(" (us)");
+        if (this.success != null) {
+            sb.append(this.success ? " OK" : " FAILED");
+        }
+        return sb.toString();
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,127 @@
+package ru.gx.core.tracing;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.InvalidParameterException;
+import java.util.*;
+
+/**
+ * Хранилище последних трасс сообщений в памяти (ограниченное по количеству, старые трассы вытесняются).<br/>
+ * Трасса попадает в хранилище в момент начала трассировки (а не по завершении обработки),
+ * чтобы дочерние сообщения, созданные во время обработки родителя, могли найти его трассу по parentId.
+ */
+@SuppressWarnings("unused")
+public class MessageTracesStore {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    @Getter
+    private final int capacity;
+
+    /**
+     * Трассы по идентификаторам сообщений в порядке начала трассировки. Доступ - под монитором самого объекта.
+     */
+    @NotNull
+    private final LinkedHashMap<String, MessageTrace> traces;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public MessageTracesStore(final int capacity) {
+        if (capacity < 1) {
+            throw new InvalidParameterException("Capacity can't be less 1!");
+        }
+        this.capacity = capacity;
+        this.traces = new LinkedHashMap<>(Math.min(capacity, 1024) * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MessageTrace> eldest) {
+                return size() > MessageTracesStore.this.capacity;
+            }
+        };
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+    public void put(@NotNull final MessageTrace trace) {
+        synchronized (this.traces) {
+            this.traces.put(trace.getMessageId(), trace);
+        }
+    }
+
+    @Nullable
+    public MessageTrace get(@NotNull final String messageId) {
+        synchronized (this.traces) {
+            return this.traces.get(messageId);
+        }
+    }
+
+    public boolean contains(@NotNull final String messageId) {
+        synchronized (this.traces) {
+            return this.traces.containsKey(messageId);
+        }
+    }
+
+    public int size() {
+        synchronized (this.traces) {
+            return this.traces.size();
+        }
+    }
+
+    /**
+     * Восстановление цепочки по parentId: от самого раннего известного предка до сообщения.
+     *
+     * @param messageId Идентификатор сообщения.
+     * @return Цепочка трасс (пустая, если трассы сообщения нет в хранилище).
+     */
+    @NotNull
+    public List<MessageTrace> getChain(@NotNull final String messageId) {
+        synchronized (this.traces) {
+            return internalGetChain(this.traces.get(messageId));
+        }
+    }
+
+    /**
+     * Поиск самых медленных завершенных обработок с цепочками их предков.
+     *
+     * @param minTotalMicros Минимальная длительность (в мкс) трассы от начала до завершения обработки.
+     * @param limit          Максимальное количество цепочек в результате.
+     * @return Цепочки (от предка к медленному сообщению), упорядоченные по убыванию длительности последнего звена.
+     */
+    @NotNull
+    public List<List<MessageTrace>> getSlowChains(final long minTotalMicros, final int limit) {
+        synchronized (this.traces) {
+            final var slow = new ArrayList<MessageTrace>();
+            for (final var trace : this.traces.values()) {
+                if (trace.isFinished() && trace.getTotalMicros() >= minTotalMicros) {
+                    slow.add(trace);
+                }
+            }
+            slow.sort(Comparator.comparingInt(MessageTrace::getTotalMicros).reversed());
+            final var result = new ArrayList<List<MessageTrace>>(Math.min(limit, slow.size()));
+            for (var i = 0; i < slow.size() && i < limit; i++) {
+                result.add(internalGetChain(slow.get(i)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Вызывается под монитором. Защищено от циклов в parentId.
+     */
+    @NotNull
+    private List<MessageTrace> internalGetChain(@Nullable MessageTrace trace) {
+        final var result = new ArrayList<MessageTrace>();
+        final var visited = new HashSet<String>();
+        while (trace != null && visited.add(trace.getMessageId())) {
+            result.add(trace);
+            final var parentId = trace.getParentId();
+            trace = parentId != null ? this.traces.get(parentId) : null;
+        }
+        Collections.reverse(result);
+        return result;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,85 @@
+package ru.gx.core.tracing;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.messaging.Message;
+
+/**
+ * Точки фиксации этапов жизненного цикла сообщений (вызываются фабрикой сообщений, очередями и исполнителями).<br/>
+ * Пока трассировщик не установлен ({@link #install(MessageLifecycleTracer)}), каждая точка стоит одно чтение volatile-поля.
+ * Для трассируемых сообщений трасса ({@link MessageTrace}) лежит в метаданных под ключом {@link #METADATA_TRACE}.<br/>
+ * Трасса начинается на этапе {@link MessageLifecycleStage#Created} либо, для сообщений, созданных не фабрикой
+ * (например, десериализованных), на этапе {@link MessageLifecycleStage#Enqueued}.
+ */
+@UtilityClass
+@SuppressWarnings("unused")
+public class MessageTracing {
+    /**
+     * Ключ метаданных, под которым хранится трасса сообщения.
+     */
+    public static final String METADATA_TRACE = "gx-trace";
+
+    @Nullable
+    private static volatile MessageLifecycleTracer tracer;
+
+    public static void install(@Nullable final MessageLifecycleTracer value) {
+        tracer = value;
+    }
+
+    @Nullable
+    public static MessageLifecycleTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * @return Трасса сообщения либо null, если сообщение не трассируется.
+     */
+    @Nullable
+    public static MessageTrace getTrace(@NotNull final Message<?> message) {
+        return message.getMetadataValue(METADATA_TRACE) instanceof final MessageTrace trace ? trace : null;
+    }
+
+    /**
+     * Фиксация создания сообщения фабрикой.
+     */
+    public static void onCreated(@NotNull final Message<?> message) {
+        final var current = tracer;
+        if (current != null) {
+            current.startIfSampled(message, MessageLifecycleStage.Created);
+        }
+    }
+
+    /**
+     * Фиксация этапа {@link MessageLifecycleStage#Enqueued}, {@link MessageLifecycleStage#Dequeued}
+     * либо {@link MessageLifecycleStage#HandlerStarted}.
+     *
+     * @param message Сообщение. Объекты, не являющиеся {@link Message}, не трассируются.
+     */
+    public static void onStage(@NotNull final Object message, @NotNull final MessageLifecycleStage stage) {
+        final var current = tracer;
+        if (current == null || !(message instanceof final Message<?> typedMessage)) {
+            return;
+        }
+        final var trace = getTrace(typedMessage);
+        if (trace != null) {
+            trace.mark(stage);
+        } else if (stage == MessageLifecycleStage.Enqueued) {
+            current.startIfSampled(typedMessage, stage);
+        }
+    }
+
+    /**
+     * Фиксация завершения обработки сообщения и запись метрик по этапам.
+     */
+    public static void onFinished(@NotNull final Object message, final boolean success) {
+        final var current = tracer;
+        if (current == null || !(message instanceof final Message<?> typedMessage)) {
+            return;
+        }
+        final var trace = getTrace(typedMessage);
+        if (trace != null) {
+            current.finish(trace, typedMessage.handleReady() ? typedMessage.getChannelDescriptor() : null, success);
+        }
+    }
+}
@@ -6,9 +6,16 @@ import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import ru.gx.core.jfr.WorkerIdleJfrEvent;
+import ru.gx.core.jfr.WorkerIterationJfrEvent;
+import ru.gx.core.jfr.WorkerRestartJfrEvent;
+import ru.gx.core.leases.WorkerLeaseStore;
 
 import javax.annotation.PostConstruct;
+import java.util.Arrays;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ExecutorService;
@@ -16,6 +23,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import static lombok.AccessLevel.PROTECTED;
 
@@ -45,6 +53,16 @@ public abstract class AbstractWorker implements Worker {
      */
     private final Object restartingMonitor = new Object();
 
+    /**
+     * Монитор "шлагбаума", на котором Runner ждет, пока исполнитель приостановлен
+     */
+    private final Object pauseMonitor = new Object();
+
+    /**
+     * Монитор для операций с арендой
+     */
+    private final Object leaseMonitor = new Object();
+
     /**
      * Реестр метрик
      */
@@ -80,6 +98,14 @@ public abstract class AbstractWorker implements Worker {
     @Setter(PROTECTED)
     private volatile boolean autoRestart;
 
+    /**
+     * Признак того, что исполнитель приостановлен.
+     *
+     * @see #pause()
+     * @see #resume()
+     */
+    private volatile boolean paused;
+
     private final AtomicReference<ExecutorService> executorService = new AtomicReference<>();
 
     /**
@@ -120,6 +146,47 @@ public abstract class AbstractWorker implements Worker {
     @Getter
     private volatile long lastRunnerLifeCheckedMs = 0;
 
+    /**
+     * Хранилище аренд. Требуется, если включена настройка {@link WorkerSettingsContainer#isLeaseEnabled()}.
+     */
+    @Getter
+    @Nullable
+    private volatile WorkerLeaseStore leaseStore;
+
+    /**
+     * Идентификатор данного экземпляра как владельца аренды.
+     */
+    @Getter
+    @NotNull
+    private final String leaseOwnerId = WorkerLeaseStore.newOwnerId();
+
+    /**
+     * Момент, до которого аренда гарантированно принадлежит данному экземпляру. 0 - аренды нет.
+     */
+    private volatile long leaseValidUntilMs = 0;
+
+    /**
+     * Обработчики итераций, вызываемые напрямую. Массив заменяется целиком при регистрации (copy-on-write),
+     * поэтому поток Runner-а перебирает его без блокировок и без создания объектов.
+     */
+    @SuppressWarnings("rawtypes")
+    private volatile IterationHandler[] iterationHandlers = new IterationHandler[0];
+
+    /**
+     * Монитор изменения списка обработчиков итераций. Отдельный от {@link #executingMonitor}, который Runner держит
+     * всю итерацию: регистрация обработчика не должна ждать окончания обработки текущего сообщения.
+     */
+    private final Object iterationHandlersMonitor = new Object();
+
+    /**
+     * Адаптивная стратегия простоя между итерациями.
+     *
+     * @see WorkerSettingsContainer#isAdaptiveIdle()
+     */
+    @Getter
+    @NotNull
+    private final AdaptiveIdleStrategy idleStrategy = new AdaptiveIdleStrategy();
+
     /**
      * Статистика исполнения.
      */
@@ -174,6 +241,43 @@ public abstract class AbstractWorker implements Worker {
         }
     }
 
+    /**
+     * Установка хранилища аренд.
+     *
+     * @param leaseStore Хранилище аренд.
+     */
+    @Autowired(required = false)
+    public void setLeaseStore(@Nullable final WorkerLeaseStore leaseStore) {
+        this.leaseStore = leaseStore;
+    }
+
+    /**
+     * Регистрация обработчика итераций, который будет вызываться напрямую в потоке Runner-а.
+     *
+     * @param handler Обработчик. Тип события должен соответствовать {@link #getIterationExecuteEvent()}.
+     */
+    public <E extends AbstractOnIterationExecuteEvent> void registerIterationHandler(@NotNull final IterationHandler<E> handler) {
+        synchronized (this.iterationHandlersMonitor) {
+            final var current = this.iterationHandlers;
+            final var updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = handler;
+            this.iterationHandlers = updated;
+        }
+    }
+
+    /**
+     * Отмена регистрации обработчика итераций.
+     *
+     * @param handler Обработчик, ранее зарегистрированный через {@link #registerIterationHandler(IterationHandler)}.
+     */
+    public <E extends AbstractOnIterationExecuteEvent> void unregisterIterationHandler(@NotNull final IterationHandler<E> handler) {
+        synchronized (this.iterationHandlersMonitor) {
+            this.iterationHandlers = Arrays.stream(this.iterationHandlers)
+                    .filter(h -> h != handler)
+                    .toArray(IterationHandler[]::new);
+        }
+    }
+
     /**
      * Требуется переопределить в наследнике.
      *
@@ -204,6 +308,29 @@ public abstract class AbstractWorker implements Worker {
      * @return Хранитель статистики выполнения Worker-а.
      */
     protected abstract AbstractWorkerStatisticsInfo createStatisticsInfo();
+
+    /**
+     * Точка расширения для планирования первой итерации после запуска Runner-а.
+     *
+     * @return Время (в мс), которое требуется выждать перед первой итерацией. По умолчанию 0.
+     */
+    protected long calcInitialIdleTimeMs() {
+        return 0;
+    }
+
+    /**
+     * Точка расширения для планирования итераций по расписанию.
+     * Если возвращено неотрицательное значение, то оно определяет простой перед следующей итерацией,
+     * а признак {@link OnIterationExecuteEvent#isImmediateRunNextIteration()} и
+     * {@link WorkerSettingsContainer#getMinTimePerIterationMs()} не учитываются.
+     *
+     * @param stepStartedMs Момент начала выполненной итерации.
+     * @return Время (в мс) простоя до следующей итерации, либо отрицательное значение,
+     * если применяется стандартная логика простоя. По умолчанию -1.
+     */
+    protected long calcIdleTimeMs(final long stepStartedMs) {
+        return -1;
+    }
     // </editor-fold>
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="implements Worker">
@@ -216,6 +343,7 @@ public abstract class AbstractWorker implements Worker {
         log.info("START start()");
         try {
             this.autoRestart = true;
+            resume();
             doStart();
         } finally {
             log.info("FINISH start()");
@@ -236,6 +364,111 @@ public abstract class AbstractWorker implements Worker {
         }
     }
 
+    /**
+     * Приостановка исполнителя. Поток Runner-а не останавливается, а ждет на "шлагбауме" вызова {@link #resume()}.
+     */
+    @Override
+    public void pause() {
+        log.info("pause(); worker {}", getWorkerName());
+        this.paused = true;
+    }
+
+    /**
+     * Возобновление работы исполнителя. Runner, ожидающий на "шлагбауме", просыпается немедленно.
+     */
+    @Override
+    public void resume() {
+        synchronized (this.pauseMonitor) {
+            if (this.paused) {
+                log.info("resume(); worker {}", getWorkerName());
+            }
+            this.paused = false;
+            this.pauseMonitor.notifyAll();
+        }
+    }
+
+    @Override
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    /**
+     * @return true - данный экземпляр может выполнять итерации: аренда не требуется, либо аренда действует.
+     * @see WorkerSettingsContainer#isLeaseEnabled()
+     */
+    public boolean isLeaseHolder() {
+        return !this.settingsContainer.isLeaseEnabled() || System.currentTimeMillis() < this.leaseValidUntilMs;
+    }
+
+    /**
+     * @return Имя аренды, под которой работает данный исполнитель.
+     */
+    @NotNull
+    public String getLeaseName() {
+        final var name = this.settingsContainer.getLeaseName();
+        return name == null || name.isEmpty() ? getWorkerName() : name;
+    }
+
+    /**
+     * Захват или продление аренды. Вызывается на каждом тике контроллера зависаний,
+     * а также Runner-ом, пока он ждет аренду.
+     */
+    protected void leaseTick() {
+        if (!this.settingsContainer.isLeaseEnabled()) {
+            return;
+        }
+        final var store = this.leaseStore;
+        if (store == null) {
+            log.error("Worker {} requires lease, but WorkerLeaseStore is not defined!", getWorkerName());
+            return;
+        }
+        synchronized (this.leaseMonitor) {
+            final var leaseName = getLeaseName();
+            final var periodMs = this.settingsContainer.getLeasePeriodMs();
+            final var wasHolder = System.currentTimeMillis() < this.leaseValidUntilMs;
+            // Отсчитываем срок от момента до обращения к хранилищу, чтобы не переоценить его
+            final var requestedMs = System.currentTimeMillis();
+            try {
+                final var success = wasHolder
+                        ? store.renew(leaseName, this.leaseOwnerId, periodMs)
+                        : store.tryAcquire(leaseName, this.leaseOwnerId, periodMs);
+                if (success) {
+                    this.leaseValidUntilMs = requestedMs + periodMs;
+                    if (!wasHolder) {
+                        log.info("Worker {} acquired lease {}; owner {}", getWorkerName(), leaseName, this.leaseOwnerId);
+                    }
+                } else {
+                    this.leaseValidUntilMs = 0;
+                    if (wasHolder) {
+                        log.warn("Worker {} lost lease {}; holder {}", getWorkerName(), leaseName, store.getHolder(leaseName));
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Текущая аренда (если есть) истечет сама по сроку
+                log.error("Worker " + getWorkerName() + " can't acquire/renew lease " + leaseName, e);
+            }
+        }
+    }
+
+    /**
+     * Освобождение аренды (при останове), чтобы другой узел мог захватить ее не дожидаясь истечения срока.
+     */
+    protected void releaseLease() {
+        final var store = this.leaseStore;
+        if (store == null || this.leaseValidUntilMs == 0) {
+            return;
+        }
+        synchronized (this.leaseMonitor) {
+            this.leaseValidUntilMs = 0;
+            try {
+                store.release(getLeaseName(), this.leaseOwnerId);
+                log.info("Worker {} released lease {}", getWorkerName(), getLeaseName());
+            } catch (RuntimeException e) {
+                log.error("Worker " + getWorkerName() + " can't release lease " + getLeaseName(), e);
+            }
+        }
+    }
+
     /**
      * Текущий статус исполнителя
      *
@@ -369,6 +602,10 @@ public abstract class AbstractWorker implements Worker {
         try {
             if (runner != null) {
                 runner.isStopping.set(true);
+                // Будим Runner-а, если он ждет на "шлагбауме" паузы
+                synchronized (this.pauseMonitor) {
+                    this.pauseMonitor.notifyAll();
+                }
             }
             if (executorService != null && !executorService.isShutdown()) {
                 if (!executorService.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
@@ -381,6 +618,7 @@ public abstract class AbstractWorker implements Worker {
         } finally {
             internalClearExecutorAndRunner();
             internalStopTimer();
+            releaseLease();
             log.info("Runner " + getWorkerName() + " is stopped; executorService terminated!");
             final var stoppingEvent = getStoppingExecuteEvent();
             if (stoppingEvent != null) {
@@ -479,6 +717,11 @@ public abstract class AbstractWorker implements Worker {
 
         private volatile Thread currentThread;
 
+        /**
+         * Признак того, что Runner находится на "шлагбауме" паузы (между итерациями).
+         */
+        private volatile boolean waitingOnPause;
+
         @Override
         public String toString() {
             if (currentThread != null) {
@@ -511,7 +754,18 @@ public abstract class AbstractWorker implements Worker {
                     log.info("restartingController released!");
                 }
 
+                final var initialIdleMs = calcInitialIdleTimeMs();
+                if (initialIdleMs > 0) {
+                    log.info("Waiting {} ms before first iteration", initialIdleMs);
+                    sleepWithLifeChecks(initialIdleMs);
+                }
+
                 while (!this.isStopping.get() && this.currentThread != null && !this.currentThread.isInterrupted()) {
+                    waitWhilePaused();
+                    waitForLease();
+                    if (!isLeaseHolder()) {
+                        continue;
+                    }
                     event.reset();
                     final var iterationStarted = System.currentTimeMillis();
                     doIteration();
@@ -537,6 +791,77 @@ public abstract class AbstractWorker implements Worker {
             }
         }
 
+        /**
+         * Ожидание на "шлагбауме", пока исполнитель приостановлен.
+         * Во время ожидания Runner продолжает отчитываться о своей "жизни".
+         *
+         * @see AbstractWorker#pause()
+         */
+        protected void waitWhilePaused() {
+            if (!AbstractWorker.this.paused) {
+                return;
+            }
+            log.info("Runner paused; worker {}", getWorkerName());
+            setCurrentExecutionInfo("Paused");
+            synchronized (AbstractWorker.this.pauseMonitor) {
+                this.waitingOnPause = true;
+                try {
+                    while (AbstractWorker.this.paused
+                            && !this.isStopping.get()
+                            && this.currentThread != null
+                            && !this.currentThread.isInterrupted()) {
+                        runnerIsLifeSet();
+                        AbstractWorker.this.pauseMonitor.wait(Math.max(1, AbstractWorker.this.settingsContainer.getTimeoutRunnerLifeMs() / 10));
+                    }
+                } catch (InterruptedException e) {
+                    log.info("Runner interrupted while paused; worker {}", getWorkerName());
+                    Thread.currentThread().interrupt();
+                } finally {
+                    this.waitingOnPause = false;
+                    runnerIsLifeSet();
+                }
+            }
+            setCurrentExecutionInfo("Resumed");
+            log.info("Runner resumed; worker {}", getWorkerName());
+        }
+
+        /**
+         * Ожидание аренды: пока аренду держит другой узел, Runner не выполняет итерации,
+         * периодически пытается захватить аренду и продолжает отчитываться о своей "жизни".
+         *
+         * @see WorkerSettingsContainer#isLeaseEnabled()
+         */
+        protected void waitForLease() {
+            if (isLeaseHolder()) {
+                return;
+            }
+            final var chunkMs = Math.max(1, AbstractWorker.this.settingsContainer.getTimeoutRunnerLifeMs() / 10);
+            var logged = false;
+            while (!this.isStopping.get()
+                    && this.currentThread != null
+                    && !this.currentThread.isInterrupted()
+                    && !AbstractWorker.this.paused) {
+                leaseTick();
+                runnerIsLifeSet();
+                if (isLeaseHolder()) {
+                    setCurrentExecutionInfo("Lease acquired");
+                    return;
+                }
+                if (!logged) {
+                    log.info("Worker {} is waiting for lease {}", getWorkerName(), getLeaseName());
+                    setCurrentExecutionInfo("Waiting for lease");
+                    logged = true;
+                }
+                try {
+                    Thread.sleep(chunkMs);
+                } catch (InterruptedException e) {
+                    log.info("Runner interrupted while waiting for lease; worker {}", getWorkerName());
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
         /**
          * Выполняет одну итерацию цикла обработки.
          */
@@ -547,13 +872,18 @@ public abstract class AbstractWorker implements Worker {
 
             synchronized (AbstractWorker.this.executingMonitor) {
                 final var stat = getStatisticsInfo();
+                final var jfrEvent = new WorkerIterationJfrEvent();
+                jfrEvent.begin();
                 stat.iterationStarted();
                 log.debug("START doIteration()");
                 try {
                     final var event = AbstractWorker.this.getIterationExecuteEvent();
                     runnerIsLifeSet();
                     setCurrentExecutionInfo("Starting event: " + event);
-                    getApplicationEventPublisher().publishEvent(event);
+                    invokeIterationHandlers(event);
+                    if (getSettingsContainer().isPublishIterationEvent()) {
+                        getApplicationEventPublisher().publishEvent(event);
+                    }
                     runnerIsLifeSet();
                     setCurrentExecutionInfo("Finished event: " + event);
                     if (event.isStopExecution()) {
@@ -564,6 +894,7 @@ public abstract class AbstractWorker implements Worker {
                 } finally {
                     // Фиксируем в статистику факт выполнения итерации
                     stat.iterationExecuted();
+                    commitIterationJfrEvent(jfrEvent);
                     if (getSettingsContainer().getPrintStatisticsEveryMs() < stat.lastResetMsAgo()) {
                         log.info(stat.getPrintableInfo());
                         stat.reset();
@@ -572,43 +903,185 @@ public abstract class AbstractWorker implements Worker {
             }
         }
 
+        /**
+         * Фиксация JFR-события итерации. Поля заполняются, только если событие попадает в запись.
+         */
+        protected void commitIterationJfrEvent(@NotNull final WorkerIterationJfrEvent jfrEvent) {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                final var event = AbstractWorker.this.getIterationExecuteEvent();
+                jfrEvent.workerName = getWorkerName();
+                jfrEvent.immediateRunNextIteration = event.isImmediateRunNextIteration();
+                jfrEvent.needRestart = event.isNeedRestart();
+                jfrEvent.stopExecution = event.isStopExecution();
+                jfrEvent.commit();
+            }
+        }
+
+        /**
+         * Фиксация JFR-события простоя. Поля заполняются, только если событие попадает в запись.
+         */
+        protected void commitIdleJfrEvent(
+                @NotNull final WorkerIdleJfrEvent jfrEvent,
+                @NotNull final String kind,
+                final long plannedNanos
+        ) {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.workerName = getWorkerName();
+                jfrEvent.kind = kind;
+                jfrEvent.plannedNanos = plannedNanos;
+                jfrEvent.commit();
+            }
+        }
+
+        /**
+         * Прямой вызов зарегистрированных обработчиков итераций.
+         *
+         * @param event Объект-событие итерации.
+         */
+        @SuppressWarnings("unchecked")
+        protected void invokeIterationHandlers(@NotNull final AbstractOnIterationExecuteEvent event) {
+            final var handlers = AbstractWorker.this.iterationHandlers;
+            for (final var handler : handlers) {
+                handler.onIterationExecute(event);
+            }
+        }
+
         /**
          * Выполняет необходимый простой, если время выполнения текущей итерации было меньше порогового.
+         * В адаптивном режиме простой наращивается постепенно, пока итерации не находят работы.
          *
          * @param stepStarted - время начала выполнения текущей итерации
          * @see WorkerSettingsContainer#getMinTimePerIterationMs()
+         * @see WorkerSettingsContainer#isAdaptiveIdle()
          */
         protected void doIdleIfNeed(long stepStarted) {
             if (this.isStopping.get() || this.currentThread == null || this.currentThread.isInterrupted()) {
                 return;
             }
 
+            final var settings = AbstractWorker.this.settingsContainer;
+            final var idleStrategy = AbstractWorker.this.idleStrategy;
             final var event = AbstractWorker.this.getIterationExecuteEvent();
-            if (event.isImmediateRunNextIteration()
-                    || event.isNeedRestart()
+            if (event.isNeedRestart()
                     || event.isStopExecution()
                     || this.isStopping.get()) {
                 log.debug("doIdleIfNeed(): not sleep!");
+                idleStrategy.reset();
+                return;
+            }
+
+            final var scheduledIdleMs = calcIdleTimeMs(stepStarted);
+            if (scheduledIdleMs >= 0) {
+                idleStrategy.fixedIdle(scheduledIdleMs);
+                if (scheduledIdleMs > 0) {
+                    sleepWithLifeChecks(scheduledIdleMs);
+                }
+                return;
+            }
+
+            if (event.isImmediateRunNextIteration()) {
+                log.debug("doIdleIfNeed(): not sleep!");
+                idleStrategy.reset();
+                return;
+            }
+
+            if (settings.isAdaptiveIdle()) {
+                doAdaptiveIdle(idleStrategy, settings);
                 return;
             }
 
             long sleepTime;
-            if ((sleepTime = AbstractWorker.this.settingsContainer.getMinTimePerIterationMs() - (System.currentTimeMillis() - stepStarted)) > 0) {
+            if ((sleepTime = settings.getMinTimePerIterationMs() - (System.currentTimeMillis() - stepStarted)) > 0) {
+                idleStrategy.fixedIdle(sleepTime);
                 try {
                     runnerIsLifeSet();
                     final var info = "Before doIdleIfNeed(): sleep(" + sleepTime + ")!";
                     setCurrentExecutionInfo(info);
                     log.debug(info);
+                    final var jfrEvent = new WorkerIdleJfrEvent();
+                    jfrEvent.begin();
                     getStatisticsInfo().sleepStarted();
                     try {
                         Thread.sleep(sleepTime);
                     } finally {
                         getStatisticsInfo().sleepFinished();
+                        commitIdleJfrEvent(jfrEvent, WorkerIdleJfrEvent.KIND_SLEEP, TimeUnit.MILLISECONDS.toNanos(sleepTime));
                     }
                     setCurrentExecutionInfo("After sleep");
                 } catch (InterruptedException e) {
                     log.error("", e);
                 }
+            } else {
+                idleStrategy.fixedIdle(0);
+            }
+        }
+
+        /**
+         * Простой заданной длительности частями, между которыми Runner отчитывается о своей "жизни".
+         * Позволяет выдерживать длительные паузы (например, до следующего запуска по расписанию),
+         * не вызывая срабатывания контроллера зависаний, и быстро реагировать на останов.
+         *
+         * @param sleepTimeMs Длительность простоя (в мс).
+         */
+        protected void sleepWithLifeChecks(final long sleepTimeMs) {
+            final var chunkMs = Math.max(1, AbstractWorker.this.settingsContainer.getTimeoutRunnerLifeMs() / 10);
+            final var waitTo = System.currentTimeMillis() + sleepTimeMs;
+            final var info = "Before sleepWithLifeChecks(): sleep(" + sleepTimeMs + ")!";
+            setCurrentExecutionInfo(info);
+            log.debug(info);
+            final var jfrEvent = new WorkerIdleJfrEvent();
+            jfrEvent.begin();
+            getStatisticsInfo().sleepStarted();
+            try {
+                long left;
+                while ((left = waitTo - System.currentTimeMillis()) > 0
+                        && !this.isStopping.get()
+                        && this.currentThread != null
+                        && !this.currentThread.isInterrupted()) {
+                    runnerIsLifeSet();
+                    Thread.sleep(Math.min(left, chunkMs));
+                }
+            } catch (InterruptedException e) {
+                log.error("", e);
+                Thread.currentThread().interrupt();
+            } finally {
+                getStatisticsInfo().sleepFinished();
+                commitIdleJfrEvent(jfrEvent, WorkerIdleJfrEvent.KIND_SCHEDULED, TimeUnit.MILLISECONDS.toNanos(sleepTimeMs));
+                runnerIsLifeSet();
+            }
+            setCurrentExecutionInfo("After sleep");
+        }
+
+        /**
+         * Адаптивный простой: spin -> yield -> park с нарастающей длительностью.
+         *
+         * @see AdaptiveIdleStrategy
+         */
+        protected void doAdaptiveIdle(
+                @NotNull final AdaptiveIdleStrategy idleStrategy,
+                @NotNull final WorkerSettingsContainer settings
+        ) {
+            final var parkNanos = idleStrategy.nextIdle(
+                    settings.getAdaptiveIdleSpinCount(),
+                    settings.getAdaptiveIdleYieldCount(),
+                    TimeUnit.MICROSECONDS.toNanos(settings.getAdaptiveIdleMinParkMcs()),
+                    TimeUnit.MILLISECONDS.toNanos(settings.getMinTimePerIterationMs())
+            );
+            if (parkNanos <= 0) {
+                return;
+            }
+            runnerIsLifeSet();
+            log.debug("doAdaptiveIdle(): park({} ns)", parkNanos);
+            final var jfrEvent = new WorkerIdleJfrEvent();
+            jfrEvent.begin();
+            getStatisticsInfo().sleepStarted();
+            try {
+                LockSupport.parkNanos(this, parkNanos);
+            } finally {
+                getStatisticsInfo().sleepFinished();
+                commitIdleJfrEvent(jfrEvent, WorkerIdleJfrEvent.KIND_PARK, parkNanos);
             }
         }
     }
@@ -626,6 +1099,15 @@ public abstract class AbstractWorker implements Worker {
         public void run() {
             final var event = AbstractWorker.this.getIterationExecuteEvent();
             final var current = System.currentTimeMillis();
+            if (isRunning()) {
+                leaseTick();
+            }
+            final var runner = getRunner();
+            if (runner != null && runner.waitingOnPause && !event.isNeedRestart() && !event.isStopExecution()) {
+                // Приостановленный исполнитель не является зависшим
+                log.debug("SKIP RunnerTimerTaskController.run(): worker is paused");
+                return;
+            }
             log.debug("START RunnerTimerTaskController.run():"
                     + " iterationExecuteEvent.isNeedRestart() == " + event.isNeedRestart()
                     + "; iterationExecuteEvent.isStopExecution() == " + event.isStopExecution());
@@ -660,6 +1142,8 @@ public abstract class AbstractWorker implements Worker {
             log.info("START RestartingController.run()");
             final var wait = AbstractWorker.this.settingsContainer.getWaitOnRestartMs();
             final var event = AbstractWorker.this.getIterationExecuteEvent();
+            final var jfrEvent = new WorkerRestartJfrEvent();
+            jfrEvent.begin();
             log.info("Restarting... Wait: {} ms", wait);
 
             event
@@ -693,6 +1177,12 @@ public abstract class AbstractWorker implements Worker {
                 doStart();
             }
             AbstractWorker.this.restartingController = null;
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.workerName = getWorkerName();
+                jfrEvent.waitOnRestartMs = wait;
+                jfrEvent.commit();
+            }
             log.info("FINISH RestartingController.run()!");
         }
     }
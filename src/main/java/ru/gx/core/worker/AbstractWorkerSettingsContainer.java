@@ -6,6 +6,15 @@ public abstract class AbstractWorkerSettingsContainer implements WorkerSettingsC
     public static final String MIN_TIME_PER_ITERATION_MS = "min-time-per-iteration-ms";
     public static final String TIMEOUT_RUNNER_LIFE_MS = "timeout-runner-life-ms";
     public static final String PRINT_STATISTICS_EVERY_MS = "print-statistics-every-ms";
+    public static final String MEASURE_THREAD_RESOURCES = "measure-thread-resources";
+    public static final String ADAPTIVE_IDLE = "adaptive-idle.enabled";
+    public static final String ADAPTIVE_IDLE_SPIN_COUNT = "adaptive-idle.spin-count";
+    public static final String ADAPTIVE_IDLE_YIELD_COUNT = "adaptive-idle.yield-count";
+    public static final String ADAPTIVE_IDLE_MIN_PARK_MCS = "adaptive-idle.min-park-mcs";
+    public static final String LEASE_ENABLED = "lease.enabled";
+    public static final String LEASE_NAME = "lease.name";
+    public static final String LEASE_PERIOD_MS = "lease.period-ms";
+    public static final String PUBLISH_ITERATION_EVENT = "publish-iteration-event";
 
     @Override
     public abstract int getWaitOnStopMs();
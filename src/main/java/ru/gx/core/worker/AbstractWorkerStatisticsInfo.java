@@ -1,15 +1,26 @@
 package ru.gx.core.worker;
 
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import ru.gx.core.metrics.MetricsUtils;
+import ru.gx.core.metrics.StatisticsWindow;
+import ru.gx.core.metrics.ThreadResources;
 
-import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import static lombok.AccessLevel.PROTECTED;
 
+/**
+ * Базовая реализация статистики исполнения Worker-а.<br/>
+ * Счетчики пишутся потоком Runner-а, а читаются (печать, метрики) из других потоков,
+ * поэтому все накопители статистики потокобезопасные (lock-free).
+ */
 public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
@@ -37,46 +48,97 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
 
     /**
      * Метрика: общее время на исполнения с момента запуска.
+     * Публикует также процентили времени исполнения итерации по скользящему окну.
      */
     @Getter(PROTECTED)
     @NotNull
     private final Timer metricExecutionsTime;
 
     /**
-     * Количество исполнений с момента последнего сброса.
+     * Метрика: процессорное время, затраченное потоком на итерации.
+     * Пишется только при включенной настройке {@link WorkerSettingsContainer#isMeasureThreadResources()}.
      */
     @Getter(PROTECTED)
-    private long executionsCount;
+    @NotNull
+    private final Timer metricExecutionsCpuTime;
 
     /**
-     * Общее время затраченное на обработку событий с момента последнего сброса.
+     * Метрика: объем памяти, выделенной потоком на итерации.
+     * Пишется только при включенной настройке {@link WorkerSettingsContainer#isMeasureThreadResources()}.
      */
     @Getter(PROTECTED)
-    private long executionsTotalTimeMs;
+    @NotNull
+    private final DistributionSummary metricExecutionsAllocatedBytes;
 
     /**
-     * Максимальное время затраченное на обработку одного событий с момента последнего сброса.
+     * Измерители загрузки Worker-а по скользящим окнам (1m, 5m, 15m).
+     * Публикуются живыми Gauge-ами, поэтому значения не зависят от моментов сброса статистики.
      */
     @Getter(PROTECTED)
-    private long executionMaxTimePerIterationMs;
+    @NotNull
+    private final List<WorkerUtilizationMeter> utilizationMeters;
 
     /**
-     * Общее время затраченное на sleep с момента последнего сброса.
+     * Количество исполнений с момента последнего сброса.
      */
-    @Getter(PROTECTED)
-    private long executionsTotalSleepTimeMs;
+    @NotNull
+    private final LongAdder executionsCount = new LongAdder();
+
+    /**
+     * Общее время (в мкс) затраченное на обработку событий с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder executionsTotalTimeMcs = new LongAdder();
+
+    /**
+     * Максимальное время (в мкс) затраченное на обработку одного событий с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAccumulator executionMaxTimePerIterationMcs = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Общее время (в мкс) затраченное на sleep с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder executionsTotalSleepTimeMcs = new LongAdder();
+
+    /**
+     * Общее процессорное время (в мкс) затраченное на итерации с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder executionsTotalCpuTimeMcs = new LongAdder();
+
+    /**
+     * Общий объем памяти (в байтах), выделенной на итерациях с момента последнего сброса.
+     */
+    @NotNull
+    private final LongAdder executionsTotalAllocatedBytes = new LongAdder();
 
     /**
      * Момент начала работы последней итерации.
      */
     @Getter(PROTECTED)
-    private long lastIterationStartedMs;
+    private volatile long lastIterationStartedMs;
 
     /**
-     * Момент начала последнего Sleep-а.
+     * Момент начала работы последней итерации (System.nanoTime()). Используется для точного замера длительности.
      */
-    @Getter(PROTECTED)
-    private long lastSleepStartedMs;
+    private volatile long lastIterationStartedNanos;
+
+    /**
+     * Процессорное время потока на начало последней итерации, либо {@link ThreadResources#NOT_MEASURED}.
+     */
+    private volatile long lastIterationStartedCpuNanos = ThreadResources.NOT_MEASURED;
+
+    /**
+     * Объем выделенной потоком памяти на начало последней итерации, либо {@link ThreadResources#NOT_MEASURED}.
+     */
+    private volatile long lastIterationStartedAllocatedBytes = ThreadResources.NOT_MEASURED;
+
+    /**
+     * Момент начала последнего Sleep-а (System.nanoTime()).
+     */
+    private volatile long lastSleepStartedNanos;
 
     /**
      * Признак того, что с момента последнего сброса не было зафиксировано ни одной обработки события.
@@ -87,9 +149,6 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
     @Getter
     private volatile long lastResetMs;
 
-    @Getter(PROTECTED)
-    private AtomicInteger internalResetLocksCount;
-
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
     // <editor-fold desc="Initialization">
@@ -104,7 +163,27 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
         this.metricExecutionsCount = Counter.builder(METRIC_EXECUTIONS_COUNT)
                 .tags(this.metricsTags)
                 .register(this.meterRegistry);
-        this.metricExecutionsTime = Timer.builder(METRIC_EXECUTIONS_TIME)
+        this.metricExecutionsTime = MetricsUtils.timerWithPercentiles(METRIC_EXECUTIONS_TIME)
+                .tags(this.metricsTags)
+                .register(this.meterRegistry);
+        this.metricExecutionsCpuTime = Timer.builder(METRIC_EXECUTIONS_CPU_TIME)
+                .tags(this.metricsTags)
+                .register(this.meterRegistry);
+        this.metricExecutionsAllocatedBytes = DistributionSummary.builder(METRIC_EXECUTIONS_ALLOCATED_BYTES)
+                .baseUnit(BaseUnits.BYTES)
+                .tags(this.metricsTags)
+                .register(this.meterRegistry);
+        this.utilizationMeters = Arrays.stream(StatisticsWindow.values())
+                .map(window -> new WorkerUtilizationMeter(window, this.meterRegistry, this.metricsTags))
+                .toList();
+        Gauge.builder(METRIC_EXECUTIONS_IDLE_INTERVAL, worker.getIdleStrategy(), AdaptiveIdleStrategy::getEffectiveIntervalMs)
+                .baseUnit(BaseUnits.MILLISECONDS)
+                .tags(this.metricsTags)
+                .register(this.meterRegistry);
+        Gauge.builder(METRIC_WORKER_PAUSED, worker, w -> w.isPaused() ? 1 : 0)
+                .tags(this.metricsTags)
+                .register(this.meterRegistry);
+        Gauge.builder(METRIC_WORKER_LEASE_HELD, worker, w -> w.isLeaseHolder() ? 1 : 0)
                 .tags(this.metricsTags)
                 .register(this.meterRegistry);
         final var m = Gauge.builder(METRIC_WORKER_NAME, () -> 0)
@@ -126,20 +205,27 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
                     this.owner.getWorkerName() +
                     " is empty";
         }
+        final var count = getExecutionsCount();
         return "Stat for last " +
                 lastResetMsAgo() +
                 " ms for the worker iterations " +
                 this.owner.getWorkerName() +
                 " is: count = " +
-                this.executionsCount +
+                count +
                 ", SLEEPms = " +
-                this.executionsTotalSleepTimeMs +
+                getExecutionsTotalSleepTimeMs() +
                 ", totalMs = " +
-                this.executionsTotalTimeMs +
+                getExecutionsTotalTimeMs() +
                 ", maxTime = " +
-                this.executionMaxTimePerIterationMs +
+                getExecutionMaxTimePerIterationMs() +
                 ", avgTime = " +
-                (this.executionsCount > 0 ? this.executionsTotalTimeMs / this.executionsCount : "NaN");
+                (count > 0 ? getExecutionsTotalTimeMs() / count : "NaN") +
+                ", percentilesMs: {" +
+                MetricsUtils.printablePercentilesMs(this.metricExecutionsTime) +
+                "}, busyPercents: {" +
+                getPrintableBusyPercents() +
+                "}" +
+                getPrintableThreadResources(count);
     }
 
     /**
@@ -165,12 +251,12 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
      */
     private void privateReset() {
         this.isEmpty = true;
-        this.executionsCount = 0;
-        this.executionsTotalSleepTimeMs = 0;
-        this.executionsTotalTimeMs = 0;
-        this.executionMaxTimePerIterationMs = 0;
-        this.lastSleepStartedMs = 0;
-        this.lastIterationStartedMs = 0;
+        this.executionsCount.reset();
+        this.executionsTotalSleepTimeMcs.reset();
+        this.executionsTotalTimeMcs.reset();
+        this.executionMaxTimePerIterationMcs.reset();
+        this.executionsTotalCpuTimeMcs.reset();
+        this.executionsTotalAllocatedBytes.reset();
         this.lastResetMs = System.currentTimeMillis();
     }
 
@@ -179,37 +265,181 @@ public abstract class AbstractWorkerStatisticsInfo implements StatisticsInfo {
     }
 
     /**
-     * Запись значений в метрики.
+     * Запись значений в метрики.<br/>
+     * Процент загрузки публикуется живыми Gauge-ами {@link WorkerUtilizationMeter}, поэтому здесь ничего не делается.
+     * Метод оставлен для наследников, которым нужно что-то записать в метрики при сбросе статистики.
      */
     protected void internalPushMetrics() {
-        this.meterRegistry.gauge(METRIC_EXECUTIONS_BUSY_PERCENTS, this.metricsTags, this.executionsTotalTimeMs * 100 / this.lastResetMsAgo());
+    }
+
+    /**
+     * @param count Количество итераций с момента последнего сброса.
+     * @return Строковое представление затраченного процессорного времени и выделенной памяти для вывода в лог.
+     * Пустая строка, если замер выключен.
+     */
+    @NotNull
+    protected String getPrintableThreadResources(final long count) {
+        if (!isMeasureThreadResources() || count <= 0) {
+            return "";
+        }
+        final var cpuMs = this.executionsTotalCpuTimeMcs.sum() / 1000;
+        final var allocatedBytes = this.executionsTotalAllocatedBytes.sum();
+        return ", cpuMs = " +
+                cpuMs +
+                ", avgCpuMs = " +
+                cpuMs / count +
+                ", allocatedKb = " +
+                allocatedBytes / 1024 +
+                ", avgAllocatedKb = " +
+                allocatedBytes / 1024 / count;
+    }
+
+    /**
+     * @return Строковое представление процента загрузки по скользящим окнам для вывода в лог.
+     */
+    @NotNull
+    protected String getPrintableBusyPercents() {
+        final var str = new StringBuilder();
+        for (final var meter : this.utilizationMeters) {
+            if (str.length() > 0) {
+                str.append(", ");
+            }
+            str.append(meter.getWindow().getWindowName())
+                    .append(" = ")
+                    .append(String.format("%.1f", meter.getBusyPercents()));
+        }
+        return str.toString();
+    }
+
+    /**
+     * @return Количество исполнений с момента последнего сброса.
+     */
+    protected long getExecutionsCount() {
+        return this.executionsCount.sum();
+    }
+
+    /**
+     * @return Общее время затраченное на обработку событий с момента последнего сброса.
+     */
+    protected long getExecutionsTotalTimeMs() {
+        return this.executionsTotalTimeMcs.sum() / 1000;
+    }
+
+    /**
+     * @return Максимальное время затраченное на обработку одного событий с момента последнего сброса.
+     */
+    protected long getExecutionMaxTimePerIterationMs() {
+        return this.executionMaxTimePerIterationMcs.get() / 1000;
+    }
+
+    /**
+     * @return Общее время затраченное на sleep с момента последнего сброса.
+     */
+    protected long getExecutionsTotalSleepTimeMs() {
+        return this.executionsTotalSleepTimeMcs.sum() / 1000;
+    }
+
+    /**
+     * @return Сколько прошло миллисекунд с момента начала текущей (последней) итерации.
+     */
+    public long currentIterationMsAgo() {
+        return currentIterationNanosAgo() / 1_000_000;
+    }
+
+    /**
+     * @return Сколько прошло наносекунд с момента начала текущей (последней) итерации.
+     */
+    public long currentIterationNanosAgo() {
+        return System.nanoTime() - this.lastIterationStartedNanos;
+    }
+
+    /**
+     * @return Включен ли замер процессорного времени и выделенной памяти на итерациях.
+     */
+    protected boolean isMeasureThreadResources() {
+        return this.owner.getSettingsContainer().isMeasureThreadResources();
+    }
+
+    /**
+     * Должен вызываться из потока исполнителя.
+     *
+     * @return Процессорное время (в нс), затраченное потоком с начала текущей итерации,
+     * либо {@link ThreadResources#NOT_MEASURED}, если замер выключен или не поддерживается.
+     */
+    public long currentIterationCpuTimeNanos() {
+        final var started = this.lastIterationStartedCpuNanos;
+        if (started == ThreadResources.NOT_MEASURED) {
+            return ThreadResources.NOT_MEASURED;
+        }
+        return ThreadResources.currentThreadCpuTimeNanos() - started;
+    }
+
+    /**
+     * Должен вызываться из потока исполнителя.
+     *
+     * @return Объем памяти (в байтах), выделенный потоком с начала текущей итерации,
+     * либо {@link ThreadResources#NOT_MEASURED}, если замер выключен или не поддерживается.
+     */
+    public long currentIterationAllocatedBytes() {
+        final var started = this.lastIterationStartedAllocatedBytes;
+        if (started == ThreadResources.NOT_MEASURED) {
+            return ThreadResources.NOT_MEASURED;
+        }
+        return ThreadResources.currentThreadAllocatedBytes() - started;
     }
 
     public void iterationStarted() {
         this.lastIterationStartedMs = System.currentTimeMillis();
+        this.lastIterationStartedNanos = System.nanoTime();
+        if (isMeasureThreadResources()) {
+            this.lastIterationStartedCpuNanos = ThreadResources.currentThreadCpuTimeNanos();
+            this.lastIterationStartedAllocatedBytes = ThreadResources.currentThreadAllocatedBytes();
+        } else {
+            this.lastIterationStartedCpuNanos = ThreadResources.NOT_MEASURED;
+            this.lastIterationStartedAllocatedBytes = ThreadResources.NOT_MEASURED;
+        }
     }
 
     /**
      * Фиксирование факта исполнения итерации
      */
     public void iterationExecuted() {
-        final var curTimeMsPerIteration = System.currentTimeMillis() - getLastIterationStartedMs();
-        this.executionsCount++;
-        this.executionsTotalTimeMs += curTimeMsPerIteration;
-        if (curTimeMsPerIteration > this.getExecutionMaxTimePerIterationMs()) {
-            this.executionMaxTimePerIterationMs = curTimeMsPerIteration;
-        }
+        final var curTimeNanosPerIteration = System.nanoTime() - this.lastIterationStartedNanos;
+        final var curTimeMcsPerIteration = curTimeNanosPerIteration / 1000;
+        this.executionsCount.increment();
+        this.executionsTotalTimeMcs.add(curTimeMcsPerIteration);
+        this.executionMaxTimePerIterationMcs.accumulate(curTimeMcsPerIteration);
         this.isEmpty = false;
-        this.getMetricExecutionsTime().record(Duration.ofMillis(curTimeMsPerIteration));
+        this.getMetricExecutionsTime().record(curTimeNanosPerIteration, TimeUnit.NANOSECONDS);
         this.getMetricExecutionsCount().increment();
+        final var now = System.currentTimeMillis();
+        for (final var meter : this.utilizationMeters) {
+            meter.recordBusy(now, curTimeMcsPerIteration);
+        }
+
+        final var cpuNanos = currentIterationCpuTimeNanos();
+        if (cpuNanos >= 0) {
+            this.executionsTotalCpuTimeMcs.add(cpuNanos / 1000);
+            this.metricExecutionsCpuTime.record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+        final var allocatedBytes = currentIterationAllocatedBytes();
+        if (allocatedBytes >= 0) {
+            this.executionsTotalAllocatedBytes.add(allocatedBytes);
+            this.metricExecutionsAllocatedBytes.record(allocatedBytes);
+        }
     }
 
     public void sleepStarted() {
-        this.lastSleepStartedMs = System.currentTimeMillis();
+        this.lastSleepStartedNanos = System.nanoTime();
     }
 
     public void sleepFinished() {
-        this.executionsTotalSleepTimeMs += System.currentTimeMillis() - getLastSleepStartedMs();
+        final var sleepMcs = (System.nanoTime() - this.lastSleepStartedNanos) / 1000;
+        this.executionsTotalSleepTimeMcs.add(sleepMcs);
+        final var now = System.currentTimeMillis();
+        for (final var meter : this.utilizationMeters) {
+            meter.recordSleep(now, sleepMcs);
+        }
     }
     // </editor-fold">
     // -----------------------------------------------------------------------------------------------------------------
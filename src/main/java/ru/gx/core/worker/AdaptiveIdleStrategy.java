@@ -0,0 +1,101 @@
+package ru.gx.core.worker;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Адаптивная стратегия простоя Исполнителя между итерациями.<br/>
+ * Пока итерации не находят работы, простой постепенно наращивается:
+ * сначала несколько итераций с активным ожиданием (spin), затем несколько итераций с {@link Thread#yield()},
+ * затем park с удваивающейся длительностью от минимальной до максимальной.
+ * Как только итерация находит работу, стратегия сбрасывается и следующая итерация запускается немедленно.<br/>
+ * Экземпляр используется только потоком Runner-а, читается (для метрик) из других потоков.
+ *
+ * @see WorkerSettingsContainer#isAdaptiveIdle()
+ */
+@SuppressWarnings("unused")
+public class AdaptiveIdleStrategy {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Количество подряд идущих итераций, не нашедших работы.
+     */
+    @Getter
+    private volatile long emptyIterations;
+
+    /**
+     * Длительность (в нс) последнего park-а. 0 - park-а еще не было.
+     */
+    private volatile long currentParkNanos;
+
+    /**
+     * Текущий эффективный интервал простоя между итерациями (в нс).
+     */
+    private volatile long effectiveIntervalNanos;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Сброс стратегии: работа найдена, следующая итерация запускается немедленно.
+     */
+    public void reset() {
+        this.emptyIterations = 0;
+        this.currentParkNanos = 0;
+        this.effectiveIntervalNanos = 0;
+    }
+
+    /**
+     * Вычисление очередного шага простоя после итерации, не нашедшей работы.<br/>
+     * Фазы spin и yield выполняются прямо в этом методе, длительность park-а возвращается вызывающему,
+     * чтобы тот мог отразить его в статистике sleep-ов.
+     *
+     * @param spinCount    Количество итераций с активным ожиданием.
+     * @param yieldCount   Количество итераций с {@link Thread#yield()}.
+     * @param minParkNanos Минимальная длительность park-а (в нс).
+     * @param maxParkNanos Максимальная длительность park-а (в нс).
+     * @return Длительность park-а (в нс), которую требуется выждать. 0 - park не требуется.
+     */
+    public long nextIdle(final int spinCount, final int yieldCount, final long minParkNanos, final long maxParkNanos) {
+        final var n = this.emptyIterations++;
+        if (n < spinCount) {
+            Thread.onSpinWait();
+            this.effectiveIntervalNanos = 0;
+            return 0;
+        }
+        if (n < (long) spinCount + yieldCount) {
+            Thread.yield();
+            this.effectiveIntervalNanos = 0;
+            return 0;
+        }
+        final var prev = this.currentParkNanos;
+        final var next = prev <= 0
+                ? Math.max(1, minParkNanos)
+                : Math.min(prev * 2, Math.max(minParkNanos, maxParkNanos));
+        this.currentParkNanos = next;
+        this.effectiveIntervalNanos = next;
+        return next;
+    }
+
+    /**
+     * Фиксирование простоя в режиме фиксированного интервала (адаптивный режим выключен).
+     *
+     * @param intervalMs Длительность простоя (в мс).
+     */
+    public void fixedIdle(final long intervalMs) {
+        this.emptyIterations = 0;
+        this.currentParkNanos = 0;
+        this.effectiveIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    /**
+     * @return Текущий эффективный интервал простоя между итерациями (в мс).
+     */
+    public double getEffectiveIntervalMs() {
+        return this.effectiveIntervalNanos / 1_000_000.0;
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
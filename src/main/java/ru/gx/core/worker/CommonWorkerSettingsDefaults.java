@@ -6,4 +6,13 @@ public interface CommonWorkerSettingsDefaults {
     int MIN_TIME_PER_ITERATION_MS_DEFAULT = 1000;
     int TIMEOUT_RUNNER_LIFE_MS_DEFAULT = 20000;
     int PRINT_STATISTICS_EVERY_MS_DEFAULT = 5000;
+    boolean MEASURE_THREAD_RESOURCES_DEFAULT = false;
+    boolean ADAPTIVE_IDLE_DEFAULT = false;
+    int ADAPTIVE_IDLE_SPIN_COUNT_DEFAULT = 100;
+    int ADAPTIVE_IDLE_YIELD_COUNT_DEFAULT = 10;
+    int ADAPTIVE_IDLE_MIN_PARK_MCS_DEFAULT = 50;
+    boolean LEASE_ENABLED_DEFAULT = false;
+    String LEASE_NAME_DEFAULT = "";
+    int LEASE_PERIOD_MS_DEFAULT = 15000;
+    boolean PUBLISH_ITERATION_EVENT_DEFAULT = true;
 }
@@ -0,0 +1,21 @@
+package ru.gx.core.worker;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Обработчик итерации Исполнителя, который вызывается напрямую (без spring-event-ов).<br/>
+ * Регистрируется в Исполнителе через {@link AbstractWorker#registerIterationHandler(IterationHandler)}.
+ * Вызывается в потоке Runner-а на каждой итерации до публикации события итерации
+ * (если публикация включена настройкой {@link WorkerSettingsContainer#isPublishIterationEvent()}).
+ *
+ * @param <E> Тип объекта-события итерации конкретного Исполнителя.
+ */
+@FunctionalInterface
+public interface IterationHandler<E extends AbstractOnIterationExecuteEvent> {
+    /**
+     * Логика итерации.
+     *
+     * @param event Объект-событие итерации. Через него можно управлять дальнейшей работой Исполнителя.
+     */
+    void onIterationExecute(@NotNull final E event);
+}
@@ -19,11 +19,46 @@ public interface StatisticsInfo {
      */
     String METRIC_EXECUTIONS_BUSY_PERCENTS = "execs.busy-percents";
 
+    /**
+     * Показатель. Процент времени в sleep-е.
+     */
+    String METRIC_EXECUTIONS_SLEEP_PERCENTS = "execs.sleep-percents";
+
+    /**
+     * Показатель. Процент времени, не относящегося ни к полезной работе, ни к sleep-у.
+     */
+    String METRIC_EXECUTIONS_IDLE_PERCENTS = "execs.idle-percents";
+
+    /**
+     * Текущий эффективный интервал простоя между итерациями.
+     */
+    String METRIC_EXECUTIONS_IDLE_INTERVAL = "execs.idle-interval";
+
+    /**
+     * Суммарное процессорное время, затраченное потоком на полезную работу.
+     */
+    String METRIC_EXECUTIONS_CPU_TIME = "execs.cpu-time";
+
+    /**
+     * Объем памяти, выделенной потоком во время полезной работы.
+     */
+    String METRIC_EXECUTIONS_ALLOCATED_BYTES = "execs.allocated-bytes";
+
     /**
      * Через данную метрику будет передано имя Worker-а
      */
     String METRIC_WORKER_NAME = "worker-name";
 
+    /**
+     * Признак того, что Worker приостановлен: 1 - приостановлен, 0 - нет.
+     */
+    String METRIC_WORKER_PAUSED = "worker.paused";
+
+    /**
+     * Признак того, что данный экземпляр держит аренду Worker-а: 1 - держит (или аренда не требуется), 0 - нет.
+     */
+    String METRIC_WORKER_LEASE_HELD = "worker.lease-held";
+
     /**
      * Ярлык worker
      */
@@ -34,6 +69,11 @@ public interface StatisticsInfo {
      */
     String METRIC_TAG_CHANNEL_NAME = "channel";
 
+    /**
+     * Ярлык скользящего окна, за которое посчитан показатель
+     */
+    String METRIC_TAG_WINDOW = "window";
+
     /**
      * @return Информация о собранной статистике для вывода в лог.
      */
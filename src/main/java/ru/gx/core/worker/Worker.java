@@ -39,6 +39,33 @@ public interface Worker extends Lifecycle {
      */
     void runnerIsLifeSet();
 
+    /**
+     * Приостановка исполнителя без останова потока.<br/>
+     * Runner дожидается окончания текущей итерации и засыпает на "шлагбауме", пока не будет вызван {@link #resume()}.
+     * Поток, статистика и контроллер зависаний продолжают работать, приостановленный исполнитель не считается зависшим.
+     *
+     * @throws UnsupportedOperationException Исполнитель не поддерживает приостановку.
+     */
+    default void pause() {
+        throw new UnsupportedOperationException("Worker " + getClass().getName() + " does not support pause!");
+    }
+
+    /**
+     * Возобновление работы исполнителя после {@link #pause()}.
+     *
+     * @throws UnsupportedOperationException Исполнитель не поддерживает приостановку.
+     */
+    default void resume() {
+        throw new UnsupportedOperationException("Worker " + getClass().getName() + " does not support pause!");
+    }
+
+    /**
+     * @return Приостановлен ли исполнитель. По умолчанию (приостановка не поддерживается) - false.
+     */
+    default boolean isPaused() {
+        return false;
+    }
+
     /**
      * @return Получение статистики исполнения.
      */
@@ -33,4 +33,79 @@ public interface WorkerSettingsContainer {
      * Как часто публиковать (выводить в консоль) статистику.
      */
     int getPrintStatisticsEveryMs();
+
+    /**
+     * Признак измерения процессорного времени и объема выделенной памяти (через ThreadMXBean) на каждой итерации.
+     * Измерение стоит дополнительных вызовов на каждую итерацию, поэтому по умолчанию выключено.
+     */
+    default boolean isMeasureThreadResources() {
+        return CommonWorkerSettingsDefaults.MEASURE_THREAD_RESOURCES_DEFAULT;
+    }
+
+    /**
+     * Признак адаптивного простоя между итерациями. Если включен, то вместо фиксированного sleep-а
+     * до {@link #getMinTimePerIterationMs()} исполнитель сначала крутится (spin), затем уступает процессор (yield),
+     * затем засыпает (park) с нарастающей длительностью, ограниченной {@link #getMinTimePerIterationMs()}.
+     *
+     * @see AdaptiveIdleStrategy
+     */
+    default boolean isAdaptiveIdle() {
+        return CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_DEFAULT;
+    }
+
+    /**
+     * Количество пустых итераций с активным ожиданием (spin) в адаптивном режиме простоя.
+     */
+    default int getAdaptiveIdleSpinCount() {
+        return CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_SPIN_COUNT_DEFAULT;
+    }
+
+    /**
+     * Количество пустых итераций с уступкой процессора (yield) в адаптивном режиме простоя.
+     */
+    default int getAdaptiveIdleYieldCount() {
+        return CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_YIELD_COUNT_DEFAULT;
+    }
+
+    /**
+     * Минимальная длительность (в мкс) засыпания (park) в адаптивном режиме простоя.
+     * Далее длительность удваивается до {@link #getMinTimePerIterationMs()}.
+     */
+    default int getAdaptiveIdleMinParkMcs() {
+        return CommonWorkerSettingsDefaults.ADAPTIVE_IDLE_MIN_PARK_MCS_DEFAULT;
+    }
+
+    /**
+     * Признак того, что Worker должен быть активен только на одном узле (экземпляре сервиса).
+     * Итерации выполняет только держатель аренды в {@link ru.gx.core.leases.WorkerLeaseStore}.
+     */
+    default boolean isLeaseEnabled() {
+        return CommonWorkerSettingsDefaults.LEASE_ENABLED_DEFAULT;
+    }
+
+    /**
+     * Имя аренды. Пустая строка - используется имя Worker-а.
+     */
+    default String getLeaseName() {
+        return CommonWorkerSettingsDefaults.LEASE_NAME_DEFAULT;
+    }
+
+    /**
+     * Срок аренды (в мс). Аренда продлевается на каждом тике контроллера зависаний
+     * (раз в {@link #getTimeoutRunnerLifeMs()} / 10), поэтому срок должен быть заметно больше этого интервала.
+     * Если держатель аренды перестал ее продлевать, то другой узел захватит ее не позднее чем через этот срок.
+     */
+    default int getLeasePeriodMs() {
+        return CommonWorkerSettingsDefaults.LEASE_PERIOD_MS_DEFAULT;
+    }
+
+    /**
+     * Признак публикации spring-event-а итерации ({@link Worker#getIterationExecuteEvent()} через ApplicationEventPublisher).<br/>
+     * Обработчики {@link IterationHandler} вызываются напрямую независимо от этой настройки.
+     * Если все обработчики итераций зарегистрированы напрямую, то публикацию можно выключить,
+     * избавившись от накладных расходов spring на поиск и вызов слушателей на каждой итерации.
+     */
+    default boolean isPublishIterationEvent() {
+        return CommonWorkerSettingsDefaults.PUBLISH_ITERATION_EVENT_DEFAULT;
+    }
 }
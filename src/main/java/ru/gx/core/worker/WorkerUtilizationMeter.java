@@ -0,0 +1,118 @@
+package ru.gx.core.worker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import ru.gx.core.metrics.SlidingWindowCounter;
+import ru.gx.core.metrics.StatisticsWindow;
+
+import java.util.List;
+
+/**
+ * Измеритель загрузки Worker-а: доля времени на полезную работу (busy), на sleep и на прочее (idle)
+ * в скользящем окне. Значения публикуются живыми Gauge-ами, которые вычисляются в момент снятия метрик.
+ */
+@SuppressWarnings("unused")
+public class WorkerUtilizationMeter {
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Fields">
+    /**
+     * Скользящее окно, по которому считается загрузка.
+     */
+    @Getter
+    @NotNull
+    private final StatisticsWindow window;
+
+    /**
+     * Время (в мкс) полезной работы в окне.
+     */
+    @NotNull
+    private final SlidingWindowCounter busyMcs;
+
+    /**
+     * Время (в мкс) sleep-а в окне.
+     */
+    @NotNull
+    private final SlidingWindowCounter sleepMcs;
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Initialization">
+    public WorkerUtilizationMeter(
+            @NotNull final StatisticsWindow window,
+            @NotNull final MeterRegistry meterRegistry,
+            @NotNull final List<Tag> metricsTags
+    ) {
+        this.window = window;
+        this.busyMcs = window.newCounter();
+        this.sleepMcs = window.newCounter();
+
+        Gauge.builder(StatisticsInfo.METRIC_EXECUTIONS_BUSY_PERCENTS, this, WorkerUtilizationMeter::getBusyPercents)
+                .tags(metricsTags)
+                .tag(StatisticsInfo.METRIC_TAG_WINDOW, window.getWindowName())
+                .register(meterRegistry);
+        Gauge.builder(StatisticsInfo.METRIC_EXECUTIONS_SLEEP_PERCENTS, this, WorkerUtilizationMeter::getSleepPercents)
+                .tags(metricsTags)
+                .tag(StatisticsInfo.METRIC_TAG_WINDOW, window.getWindowName())
+                .register(meterRegistry);
+        Gauge.builder(StatisticsInfo.METRIC_EXECUTIONS_IDLE_PERCENTS, this, WorkerUtilizationMeter::getIdlePercents)
+                .tags(metricsTags)
+                .tag(StatisticsInfo.METRIC_TAG_WINDOW, window.getWindowName())
+                .register(meterRegistry);
+    }
+
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+    // <editor-fold desc="Main logic">
+
+    /**
+     * Фиксирование времени полезной работы.
+     *
+     * @param nowMs   Момент окончания работы.
+     * @param timeMcs Длительность работы (в мкс).
+     */
+    public void recordBusy(final long nowMs, final long timeMcs) {
+        this.busyMcs.add(nowMs, timeMcs);
+    }
+
+    /**
+     * Фиксирование времени sleep-а.
+     *
+     * @param nowMs   Момент окончания sleep-а.
+     * @param timeMcs Длительность sleep-а (в мкс).
+     */
+    public void recordSleep(final long nowMs, final long timeMcs) {
+        this.sleepMcs.add(nowMs, timeMcs);
+    }
+
+    /**
+     * @return Процент времени полезной работы в окне.
+     */
+    public double getBusyPercents() {
+        return percents(this.busyMcs);
+    }
+
+    /**
+     * @return Процент времени sleep-а в окне.
+     */
+    public double getSleepPercents() {
+        return percents(this.sleepMcs);
+    }
+
+    /**
+     * @return Процент времени, не относящегося ни к работе, ни к sleep-у (накладные расходы, перезапуски, паузы).
+     */
+    public double getIdlePercents() {
+        return Math.max(0, 100 - getBusyPercents() - getSleepPercents());
+    }
+
+    private static double percents(@NotNull final SlidingWindowCounter counter) {
+        final var now = System.currentTimeMillis();
+        final var result = counter.sum(now) / (counter.spanMs(now) * 10.0);
+        return Math.min(100, result);
+    }
+    // </editor-fold>
+    // -----------------------------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,66 @@
+package ru.gx.core;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.factories.ConstructorFactories;
+import ru.gx.core.factories.FactoryShape;
+import ru.gx.core.factories.GeneratedFactories;
+import ru.gx.core.factories.ObjectFactory;
+import ru.gx.core.messaging.*;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Сравнение времени создания сообщения: {@link Constructor#newInstance(Object...)},
+ * фабрика {@link ConstructorFactories} (LambdaMetafactory) и фабрика, сгенерированная на этапе компиляции.
+ */
+@Testable
+public class TestConstructorFactoriesBenchmark {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @SneakyThrows
+    @Test
+    public void doBenchmarkConstructorFactories() {
+        final var header = new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now());
+        final var body = new TestGeneratedRequest.TestGeneratedRequestBody(new TestDto("Code1", "Name1", BigDecimal.ONE, 1L));
+
+        final var constructor = TestGeneratedRequest.class.getConstructor(MessageHeader.class, TestGeneratedRequest.TestGeneratedRequestBody.class, MessageCorrelation.class);
+        final ObjectFactory<TestGeneratedRequest> reflection = constructor::newInstance;
+        final var lambda = ConstructorFactories.of(constructor);
+        final var generated = GeneratedFactories.get(TestGeneratedRequest.class, FactoryShape.MessageByHeaderBody);
+        Assertions.assertSame(TestGeneratedRequest.class, lambda.newInstance(header, body, null).getClass());
+
+        System.out.println("Constructor.newInstance: " + measure(reflection, header, body) + " ns/op");
+        System.out.println("ConstructorFactories:    " + measure(lambda, header, body) + " ns/op");
+        if (generated != null) {
+            System.out.println("Generated factory:       " + measure(generated, header, body) + " ns/op");
+        }
+    }
+
+    @SneakyThrows
+    private static double measure(final ObjectFactory<?> factory, final MessageHeader header, final MessageBody body) {
+        run(factory, header, body, WARMUP_ITERATIONS);
+        final var started = System.nanoTime();
+        final var hash = run(factory, header, body, ITERATIONS);
+        final var nanos = System.nanoTime() - started;
+        Assertions.assertNotEquals(0, hash);
+        return (double) nanos / ITERATIONS;
+    }
+
+    /**
+     * @return Сумма хэшей созданных объектов (чтобы создание не было выброшено JIT-ом).
+     */
+    private static long run(final ObjectFactory<?> factory, final MessageHeader header, final MessageBody body, final int iterations) throws Exception {
+        var result = 0L;
+        for (var i = 0; i < iterations; i++) {
+            result += System.identityHashCode(factory.newInstance(header, body, null));
+        }
+        return result;
+    }
+}
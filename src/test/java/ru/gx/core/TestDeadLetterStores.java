@@ -0,0 +1,106 @@
+package ru.gx.core;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.deadletters.DeadLetter;
+import ru.gx.core.deadletters.DeadLetterStore;
+import ru.gx.core.deadletters.FileDeadLetterStore;
+import ru.gx.core.deadletters.InMemoryDeadLetterStore;
+import ru.gx.core.messaging.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Проверка хранилищ недоставленных сообщений: порядок чтения, подтверждение и восстановление файла после перезапуска.
+ */
+@Testable
+public class TestDeadLetterStores {
+    @Test
+    public void doTestInMemoryStore() {
+        checkStore(new InMemoryDeadLetterStore());
+    }
+
+    @SneakyThrows
+    @Test
+    public void doTestFileStore() {
+        final var objectMapper = TestMessaging.newObjectMapper();
+        final var file = Files.createTempDirectory("dead-letters").resolve("dead-letters.jsonl");
+        final var ids = checkStore(new FileDeadLetterStore(file, objectMapper));
+
+        final var reopened = new FileDeadLetterStore(file, objectMapper);
+        Assertions.assertEquals(ids.size(), reopened.size());
+        final var letters = reopened.read(10);
+        for (var i = 0; i < ids.size(); i++) {
+            Assertions.assertEquals(ids.get(i), letters.get(i).getMessage().getHeader().getId());
+        }
+        System.out.println("Reopened file store: " + letters);
+        System.out.println(Files.readString(file));
+    }
+
+    @SneakyThrows
+    @Test
+    public void doTestFileStoreKeepsUnreadableLinesOnCompact() {
+        final var objectMapper = TestMessaging.newObjectMapper();
+        final var file = Files.createTempDirectory("dead-letters").resolve("dead-letters.jsonl");
+        final var unreadableLine = "{\"op\":\"put\",\"id\":1,\"channel\":\"test-channel\",\"messageClass\":\"ru.gx.core.UnknownMessage\",\"message\":{}}";
+        final var corruptedLine = "{\"op\":\"put\",\"id\":2,\"chan";
+        Files.writeString(file, unreadableLine + "\n" + corruptedLine);
+
+        final var store = new FileDeadLetterStore(file, objectMapper);
+        Assertions.assertEquals(0, store.size());
+        final var ids = new ArrayList<Long>();
+        for (var i = 0; i < FileDeadLetterStore.COMPACT_THRESHOLD; i++) {
+            ids.add(store.append("test-channel", newMessage("Code" + i), 3, new IllegalStateException("Failed")).getId());
+        }
+        final var last = store.append("test-channel", newMessage("Last"), 3, new IllegalStateException("Failed"));
+        store.acknowledge(ids);
+
+        // Файл сжат: остались нечитаемые строки как есть и одна неподтвержденная запись
+        final var lines = Files.readAllLines(file);
+        Assertions.assertEquals(List.of(corruptedLine, unreadableLine), lines.subList(0, 2));
+        Assertions.assertEquals(3, lines.size());
+
+        final var reopened = new FileDeadLetterStore(file, objectMapper);
+        Assertions.assertEquals(1, reopened.size());
+        Assertions.assertEquals(last.getId(), reopened.read(1).get(0).getId());
+    }
+
+    /**
+     * @return Идентификаторы сообщений, оставшихся в хранилище.
+     */
+    private static List<String> checkStore(@NotNull final DeadLetterStore store) {
+        final var messages = List.of(newMessage("Code1"), newMessage("Code2"), newMessage("Code3"));
+        for (final var message : messages) {
+            store.append("test-channel", message, 3, new IllegalStateException("Failed " + message.getBody().getData().getCode()));
+        }
+        Assertions.assertEquals(3, store.size());
+
+        final List<DeadLetter> firstTwo = store.read(2);
+        Assertions.assertEquals(2, firstTwo.size());
+        Assertions.assertEquals(messages.get(0).getHeader().getId(), firstTwo.get(0).getMessage().getHeader().getId());
+        Assertions.assertEquals(3, firstTwo.get(0).getAttempts());
+
+        store.acknowledge(List.of(firstTwo.get(0).getId()));
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertEquals(messages.get(1).getHeader().getId(), store.read(1).get(0).getMessage().getHeader().getId());
+        return List.of(messages.get(1).getHeader().getId(), messages.get(2).getHeader().getId());
+    }
+
+    @SneakyThrows
+    @NotNull
+    private static TestRequest1 newMessage(@NotNull final String code) {
+        return new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto(code, "Name", BigDecimal.valueOf(42.0), (long) 11)),
+                null
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package ru.gx.core;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.factories.FactoryShape;
+import ru.gx.core.factories.GeneratedFactories;
+import ru.gx.core.messaging.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Testable
+public class TestGeneratedFactories {
+    @SneakyThrows
+    @Test
+    public void doTestGeneratedFactories() {
+        // Регистрация типа выполняется в static-блоке класса сообщения
+        Class.forName(TestGeneratedRequest.class.getName());
+        Assertions.assertNotNull(GeneratedFactories.get(TestGeneratedRequest.class, FactoryShape.MessageByHeaderBody));
+        Assertions.assertNotNull(GeneratedFactories.get(TestGeneratedRequest.TestGeneratedRequestBody.class, FactoryShape.BodyByDataObject));
+
+        final var reg = MessageTypesRegistrator.get(TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION);
+        System.out.println(reg);
+        Assertions.assertTrue(reg.isConstructorByHeaderBody());
+        Assertions.assertTrue(reg.isBodyConstructorByDataObject());
+
+        final var body = reg.newBodyByDataObject(new TestDto("Code1", "Name1", BigDecimal.ONE, 1L));
+        final var message = reg.newMessageByHeaderBody(
+                new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                body,
+                null
+        );
+        Assertions.assertSame(TestGeneratedRequest.class, message.getClass());
+        System.out.println(message);
+
+        Assertions.assertTrue(MessageTypesRegistrator.contains(TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION));
+        Assertions.assertFalse(MessageTypesRegistrator.contains(TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION + 1));
+        Assertions.assertThrows(MessagingConfigurationException.class, () -> MessageTypesRegistrator.get(TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION + 1));
+        Assertions.assertThrows(MessagingConfigurationException.class, () -> MessageTypesRegistrator.checkType(MessageKind.Event, TestGeneratedRequest.MESSAGE_TYPE, TestGeneratedRequest.VERSION, TestGeneratedRequest.class, TestGeneratedRequest.TestGeneratedRequestBody.class));
+    }
+}
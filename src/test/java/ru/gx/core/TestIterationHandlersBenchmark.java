@@ -0,0 +1,90 @@
+package ru.gx.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+import ru.gx.core.worker.AbstractOnIterationExecuteEvent;
+import ru.gx.core.worker.IterationHandler;
+
+/**
+ * Сравнение стоимости вызова обработчика итерации через spring-event (publishEvent + @EventListener)
+ * и напрямую через {@link IterationHandler}.
+ */
+@Testable
+public class TestIterationHandlersBenchmark {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    public static class BenchmarkIterationEvent extends AbstractOnIterationExecuteEvent {
+        public BenchmarkIterationEvent(@NotNull final Object source) {
+            super(source);
+        }
+    }
+
+    public static class BenchmarkListener implements IterationHandler<BenchmarkIterationEvent> {
+        private long counter;
+
+        @EventListener(BenchmarkIterationEvent.class)
+        public void iterationExecute(@NotNull final BenchmarkIterationEvent event) {
+            onIterationExecute(event);
+        }
+
+        @Override
+        public void onIterationExecute(@NotNull final BenchmarkIterationEvent event) {
+            this.counter++;
+            event.setImmediateRunNextIteration(true);
+        }
+    }
+
+    @Test
+    public void doBenchmarkIterationHandlers() {
+        try (final var context = new AnnotationConfigApplicationContext(BenchmarkListener.class)) {
+            final var listener = context.getBean(BenchmarkListener.class);
+            final var event = new BenchmarkIterationEvent(this);
+            final IterationHandler<BenchmarkIterationEvent> handler = listener;
+
+            runPublishEvent(context, event, WARMUP_ITERATIONS);
+            runDirect(handler, event, WARMUP_ITERATIONS);
+            listener.counter = 0;
+
+            var started = System.nanoTime();
+            runPublishEvent(context, event, ITERATIONS);
+            final var publishNanos = System.nanoTime() - started;
+            Assertions.assertEquals(ITERATIONS, listener.counter);
+
+            listener.counter = 0;
+            started = System.nanoTime();
+            runDirect(handler, event, ITERATIONS);
+            final var directNanos = System.nanoTime() - started;
+            Assertions.assertEquals(ITERATIONS, listener.counter);
+
+            System.out.printf("publishEvent: %.1f ns/iteration%n", (double) publishNanos / ITERATIONS);
+            System.out.printf("IterationHandler: %.1f ns/iteration%n", (double) directNanos / ITERATIONS);
+        }
+    }
+
+    private static void runPublishEvent(
+            @NotNull final AnnotationConfigApplicationContext context,
+            @NotNull final BenchmarkIterationEvent event,
+            final int iterations
+    ) {
+        for (var i = 0; i < iterations; i++) {
+            event.reset();
+            context.publishEvent(event);
+        }
+    }
+
+    private static void runDirect(
+            @NotNull final IterationHandler<BenchmarkIterationEvent> handler,
+            @NotNull final BenchmarkIterationEvent event,
+            final int iterations
+    ) {
+        for (var i = 0; i < iterations; i++) {
+            event.reset();
+            handler.onIterationExecute(event);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ru.gx.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.channels.AbstractChannelApiDescriptor;
+import ru.gx.core.channels.ChannelApiDescriptor;
+import ru.gx.core.channels.SerializeMode;
+import ru.gx.core.codecs.CompactBinaryMessageCodec;
+import ru.gx.core.codecs.CompressionAlgorithm;
+import ru.gx.core.codecs.JsonUtf8MessageCodec;
+import ru.gx.core.codecs.MessageCodec;
+import ru.gx.core.messaging.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Сравнение размера и времени кодирования/декодирования сообщения:
+ * текущий путь через Json-строку, {@link JsonUtf8MessageCodec} и {@link CompactBinaryMessageCodec}.
+ */
+@Testable
+public class TestMessageCodecsBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static class TestRequest1Api extends AbstractChannelApiDescriptor<TestRequest1> {
+        public TestRequest1Api(@NotNull final SerializeMode serializeMode) {
+            super("test-codecs", serializeMode, TestRequest1.class, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void doBenchmarkMessageCodecs() {
+        final var objectMapper = TestMessaging.newObjectMapper();
+        final var correlation = new MessageCorrelation();
+        correlation.put("k1", "v1");
+        correlation.put("k2", "v2");
+        final var message = new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), UUID.randomUUID().toString(), MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto("Code1", "Name1", BigDecimal.valueOf(42.0), (long) 11)),
+                correlation
+        );
+        final var api = new TestRequest1Api(SerializeMode.Bytes);
+
+        final var jsonString = objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
+        runJsonString(objectMapper, message, WARMUP_ITERATIONS);
+        var started = System.nanoTime();
+        runJsonString(objectMapper, message, ITERATIONS);
+        final var jsonStringNanos = System.nanoTime() - started;
+        System.out.printf("JsonString: %d bytes, %.1f ns/roundtrip%n", jsonString.length, (double) jsonStringNanos / ITERATIONS);
+
+        for (final var codec : new MessageCodec[]{new JsonUtf8MessageCodec(objectMapper), new CompactBinaryMessageCodec(objectMapper)}) {
+            final var decoded = codec.decode(api, codec.encode(api, message));
+            Assertions.assertEquals(message.getHeader().getId(), decoded.getHeader().getId());
+            Assertions.assertEquals(message.getHeader().getParentId(), decoded.getHeader().getParentId());
+            Assertions.assertEquals(message.getCorrelation(), decoded.getCorrelation());
+
+            runCodec(codec, api, message, WARMUP_ITERATIONS);
+            started = System.nanoTime();
+            runCodec(codec, api, message, ITERATIONS);
+            final var codecNanos = System.nanoTime() - started;
+            System.out.printf("%s: %d bytes, %.1f ns/roundtrip%n", codec.getName(), codec.encode(api, message).remaining(), (double) codecNanos / ITERATIONS);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    public void doCompressedStreamDecode() {
+        final var objectMapper = TestMessaging.newObjectMapper();
+        final var correlation = new MessageCorrelation();
+        correlation.put("k1", "v1");
+        final var message = new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto("Code1", "Name1".repeat(200), BigDecimal.valueOf(42.0), (long) 11)),
+                correlation
+        );
+        final var api = new TestRequest1Api(SerializeMode.JsonString);
+
+        for (final var codec : new MessageCodec[]{new JsonUtf8MessageCodec(objectMapper), new CompactBinaryMessageCodec(objectMapper)}) {
+            final var encoded = codec.encode(api, message);
+            final var plainSize = encoded.remaining();
+            for (final var algorithm : CompressionAlgorithm.values()) {
+                final var compressed = new ByteArrayOutputStream();
+                try (final var out = algorithm.compressing(compressed, Deflater.DEFAULT_COMPRESSION)) {
+                    out.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+                }
+                final TestRequest1 decoded;
+                try (final var in = algorithm.decompressing(new ByteArrayInputStream(compressed.toByteArray()))) {
+                    decoded = codec.decode(api, in);
+                }
+                Assertions.assertEquals(message.getHeader().getId(), decoded.getHeader().getId());
+                Assertions.assertEquals(message.getCorrelation(), decoded.getCorrelation());
+                Assertions.assertEquals(message.getBody().getData().getName(), decoded.getBody().getData().getName());
+                System.out.printf("%s + %s: %d -> %d bytes%n", codec.getName(), algorithm, plainSize, compressed.size());
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void runJsonString(
+            @NotNull final ObjectMapper objectMapper,
+            @NotNull final TestRequest1 message,
+            final int iterations
+    ) {
+        for (var i = 0; i < iterations; i++) {
+            final var bytes = objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
+            objectMapper.readValue(new String(bytes, StandardCharsets.UTF_8), TestRequest1.class);
+        }
+    }
+
+    private static void runCodec(
+            @NotNull final MessageCodec codec,
+            @NotNull final ChannelApiDescriptor<TestRequest1> api,
+            @NotNull final TestRequest1 message,
+            final int iterations
+    ) {
+        for (var i = 0; i < iterations; i++) {
+            final ByteBuffer buffer = codec.encode(api, message);
+            codec.decode(api, buffer);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.gx.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.messaging.MessageHeader;
+import ru.gx.core.messaging.MessageKind;
+import ru.gx.core.tracing.MessageLifecycleStage;
+import ru.gx.core.tracing.MessageLifecycleTracer;
+import ru.gx.core.tracing.MessageTracing;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Проверка трассировки жизненного цикла сообщений: фиксация этапов, метрики и восстановление цепочки по parentId.
+ */
+@Testable
+public class TestMessageTracing {
+    @SneakyThrows
+    @Test
+    public void doTestParentChildChain() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        // Выборка 0: корневые сообщения трассируются явно, дочерние - только потому, что трассируется родитель
+        final var tracer = new MessageLifecycleTracer(meterRegistry, 0, 100) {
+            @Override
+            protected boolean isSampled(@Nullable final String parentId) {
+                return parentId == null || super.isSampled(parentId);
+            }
+        };
+        MessageTracing.install(tracer);
+        try {
+            final var parent = newMessage(null);
+            MessageTracing.onCreated(parent);
+            Assertions.assertNotNull(MessageTracing.getTrace(parent));
+            MessageTracing.onStage(parent, MessageLifecycleStage.Enqueued);
+            MessageTracing.onStage(parent, MessageLifecycleStage.Dequeued);
+            MessageTracing.onStage(parent, MessageLifecycleStage.HandlerStarted);
+
+            // Дочернее сообщение создается во время обработки родителя
+            final var child = newMessage(parent.getHeader().getId());
+            MessageTracing.onCreated(child);
+            Assertions.assertNotNull(MessageTracing.getTrace(child));
+            Thread.sleep(10);
+            MessageTracing.onFinished(parent, true);
+
+            MessageTracing.onStage(child, MessageLifecycleStage.Enqueued);
+            MessageTracing.onStage(child, MessageLifecycleStage.Dequeued);
+            MessageTracing.onStage(child, MessageLifecycleStage.HandlerStarted);
+            MessageTracing.onFinished(child, false);
+
+            final var chain = tracer.getStore().getChain(child.getHeader().getId());
+            System.out.println("Chain: " + chain);
+            Assertions.assertEquals(2, chain.size());
+            Assertions.assertEquals(parent.getHeader().getId(), chain.get(0).getMessageId());
+
+            final var slow = tracer.getStore().getSlowChains(5_000, 10);
+            System.out.println("Slow chains: " + slow);
+            Assertions.assertFalse(slow.isEmpty());
+            Assertions.assertEquals(parent.getHeader().getId(), slow.get(0).get(0).getMessageId());
+
+            final var handlerTimer = meterRegistry.find(MessageLifecycleTracer.METRIC_LIFECYCLE_STAGE)
+                    .tag(MessageLifecycleTracer.METRIC_TAG_STAGE, MessageLifecycleStage.HandlerFinished.name())
+                    .timer();
+            Assertions.assertNotNull(handlerTimer);
+            Assertions.assertEquals(2, handlerTimer.count());
+        } finally {
+            tracer.close();
+        }
+        Assertions.assertNull(MessageTracing.getTracer());
+    }
+
+    @SneakyThrows
+    @NotNull
+    private static TestRequest1 newMessage(@Nullable final String parentId) {
+        return new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), parentId, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto("Code", "Name", BigDecimal.valueOf(42.0), (long) 11)),
+                null
+        );
+    }
+}
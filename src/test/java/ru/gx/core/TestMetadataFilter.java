@@ -0,0 +1,41 @@
+package ru.gx.core;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.filters.MetadataFilter;
+import ru.gx.core.filters.MetadataFilterParseException;
+import ru.gx.core.messaging.SimpleMetadataContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Testable
+public class TestMetadataFilter {
+    @Test
+    public void doTestMetadataFilter() {
+        final var filter = MetadataFilter.compile(
+                "type in ('trade', order) && source != 'test' && (not exists(replay) or priority == 1)"
+        );
+        System.out.println("Compiled: " + filter);
+
+        final var metadata = new SimpleMetadataContainer()
+                .putMetadata("type", "trade")
+                .putMetadata("source", "exchange".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(filter.allowProcess(metadata));
+
+        metadata.putMetadata("replay", true);
+        Assertions.assertFalse(filter.allowProcess(metadata));
+
+        metadata.putMetadata("priority", 1);
+        Assertions.assertTrue(filter.allowProcess(metadata));
+
+        metadata.putMetadata("type", "quote");
+        Assertions.assertFalse(filter.allowProcess(metadata));
+
+        final var error = Assertions.assertThrows(
+                MetadataFilterParseException.class,
+                () -> MetadataFilter.compile("type == 'a' &&")
+        );
+        System.out.println("Error: " + error.getMessage());
+    }
+}
@@ -0,0 +1,197 @@
+package ru.gx.core;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.channels.*;
+import ru.gx.core.messaging.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Отправка пачек {@link OutcomeMessagesBatcher}: по количеству, по объему, по истечении linger-а, при останове
+ * и повторная отправка пачки, которую транспорт не смог отправить.
+ */
+@Testable
+public class TestOutcomeMessagesBatcher {
+    private static final long LINGER_MS = 1000;
+
+    /**
+     * Транспорт, запоминающий отправленные пачки; пока failing = true, отправка завершается ошибкой.
+     */
+    private static class TestSender implements OutcomeBatchSender {
+        final List<OutcomeBatch> sent = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public void send(@NotNull final OutcomeBatch batch) {
+            if (this.failing) {
+                throw new IllegalStateException("Transport is unavailable");
+            }
+            this.sent.add(batch);
+        }
+    }
+
+    @Test
+    public void doTestFlushOnCount() {
+        final var sender = new TestSender();
+        final var batcher = newBatcher(3, 0, sender);
+        for (var i = 0; i < 7; i++) {
+            batcher.offer(newMessage(), 0);
+        }
+        Assertions.assertEquals(2, sender.sent.size());
+        for (final var batch : sender.sent) {
+            Assertions.assertEquals(3, batch.size());
+            Assertions.assertEquals(OutcomeBatchFlushReason.MaxCount, batch.getReason());
+        }
+        Assertions.assertEquals(1, batcher.getBufferedCount());
+        Assertions.assertEquals(2, batcher.getFlushesCount(OutcomeBatchFlushReason.MaxCount));
+    }
+
+    @Test
+    public void doTestFlushOnBytes() {
+        final var sender = new TestSender();
+        final var batcher = newBatcher(100, 100, sender);
+        batcher.offer(newMessage(), 40);
+        batcher.offer(newMessage(), 40);
+        Assertions.assertTrue(sender.sent.isEmpty());
+
+        // С третьим сообщением объем был бы превышен: оно уходит уже в следующую пачку
+        batcher.offer(newMessage(), 40);
+        Assertions.assertEquals(1, sender.sent.size());
+        Assertions.assertEquals(2, sender.sent.get(0).size());
+        Assertions.assertEquals(80, sender.sent.get(0).getBytes());
+        Assertions.assertEquals(OutcomeBatchFlushReason.MaxBytes, sender.sent.get(0).getReason());
+        Assertions.assertEquals(1, batcher.getBufferedCount());
+        Assertions.assertEquals(40, batcher.getBufferedBytes());
+
+        // Объем достигнут ровно: пачка уходит сразу
+        batcher.offer(newMessage(), 60);
+        Assertions.assertEquals(2, sender.sent.size());
+        Assertions.assertEquals(100, sender.sent.get(1).getBytes());
+        Assertions.assertEquals(0, batcher.getBufferedCount());
+    }
+
+    @Test
+    public void doTestFlushOnLinger() {
+        final var sender = new TestSender();
+        final var batcher = newBatcher(100, 0, sender);
+        batcher.offer(newMessage(), 0);
+        batcher.offer(newMessage(), 0);
+
+        final var now = System.currentTimeMillis();
+        Assertions.assertFalse(batcher.flushIfLingerExpired(now));
+        Assertions.assertTrue(sender.sent.isEmpty());
+
+        Assertions.assertTrue(batcher.flushIfLingerExpired(now + LINGER_MS));
+        Assertions.assertEquals(1, sender.sent.size());
+        Assertions.assertEquals(2, sender.sent.get(0).size());
+        Assertions.assertEquals(OutcomeBatchFlushReason.Linger, sender.sent.get(0).getReason());
+        Assertions.assertFalse(batcher.flushIfLingerExpired(now + 2 * LINGER_MS));
+    }
+
+    @Test
+    public void doTestFlushOnShutdown() {
+        final var sender = new TestSender();
+        final var descriptor = mock(OutcomeChannelHandlerDescriptor.class);
+        when(descriptor.getChannelName()).thenReturn("outcome");
+        final var batcher = new OutcomeMessagesBatcher(descriptor, 100, 0, LINGER_MS, sender, new SimpleMeterRegistry());
+        when(descriptor.getBatcher()).thenReturn(batcher);
+        final var configuration = mock(ChannelsConfiguration.class);
+        when(configuration.getAll()).thenReturn(List.<ChannelHandlerDescriptor>of(descriptor));
+
+        final var flusher = new OutcomeBatchesFlusher(List.of(configuration), LINGER_MS);
+        flusher.start();
+        batcher.offer(newMessage(), 0);
+        batcher.offer(newMessage(), 0);
+        flusher.stop();
+
+        Assertions.assertFalse(flusher.isRunning());
+        Assertions.assertEquals(1, sender.sent.size());
+        Assertions.assertEquals(2, sender.sent.get(0).size());
+        Assertions.assertEquals(OutcomeBatchFlushReason.Shutdown, sender.sent.get(0).getReason());
+        Assertions.assertEquals(0, batcher.getBufferedCount());
+    }
+
+    @Test
+    public void doTestFailedLingerFlushIsRetried() {
+        final var sender = new TestSender();
+        final var batcher = newBatcher(100, 0, sender);
+        final var first = newMessage();
+        final var second = newMessage();
+        batcher.offer(first, 0);
+        batcher.offer(second, 0);
+
+        sender.failing = true;
+        final var now = System.currentTimeMillis();
+        final var error = Assertions.assertThrows(OutcomeBatchSendException.class, () -> batcher.flushIfLingerExpired(now + LINGER_MS));
+        Assertions.assertEquals(2, error.getBatch().size());
+        Assertions.assertEquals(2, batcher.getFailedCount());
+        Assertions.assertEquals(2, batcher.getBufferedCount());
+
+        // Новое сообщение принимается, пачка с ошибкой не теряется
+        final var third = newMessage();
+        batcher.offer(third, 0);
+        Assertions.assertEquals(3, batcher.getBufferedCount());
+
+        // Повторная отправка - раньше следующей пачки, с теми же сообщениями
+        sender.failing = false;
+        Assertions.assertTrue(batcher.flushIfLingerExpired(now + 2 * LINGER_MS));
+        Assertions.assertEquals(2, sender.sent.size());
+        Assertions.assertEquals(List.of(first, second), sender.sent.get(0).getMessages());
+        Assertions.assertEquals(List.of(third), sender.sent.get(1).getMessages());
+        Assertions.assertEquals(0, batcher.getFailedCount());
+        Assertions.assertEquals(0, batcher.getBufferedCount());
+    }
+
+    @Test
+    public void doTestOfferRejectedWhileFailedAndBufferFull() {
+        final var sender = new TestSender();
+        final var batcher = newBatcher(2, 0, sender);
+        sender.failing = true;
+
+        // Пачка из двух сообщений не отправлена, но сохранена
+        batcher.offer(newMessage(), 0);
+        batcher.offer(newMessage(), 0);
+        Assertions.assertEquals(2, batcher.getFailedCount());
+
+        // Буфер заполняется до maxCount, дальше сообщения не принимаются
+        batcher.offer(newMessage(), 0);
+        batcher.offer(newMessage(), 0);
+        Assertions.assertEquals(4, batcher.getBufferedCount());
+        Assertions.assertThrows(OutcomeBatchSendException.class, () -> batcher.offer(newMessage(), 0));
+        Assertions.assertEquals(4, batcher.getBufferedCount());
+
+        sender.failing = false;
+        Assertions.assertEquals(4, batcher.flush(OutcomeBatchFlushReason.Manual));
+        Assertions.assertEquals(2, sender.sent.size());
+        Assertions.assertEquals(0, batcher.getBufferedCount());
+    }
+
+    @NotNull
+    private static OutcomeMessagesBatcher newBatcher(final int maxCount, final long maxBytes, @NotNull final OutcomeBatchSender sender) {
+        final var descriptor = mock(OutcomeChannelHandlerDescriptor.class);
+        when(descriptor.getChannelName()).thenReturn("outcome");
+        return new OutcomeMessagesBatcher(descriptor, maxCount, maxBytes, LINGER_MS, sender, new SimpleMeterRegistry());
+    }
+
+    @SneakyThrows
+    @NotNull
+    private static TestRequest1 newMessage() {
+        return new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto("Code", "Name", BigDecimal.ONE, 1L)),
+                null
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package ru.gx.core;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import ru.gx.core.channels.ChannelExecuteStatistics;
+import ru.gx.core.channels.ChannelHandlerDescriptor;
+import ru.gx.core.channels.TokenBucketRateLimiter;
+import ru.gx.core.messaging.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Выборка из очереди сообщений канала с ограничением частоты так же, как это делает исполнитель:
+ * если сообщение не получено, то простой не дольше, чем до появления разрешения у канала
+ * ({@link MessagesPrioritizedQueue#nanosToNextDeferredPermit()}), а не полный minTimePerIterationMs.
+ */
+@Testable
+public class TestRateLimitedQueueDrain {
+    private static final double RATE_PER_SECOND = 200;
+    private static final int MESSAGES_COUNT = 100;
+    private static final long MIN_TIME_PER_ITERATION_MS = 1000;
+
+    @SneakyThrows
+    @Test
+    public void doTestDrainAtConfiguredRate() {
+        final var limiter = new TokenBucketRateLimiter(RATE_PER_SECOND, 1);
+        final var channel = mock(ChannelHandlerDescriptor.class);
+        when(channel.getChannelName()).thenReturn("rate-limited");
+        when(channel.getPriority()).thenReturn(1);
+        when(channel.getExecuteStatistics()).thenReturn(mock(ChannelExecuteStatistics.class));
+        when(channel.tryAcquireRatePermit()).thenAnswer(i -> limiter.tryAcquire());
+        when(channel.nanosToNextRatePermit()).thenAnswer(i -> limiter.nanosToNextPermit());
+
+        final var queue = new StandardMessagesPrioritizedQueue("test-queue").init(MESSAGES_COUNT * 2, 2);
+        for (var i = 0; i < MESSAGES_COUNT; i++) {
+            final var message = newMessage();
+            message.setChannelDescriptor(channel);
+            queue.pushMessage(1, message);
+        }
+
+        final var started = System.nanoTime();
+        var polled = 0;
+        var idles = 0;
+        while (polled < MESSAGES_COUNT) {
+            if (queue.pollMessage() != null) {
+                polled++;
+                continue;
+            }
+            final var nanos = queue.nanosToNextDeferredPermit();
+            Assertions.assertTrue(nanos >= 0, "Messages are deferred by rate limit");
+            idles++;
+            Thread.sleep(Math.min(MIN_TIME_PER_ITERATION_MS, TimeUnit.NANOSECONDS.toMillis(nanos + 999_999)));
+        }
+        final var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        final var actualRate = MESSAGES_COUNT * 1000.0 / Math.max(1, elapsedMs);
+        System.out.println("Drained " + MESSAGES_COUNT + " messages in " + elapsedMs + " ms (" + actualRate + " msg/s), idles = " + idles);
+
+        Assertions.assertEquals(-1, queue.nanosToNextDeferredPermit());
+        // Лимит соблюдается: не быстрее заданной частоты (99 интервалов по 5 мс)
+        Assertions.assertTrue(elapsedMs >= (long) ((MESSAGES_COUNT - 1) * 1000 / RATE_PER_SECOND) - 10);
+        // И не медленнее: при простое на minTimePerIterationMs выборка заняла бы ~MESSAGES_COUNT секунд
+        Assertions.assertTrue(actualRate > RATE_PER_SECOND / 2, "Actual rate " + actualRate + " is too low");
+    }
+
+    @SneakyThrows
+    @NotNull
+    private static TestRequest1 newMessage() {
+        return new TestRequest1(
+                new MessageHeader(UUID.randomUUID().toString(), null, MessageKind.Request, TestRequest1.MESSAGE_TYPE, TestRequest1.VERSION, "TEST-SOURCE-SYSTEM", OffsetDateTime.now()),
+                new TestRequest1.TestRequest1Body(new TestDto("Code", "Name", BigDecimal.ONE, 1L)),
+                null
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package ru.gx.core.messaging;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ru.gx.core.factories.GenerateFactories;
+
+import javax.activation.UnsupportedDataTypeException;
+
+/**
+ * Сообщение, для которого фабрики генерируются на этапе компиляции ({@link GenerateFactories}).
+ */
+@GenerateFactories
+@ToString(callSuper = true)
+public class TestGeneratedRequest extends AbstractMessage<TestGeneratedRequest.TestGeneratedRequestBody> {
+    public static final String MESSAGE_TYPE = "TEST:GENERATED";
+    public static final int VERSION = 1;
+
+    static {
+        MessageTypesRegistrator.registerType(MessageKind.Request, MESSAGE_TYPE, VERSION, TestGeneratedRequest.class, TestGeneratedRequestBody.class);
+    }
+
+    @JsonCreator
+    public TestGeneratedRequest(
+            @JsonProperty("header") @NotNull final MessageHeader header,
+            @JsonProperty("body") @NotNull final TestGeneratedRequestBody body,
+            @JsonProperty("correlation") @Nullable final MessageCorrelation correlation
+    ) {
+        super(header, body, correlation);
+    }
+
+    @GenerateFactories
+    @ToString
+    public static class TestGeneratedRequestBody extends AbstractMessageBodyDataObject<TestDto> {
+        @JsonCreator
+        public TestGeneratedRequestBody(
+                @JsonProperty("data") @NotNull final TestDto testDto
+        ) throws UnsupportedDataTypeException {
+            super(testDto);
+        }
+    }
+}